@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+import javax.inject.Inject;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Boot time of a synthetic deployment. Each bean is registered by an extension as a separate annotated type and has one injection point to validate.
+ * The container is shut down after each measured boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BootBenchmark {
+
+    @Param({ "1000", "10000" })
+    private int beans;
+
+    private WeldContainer container;
+
+    @Benchmark
+    public WeldContainer boot() {
+        container = new Weld().disableDiscovery().beanClasses(Dependency.class).addExtension(new SyntheticBeans(beans)).initialize();
+        return container;
+    }
+
+    @TearDown(Level.Invocation)
+    public void shutdown() {
+        container.shutdown();
+    }
+
+    static class SyntheticBeans implements Extension {
+
+        private final int count;
+
+        SyntheticBeans(int count) {
+            this.count = count;
+        }
+
+        void register(@Observes BeforeBeanDiscovery event, BeanManager manager) {
+            AnnotatedType<SyntheticBean> type = manager.createAnnotatedType(SyntheticBean.class);
+            for (int i = 0; i < count; i++) {
+                event.addAnnotatedType(type, SyntheticBean.class.getName() + i);
+            }
+        }
+    }
+
+    @ApplicationScoped
+    public static class Dependency {
+    }
+
+    @Dependent
+    public static class SyntheticBean {
+
+        @Inject
+        Dependency dependency;
+    }
+}
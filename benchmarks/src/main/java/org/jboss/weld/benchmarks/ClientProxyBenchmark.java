@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+
+import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.context.bound.BoundLiteral;
+import org.jboss.weld.context.bound.BoundSessionContext;
+import org.jboss.weld.context.unbound.UnboundLiteral;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Business method invocation through the client proxy of a normal scoped bean. The invocation of a {@link Dependent} bean, which is not proxied, is the
+ * baseline.
+ */
+@State(Scope.Benchmark)
+public class ClientProxyBenchmark {
+
+    private WeldContainer container;
+
+    private ApplicationCounter applicationScoped;
+
+    private RequestCounter requestScoped;
+
+    private SessionCounter sessionScoped;
+
+    private DependentCounter dependent;
+
+    private int input = 42;
+
+    @Setup
+    public void start() {
+        container = new Weld().disableDiscovery()
+                .beanClasses(ApplicationCounter.class, RequestCounter.class, SessionCounter.class, DependentCounter.class).initialize();
+        applicationScoped = container.select(ApplicationCounter.class).get();
+        requestScoped = container.select(RequestCounter.class).get();
+        sessionScoped = container.select(SessionCounter.class).get();
+        dependent = container.select(DependentCounter.class).get();
+    }
+
+    @TearDown
+    public void stop() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public int applicationScoped() {
+        return applicationScoped.add(input);
+    }
+
+    @Benchmark
+    public int requestScoped(ActiveContexts contexts) {
+        return requestScoped.add(input);
+    }
+
+    @Benchmark
+    public int sessionScoped(ActiveContexts contexts) {
+        return sessionScoped.add(input);
+    }
+
+    @Benchmark
+    public int dependent() {
+        return dependent.add(input);
+    }
+
+    /**
+     * Keeps the unbound request context and the bound session context active on each benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ActiveContexts {
+
+        private RequestContext requestContext;
+
+        private BoundSessionContext sessionContext;
+
+        private final Map<String, Object> session = new HashMap<String, Object>();
+
+        @Setup
+        public void activate(ClientProxyBenchmark benchmark) {
+            requestContext = benchmark.container.select(RequestContext.class, UnboundLiteral.INSTANCE).get();
+            requestContext.activate();
+            sessionContext = benchmark.container.select(BoundSessionContext.class, BoundLiteral.INSTANCE).get();
+            sessionContext.associate(session);
+            sessionContext.activate();
+        }
+
+        @TearDown
+        public void deactivate() {
+            requestContext.invalidate();
+            requestContext.deactivate();
+            sessionContext.invalidate();
+            sessionContext.deactivate();
+            sessionContext.dissociate(session);
+        }
+    }
+
+    @ApplicationScoped
+    public static class ApplicationCounter {
+
+        public int add(int value) {
+            return value + 1;
+        }
+    }
+
+    @RequestScoped
+    public static class RequestCounter {
+
+        public int add(int value) {
+            return value + 1;
+        }
+    }
+
+    @SessionScoped
+    public static class SessionCounter implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        public int add(int value) {
+            return value + 1;
+        }
+    }
+
+    @Dependent
+    public static class DependentCounter {
+
+        public int add(int value) {
+            return value + 1;
+        }
+    }
+}
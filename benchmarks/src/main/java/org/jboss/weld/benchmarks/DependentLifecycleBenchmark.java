@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Creation and destruction of a {@link Dependent} bean instance within its own {@link CreationalContext}.
+ */
+@State(Scope.Benchmark)
+public class DependentLifecycleBenchmark {
+
+    private WeldContainer container;
+
+    private BeanManager beanManager;
+
+    private Bean<?> plain;
+
+    private Bean<?> withPreDestroy;
+
+    private Bean<?> withDependency;
+
+    @Setup
+    public void start() {
+        container = new Weld().disableDiscovery().beanClasses(Plain.class, WithPreDestroy.class, WithDependency.class).initialize();
+        beanManager = container.getBeanManager();
+        plain = beanManager.resolve(beanManager.getBeans(Plain.class));
+        withPreDestroy = beanManager.resolve(beanManager.getBeans(WithPreDestroy.class));
+        withDependency = beanManager.resolve(beanManager.getBeans(WithDependency.class));
+    }
+
+    @TearDown
+    public void stop() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public Object plain() {
+        return createAndDestroy(plain, Plain.class);
+    }
+
+    @Benchmark
+    public Object withPreDestroy() {
+        return createAndDestroy(withPreDestroy, WithPreDestroy.class);
+    }
+
+    @Benchmark
+    public Object withDependency() {
+        return createAndDestroy(withDependency, WithDependency.class);
+    }
+
+    private Object createAndDestroy(Bean<?> bean, Class<?> type) {
+        CreationalContext<?> ctx = beanManager.createCreationalContext(bean);
+        Object instance = beanManager.getReference(bean, type, ctx);
+        ctx.release();
+        return instance;
+    }
+
+    @Dependent
+    public static class Plain {
+    }
+
+    @Dependent
+    public static class WithPreDestroy {
+
+        boolean destroyed;
+
+        @PreDestroy
+        void destroy() {
+            destroyed = true;
+        }
+    }
+
+    @Dependent
+    public static class WithDependency {
+
+        @Inject
+        WithPreDestroy dependency;
+    }
+}
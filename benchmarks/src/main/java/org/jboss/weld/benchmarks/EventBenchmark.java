@@ -0,0 +1,185 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Synchronous event delivery to 1, 10 or 100 observer methods declared on {@link ApplicationScoped} beans.
+ */
+@State(Scope.Benchmark)
+public class EventBenchmark {
+
+    private static final int OBSERVERS_PER_BEAN = 10;
+
+    private static final Class<?>[] OBSERVER_BEANS = { Observers0.class, Observers1.class, Observers2.class, Observers3.class, Observers4.class,
+            Observers5.class, Observers6.class, Observers7.class, Observers8.class, Observers9.class };
+
+    @Param({ "1", "10", "100" })
+    private int observers;
+
+    private WeldContainer container;
+
+    private Event<Payload> event;
+
+    private BeanManager beanManager;
+
+    @Setup
+    public void start() {
+        Weld weld = new Weld().disableDiscovery();
+        if (observers == 1) {
+            weld.addBeanClass(SingleObserver.class);
+        } else {
+            for (int i = 0; i < observers / OBSERVERS_PER_BEAN; i++) {
+                weld.addBeanClass(OBSERVER_BEANS[i]);
+            }
+        }
+        container = weld.initialize();
+        event = container.event().select(Payload.class);
+        beanManager = container.getBeanManager();
+    }
+
+    @TearDown
+    public void stop() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public int fire() {
+        Payload payload = new Payload();
+        event.fire(payload);
+        return payload.received;
+    }
+
+    @Benchmark
+    public int fireThroughBeanManager() {
+        Payload payload = new Payload();
+        beanManager.fireEvent(payload);
+        return payload.received;
+    }
+
+    public static class Payload {
+
+        int received;
+    }
+
+    @ApplicationScoped
+    public static class SingleObserver {
+
+        public void observe(@Observes Payload payload) {
+            payload.received++;
+        }
+    }
+
+    /**
+     * The observer methods are inherited by each of the beans below.
+     */
+    public abstract static class TenObservers {
+
+        public void observe0(@Observes Payload payload) {
+            payload.received++;
+        }
+
+        public void observe1(@Observes Payload payload) {
+            payload.received++;
+        }
+
+        public void observe2(@Observes Payload payload) {
+            payload.received++;
+        }
+
+        public void observe3(@Observes Payload payload) {
+            payload.received++;
+        }
+
+        public void observe4(@Observes Payload payload) {
+            payload.received++;
+        }
+
+        public void observe5(@Observes Payload payload) {
+            payload.received++;
+        }
+
+        public void observe6(@Observes Payload payload) {
+            payload.received++;
+        }
+
+        public void observe7(@Observes Payload payload) {
+            payload.received++;
+        }
+
+        public void observe8(@Observes Payload payload) {
+            payload.received++;
+        }
+
+        public void observe9(@Observes Payload payload) {
+            payload.received++;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Observers0 extends TenObservers {
+    }
+
+    @ApplicationScoped
+    public static class Observers1 extends TenObservers {
+    }
+
+    @ApplicationScoped
+    public static class Observers2 extends TenObservers {
+    }
+
+    @ApplicationScoped
+    public static class Observers3 extends TenObservers {
+    }
+
+    @ApplicationScoped
+    public static class Observers4 extends TenObservers {
+    }
+
+    @ApplicationScoped
+    public static class Observers5 extends TenObservers {
+    }
+
+    @ApplicationScoped
+    public static class Observers6 extends TenObservers {
+    }
+
+    @ApplicationScoped
+    public static class Observers7 extends TenObservers {
+    }
+
+    @ApplicationScoped
+    public static class Observers8 extends TenObservers {
+    }
+
+    @ApplicationScoped
+    public static class Observers9 extends TenObservers {
+    }
+}
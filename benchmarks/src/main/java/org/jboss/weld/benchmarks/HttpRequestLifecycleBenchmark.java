@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.enterprise.context.RequestScoped;
+import javax.servlet.http.HttpServletRequest;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.servlet.HttpContextLifecycle;
+import org.jboss.weld.servlet.spi.helpers.AcceptingHttpContextActivationFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Per-request overhead of the HTTP context lifecycle, i.e. the work {@link HttpContextLifecycle} performs when a request is initialized and destroyed, with
+ * and without the lazy context activation. The servlet request is a plain map-backed mock, so the benchmark measures the overhead Weld adds to a request, not
+ * the request processing of a servlet container.
+ */
+@State(Scope.Benchmark)
+public class HttpRequestLifecycleBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean lazyActivation;
+
+    private WeldContainer container;
+
+    private HttpContextLifecycle lifecycle;
+
+    private RequestCounter counter;
+
+    @Setup
+    public void start() {
+        container = new Weld().disableDiscovery().beanClasses(RequestCounter.class).initialize();
+        lifecycle = new HttpContextLifecycle(BeanManagerProxy.unwrap(container.getBeanManager()), AcceptingHttpContextActivationFilter.INSTANCE, true,
+                true, true, true, lazyActivation);
+        lifecycle.setConversationActivationEnabled(true);
+        counter = container.select(RequestCounter.class).get();
+    }
+
+    @TearDown
+    public void stop() {
+        container.shutdown();
+    }
+
+    /**
+     * A request which does not use any contextual instance, e.g. a static resource.
+     */
+    @Benchmark
+    public void emptyRequest(MockRequest mock) {
+        HttpServletRequest request = mock.begin();
+        lifecycle.requestInitialized(request, null);
+        lifecycle.requestDestroyed(request);
+    }
+
+    /**
+     * A request which invokes a {@link RequestScoped} bean.
+     */
+    @Benchmark
+    public int requestScopedRequest(MockRequest mock) {
+        HttpServletRequest request = mock.begin();
+        lifecycle.requestInitialized(request, null);
+        try {
+            return counter.add(mock.attributes.size());
+        } finally {
+            lifecycle.requestDestroyed(request);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class MockRequest implements InvocationHandler {
+
+        private final Map<String, Object> attributes = new HashMap<String, Object>();
+
+        private final HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(MockRequest.class.getClassLoader(),
+                new Class<?>[] { HttpServletRequest.class }, this);
+
+        HttpServletRequest begin() {
+            attributes.clear();
+            return request;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getAttribute":
+                    return attributes.get(args[0]);
+                case "setAttribute":
+                    attributes.put((String) args[0], args[1]);
+                    return null;
+                case "removeAttribute":
+                    attributes.remove(args[0]);
+                    return null;
+                case "getAttributeNames":
+                    return Collections.enumeration(new HashMap<String, Object>(attributes).keySet());
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "MockRequest";
+                default:
+                    Class<?> returnType = method.getReturnType();
+                    if (boolean.class.equals(returnType)) {
+                        return false;
+                    } else if (int.class.equals(returnType) || long.class.equals(returnType)) {
+                        return 0;
+                    }
+                    return null;
+            }
+        }
+    }
+
+    @RequestScoped
+    public static class RequestCounter {
+
+        public int add(int value) {
+            return value + 1;
+        }
+    }
+}
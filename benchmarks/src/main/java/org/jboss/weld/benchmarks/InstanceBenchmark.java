@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.inject.Inject;
+import javax.inject.Qualifier;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Programmatic lookup through an injected {@link Instance}.
+ */
+@State(Scope.Benchmark)
+public class InstanceBenchmark {
+
+    private static final Fast FAST = new FastLiteral();
+
+    private WeldContainer container;
+
+    private Client client;
+
+    @Setup
+    public void start() {
+        container = new Weld().disableDiscovery().beanClasses(Client.class, DefaultService.class, FastService.class, Task.class).initialize();
+        client = container.select(Client.class).get();
+    }
+
+    @TearDown
+    public void stop() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public Service get() {
+        return client.services.get();
+    }
+
+    @Benchmark
+    public Service selectAndGet() {
+        return client.anyServices.select(FAST).get();
+    }
+
+    @Benchmark
+    public Task getAndDestroyDependent() {
+        Task task = client.tasks.get();
+        client.tasks.destroy(task);
+        return task;
+    }
+
+    @Qualifier
+    @Retention(RUNTIME)
+    @Target({ TYPE, METHOD, FIELD, PARAMETER })
+    public @interface Fast {
+    }
+
+    @SuppressWarnings("all")
+    public static class FastLiteral extends AnnotationLiteral<Fast> implements Fast {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    public interface Service {
+    }
+
+    @ApplicationScoped
+    public static class DefaultService implements Service {
+    }
+
+    @Fast
+    @ApplicationScoped
+    public static class FastService implements Service {
+    }
+
+    @Dependent
+    public static class Task {
+    }
+
+    @Dependent
+    public static class Client {
+
+        @Inject
+        Instance<Service> services;
+
+        @Inject
+        @Any
+        Instance<Service> anyServices;
+
+        @Inject
+        Instance<Task> tasks;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import javax.decorator.Decorator;
+import javax.decorator.Delegate;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Business method invocation of an {@link ApplicationScoped} bean with an interceptor, with one decorator and with a stack of three decorators. The
+ * invocation of a bean without interceptors and decorators is the baseline.
+ */
+@State(Scope.Benchmark)
+public class InterceptionBenchmark {
+
+    private WeldContainer container;
+
+    private PlainService plain;
+
+    private InterceptedService intercepted;
+
+    private Calculator decorated;
+
+    private Pipeline decoratedThreeTimes;
+
+    private int input = 42;
+
+    @Setup
+    public void start() {
+        container = new Weld().disableDiscovery()
+                .beanClasses(PlainService.class, InterceptedService.class, SimpleCalculator.class, SimplePipeline.class)
+                .interceptors(PassThroughInterceptor.class)
+                .decorators(CalculatorDecorator.class, FirstStage.class, SecondStage.class, ThirdStage.class)
+                .initialize();
+        plain = container.select(PlainService.class).get();
+        intercepted = container.select(InterceptedService.class).get();
+        decorated = container.select(Calculator.class).get();
+        decoratedThreeTimes = container.select(Pipeline.class).get();
+    }
+
+    @TearDown
+    public void stop() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public int plain() {
+        return plain.compute(input);
+    }
+
+    @Benchmark
+    public int intercepted() {
+        return intercepted.compute(input);
+    }
+
+    @Benchmark
+    public int decorated() {
+        return decorated.compute(input);
+    }
+
+    @Benchmark
+    public int decoratedThreeTimes() {
+        return decoratedThreeTimes.process(input);
+    }
+
+    @InterceptorBinding
+    @Retention(RUNTIME)
+    @Target({ TYPE, METHOD })
+    public @interface PassThrough {
+    }
+
+    @PassThrough
+    @Interceptor
+    public static class PassThroughInterceptor {
+
+        @AroundInvoke
+        public Object intercept(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    @ApplicationScoped
+    public static class PlainService {
+
+        public int compute(int value) {
+            return value + 1;
+        }
+    }
+
+    @PassThrough
+    @ApplicationScoped
+    public static class InterceptedService {
+
+        public int compute(int value) {
+            return value + 1;
+        }
+    }
+
+    public interface Calculator {
+
+        int compute(int value);
+    }
+
+    @ApplicationScoped
+    public static class SimpleCalculator implements Calculator {
+
+        @Override
+        public int compute(int value) {
+            return value + 1;
+        }
+    }
+
+    @Decorator
+    public static class CalculatorDecorator implements Calculator {
+
+        @Inject
+        @Delegate
+        Calculator delegate;
+
+        @Override
+        public int compute(int value) {
+            return delegate.compute(value);
+        }
+    }
+
+    public interface Pipeline {
+
+        int process(int value);
+    }
+
+    @ApplicationScoped
+    public static class SimplePipeline implements Pipeline {
+
+        @Override
+        public int process(int value) {
+            return value + 1;
+        }
+    }
+
+    @Decorator
+    public static class FirstStage implements Pipeline {
+
+        @Inject
+        @Delegate
+        Pipeline delegate;
+
+        @Override
+        public int process(int value) {
+            return delegate.process(value);
+        }
+    }
+
+    @Decorator
+    public static class SecondStage implements Pipeline {
+
+        @Inject
+        @Delegate
+        Pipeline delegate;
+
+        @Override
+        public int process(int value) {
+            return delegate.process(value);
+        }
+    }
+
+    @Decorator
+    public static class ThirdStage implements Pipeline {
+
+        @Inject
+        @Delegate
+        Pipeline delegate;
+
+        @Override
+        public int process(int value) {
+            return delegate.process(value);
+        }
+    }
+}
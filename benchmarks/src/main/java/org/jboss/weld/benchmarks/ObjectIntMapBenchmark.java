@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.jboss.weld.util.collections.ObjectIntMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lookups in {@link ObjectIntMap} compared to a {@link HashMap} with boxed values. The keys are looked up in random order.
+ */
+@State(Scope.Thread)
+public class ObjectIntMapBenchmark {
+
+    private static final long SEED = 42L;
+
+    /**
+     * Must be a power of two.
+     */
+    @Param({ "16", "1024" })
+    private int size;
+
+    private String[] objectKeys;
+
+    private ObjectIntMap<String> objectIntMap;
+
+    private Map<String, Integer> boxedValueMap;
+
+    private int next;
+
+    @Setup
+    public void start() {
+        Random random = new Random(SEED);
+        objectKeys = new String[size];
+        objectIntMap = new ObjectIntMap<String>();
+        boxedValueMap = new HashMap<String, Integer>();
+        for (int i = 0; i < size; i++) {
+            objectKeys[i] = "key" + random.nextInt();
+            objectIntMap.put(objectKeys[i], i);
+            boxedValueMap.put(objectKeys[i], i);
+        }
+    }
+
+    @Benchmark
+    public int objectIntMapGet() {
+        return objectIntMap.get(objectKeys[nextIndex()], -1);
+    }
+
+    @Benchmark
+    public int hashMapGetBoxedValue() {
+        return boxedValueMap.get(objectKeys[nextIndex()]);
+    }
+
+    private int nextIndex() {
+        return next++ & (size - 1);
+    }
+}
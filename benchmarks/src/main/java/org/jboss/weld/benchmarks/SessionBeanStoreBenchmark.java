@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.SessionMapBeanStore;
+import org.jboss.weld.context.beanstore.SimpleNamingScheme;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Puts and gets of contextual instances in an attached session bean store. Each benchmark thread works with its own session. See
+ * {@link ClientProxyBenchmark#sessionScoped(ClientProxyBenchmark.ActiveContexts)} for the lookup through the session context.
+ */
+@State(Scope.Thread)
+public class SessionBeanStoreBenchmark {
+
+    /**
+     * Must be a power of two.
+     */
+    @Param({ "16" })
+    private int beans;
+
+    private BeanIdentifier[] ids;
+
+    private StoredInstance[] instances;
+
+    private SessionMapBeanStore beanStore;
+
+    private int next;
+
+    @Setup
+    public void start() {
+        beanStore = new SessionMapBeanStore(new SimpleNamingScheme("WELD_BS"), new ConcurrentHashMap<String, Object>());
+        beanStore.attach();
+        ids = new BeanIdentifier[beans];
+        instances = new StoredInstance[beans];
+        for (int i = 0; i < beans; i++) {
+            ids[i] = new StringBeanIdentifier("bean" + i);
+            instances[i] = new StoredInstance(i);
+            beanStore.put(ids[i], instances[i]);
+        }
+    }
+
+    @Benchmark
+    public ContextualInstance<Integer> get() {
+        return beanStore.get(ids[nextIndex()]);
+    }
+
+    @Benchmark
+    public void put() {
+        int index = nextIndex();
+        beanStore.put(ids[index], instances[index]);
+    }
+
+    private int nextIndex() {
+        return next++ & (beans - 1);
+    }
+
+    private static class StoredInstance implements ContextualInstance<Integer> {
+
+        private final Integer instance;
+
+        StoredInstance(int value) {
+            this.instance = value;
+        }
+
+        @Override
+        public Integer getInstance() {
+            return instance;
+        }
+
+        @Override
+        public CreationalContext<Integer> getCreationalContext() {
+            return null;
+        }
+
+        @Override
+        public Contextual<Integer> getContextual() {
+            return null;
+        }
+    }
+}
@@ -30,8 +30,11 @@ import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.zip.ZipFile;
 
 import org.jboss.logging.Logger;
@@ -52,6 +55,9 @@ public class DefaultBeanArchiveScanner implements BeanArchiveScanner {
 
     private static final Logger log = Logger.getLogger(DefaultBeanArchiveScanner.class);
 
+    // parsing a few files in parallel does not pay off
+    private static final int PARALLEL_PARSING_THRESHOLD = 16;
+
     protected final ResourceLoader resourceLoader;
 
     protected final Bootstrap bootstrap;
@@ -73,17 +79,55 @@ public class DefaultBeanArchiveScanner implements BeanArchiveScanner {
         final String[] resources = AbstractWeldDeployment.RESOURCES;
 
         // Find all beans.xml files
+        final List<URL> beansXmlUrls = new ArrayList<URL>();
         for (String resourceName : resources) {
             for (URL beansXmlUrl : resourceLoader.getResources(resourceName)) {
-                final BeansXml beansXml = bootstrap.parse(beansXmlUrl);
-                if (accept(beansXml)) {
-                    beansXmlMap.put(beansXmlUrl, new ScanResult(beansXml, getBeanArchiveReference(beansXmlUrl)));
-                }
+                beansXmlUrls.add(beansXmlUrl);
+            }
+        }
+        final List<BeansXml> beansXmls = parse(beansXmlUrls);
+        for (int i = 0; i < beansXmlUrls.size(); i++) {
+            final BeansXml beansXml = beansXmls.get(i);
+            if (accept(beansXml)) {
+                final URL beansXmlUrl = beansXmlUrls.get(i);
+                beansXmlMap.put(beansXmlUrl, new ScanResult(beansXml, getBeanArchiveReference(beansXmlUrl)));
             }
         }
         return beansXmlMap;
     }
 
+    /**
+     * Parses the given beans.xml files. If there are many of them (e.g. a web application with hundreds of library JARs) they are parsed in parallel. The
+     * order of the results matches the order of the given URLs. The parallel tasks run with the context class loader of the calling thread, so that the
+     * XML parser implementation and the schemas are looked up the same way as for sequential parsing.
+     *
+     * @param beansXmlUrls
+     * @return the parsed beans.xml files
+     */
+    protected List<BeansXml> parse(List<URL> beansXmlUrls) {
+        // the common pool threads have no permissions under a security manager
+        if (beansXmlUrls.size() < PARALLEL_PARSING_THRESHOLD || System.getSecurityManager() != null) {
+            final List<BeansXml> beansXmls = new ArrayList<BeansXml>(beansXmlUrls.size());
+            for (URL beansXmlUrl : beansXmlUrls) {
+                beansXmls.add(bootstrap.parse(beansXmlUrl));
+            }
+            return beansXmls;
+        }
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return beansXmlUrls.parallelStream().map((url) -> parse(url, contextClassLoader)).collect(Collectors.toList());
+    }
+
+    private BeansXml parse(URL beansXmlUrl, ClassLoader contextClassLoader) {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(contextClassLoader);
+        try {
+            return bootstrap.parse(beansXmlUrl);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
     protected boolean accept(BeansXml beansXml) {
         return !BeanDiscoveryMode.NONE.equals(beansXml.getBeanDiscoveryMode());
     }
@@ -19,22 +19,30 @@ package org.jboss.weld.environment.deployment.discovery;
 import static org.jboss.weld.environment.util.Reflections.hasBeanDefiningMetaAnnotationSpecified;
 
 import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.context.NormalScope;
 import javax.enterprise.inject.Stereotype;
 
 import org.jboss.weld.bootstrap.api.Bootstrap;
 import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
+import org.jboss.weld.environment.deployment.discovery.bytecode.BytecodeClassFileServices;
+import org.jboss.weld.environment.deployment.discovery.bytecode.ClassFile;
 import org.jboss.weld.environment.logging.CommonLogger;
+import org.jboss.weld.resources.spi.ClassFileServices;
 import org.jboss.weld.resources.spi.ResourceLoader;
 import org.jboss.weld.util.collections.ImmutableList;
 import org.jboss.weld.util.reflection.Reflections;
 
 /**
- * This implementation supports bean-discovery-mode="annotated" and makes use of reflection to detect a class with a bean defining annotation.
+ * This implementation supports bean-discovery-mode="annotated" without Jandex. The class files are read directly by {@link BytecodeClassFileServices} to detect
+ * a class with a bean defining annotation, i.e. the classes which are not beans are never loaded. Reflection is only used if a class file cannot be read.
+ * The {@link BytecodeClassFileServices} are also provided to the container.
  *
  * @author Matej Briškár
  * @author Martin Kouba
@@ -43,18 +51,45 @@ public class ReflectionDiscoveryStrategy extends AbstractDiscoveryStrategy {
 
     private final List<Class<? extends Annotation>> metaAnnotations;
 
+    private final BytecodeClassFileServices classFileServices;
+
+    // annotation name -> true if the annotation is bean defining
+    private final ConcurrentMap<String, Boolean> beanDefiningAnnotations;
+
     public ReflectionDiscoveryStrategy(ResourceLoader resourceLoader, Bootstrap bootstrap, Set<Class<? extends Annotation>> initialBeanDefiningAnnotations) {
         super(resourceLoader, bootstrap, initialBeanDefiningAnnotations);
         this.metaAnnotations = ImmutableList.of(Stereotype.class, NormalScope.class);
+        this.classFileServices = new BytecodeClassFileServices(resourceLoader);
+        this.beanDefiningAnnotations = new ConcurrentHashMap<String, Boolean>();
+        for (Class<? extends Annotation> annotation : initialBeanDefiningAnnotations) {
+            beanDefiningAnnotations.put(annotation.getName(), Boolean.TRUE);
+        }
         registerHandler(new FileSystemBeanArchiveHandler());
     }
 
+    @Override
+    public ClassFileServices getClassFileServices() {
+        return classFileServices;
+    }
+
     @Override
     protected WeldBeanDeploymentArchive processAnnotatedDiscovery(BeanArchiveBuilder builder) {
-        CommonLogger.LOG.reflectionFallback();
+        CommonLogger.LOG.classFileDiscovery();
+        boolean reflectionFallback = false;
         Iterator<String> classIterator = builder.getClassIterator();
         while (classIterator.hasNext()) {
             String className = classIterator.next();
+            ClassFile classFile = classFileServices.getClassFile(className);
+            if (classFile != null) {
+                if (!hasBeanDefiningAnnotation(classFile)) {
+                    classIterator.remove();
+                }
+                continue;
+            }
+            if (!reflectionFallback) {
+                CommonLogger.LOG.reflectionFallback();
+                reflectionFallback = true;
+            }
             Class<?> clazz = Reflections.loadClass(className, resourceLoader);
             if (clazz == null || !hasBeanDefiningAnnotation(clazz, initialBeanDefiningAnnotations)) {
                 classIterator.remove();
@@ -63,6 +98,64 @@ public class ReflectionDiscoveryStrategy extends AbstractDiscoveryStrategy {
         return builder.build();
     }
 
+    private boolean hasBeanDefiningAnnotation(ClassFile classFile) {
+        for (String annotation : classFile.getDeclaredAnnotations()) {
+            if (isBeanDefiningAnnotation(annotation)) {
+                return true;
+            }
+        }
+        // Class.getAnnotations() used to return the inherited annotations as well
+        String superName = classFile.getSuperName();
+        while (superName != null && !Object.class.getName().equals(superName)) {
+            ClassFile superClassFile = classFileServices.getClassFile(superName);
+            if (superClassFile == null) {
+                Class<?> superClass = Reflections.loadClass(superName, resourceLoader);
+                return superClass != null && hasInheritedBeanDefiningAnnotation(superClass);
+            }
+            for (String annotation : superClassFile.getDeclaredAnnotations()) {
+                if (isBeanDefiningAnnotation(annotation) && classFileServices.isInherited(annotation)) {
+                    return true;
+                }
+            }
+            superName = superClassFile.getSuperName();
+        }
+        return false;
+    }
+
+    private boolean hasInheritedBeanDefiningAnnotation(Class<?> clazz) {
+        for (Annotation annotation : clazz.getAnnotations()) {
+            Class<? extends Annotation> annotationType = annotation.annotationType();
+            if (annotationType.isAnnotationPresent(Inherited.class) && isBeanDefiningAnnotation(annotationType.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isBeanDefiningAnnotation(String annotation) {
+        Boolean value = beanDefiningAnnotations.get(annotation);
+        if (value == null) {
+            value = Boolean.FALSE;
+            for (String metaAnnotation : classFileServices.getMetaAnnotations(annotation)) {
+                if (isMetaAnnotation(metaAnnotation)) {
+                    value = Boolean.TRUE;
+                    break;
+                }
+            }
+            beanDefiningAnnotations.put(annotation, value);
+        }
+        return value;
+    }
+
+    private boolean isMetaAnnotation(String annotation) {
+        for (Class<? extends Annotation> metaAnnotation : metaAnnotations) {
+            if (metaAnnotation.getName().equals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean hasBeanDefiningAnnotation(Class<?> clazz, Set<Class<? extends Annotation>> initialBeanDefiningAnnotations) {
         for (Class<? extends Annotation> beanDefiningAnnotation : initialBeanDefiningAnnotations) {
             if (clazz.isAnnotationPresent(beanDefiningAnnotation)) {
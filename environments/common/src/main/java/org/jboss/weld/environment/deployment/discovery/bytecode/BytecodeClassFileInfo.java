@@ -0,0 +1,185 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery.bytecode;
+
+import java.lang.annotation.Annotation;
+
+import javax.enterprise.inject.Vetoed;
+
+import org.jboss.weld.environment.util.Reflections;
+import org.jboss.weld.resources.spi.ClassFileInfo;
+
+/**
+ * A Java class representation backed by a {@link ClassFile}. The semantics follow the Jandex-based implementation, except for {@link #isTopLevelClass()}
+ * which relies on the <code>InnerClasses</code> attribute.
+ */
+public class BytecodeClassFileInfo implements ClassFileInfo {
+
+    private static final String OBJECT_NAME = Object.class.getName();
+
+    private static final String VETOED_NAME = Vetoed.class.getName();
+
+    private static final String PACKAGE_INFO_NAME = "package-info";
+
+    private static final String JDK_PACKAGE_PREFIX = "java.";
+
+    private final ClassFile classFile;
+
+    private final BytecodeClassFileServices services;
+
+    BytecodeClassFileInfo(ClassFile classFile, BytecodeClassFileServices services) {
+        this.classFile = classFile;
+        this.services = services;
+    }
+
+    @Override
+    public String getClassName() {
+        return classFile.getName();
+    }
+
+    @Override
+    public String getSuperclassName() {
+        return classFile.getSuperName();
+    }
+
+    @Override
+    public boolean isAnnotationDeclared(Class<? extends Annotation> annotation) {
+        return classFile.getDeclaredAnnotations().contains(annotation.getName());
+    }
+
+    @Override
+    public boolean containsAnnotation(Class<? extends Annotation> annotation) {
+        return containsAnnotation(classFile, annotation.getName(), annotation);
+    }
+
+    @Override
+    public int getModifiers() {
+        return classFile.getAccessFlags();
+    }
+
+    @Override
+    public boolean hasCdiConstructor() {
+        return classFile.hasNoArgsConstructor() || classFile.hasInjectConstructor();
+    }
+
+    @Override
+    public boolean isAssignableFrom(Class<?> fromClass) {
+        return isAssignableFrom(getClassName(), fromClass);
+    }
+
+    @Override
+    public boolean isAssignableTo(Class<?> toClass) {
+        return isAssignableTo(getClassName(), toClass);
+    }
+
+    @Override
+    public boolean isVetoed() {
+        if (classFile.getDeclaredAnnotations().contains(VETOED_NAME)) {
+            return true;
+        }
+        String className = getClassName();
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot == -1) {
+            return false;
+        }
+        ClassFile packageInfo = services.getClassFile(className.substring(0, lastDot + 1) + PACKAGE_INFO_NAME);
+        return packageInfo != null && packageInfo.getDeclaredAnnotations().contains(VETOED_NAME);
+    }
+
+    @Override
+    public boolean isTopLevelClass() {
+        return classFile.isTopLevel();
+    }
+
+    private boolean isAssignableFrom(String className, Class<?> fromClass) {
+        if (className.equals(fromClass.getName())) {
+            return true;
+        }
+        if (Object.class.equals(fromClass)) {
+            return false; // there's nothing assignable from Object.class except for Object.class
+        }
+        Class<?> superClass = fromClass.getSuperclass();
+        if (superClass != null && isAssignableFrom(className, superClass)) {
+            return true;
+        }
+        for (Class<?> interfaceClass : fromClass.getInterfaces()) {
+            if (isAssignableFrom(className, interfaceClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAssignableTo(String name, Class<?> to) {
+        if (to.getName().equals(name)) {
+            return true;
+        }
+        if (OBJECT_NAME.equals(name)) {
+            return false; // there's nothing assignable from Object.class except for Object.class
+        }
+        if (name.startsWith(JDK_PACKAGE_PREFIX) && !to.getName().startsWith(JDK_PACKAGE_PREFIX)) {
+            // a JDK type cannot extend an application type
+            return false;
+        }
+        ClassFile fromClassFile = services.getClassFile(name);
+        if (fromClassFile == null) {
+            // the class file is not available, let's use reflection
+            return to.isAssignableFrom(services.loadClass(name));
+        }
+        String superName = fromClassFile.getSuperName();
+        if (superName != null && isAssignableTo(superName, to)) {
+            return true;
+        }
+        for (String interfaceName : fromClassFile.getInterfaceNames()) {
+            if (isAssignableTo(interfaceName, to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean containsAnnotation(ClassFile classFile, String requiredAnnotationName, Class<? extends Annotation> requiredAnnotation) {
+        // Type and members
+        if (classFile.getAnnotations().contains(requiredAnnotationName)) {
+            return true;
+        }
+        // Meta-annotations
+        for (String annotation : classFile.getAnnotations()) {
+            for (String metaAnnotation : services.getMetaAnnotations(annotation)) {
+                if (requiredAnnotationName.equals(metaAnnotation)) {
+                    return true;
+                }
+            }
+        }
+        // Superclass
+        String superName = classFile.getSuperName();
+        if (superName != null && !OBJECT_NAME.equals(superName)) {
+            ClassFile superClassFile = services.getClassFile(superName);
+            if (superClassFile == null) {
+                return Reflections.containsAnnotation(services.loadClass(superName), requiredAnnotation);
+            }
+            return containsAnnotation(superClassFile, requiredAnnotationName, requiredAnnotation);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return classFile.toString();
+    }
+
+}
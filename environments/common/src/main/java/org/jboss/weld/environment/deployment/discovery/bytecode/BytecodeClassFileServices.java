@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery.bytecode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.jboss.weld.environment.logging.CommonLogger;
+import org.jboss.weld.environment.util.Reflections;
+import org.jboss.weld.resources.spi.ClassFileInfo;
+import org.jboss.weld.resources.spi.ClassFileServices;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.util.cache.ComputingCache;
+import org.jboss.weld.util.cache.ComputingCacheBuilder;
+
+/**
+ * An implementation of {@link ClassFileServices} which reads the class files found by the {@link ResourceLoader} directly, without any external dependency.
+ * The class files are read on demand and cached until the container is initialized.
+ *
+ * @see ClassFile
+ */
+public class BytecodeClassFileServices implements ClassFileServices {
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private static final String INHERITED_NAME = Inherited.class.getName();
+
+    private final ResourceLoader resourceLoader;
+
+    private final ComputingCache<String, Optional<ClassFile>> classFiles;
+
+    public BytecodeClassFileServices(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+        this.classFiles = ComputingCacheBuilder.newBuilder().build(this::readClassFile);
+    }
+
+    @Override
+    public ClassFileInfo getClassFileInfo(String className) {
+        ClassFile classFile = getClassFile(className);
+        if (classFile == null) {
+            throw CommonLogger.LOG.classFileNotFound(className);
+        }
+        return new BytecodeClassFileInfo(classFile, this);
+    }
+
+    /**
+     *
+     * @param className
+     * @return the class file of the given class or <code>null</code> if it cannot be found or read
+     */
+    public ClassFile getClassFile(String className) {
+        return classFiles.getValue(className).orElse(null);
+    }
+
+    /**
+     * Returns the names of the annotations declared on the given annotation type. If the class file is not available, the annotation type is loaded.
+     *
+     * @param annotationName
+     * @return the names of the meta-annotations
+     */
+    public Iterable<String> getMetaAnnotations(String annotationName) {
+        ClassFile annotation = getClassFile(annotationName);
+        if (annotation != null) {
+            return annotation.getDeclaredAnnotations();
+        }
+        Class<? extends Annotation> annotationClass = Reflections.loadClass(resourceLoader, annotationName);
+        if (annotationClass == null) {
+            // annotations missing from the classpath are ignored by the JVM
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<String>();
+        for (Annotation metaAnnotation : annotationClass.getDeclaredAnnotations()) {
+            names.add(metaAnnotation.annotationType().getName());
+        }
+        return names;
+    }
+
+    /**
+     *
+     * @param annotationName
+     * @return <code>true</code> if the given annotation type is annotated with {@link Inherited}
+     */
+    public boolean isInherited(String annotationName) {
+        for (String metaAnnotation : getMetaAnnotations(annotationName)) {
+            if (INHERITED_NAME.equals(metaAnnotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    <T> Class<T> loadClass(String className) {
+        return Reflections.classForName(resourceLoader, className);
+    }
+
+    private Optional<ClassFile> readClassFile(String className) {
+        URL url = resourceLoader.getResource(className.replace('.', '/') + CLASS_FILE_SUFFIX);
+        if (url == null) {
+            return Optional.empty();
+        }
+        try (InputStream in = url.openStream()) {
+            return Optional.of(ClassFile.read(in));
+        } catch (IOException e) {
+            CommonLogger.LOG.unableToReadClassFile(url, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void cleanupAfterBoot() {
+        classFiles.clear();
+    }
+
+    @Override
+    public void cleanup() {
+        cleanupAfterBoot();
+    }
+
+}
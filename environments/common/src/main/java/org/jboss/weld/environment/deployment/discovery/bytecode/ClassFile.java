@@ -0,0 +1,446 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery.bytecode;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.jboss.weld.util.collections.ImmutableList;
+import org.jboss.weld.util.collections.ImmutableSet;
+
+/**
+ * The metadata of a class read directly from its class file, i.e. without loading the class. Only the constant pool, the class header and the runtime visible
+ * annotations of the class and its members are read, the code is skipped.
+ */
+public final class ClassFile {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    private static final int UNSIGNED_BYTE = 0xFF;
+
+    private static final int BYTE_SHIFT = 8;
+
+    private static final int ASCII_LIMIT = 0x80;
+
+    // the lengths of the skipped structures, in bytes
+    private static final int VERSION_LENGTH = 4;
+    private static final int FIELD_HEADER_LENGTH = 6;
+    private static final int INNER_CLASS_FLAGS_AND_NAMES_LENGTH = 6;
+    private static final int SMALL_CONSTANT_LENGTH = 4;
+    private static final int LARGE_CONSTANT_LENGTH = 8;
+    private static final int ENUM_VALUE_LENGTH = 4;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+    private static final String RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS = "RuntimeVisibleParameterAnnotations";
+    private static final String INNER_CLASSES = "InnerClasses";
+    private static final String CONSTRUCTOR_NAME = "<init>";
+    private static final String NO_ARGS_DESCRIPTOR = "()V";
+    private static final String INJECT_NAME = Inject.class.getName();
+
+    private final String name;
+    private final String superName;
+    private final List<String> interfaceNames;
+    private final int accessFlags;
+    private final Set<String> declaredAnnotations;
+    private final Set<String> annotations;
+    private final boolean hasNoArgsConstructor;
+    private final boolean hasInjectConstructor;
+    private final boolean topLevel;
+
+    private ClassFile(Parser parser) {
+        this.name = parser.name;
+        this.superName = parser.superName;
+        this.interfaceNames = ImmutableList.copyOf(parser.interfaceNames);
+        this.accessFlags = parser.accessFlags;
+        this.declaredAnnotations = ImmutableSet.copyOf(parser.declaredAnnotations);
+        this.annotations = ImmutableSet.copyOf(parser.annotations);
+        this.hasNoArgsConstructor = parser.hasNoArgsConstructor;
+        this.hasInjectConstructor = parser.hasInjectConstructor;
+        this.topLevel = parser.topLevel;
+    }
+
+    /**
+     * Reads the given class file. The stream is not closed.
+     *
+     * @param in the class file
+     * @return the metadata of the class
+     * @throws IOException if the stream cannot be read or does not represent a valid class file
+     */
+    public static ClassFile read(InputStream in) throws IOException {
+        Parser parser = new Parser(readFully(in));
+        try {
+            parser.parse();
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Truncated class file", e);
+        }
+        return new ClassFile(parser);
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        int length = 0;
+        int read;
+        while ((read = in.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     *
+     * @return the fully qualified name of the class
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     *
+     * @return the fully qualified name of the superclass, or <code>null</code> for {@link Object}
+     */
+    public String getSuperName() {
+        return superName;
+    }
+
+    public List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    /**
+     *
+     * @return the names of the runtime visible annotations declared on the class
+     */
+    public Set<String> getDeclaredAnnotations() {
+        return declaredAnnotations;
+    }
+
+    /**
+     *
+     * @return the names of the runtime visible annotations declared on the class, its fields, methods, constructors and parameters
+     */
+    public Set<String> getAnnotations() {
+        return annotations;
+    }
+
+    public boolean hasNoArgsConstructor() {
+        return hasNoArgsConstructor;
+    }
+
+    public boolean hasInjectConstructor() {
+        return hasInjectConstructor;
+    }
+
+    /**
+     *
+     * @return <code>false</code> if the class is a member, local or anonymous class
+     */
+    public boolean isTopLevel() {
+        return topLevel;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassFile [" + name + "]";
+    }
+
+    private static class Parser {
+
+        private final byte[] bytes;
+        private int position;
+
+        // offsets of the CONSTANT_Utf8 entries, the CONSTANT_Class entries hold the index of their name
+        private int[] offsets;
+        private int[] classNameIndexes;
+
+        private String name;
+        private String superName;
+        private List<String> interfaceNames = Collections.emptyList();
+        private int accessFlags;
+        private final Set<String> declaredAnnotations = new HashSet<String>();
+        private final Set<String> annotations = new HashSet<String>();
+        private boolean hasNoArgsConstructor;
+        private boolean hasInjectConstructor;
+        private boolean topLevel = true;
+
+        private Parser(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private void parse() throws IOException {
+            if (readInt() != MAGIC) {
+                throw new IOException("Not a class file");
+            }
+            // minor and major version
+            skip(VERSION_LENGTH);
+            readConstantPool();
+            accessFlags = readUnsignedShort();
+            int thisClass = readUnsignedShort();
+            name = getClassName(thisClass);
+            int superClass = readUnsignedShort();
+            superName = superClass == 0 ? null : getClassName(superClass);
+            int interfacesCount = readUnsignedShort();
+            if (interfacesCount > 0) {
+                interfaceNames = new ArrayList<String>(interfacesCount);
+                for (int i = 0; i < interfacesCount; i++) {
+                    interfaceNames.add(getClassName(readUnsignedShort()));
+                }
+            }
+            // fields
+            int count = readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                // access flags, name and descriptor
+                skip(FIELD_HEADER_LENGTH);
+                readMemberAttributes(false);
+            }
+            // methods
+            count = readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                skip(2);
+                boolean constructor = CONSTRUCTOR_NAME.equals(getUtf8(readUnsignedShort()));
+                String descriptor = getUtf8(readUnsignedShort());
+                if (constructor && NO_ARGS_DESCRIPTOR.equals(descriptor)) {
+                    hasNoArgsConstructor = true;
+                }
+                if (readMemberAttributes(constructor)) {
+                    hasInjectConstructor = true;
+                }
+            }
+            // class attributes
+            count = readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                String attributeName = getUtf8(readUnsignedShort());
+                int length = readInt();
+                int end = position + length;
+                if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    readAnnotations(declaredAnnotations);
+                } else if (INNER_CLASSES.equals(attributeName)) {
+                    int classes = readUnsignedShort();
+                    for (int j = 0; j < classes; j++) {
+                        if (readUnsignedShort() == thisClass) {
+                            topLevel = false;
+                        }
+                        skip(INNER_CLASS_FLAGS_AND_NAMES_LENGTH);
+                    }
+                }
+                position = end;
+            }
+            annotations.addAll(declaredAnnotations);
+        }
+
+        private void readConstantPool() throws IOException {
+            int count = readUnsignedShort();
+            offsets = new int[count];
+            classNameIndexes = new int[count];
+            for (int i = 1; i < count; i++) {
+                int tag = bytes[position++];
+                switch (tag) {
+                    case CONSTANT_UTF8:
+                        offsets[i] = position;
+                        skip(readUnsignedShort());
+                        break;
+                    case CONSTANT_CLASS:
+                        classNameIndexes[i] = readUnsignedShort();
+                        break;
+                    case CONSTANT_STRING:
+                    case CONSTANT_METHOD_TYPE:
+                    case CONSTANT_MODULE:
+                    case CONSTANT_PACKAGE:
+                        skip(2);
+                        break;
+                    case CONSTANT_METHOD_HANDLE:
+                        skip(3);
+                        break;
+                    case CONSTANT_INTEGER:
+                    case CONSTANT_FLOAT:
+                    case CONSTANT_FIELDREF:
+                    case CONSTANT_METHODREF:
+                    case CONSTANT_INTERFACE_METHODREF:
+                    case CONSTANT_NAME_AND_TYPE:
+                    case CONSTANT_DYNAMIC:
+                    case CONSTANT_INVOKE_DYNAMIC:
+                        skip(SMALL_CONSTANT_LENGTH);
+                        break;
+                    case CONSTANT_LONG:
+                    case CONSTANT_DOUBLE:
+                        skip(LARGE_CONSTANT_LENGTH);
+                        // eight-byte constants take up two entries
+                        i++;
+                        break;
+                    default:
+                        throw new IOException("Unknown constant pool tag " + tag);
+                }
+            }
+        }
+
+        /**
+         * Reads the attributes of a field or method and collects the annotations.
+         *
+         * @return <code>true</code> if the member is annotated with {@link Inject}
+         */
+        private boolean readMemberAttributes(boolean checkInject) throws IOException {
+            boolean inject = false;
+            int count = readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                String attributeName = getUtf8(readUnsignedShort());
+                int length = readInt();
+                int end = position + length;
+                if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    if (checkInject) {
+                        Set<String> memberAnnotations = new HashSet<String>();
+                        readAnnotations(memberAnnotations);
+                        inject = memberAnnotations.contains(INJECT_NAME);
+                        annotations.addAll(memberAnnotations);
+                    } else {
+                        readAnnotations(annotations);
+                    }
+                } else if (RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS.equals(attributeName)) {
+                    int parameters = bytes[position++] & UNSIGNED_BYTE;
+                    for (int j = 0; j < parameters; j++) {
+                        readAnnotations(annotations);
+                    }
+                }
+                position = end;
+            }
+            return inject;
+        }
+
+        private void readAnnotations(Set<String> names) throws IOException {
+            int count = readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                names.add(readAnnotation());
+            }
+        }
+
+        private String readAnnotation() throws IOException {
+            String type = getUtf8(readUnsignedShort());
+            int pairs = readUnsignedShort();
+            for (int i = 0; i < pairs; i++) {
+                // element name
+                skip(2);
+                skipElementValue();
+            }
+            // the descriptor has the form Lcom/acme/Foo;
+            return type.substring(1, type.length() - 1).replace('/', '.');
+        }
+
+        private void skipElementValue() throws IOException {
+            int tag = bytes[position++];
+            switch (tag) {
+                case 'B':
+                case 'C':
+                case 'D':
+                case 'F':
+                case 'I':
+                case 'J':
+                case 'S':
+                case 'Z':
+                case 's':
+                case 'c':
+                    skip(2);
+                    break;
+                case 'e':
+                    skip(ENUM_VALUE_LENGTH);
+                    break;
+                case '@':
+                    readAnnotation();
+                    break;
+                case '[':
+                    int values = readUnsignedShort();
+                    for (int i = 0; i < values; i++) {
+                        skipElementValue();
+                    }
+                    break;
+                default:
+                    throw new IOException("Unknown element value tag " + tag);
+            }
+        }
+
+        private String getClassName(int index) throws IOException {
+            return getUtf8(classNameIndexes[index]).replace('/', '.');
+        }
+
+        private String getUtf8(int index) throws IOException {
+            int offset = offsets[index];
+            if (offset == 0) {
+                throw new IOException("Invalid constant pool reference " + index);
+            }
+            int length = ((bytes[offset] & UNSIGNED_BYTE) << BYTE_SHIFT) | (bytes[offset + 1] & UNSIGNED_BYTE);
+            int start = offset + 2;
+            for (int i = start; i < start + length; i++) {
+                if ((bytes[i] & UNSIGNED_BYTE) >= ASCII_LIMIT) {
+                    // modified UTF-8
+                    return new DataInputStream(new ByteArrayInputStream(bytes, offset, length + 2)).readUTF();
+                }
+            }
+            return new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+        }
+
+        private int readUnsignedShort() {
+            int value = ((bytes[position] & UNSIGNED_BYTE) << BYTE_SHIFT) | (bytes[position + 1] & UNSIGNED_BYTE);
+            position += 2;
+            return value;
+        }
+
+        private int readInt() {
+            return (readUnsignedShort() << (2 * BYTE_SHIFT)) | readUnsignedShort();
+        }
+
+        private void skip(int length) {
+            position += length;
+        }
+
+    }
+
+}
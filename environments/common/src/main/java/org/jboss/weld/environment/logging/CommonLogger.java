@@ -65,7 +65,7 @@ public interface CommonLogger extends WeldEnvironmentLogger {
     IllegalStateException undefinedBeanDiscoveryValue(Object param1);
 
     @LogMessage(level = Level.INFO)
-    @Message(id = 14, value = "Falling back to Java Reflection for bean-discovery-mode=\"annotated\" discovery. Add org.jboss:jandex to the classpath to speed-up startup.", format = Format.MESSAGE_FORMAT)
+    @Message(id = 14, value = "Falling back to Java Reflection for bean-discovery-mode=\"annotated\" discovery", format = Format.MESSAGE_FORMAT)
     void reflectionFallback();
 
     @Message(id = 15, value = "Unable to load annotation: {0}", format = Format.MESSAGE_FORMAT)
@@ -128,4 +128,15 @@ public interface CommonLogger extends WeldEnvironmentLogger {
     @Message(id = 33, value = "Invalid bean archive scanning result - found multiple results with the same reference: {0}", format = Format.MESSAGE_FORMAT)
     IllegalStateException invalidScanningResult(Object beanArchiveRef);
 
+    @Message(id = 34, value = "Class file not found: {0}", format = Format.MESSAGE_FORMAT)
+    ClassFileInfoException classFileNotFound(Object className);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 35, value = "Unable to read the class file {0}", format = Format.MESSAGE_FORMAT)
+    void unableToReadClassFile(Object url, @Cause Throwable cause);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 36, value = "Reading class files directly for bean-discovery-mode=\"annotated\" discovery", format = Format.MESSAGE_FORMAT)
+    void classFileDiscovery();
+
 }
@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import org.jboss.weld.bootstrap.api.Bootstrap;
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.resources.DefaultResourceLoader;
+import org.junit.Test;
+
+public class DefaultBeanArchiveScannerTest {
+
+    private static final int FILES = 64;
+
+    private static final long PARSE_NANOS = 1000000L;
+
+    @Test
+    public void testParallelParsingUsesCallerContextClassLoader() throws Exception {
+        final Set<ClassLoader> contextClassLoaders = ConcurrentHashMap.newKeySet();
+        Bootstrap bootstrap = (Bootstrap) Proxy.newProxyInstance(Bootstrap.class.getClassLoader(), new Class<?>[] { Bootstrap.class }, (proxy, method, args) -> {
+            if ("parse".equals(method.getName())) {
+                contextClassLoaders.add(Thread.currentThread().getContextClassLoader());
+                // Give the common pool threads a chance to steal some of the tasks
+                LockSupport.parkNanos(PARSE_NANOS);
+                return BeansXml.EMPTY_BEANS_XML;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+        List<URL> urls = new ArrayList<URL>();
+        for (int i = 0; i < FILES; i++) {
+            urls.add(new URL("file:/archive" + i + "/META-INF/beans.xml"));
+        }
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        // Start the common pool threads first, they would otherwise inherit the context class loader of this thread
+        IntStream.range(0, FILES).parallel().forEach((i) -> LockSupport.parkNanos(PARSE_NANOS));
+        try (URLClassLoader contextClassLoader = new URLClassLoader(new URL[0], original)) {
+            thread.setContextClassLoader(contextClassLoader);
+            List<BeansXml> beansXmls = new DefaultBeanArchiveScanner(DefaultResourceLoader.INSTANCE, bootstrap).parse(urls);
+            assertEquals(FILES, beansXmls.size());
+            assertEquals(1, contextClassLoaders.size());
+            assertSame(contextClassLoader, contextClassLoaders.iterator().next());
+            assertSame(contextClassLoader, thread.getContextClassLoader());
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+}
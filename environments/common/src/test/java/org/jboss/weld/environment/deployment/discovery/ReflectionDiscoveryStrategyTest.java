@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.net.URL;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Stereotype;
+import javax.inject.Named;
+
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
+import org.jboss.weld.resources.DefaultResourceLoader;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.util.collections.ImmutableSet;
+import org.junit.Test;
+
+public class ReflectionDiscoveryStrategyTest {
+
+    @Test
+    public void testAnnotatedDiscoveryDoesNotLoadClasses() {
+        RecordingResourceLoader resourceLoader = new RecordingResourceLoader();
+        ReflectionDiscoveryStrategy strategy = new ReflectionDiscoveryStrategy(resourceLoader, null,
+                ImmutableSet.<Class<? extends Annotation>> of(ApplicationScoped.class, Dependent.class));
+        BeanArchiveBuilder builder = new BeanArchiveBuilder().setId("annotated").setBeansXml(BeansXml.EMPTY_BEANS_XML);
+        for (Class<?> clazz : new Class<?>[] { Scoped.class, Stereotyped.class, Inheriting.class, Plain.class, Named.class, FooStereotype.class }) {
+            builder.addClass(clazz.getName());
+        }
+        WeldBeanDeploymentArchive archive = strategy.processAnnotatedDiscovery(builder);
+        Collection<String> classes = archive.getBeanClasses();
+        assertEquals(3, classes.size());
+        assertTrue(classes.contains(Scoped.class.getName()));
+        assertTrue(classes.contains(Stereotyped.class.getName()));
+        assertTrue(classes.contains(Inheriting.class.getName()));
+        assertFalse(classes.contains(Plain.class.getName()));
+        assertTrue(resourceLoader.loadedClasses.isEmpty());
+        assertTrue(strategy.getClassFileServices() != null);
+    }
+
+    @ApplicationScoped
+    static class Scoped {
+    }
+
+    @FooStereotype
+    static class Stereotyped {
+    }
+
+    // @ApplicationScoped is @Inherited
+    static class Inheriting extends Scoped {
+    }
+
+    @Named
+    static class Plain {
+    }
+
+    @Stereotype
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface FooStereotype {
+    }
+
+    private static class RecordingResourceLoader implements ResourceLoader {
+
+        private final Set<String> loadedClasses = new HashSet<String>();
+
+        @Override
+        public Class<?> classForName(String name) {
+            loadedClasses.add(name);
+            return DefaultResourceLoader.INSTANCE.classForName(name);
+        }
+
+        @Override
+        public URL getResource(String name) {
+            return DefaultResourceLoader.INSTANCE.getResource(name);
+        }
+
+        @Override
+        public Collection<URL> getResources(String name) {
+            return DefaultResourceLoader.INSTANCE.getResources(name);
+        }
+
+        @Override
+        public void cleanup() {
+        }
+
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery.bytecode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Modifier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.NormalScope;
+import javax.enterprise.inject.Default;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.Vetoed;
+import javax.enterprise.inject.spi.Extension;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.jboss.weld.resources.DefaultResourceLoader;
+import org.jboss.weld.resources.spi.ClassFileInfo;
+import org.jboss.weld.resources.spi.ClassFileInfoException;
+import org.junit.Test;
+
+public class ClassFileTest {
+
+    @Test
+    public void testRead() throws IOException {
+        ClassFile classFile = read(Bean.class);
+        assertEquals(Bean.class.getName(), classFile.getName());
+        assertEquals(Base.class.getName(), classFile.getSuperName());
+        assertEquals(1, classFile.getInterfaceNames().size());
+        assertEquals(Serializable.class.getName(), classFile.getInterfaceNames().get(0));
+        assertTrue(Modifier.isPublic(classFile.getAccessFlags()));
+        assertEquals(2, classFile.getDeclaredAnnotations().size());
+        assertTrue(classFile.getDeclaredAnnotations().contains(ApplicationScoped.class.getName()));
+        assertTrue(classFile.getDeclaredAnnotations().contains(Named.class.getName()));
+        // member and parameter annotations
+        assertTrue(classFile.getAnnotations().contains(Produces.class.getName()));
+        assertTrue(classFile.getAnnotations().contains(Default.class.getName()));
+        assertTrue(classFile.getAnnotations().contains(Inject.class.getName()));
+        // invisible annotations are not read
+        assertFalse(classFile.getAnnotations().contains(Invisible.class.getName()));
+        assertTrue(classFile.hasInjectConstructor());
+        assertFalse(classFile.hasNoArgsConstructor());
+        assertFalse(classFile.isTopLevel());
+    }
+
+    @Test
+    public void testTopLevel() throws IOException {
+        ClassFile classFile = read(ClassFileTest.class);
+        assertTrue(classFile.isTopLevel());
+        assertTrue(classFile.hasNoArgsConstructor());
+        assertNull(read(Object.class).getSuperName());
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidClassFile() throws IOException {
+        ClassFile.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 }));
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedClassFile() throws IOException {
+        byte[] bytes = new byte[64];
+        try (InputStream in = getClassFileStream(Bean.class)) {
+            in.read(bytes);
+        }
+        ClassFile.read(new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    public void testClassFileInfo() {
+        BytecodeClassFileServices services = new BytecodeClassFileServices(DefaultResourceLoader.INSTANCE);
+        ClassFileInfo info = services.getClassFileInfo(Bean.class.getName());
+        assertEquals(Bean.class.getName(), info.getClassName());
+        assertEquals(Base.class.getName(), info.getSuperclassName());
+        assertTrue(info.isAnnotationDeclared(Named.class));
+        assertFalse(info.isAnnotationDeclared(Dependent.class));
+        // declared on a method
+        assertTrue(info.containsAnnotation(Produces.class));
+        // meta-annotation
+        assertTrue(info.containsAnnotation(NormalScope.class));
+        // declared on the superclass
+        assertTrue(info.containsAnnotation(Vetoed.class));
+        assertFalse(info.containsAnnotation(Dependent.class));
+        assertTrue(info.isAssignableTo(Serializable.class));
+        assertTrue(info.isAssignableTo(Base.class));
+        assertFalse(info.isAssignableTo(Extension.class));
+        assertTrue(info.isAssignableFrom(Bean.class));
+        assertFalse(info.isAssignableFrom(Base.class));
+        assertTrue(info.hasCdiConstructor());
+        assertTrue(services.getClassFileInfo(Base.class.getName()).isVetoed());
+        // the package is vetoed
+        assertTrue(info.isVetoed());
+        assertFalse(services.getClassFileInfo(String.class.getName()).isVetoed());
+    }
+
+    @Test(expected = ClassFileInfoException.class)
+    public void testClassFileNotFound() {
+        new BytecodeClassFileServices(DefaultResourceLoader.INSTANCE).getClassFileInfo("org.jboss.weld.NonExistent");
+    }
+
+    private static ClassFile read(Class<?> clazz) throws IOException {
+        try (InputStream in = getClassFileStream(clazz)) {
+            return ClassFile.read(in);
+        }
+    }
+
+    private static InputStream getClassFileStream(Class<?> clazz) {
+        return ClassFileTest.class.getClassLoader().getResourceAsStream(clazz.getName().replace('.', '/') + ".class");
+    }
+
+    @Retention(RetentionPolicy.CLASS)
+    @interface Invisible {
+    }
+
+    @Vetoed
+    public static class Base {
+
+        // long and double constants take up two constant pool entries
+        static final long LONG = System.nanoTime() + 42L;
+
+        static final double DOUBLE = Math.random() + 0.5d;
+
+        static final String TEXT = "Příliš žluťoučký kůň \u0000";
+
+    }
+
+    @ApplicationScoped
+    @Named
+    @Invisible
+    public static class Bean extends Base implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Inject
+        public Bean(@Default String value) {
+        }
+
+        @Produces
+        public Integer produce(@Invisible int value) {
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,366 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se;
+
+import static org.jboss.weld.environment.util.URLUtils.JAR_URL_SEPARATOR;
+import static org.jboss.weld.environment.util.URLUtils.PROCOTOL_FILE;
+import static org.jboss.weld.environment.util.URLUtils.PROCOTOL_JAR;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.jboss.weld.bootstrap.api.Bootstrap;
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.environment.deployment.AbstractWeldDeployment;
+import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
+import org.jboss.weld.environment.se.logging.WeldSELogger;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.util.collections.ImmutableList;
+
+/**
+ * A snapshot of the bean archives found by the type discovery, i.e. the archive identifiers, the locations of the beans.xml descriptors and the bean class
+ * names.
+ * <p>
+ * The snapshot is only restored if neither its fingerprint nor any of its file stamps changed. The fingerprint covers the locations of all the beans.xml
+ * descriptors visible to the resource loader, the bean defining annotations and the configuration, i.e. the builder properties, the Weld system properties
+ * and the configuration files. The file stamps are recorded when the snapshot is stored, so that restoring it does not need to walk the bean archives. A
+ * stamp holds the size and the last modification time of a JAR file, of a directory of a bean archive (which changes whenever a file is added to it,
+ * removed from it or renamed) or of a class file. All the class files of a bean archive directory are stamped, not only the bean classes, since e.g. adding a
+ * bean defining annotation to a class of an annotated bean archive turns it into a bean class.
+ *
+ * @see Weld#snapshot(Path)
+ * @see Weld#fromSnapshot(Path)
+ */
+final class DiscoverySnapshot {
+
+    private static final int MAGIC = 0x57454C44;
+
+    private static final int FORMAT_VERSION = 3;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private static final String WELD_SYSTEM_PROPERTY_PREFIX = "org.jboss.weld.";
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final int HEX_RADIX = 16;
+
+    private static final int BYTE_MASK = 0xFF;
+
+    private static final int HIGH_NIBBLE_SHIFT = 4;
+
+    private static final int NIBBLE_MASK = 0x0F;
+
+    private final Path path;
+
+    private final ResourceLoader resourceLoader;
+
+    private final Set<Class<? extends Annotation>> beanDefiningAnnotations;
+
+    private final Map<String, Object> properties;
+
+    /**
+     *
+     * @param path
+     * @param resourceLoader
+     * @param beanDefiningAnnotations the bean defining annotations used by the type discovery
+     * @param properties the configuration properties of the builder
+     */
+    DiscoverySnapshot(Path path, ResourceLoader resourceLoader, Set<Class<? extends Annotation>> beanDefiningAnnotations, Map<String, Object> properties) {
+        this.path = path;
+        this.resourceLoader = resourceLoader;
+        this.beanDefiningAnnotations = beanDefiningAnnotations;
+        this.properties = properties;
+    }
+
+    /**
+     *
+     * @param bootstrap
+     * @return the restored bean archives or <code>null</code> if the snapshot does not exist, cannot be read or is outdated
+     */
+    Set<WeldBeanDeploymentArchive> restore(Bootstrap bootstrap) {
+        if (!Files.isRegularFile(path)) {
+            WeldSELogger.LOG.discoverySnapshotOutdated(path);
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(fingerprint()) || !isUpToDate(in)) {
+                WeldSELogger.LOG.discoverySnapshotOutdated(path);
+                return null;
+            }
+            Set<WeldBeanDeploymentArchive> archives = new HashSet<WeldBeanDeploymentArchive>();
+            for (int i = in.readInt(); i > 0; i--) {
+                String id = in.readUTF();
+                String beansXmlUrl = in.readUTF();
+                List<String> beanClasses = new ArrayList<String>();
+                for (int j = in.readInt(); j > 0; j--) {
+                    beanClasses.add(in.readUTF());
+                }
+                BeansXml beansXml = beansXmlUrl.isEmpty() ? BeansXml.EMPTY_BEANS_XML : bootstrap.parse(new URL(beansXmlUrl));
+                WeldBeanDeploymentArchive archive = new WeldBeanDeploymentArchive(id, ImmutableList.copyOf(beanClasses), beansXml);
+                archive.getServices().add(ResourceLoader.class, resourceLoader);
+                archives.add(archive);
+            }
+            WeldSELogger.LOG.discoverySnapshotRestored(path, archives.size());
+            return archives;
+        } catch (IOException e) {
+            WeldSELogger.LOG.unableToReadDiscoverySnapshot(path, e);
+            return null;
+        }
+    }
+
+    /**
+     *
+     * @param archives the bean archives found by the type discovery
+     */
+    void store(Set<WeldBeanDeploymentArchive> archives) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // Write a temporary file first so that a concurrently booting container never reads an incomplete snapshot
+            Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(fingerprint());
+                Set<Path> stamped = getStampedFiles(archives);
+                out.writeInt(stamped.size());
+                for (Path file : stamped) {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    out.writeUTF(file.toString());
+                    out.writeLong(attributes.size());
+                    out.writeLong(attributes.lastModifiedTime().toMillis());
+                }
+                out.writeInt(archives.size());
+                for (WeldBeanDeploymentArchive archive : archives) {
+                    out.writeUTF(archive.getId());
+                    URL beansXmlUrl = archive.getBeansXml().getUrl();
+                    out.writeUTF(beansXmlUrl != null ? beansXmlUrl.toExternalForm() : "");
+                    out.writeInt(archive.getBeanClasses().size());
+                    for (String beanClass : archive.getBeanClasses()) {
+                        out.writeUTF(beanClass);
+                    }
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            WeldSELogger.LOG.discoverySnapshotStored(path, archives.size());
+        } catch (IOException e) {
+            WeldSELogger.LOG.unableToWriteDiscoverySnapshot(path, e);
+        }
+    }
+
+    private static boolean isUpToDate(DataInputStream in) throws IOException {
+        boolean upToDate = true;
+        // Read all the stamps so that the stream is positioned at the bean archives
+        for (int i = in.readInt(); i > 0; i--) {
+            Path file = Paths.get(in.readUTF());
+            long size = in.readLong();
+            long lastModified = in.readLong();
+            if (upToDate) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    upToDate = attributes.size() == size && attributes.lastModifiedTime().toMillis() == lastModified;
+                } catch (NoSuchFileException e) {
+                    upToDate = false;
+                }
+            }
+        }
+        return upToDate;
+    }
+
+    /**
+     *
+     * @param archives
+     * @return the JAR files and the directories of all the bean archives, the class files found in the directories and the class files of the bean classes
+     * @throws IOException
+     */
+    private Set<Path> getStampedFiles(Set<WeldBeanDeploymentArchive> archives) throws IOException {
+        final Set<Path> files = new TreeSet<Path>();
+        for (URL beansXmlUrl : resourceLoader.getResources(AbstractWeldDeployment.BEANS_XML)) {
+            File root = getBeanArchiveRoot(beansXmlUrl);
+            if (root == null) {
+                continue;
+            }
+            if (root.isDirectory()) {
+                Files.walkFileTree(root.toPath(), new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                        files.add(dir);
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        if (file.getFileName().toString().endsWith(CLASS_FILE_SUFFIX)) {
+                            files.add(file);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } else {
+                files.add(root.toPath());
+            }
+        }
+        for (WeldBeanDeploymentArchive archive : archives) {
+            for (String beanClass : archive.getBeanClasses()) {
+                File classFile = getFile(resourceLoader.getResource(beanClass.replace('.', '/') + CLASS_FILE_SUFFIX));
+                if (classFile != null) {
+                    files.add(classFile.toPath());
+                }
+            }
+        }
+        return files;
+    }
+
+    private String fingerprint() throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        update(digest, sortedUrls(AbstractWeldDeployment.BEANS_XML));
+        Set<String> annotationNames = new TreeSet<String>();
+        for (Class<? extends Annotation> annotation : beanDefiningAnnotations) {
+            annotationNames.add(annotation.getName());
+        }
+        update(digest, annotationNames);
+        Map<String, Object> configuration = new TreeMap<String, Object>();
+        for (Entry<String, Object> property : properties.entrySet()) {
+            configuration.put(property.getKey(), property.getValue());
+        }
+        Properties systemProperties = AccessController.doPrivileged((PrivilegedAction<Properties>) System::getProperties);
+        for (String name : systemProperties.stringPropertyNames()) {
+            if (name.startsWith(WELD_SYSTEM_PROPERTY_PREFIX)) {
+                configuration.put(name, systemProperties.getProperty(name));
+            }
+        }
+        for (Entry<String, Object> property : configuration.entrySet()) {
+            update(digest, property.getKey() + '=' + property.getValue());
+        }
+        for (String url : sortedUrls(WeldConfiguration.CONFIGURATION_FILE)) {
+            update(digest, url);
+            try (InputStream in = new URL(url).openStream()) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b & BYTE_MASK) >> HIGH_NIBBLE_SHIFT, HEX_RADIX)).append(Character.forDigit(b & NIBBLE_MASK, HEX_RADIX));
+        }
+        return hex.toString();
+    }
+
+    private List<String> sortedUrls(String resource) {
+        List<String> urls = new ArrayList<String>();
+        for (URL url : resourceLoader.getResources(resource)) {
+            urls.add(url.toExternalForm());
+        }
+        Collections.sort(urls);
+        return urls;
+    }
+
+    private static void update(MessageDigest digest, Iterable<String> values) {
+        for (String value : values) {
+            update(digest, value);
+        }
+        digest.update((byte) 0);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     *
+     * @param beansXmlUrl
+     * @return the directory or JAR file the given beans.xml descriptor belongs to, or <code>null</code> if the location is not a local file
+     */
+    private static File getBeanArchiveRoot(URL beansXmlUrl) {
+        try {
+            if (PROCOTOL_FILE.equals(beansXmlUrl.getProtocol())) {
+                // e.g. "file:///home/weld/META-INF/beans.xml" becomes "/home/weld"
+                return new File(beansXmlUrl.toURI()).getParentFile().getParentFile();
+            } else if (PROCOTOL_JAR.equals(beansXmlUrl.getProtocol())) {
+                // e.g. "jar:file:/home/duke/duke.jar!/META-INF/beans.xml" becomes "/home/duke/duke.jar"
+                String path = beansXmlUrl.getPath();
+                int separator = path.lastIndexOf(JAR_URL_SEPARATOR);
+                return getFile(new URL(separator > 0 ? path.substring(0, separator) : path));
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            // The location is not a local file - only the URL is part of the fingerprint
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     *
+     * @param url
+     * @return the local file or <code>null</code> if the given URL is <code>null</code> or does not denote a local file
+     */
+    private static File getFile(URL url) {
+        if (url == null || !PROCOTOL_FILE.equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.security.AccessController;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -76,6 +77,7 @@ import org.jboss.weld.environment.deployment.WeldDeployment;
 import org.jboss.weld.environment.deployment.WeldResourceLoader;
 import org.jboss.weld.environment.deployment.discovery.DiscoveryStrategy;
 import org.jboss.weld.environment.deployment.discovery.DiscoveryStrategyFactory;
+import org.jboss.weld.environment.deployment.discovery.bytecode.BytecodeClassFileServices;
 import org.jboss.weld.environment.logging.CommonLogger;
 import org.jboss.weld.environment.se.contexts.ThreadScoped;
 import org.jboss.weld.environment.se.logging.WeldSELogger;
@@ -141,6 +143,15 @@ import org.jboss.weld.util.collections.WeldCollections;
  * </pre>
  *
  * <p>
+ * The bean archives found by the discovery may be stored in a snapshot file so that the discovery is skipped on the next start, unless the bean archives
+ * change in the meantime:
+ * </p>
+ *
+ * <pre>
+ * WeldContainer container = new Weld().fromSnapshot(Paths.get(&quot;weld-discovery.snapshot&quot;)).initialize();
+ * </pre>
+ *
+ * <p>
  * The builder is reusable which means that it's possible to initialize multiple Weld containers with one builder. However, note that containers must have a
  * unique identifier assigned when running multiple Weld instances at the same time.
  * </p>
@@ -192,6 +203,10 @@ public class Weld implements ContainerInstanceFactory {
 
     private ResourceLoader resourceLoader;
 
+    private Path snapshot;
+
+    private boolean restoreFromSnapshot;
+
     public Weld() {
         this(RegistrySingletonProvider.STATIC_INSTANCE);
     }
@@ -494,6 +509,8 @@ public class Weld implements ContainerInstanceFactory {
     public Weld resetAll() {
         reset();
         properties.clear();
+        snapshot = null;
+        restoreFromSnapshot = false;
         enableDiscovery();
         containerId(RegistrySingletonProvider.STATIC_INSTANCE);
         return this;
@@ -528,6 +545,37 @@ public class Weld implements ContainerInstanceFactory {
         return discoveryEnabled;
     }
 
+    /**
+     * Store the bean archives found by the type discovery in the given snapshot file during the next {@link #initialize()}.
+     *
+     * @param path
+     * @return self
+     * @see #fromSnapshot(Path)
+     */
+    public Weld snapshot(Path path) {
+        Preconditions.checkNotNull(path);
+        this.snapshot = path;
+        this.restoreFromSnapshot = false;
+        return this;
+    }
+
+    /**
+     * Restore the bean archives from the given snapshot file instead of performing the type discovery. If the snapshot does not exist or the bean archives
+     * changed since it was taken, the type discovery is performed and the snapshot is stored again.
+     * <p>
+     * Only the discovery is skipped - the container is still initialized and validated as usual.
+     *
+     * @param path
+     * @return self
+     * @see #snapshot(Path)
+     */
+    public Weld fromSnapshot(Path path) {
+        Preconditions.checkNotNull(path);
+        this.snapshot = path;
+        this.restoreFromSnapshot = true;
+        return this;
+    }
+
     /**
      * Bootstraps a Weld SE container with the current {@link #containerId}.
      *
@@ -629,15 +677,34 @@ public class Weld implements ContainerInstanceFactory {
         final Map<Class<? extends Service>, Service> additionalServices = new HashMap<>();
 
         if (discoveryEnabled) {
-            DiscoveryStrategy strategy = DiscoveryStrategyFactory.create(resourceLoader, bootstrap,
-                    ImmutableSet.<Class<? extends Annotation>> builder().addAll(typeDiscoveryConfiguration.getKnownBeanDefiningAnnotations())
+            Set<Class<? extends Annotation>> beanDefiningAnnotations = ImmutableSet.<Class<? extends Annotation>> builder()
+                    .addAll(typeDiscoveryConfiguration.getKnownBeanDefiningAnnotations())
                     // Add ThreadScoped manually as Weld SE doesn't support implicit bean archives without beans.xml
-                            .add(ThreadScoped.class).build());
-            beanArchives.addAll(strategy.performDiscovery());
-            ClassFileServices classFileServices = strategy.getClassFileServices();
-            if(classFileServices != null) {
+                    .add(ThreadScoped.class).build();
+            DiscoveryStrategy strategy = createDiscoveryStrategy(resourceLoader, bootstrap, beanDefiningAnnotations);
+            DiscoverySnapshot discoverySnapshot = snapshot != null ? new DiscoverySnapshot(snapshot, resourceLoader, beanDefiningAnnotations, properties) : null;
+            Set<WeldBeanDeploymentArchive> discoveredArchives = null;
+            ClassFileServices classFileServices;
+            if (discoverySnapshot != null && restoreFromSnapshot) {
+                discoveredArchives = discoverySnapshot.restore(bootstrap);
+            }
+            if (discoveredArchives == null) {
+                discoveredArchives = strategy.performDiscovery();
+                classFileServices = strategy.getClassFileServices();
+                if (discoverySnapshot != null) {
+                    discoverySnapshot.store(discoveredArchives);
+                }
+            } else {
+                classFileServices = strategy.getClassFileServices();
+                if (classFileServices == null) {
+                    // The Jandex-based services need the index built by the discovery - read the class files directly instead
+                    classFileServices = new BytecodeClassFileServices(resourceLoader);
+                }
+            }
+            if (classFileServices != null) {
                 additionalServices.put(ClassFileServices.class, classFileServices);
             }
+            beanArchives.addAll(discoveredArchives);
         }
 
         if (isSyntheticBeanArchiveRequired()) {
@@ -676,6 +743,21 @@ public class Weld implements ContainerInstanceFactory {
         return deployment;
     }
 
+    /**
+     * Creates the strategy used to find the bean archives. The strategy is also created if the bean archives are restored from a snapshot, but it does not
+     * perform the discovery in that case.
+     *
+     * @param resourceLoader
+     * @param bootstrap
+     * @param beanDefiningAnnotations
+     * @return the discovery strategy
+     * @see #fromSnapshot(Path)
+     */
+    protected DiscoveryStrategy createDiscoveryStrategy(ResourceLoader resourceLoader, CDI11Bootstrap bootstrap,
+            Set<Class<? extends Annotation>> beanDefiningAnnotations) {
+        return DiscoveryStrategyFactory.create(resourceLoader, bootstrap, beanDefiningAnnotations);
+    }
+
     /**
      * Utility method allowing managed instances of beans to provide entry points for non-managed beans (such as {@link WeldContainer}). Should only called once
      * Weld has finished booting.
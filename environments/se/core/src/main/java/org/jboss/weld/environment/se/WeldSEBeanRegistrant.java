@@ -20,6 +20,8 @@ import java.lang.annotation.Annotation;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.Vetoed;
@@ -35,7 +37,9 @@ import org.jboss.weld.bootstrap.events.BeanBuilderImpl;
 import org.jboss.weld.environment.se.beans.InstanceManager;
 import org.jboss.weld.environment.se.beans.ParametersFactory;
 import org.jboss.weld.environment.se.contexts.ThreadContext;
+import org.jboss.weld.environment.se.contexts.ThreadScopedExecutorService;
 import org.jboss.weld.environment.se.threading.RunnableDecorator;
+import org.jboss.weld.executor.DaemonThreadFactory;
 import org.jboss.weld.experimental.BeanBuilder;
 import org.jboss.weld.experimental.ExperimentalAfterBeanDiscovery;
 import org.jboss.weld.literal.DefaultLiteral;
@@ -87,6 +91,12 @@ public class WeldSEBeanRegistrant implements Extension {
         event.addBean().addType(WeldContainer.class).addQualifier(DefaultLiteral.INSTANCE).scope(Singleton.class)
                 .produceWith(() -> WeldContainer.instance(contextId));
 
+        // Register the executor service aware of @ThreadScoped beans, the thread pool is only created if the bean is used
+        final ThreadContext threadContext = this.threadContext;
+        event.addBean().addType(ThreadScopedExecutorService.class).addQualifier(DefaultLiteral.INSTANCE).scope(Singleton.class)
+                .produceWith(() -> new ThreadScopedExecutorService(createThreadScopedWorkers(), threadContext, true))
+                .disposeWith(ExecutorService::shutdown);
+
         // Process queued bean builders
         if(beanBuilders != null) {
             for (BeanBuilder<?> beanBuilder : beanBuilders) {
@@ -102,6 +112,11 @@ public class WeldSEBeanRegistrant implements Extension {
         return !(event instanceof AbstractContainerEvent);
     }
 
+    private static ExecutorService createThreadScopedWorkers() {
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                new DaemonThreadFactory(new ThreadGroup("weld-thread-scoped-workers"), "weld-thread-scoped-worker-"));
+    }
+
     public ThreadContext getThreadContext() {
         return threadContext;
     }
@@ -23,20 +23,33 @@
 package org.jboss.weld.environment.se.contexts;
 
 import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.jboss.weld.bootstrap.api.helpers.RegistrySingletonProvider;
 import org.jboss.weld.context.AbstractUnboundContext;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.BeanStore;
 import org.jboss.weld.context.beanstore.HashMapBeanStore;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
 
 /**
  * The thread context. Works with @ThreadScoped beans, maintaining a separate
  * context for each thread.
+ * <p>
+ * A bean store emptied by {@link #invalidate()} and {@link #deactivate()} is kept by the thread and reused by its next activation, so
+ * that pooled worker threads do not allocate a new bean store per task. See {@link ThreadScopedExecutorService} for propagating the
+ * context across thread hops.
+ * </p>
  *
  * @author Nicklas Karlsson
  * @author Peter Royle
  */
 public class ThreadContext extends AbstractUnboundContext {
 
+    private final ThreadLocal<HashMapBeanStore> spareBeanStore = new ThreadLocal<HashMapBeanStore>();
+
     public ThreadContext(String contextId) {
         super(contextId, false);
     }
@@ -53,7 +66,90 @@ public class ThreadContext extends AbstractUnboundContext {
     @Override
     public void activate() {
         super.activate();
-        setBeanStore(new HashMapBeanStore());
+        HashMapBeanStore beanStore = spareBeanStore.get();
+        if (beanStore != null) {
+            spareBeanStore.remove();
+        } else {
+            beanStore = new HashMapBeanStore();
+        }
+        setBeanStore(beanStore);
+    }
+
+    @Override
+    public void deactivate() {
+        super.deactivate();
+        // a valid bean store stays with the instances it holds, it must not leak into the next task of a pooled thread
+        setBeanStore(null);
+    }
+
+    @Override
+    protected void destroy() {
+        BeanStore beanStore = getBeanStore();
+        super.destroy();
+        if (beanStore instanceof HashMapBeanStore) {
+            spareBeanStore.set((HashMapBeanStore) beanStore);
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        super.cleanup();
+        spareBeanStore.remove();
+    }
+
+    /**
+     * Captures the contextual instances of the current thread so that they can be inherited by another thread.
+     *
+     * @return the contextual instances of the current thread, or an empty map if the context is not active
+     */
+    Map<BeanIdentifier, ContextualInstance<?>> capture() {
+        BeanStore beanStore = isActive() ? getBeanStore() : null;
+        if (beanStore == null) {
+            return Collections.emptyMap();
+        }
+        Map<BeanIdentifier, ContextualInstance<?>> instances = new HashMap<BeanIdentifier, ContextualInstance<?>>();
+        for (BeanIdentifier id : beanStore) {
+            instances.put(id, beanStore.get(id));
+        }
+        return instances.isEmpty() ? Collections.<BeanIdentifier, ContextualInstance<?>> emptyMap() : instances;
+    }
+
+    /**
+     * Activates the context for the current thread and makes the given inherited instances available in it.
+     *
+     * @param inherited the instances captured by {@link #capture()}
+     */
+    void activate(Map<BeanIdentifier, ContextualInstance<?>> inherited) {
+        activate();
+        if (!inherited.isEmpty()) {
+            BeanStore beanStore = getBeanStore();
+            for (Map.Entry<BeanIdentifier, ContextualInstance<?>> entry : inherited.entrySet()) {
+                beanStore.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Destroys the instances created by the current thread and deactivates the context. The inherited instances are owned by the
+     * thread they were captured from and are left intact.
+     *
+     * @param inherited the instances passed to {@link #activate(Map)}
+     */
+    void deactivate(Map<BeanIdentifier, ContextualInstance<?>> inherited) {
+        try {
+            if (!inherited.isEmpty()) {
+                BeanStore beanStore = getBeanStore();
+                for (BeanIdentifier id : inherited.keySet()) {
+                    // only drop the entry if the task did not replace the inherited instance
+                    if (beanStore.get(id) == inherited.get(id)) {
+                        beanStore.remove(id);
+                    }
+                }
+            }
+            invalidate();
+        } finally {
+            deactivate();
+        }
     }
 
 }
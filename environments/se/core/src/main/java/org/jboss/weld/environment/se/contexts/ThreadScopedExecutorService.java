@@ -0,0 +1,213 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.contexts;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.util.Preconditions;
+
+/**
+ * An {@link ExecutorService} which activates the {@link ThreadContext} around every task it runs, so that {@link ThreadScoped} beans
+ * can be used by tasks executed by pooled threads.
+ * <p>
+ * If the context is propagated, the {@link ThreadScoped} instances of the submitting thread are inherited by the task. Instances created
+ * by the task itself are destroyed when the task completes, whereas the inherited ones are left to the submitting thread. Note that an
+ * inherited instance may be accessed by several threads at the same time.
+ * </p>
+ * <p>
+ * Since it is an {@link java.util.concurrent.Executor}, the executor may also be passed to the asynchronous methods of
+ * {@link java.util.concurrent.CompletableFuture}:
+ * </p>
+ *
+ * <pre>
+ * &#64;Inject
+ * ThreadScopedExecutorService executor;
+ *
+ * CompletableFuture.supplyAsync(() -&gt; threadScopedBean.compute(), executor).thenApplyAsync(this::process, executor);
+ * </pre>
+ *
+ * <p>
+ * Weld SE registers a {@link javax.inject.Singleton} bean of this type backed by a fixed thread pool. An arbitrary executor may be
+ * wrapped using {@link #ThreadScopedExecutorService(ExecutorService, ThreadContext, boolean)}; the wrapper does not own the delegate
+ * beyond forwarding the shutdown methods.
+ * </p>
+ */
+public class ThreadScopedExecutorService implements ExecutorService {
+
+    private final ExecutorService delegate;
+
+    private final ThreadContext threadContext;
+
+    private final boolean propagate;
+
+    /**
+     *
+     * @param delegate the executor actually running the tasks
+     * @param threadContext the thread context of the container
+     * @param propagate if <code>true</code> tasks inherit the {@link ThreadScoped} instances of the submitting thread, otherwise each task
+     *        starts with an empty context
+     */
+    public ThreadScopedExecutorService(ExecutorService delegate, ThreadContext threadContext, boolean propagate) {
+        Preconditions.checkNotNull(delegate);
+        Preconditions.checkNotNull(threadContext);
+        this.delegate = delegate;
+        this.threadContext = threadContext;
+        this.propagate = propagate;
+    }
+
+    /**
+     * Wraps the given task so that it runs within an active {@link ThreadContext}. The context is captured when this method is called.
+     *
+     * @param task the task to wrap
+     * @return the wrapped task
+     */
+    public Runnable wrap(Runnable task) {
+        Preconditions.checkNotNull(task);
+        final Map<BeanIdentifier, ContextualInstance<?>> inherited = capture();
+        return () -> {
+            if (threadContext.isActive()) {
+                // e.g. a caller-runs rejection policy, the context of the current thread is already in place
+                task.run();
+                return;
+            }
+            threadContext.activate(inherited);
+            try {
+                task.run();
+            } finally {
+                threadContext.deactivate(inherited);
+            }
+        };
+    }
+
+    /**
+     * Wraps the given task so that it runs within an active {@link ThreadContext}. The context is captured when this method is called.
+     *
+     * @param task the task to wrap
+     * @return the wrapped task
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        Preconditions.checkNotNull(task);
+        final Map<BeanIdentifier, ContextualInstance<?>> inherited = capture();
+        return () -> {
+            if (threadContext.isActive()) {
+                return task.call();
+            }
+            threadContext.activate(inherited);
+            try {
+                return task.call();
+            } finally {
+                threadContext.deactivate(inherited);
+            }
+        };
+    }
+
+    private Map<BeanIdentifier, ContextualInstance<?>> capture() {
+        return propagate ? threadContext.capture() : Collections.<BeanIdentifier, ContextualInstance<?>> emptyMap();
+    }
+
+    private <T> List<Callable<T>> wrap(Collection<? extends Callable<T>> tasks) {
+        List<Callable<T>> wrapped = new ArrayList<Callable<T>>(tasks.size());
+        for (Callable<T> task : tasks) {
+            wrapped.add(wrap(task));
+        }
+        return wrapped;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(wrap(command));
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return delegate.submit(wrap(task));
+    }
+
+    @Override
+    public <T> Future<T> submit(Runnable task, T result) {
+        return delegate.submit(wrap(task), result);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return delegate.submit(wrap(task));
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        return delegate.invokeAll(wrap(tasks));
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.invokeAll(wrap(tasks), timeout, unit);
+    }
+
+    @Override
+    public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+        return delegate.invokeAny(wrap(tasks));
+    }
+
+    @Override
+    public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException,
+            TimeoutException {
+        return delegate.invokeAny(wrap(tasks), timeout, unit);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadScopedExecutorService [delegate=" + delegate + ", propagate=" + propagate + "]";
+    }
+
+}
@@ -2,6 +2,7 @@ package org.jboss.weld.environment.se.logging;
 
 import org.jboss.logging.Logger;
 import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.Message.Format;
@@ -62,4 +63,24 @@ public interface WeldSELogger extends WeldEnvironmentLogger {
     @Message(id = 2009, value = "Weld SE container cannot be initialized - no bean archives found")
     IllegalStateException weldContainerCannotBeInitializedNoBeanArchivesFound();
 
+    @LogMessage(level = Level.INFO)
+    @Message(id = 2010, value = "{1} bean archives restored from the discovery snapshot {0}", format = Format.MESSAGE_FORMAT)
+    void discoverySnapshotRestored(Object path, Object archives);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 2011, value = "Discovery snapshot {0} does not exist or is outdated - performing type discovery", format = Format.MESSAGE_FORMAT)
+    void discoverySnapshotOutdated(Object path);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 2012, value = "Unable to read the discovery snapshot {0} - performing type discovery", format = Format.MESSAGE_FORMAT)
+    void unableToReadDiscoverySnapshot(Object path, @Cause Throwable cause);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 2013, value = "Unable to write the discovery snapshot {0}", format = Format.MESSAGE_FORMAT)
+    void unableToWriteDiscoverySnapshot(Object path, @Cause Throwable cause);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 2014, value = "{1} bean archives stored in the discovery snapshot {0}", format = Format.MESSAGE_FORMAT)
+    void discoverySnapshotStored(Object path, Object archives);
+
 }
@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.compact;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.metadata.cache.QualifierModel;
+import org.junit.Test;
+
+public class CompactRuntimeTest {
+
+    private static final String NO_STEREOTYPE_MODELS = "Registered stereotype models: 0";
+
+    private static final int SYNTHETIC_BEANS = 100;
+
+    @Test
+    public void testCompactRuntime() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Sprinter.class).property(ConfigurationKey.COMPACT_RUNTIME.get(), true)
+                .initialize()) {
+            BeanManagerImpl manager = container.select(BeanManagerImpl.class).get();
+            MetaAnnotationStore store = manager.getServices().get(MetaAnnotationStore.class);
+            assertTrue(store.toString(), store.toString().contains(NO_STEREOTYPE_MODELS));
+
+            // Released data is recomputed on demand
+            assertTrue(manager.isStereotype(Fast.class));
+            assertTrue(manager.getStereotypeDefinition(Fast.class).stream().anyMatch((a) -> a.annotationType().equals(ApplicationScoped.class)));
+
+            // Nonbinding members are ignored
+            Bean<?> bean = manager.resolve(manager.getBeans(Sprinter.class, new Labeled.Literal("sprinter", "whatever")));
+            assertEquals(ApplicationScoped.class, bean.getScope());
+            assertEquals("pong", container.select(Sprinter.class, new Labeled.Literal("sprinter", "")).get().ping());
+            assertTrue(container.select(Sprinter.class, new Labeled.Literal("marathoner", "")).isUnsatisfied());
+        }
+    }
+
+    @Test
+    public void testNothingCompactableRetained() {
+        // Heap measurements are part of the bootstrap scalability test, here only the released data is checked
+        assertTrue(compactableEntries(false) > 0);
+        assertEquals(0, compactableEntries(true));
+    }
+
+    /**
+     *
+     * @return the number of entries the compactable services could still release once the container is initialized
+     */
+    private static int compactableEntries(boolean compact) {
+        Weld weld = new Weld().disableDiscovery().beanClasses(Sprinter.class).property(ConfigurationKey.COMPACT_RUNTIME.get(), compact);
+        for (int i = 0; i < SYNTHETIC_BEANS; i++) {
+            weld.addBean().addType(Sprinter.class).addQualifier(new Labeled.Literal("synthetic" + i, "")).produceWith(() -> new Sprinter());
+        }
+        try (WeldContainer container = weld.initialize()) {
+            assertEquals("pong", container.select(Sprinter.class, new Labeled.Literal("synthetic0", "")).get().ping());
+            return container.select(BeanManagerImpl.class).get().getServices().get(MetaAnnotationStore.class).compact();
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Sprinter.class).initialize()) {
+            BeanManagerImpl manager = container.select(BeanManagerImpl.class).get();
+            assertFalse(manager.getServices().get(MetaAnnotationStore.class).toString().contains(NO_STEREOTYPE_MODELS));
+        }
+    }
+
+    @Test
+    public void testQualifierModelMembers() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Sprinter.class).initialize()) {
+            BeanManagerImpl manager = container.select(BeanManagerImpl.class).get();
+            QualifierModel<Labeled> model = manager.getServices().get(MetaAnnotationStore.class).getBindingTypeModel(Labeled.class);
+            assertEquals(2, model.getMembers().size());
+            assertEquals(1, model.getBindingMembers().size());
+            assertEquals("value", model.getBindingMembers().get(0).getName());
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.context.active;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+
+import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.context.bound.BoundLiteral;
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.jboss.weld.context.bound.BoundSessionContext;
+import org.jboss.weld.context.unbound.UnboundLiteral;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Test;
+
+public class ActiveContextTableTest {
+
+    @Test
+    public void testActivityFollowsActivateAndDeactivate() throws Exception {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(RequestCounter.class).initialize()) {
+            final BeanManagerImpl beanManager = container.select(BeanManagerImpl.class).get();
+            RequestContext requestContext = container.select(RequestContext.class, UnboundLiteral.INSTANCE).get();
+            assertFalse(beanManager.isContextActive(RequestScoped.class));
+
+            requestContext.activate();
+            try {
+                assertTrue(beanManager.isContextActive(RequestScoped.class));
+                assertEquals(requestContext, beanManager.getContext(RequestScoped.class));
+                RequestCounter counter = container.select(RequestCounter.class).get();
+                assertEquals(1, counter.increment());
+                assertEquals(2, counter.increment());
+
+                // Activity is per thread
+                ExecutorService executor = Executors.newSingleThreadExecutor();
+                try {
+                    assertFalse(executor.submit(new Callable<Boolean>() {
+                        @Override
+                        public Boolean call() {
+                            return beanManager.isContextActive(RequestScoped.class);
+                        }
+                    }).get());
+                } finally {
+                    executor.shutdownNow();
+                }
+            } finally {
+                requestContext.invalidate();
+                requestContext.deactivate();
+            }
+            assertFalse(beanManager.isContextActive(RequestScoped.class));
+
+            // A new request starts with a new instance
+            requestContext.activate();
+            try {
+                assertEquals(1, container.select(RequestCounter.class).get().increment());
+            } finally {
+                requestContext.invalidate();
+                requestContext.deactivate();
+            }
+        }
+    }
+
+    @Test
+    public void testBoundContexts() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(RequestCounter.class, SessionCounter.class).initialize()) {
+            BeanManagerImpl beanManager = container.select(BeanManagerImpl.class).get();
+            BoundRequestContext requestContext = container.select(BoundRequestContext.class, BoundLiteral.INSTANCE).get();
+            BoundSessionContext sessionContext = container.select(BoundSessionContext.class, BoundLiteral.INSTANCE).get();
+            Map<String, Object> requestStorage = new HashMap<String, Object>();
+            Map<String, Object> sessionStorage = new HashMap<String, Object>();
+
+            requestContext.associate(requestStorage);
+            requestContext.activate();
+            sessionContext.associate(sessionStorage);
+            sessionContext.activate();
+            try {
+                assertTrue(beanManager.isContextActive(RequestScoped.class));
+                assertTrue(beanManager.isContextActive(SessionScoped.class));
+                // The session context is registered wrapped
+                assertNotNull(beanManager.getUnwrappedContext(SessionScoped.class));
+                assertEquals(sessionContext, beanManager.getUnwrappedContext(SessionScoped.class));
+                assertEquals(1, container.select(SessionCounter.class).get().increment());
+                assertEquals(1, container.select(RequestCounter.class).get().increment());
+            } finally {
+                sessionContext.deactivate();
+                sessionContext.dissociate(sessionStorage);
+                requestContext.deactivate();
+                requestContext.dissociate(requestStorage);
+            }
+            assertFalse(beanManager.isContextActive(RequestScoped.class));
+            assertFalse(beanManager.isContextActive(SessionScoped.class));
+
+            // The instance is kept in the storage
+            sessionContext.associate(sessionStorage);
+            sessionContext.activate();
+            try {
+                assertEquals(2, container.select(SessionCounter.class).get().increment());
+            } finally {
+                sessionContext.invalidate();
+                sessionContext.deactivate();
+                sessionContext.dissociate(sessionStorage);
+            }
+        }
+    }
+
+    @Test
+    public void testDuplicateActiveContexts() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(RequestCounter.class).initialize()) {
+            BeanManagerImpl beanManager = container.select(BeanManagerImpl.class).get();
+            RequestContext unboundContext = container.select(RequestContext.class, UnboundLiteral.INSTANCE).get();
+            BoundRequestContext boundContext = container.select(BoundRequestContext.class, BoundLiteral.INSTANCE).get();
+            Map<String, Object> storage = new HashMap<String, Object>();
+
+            unboundContext.activate();
+            boundContext.associate(storage);
+            boundContext.activate();
+            try {
+                beanManager.getContext(RequestScoped.class);
+                fail();
+            } catch (IllegalStateException expected) {
+            } finally {
+                boundContext.deactivate();
+                boundContext.dissociate(storage);
+            }
+            try {
+                assertEquals(unboundContext, beanManager.getContext(RequestScoped.class));
+            } finally {
+                unboundContext.deactivate();
+            }
+            assertFalse(beanManager.isContextActive(RequestScoped.class));
+        }
+    }
+
+}
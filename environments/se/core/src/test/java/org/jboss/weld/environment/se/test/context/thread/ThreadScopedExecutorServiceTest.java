@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.context.thread;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.environment.se.WeldSEBeanRegistrant;
+import org.jboss.weld.environment.se.contexts.ThreadContext;
+import org.jboss.weld.environment.se.contexts.ThreadScopedExecutorService;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ThreadScopedExecutorServiceTest {
+
+    @Before
+    public void reset() {
+        Task.CREATED.set(0);
+        Task.DESTROYED.set(0);
+    }
+
+    @Test
+    public void testEachTaskGetsItsOwnContext() throws Exception {
+        try (WeldContainer container = createWeld().initialize()) {
+            Task task = container.select(Task.class).get();
+            ExecutorService pool = Executors.newSingleThreadExecutor();
+            try {
+                ThreadScopedExecutorService executor = new ThreadScopedExecutorService(pool, getThreadContext(container), false);
+                int first = executor.submit(() -> task.getId()).get();
+                int second = executor.submit(() -> task.getId()).get();
+                assertTrue(first != second);
+                assertEquals(2, Task.DESTROYED.get());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testContextPropagated() throws Exception {
+        try (WeldContainer container = createWeld().initialize()) {
+            ThreadContext threadContext = getThreadContext(container);
+            Task task = container.select(Task.class).get();
+            ThreadScopedExecutorService executor = container.select(ThreadScopedExecutorService.class).get();
+            threadContext.activate();
+            try {
+                int id = task.getId();
+                assertEquals(Integer.valueOf(id), executor.submit(() -> task.getId()).get());
+                assertEquals(Integer.valueOf(id), CompletableFuture.supplyAsync(() -> task.getId(), executor).thenApplyAsync(i -> task.getId(), executor).get());
+                // the inherited instance is owned by this thread
+                assertEquals(0, Task.DESTROYED.get());
+                assertEquals(id, task.getId());
+            } finally {
+                threadContext.invalidate();
+                threadContext.deactivate();
+            }
+            assertEquals(1, Task.DESTROYED.get());
+        }
+    }
+
+    @Test
+    public void testExecutorShutDownWithContainer() {
+        ThreadScopedExecutorService executor;
+        try (WeldContainer container = createWeld().initialize()) {
+            executor = container.select(ThreadScopedExecutorService.class).get();
+            executor.execute(() -> { });
+        }
+        assertTrue(executor.isShutdown());
+    }
+
+    private static Weld createWeld() {
+        return new Weld().disableDiscovery().beanClasses(Task.class);
+    }
+
+    private static ThreadContext getThreadContext(WeldContainer container) {
+        return container.getBeanManager().getExtension(WeldSEBeanRegistrant.class).getThreadContext();
+    }
+
+}
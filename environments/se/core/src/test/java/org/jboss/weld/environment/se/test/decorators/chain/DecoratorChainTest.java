@@ -0,0 +1,51 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.decorators.chain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Test;
+
+/**
+ * Tests that decorators which do not decorate an invoked method are skipped without affecting the rest of the chain.
+ */
+public class DecoratorChainTest {
+
+    @Test
+    public void testChainDispatch() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(SimpleCounter.class)
+                .decorators(OuterDecorator.class, MiddleDecorator.class, InnerDecorator.class).initialize()) {
+            // repeated invocations on distinct instances share the chain plan
+            for (int i = 0; i < 3; i++) {
+                Counter counter = container.select(Counter.class).get();
+                assertEquals("outer(inner(counter))", counter.describe());
+                assertEquals(10, counter.increment(1));
+                assertEquals(30, counter.increment(2));
+                assertEquals("simple", counter.name());
+                try {
+                    counter.fail();
+                    fail();
+                } catch (IllegalStateException expected) {
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.events.bounded;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.util.TypeLiteral;
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.event.BoundedAsyncEventDispatcher;
+import org.jboss.weld.event.BoundedAsyncEventDispatcher.RejectionPolicy;
+import org.jboss.weld.experimental.ExperimentalEvent;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.WeldMetricsMXBean;
+import org.junit.Test;
+
+public class BoundedAsyncEventDispatcherTest {
+
+    private static final String CONTAINER_ID = "bounded-async-metrics";
+
+    @SuppressWarnings("serial")
+    private static final TypeLiteral<ExperimentalEvent<Job>> EVENT_LITERAL = new TypeLiteral<ExperimentalEvent<Job>>() {
+    };
+
+    @Test
+    public void testCallerRuns() throws Exception {
+        testPolicy(RejectionPolicy.CALLER_RUNS, (event, executor) -> {
+            Job job = new Job(null);
+            event.fireAsync(job, executor).toCompletableFuture().get(5, TimeUnit.SECONDS);
+            assertEquals(Thread.currentThread(), job.getThread());
+        });
+    }
+
+    @Test
+    public void testFailFast() throws Exception {
+        testPolicy(RejectionPolicy.FAIL_FAST, (event, executor) -> {
+            Job job = new Job(null);
+            try {
+                event.fireAsync(job, executor);
+                fail();
+            } catch (RejectedExecutionException expected) {
+            }
+            assertNull(job.getThread());
+        });
+    }
+
+    @Test
+    public void testDrop() throws Exception {
+        testPolicy(RejectionPolicy.DROP, (event, executor) -> {
+            Job job = new Job(null);
+            CompletionStage<Job> stage = event.fireAsync(job, executor);
+            try {
+                stage.toCompletableFuture().get(5, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException expected) {
+                assertTrue(expected.getCause() instanceof RejectedExecutionException);
+            }
+            assertNull(job.getThread());
+        });
+    }
+
+    @Test
+    public void testMetricsExported() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ObjectName name = new ObjectName("org.jboss.weld:type=Metrics,container=" + ObjectName.quote(CONTAINER_ID));
+        try (WeldContainer container = new Weld(CONTAINER_ID).disableDiscovery().beanClasses(JobObserver.class)
+                .property(ConfigurationKey.METRICS.get(), true)
+                .property(ConfigurationKey.ASYNC_OBSERVERS_MAX_PENDING_NOTIFICATIONS.get(), 1)
+                .property(ConfigurationKey.ASYNC_OBSERVERS_REJECTION_POLICY.get(), RejectionPolicy.DROP.toString()).initialize()) {
+            WeldMetricsMXBean metrics = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(), name, WeldMetricsMXBean.class);
+            ExperimentalEvent<Job> event = container.select(EVENT_LITERAL).get();
+            CountDownLatch latch = new CountDownLatch(1);
+            CompletionStage<Job> stage = event.fireAsync(new Job(latch), executor);
+            assertEquals(1, metrics.getAsyncNotificationsDispatched());
+            assertEquals(1, metrics.getAsyncNotificationsPending());
+            event.fireAsync(new Job(null), executor);
+            assertEquals(1, metrics.getAsyncNotificationsRejected());
+            latch.countDown();
+            stage.toCompletableFuture().get(5, TimeUnit.SECONDS);
+            assertEquals(0, metrics.getAsyncNotificationsPending());
+            assertEquals(1, metrics.getAsyncNotificationsDispatched());
+            assertTrue(metrics.getAsyncNotificationQueuedTime() >= 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnboundedByDefault() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(JobObserver.class).initialize()) {
+            assertNull(container.select(BeanManagerImpl.class).get().getServices().get(BoundedAsyncEventDispatcher.class));
+        }
+    }
+
+    private void testPolicy(RejectionPolicy policy, RejectedNotificationCheck check) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(JobObserver.class)
+                .property(ConfigurationKey.ASYNC_OBSERVERS_MAX_PENDING_NOTIFICATIONS.get(), 1)
+                .property(ConfigurationKey.ASYNC_OBSERVERS_REJECTION_POLICY.get(), policy.toString()).initialize()) {
+            BoundedAsyncEventDispatcher dispatcher = container.select(BeanManagerImpl.class).get().getServices().get(BoundedAsyncEventDispatcher.class);
+            ExperimentalEvent<Job> event = container.select(EVENT_LITERAL).get();
+            CountDownLatch latch = new CountDownLatch(1);
+            Job blocking = new Job(latch);
+            CompletionStage<Job> stage = event.fireAsync(blocking, executor);
+            assertEquals(1, dispatcher.getPendingNotifications());
+            check.check(event, executor);
+            assertEquals(1, dispatcher.getRejectedNotifications());
+            latch.countDown();
+            stage.toCompletableFuture().get(5, TimeUnit.SECONDS);
+            assertEquals(0, dispatcher.getPendingNotifications());
+            assertEquals(1, dispatcher.getDispatchedNotifications());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    interface RejectedNotificationCheck {
+
+        void check(ExperimentalEvent<Job> event, ExecutorService executor) throws Exception;
+
+    }
+
+}
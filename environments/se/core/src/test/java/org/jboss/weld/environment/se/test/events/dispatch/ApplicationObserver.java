@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.events.dispatch;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.experimental.Priority;
+
+@ApplicationScoped
+public class ApplicationObserver {
+
+    static final AtomicInteger CREATED = new AtomicInteger();
+
+    ApplicationObserver() {
+    }
+
+    @PostConstruct
+    void init() {
+        CREATED.incrementAndGet();
+    }
+
+    void first(@Observes @Priority(1) Signal signal) {
+        Journal.record("application-1");
+    }
+
+    void second(@Observes @Priority(2) Signal signal) {
+        Journal.record("application-2");
+    }
+
+    void fourth(@Observes @Priority(4) Signal signal) {
+        Journal.record("application-4");
+    }
+
+}
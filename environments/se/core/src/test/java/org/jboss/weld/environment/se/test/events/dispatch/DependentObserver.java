@@ -0,0 +1,49 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.events.dispatch;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Observes;
+
+import org.jboss.weld.experimental.Priority;
+
+@Dependent
+public class DependentObserver {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final int id = SEQUENCE.incrementAndGet();
+
+    void third(@Observes @Priority(3) Signal signal) {
+        Journal.record("dependent-3-" + id);
+    }
+
+    void fifth(@Observes @Priority(5) Signal signal) {
+        Journal.record("dependent-5-" + id);
+    }
+
+    void sixth(@Observes @Priority(6) Signal signal) {
+        Journal.record("dependent-6-" + id);
+    }
+
+    static void seventh(@Observes @Priority(7) Signal signal) {
+        Journal.record("static-7");
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.events.dispatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ObserverDispatchTest {
+
+    @Before
+    public void reset() {
+        Journal.clear();
+        ApplicationObserver.CREATED.set(0);
+    }
+
+    @Test
+    public void testObserversNotifiedInOrder() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(ApplicationObserver.class, DependentObserver.class).initialize()) {
+            container.event().select(Signal.class).fire(new Signal());
+            container.event().select(Signal.class).fire(new Signal());
+            List<String> entries = Journal.entries();
+            assertEquals(entries.toString(), 14, entries.size());
+            for (int i = 0; i < 2; i++) {
+                List<String> notification = entries.subList(i * 7, (i + 1) * 7);
+                assertEquals("application-1", notification.get(0));
+                assertEquals("application-2", notification.get(1));
+                assertTrue(notification.get(2).startsWith("dependent-3-"));
+                assertEquals("application-4", notification.get(3));
+                assertTrue(notification.get(4).startsWith("dependent-5-"));
+                assertTrue(notification.get(5).startsWith("dependent-6-"));
+                assertEquals("static-7", notification.get(6));
+            }
+            assertEquals(1, ApplicationObserver.CREATED.get());
+        }
+    }
+
+    @Test
+    public void testDependentReceiverNotShared() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(DependentObserver.class).initialize()) {
+            container.event().select(Signal.class).fire(new Signal());
+            List<String> entries = Journal.entries();
+            assertEquals(entries.toString(), 4, entries.size());
+            // a new instance is created for each notification of consecutive observer methods
+            String fifth = entries.get(1).substring("dependent-5-".length());
+            String sixth = entries.get(2).substring("dependent-6-".length());
+            assertTrue(fifth + " vs " + sixth, !fifth.equals(sixth));
+        }
+    }
+
+}
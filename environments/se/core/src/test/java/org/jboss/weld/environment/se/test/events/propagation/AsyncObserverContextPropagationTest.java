@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.events.propagation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.util.TypeLiteral;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.context.bound.BoundLiteral;
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.jboss.weld.context.bound.BoundSessionContext;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.experimental.ExperimentalEvent;
+import org.junit.Test;
+
+public class AsyncObserverContextPropagationTest {
+
+    @SuppressWarnings("serial")
+    private static final TypeLiteral<ExperimentalEvent<Ping>> EVENT_LITERAL = new TypeLiteral<ExperimentalEvent<Ping>>() {
+    };
+
+    @SuppressWarnings("serial")
+    private static final TypeLiteral<ExperimentalEvent<Visit>> VISIT_EVENT_LITERAL = new TypeLiteral<ExperimentalEvent<Visit>>() {
+    };
+
+    @Test
+    public void testRequestContextPropagated() throws Exception {
+        try (WeldContainer container = createWeld().property(ConfigurationKey.ASYNC_OBSERVERS_PROPAGATE_REQUEST_CONTEXT.get(), true).initialize()) {
+            BoundRequestContext requestContext = container.select(BoundRequestContext.class, BoundLiteral.INSTANCE).get();
+            Map<String, Object> storage = new HashMap<String, Object>();
+            requestContext.associate(storage);
+            requestContext.activate();
+            try {
+                Tracker.DESTROYED.set(0);
+                container.select(RequestData.class).get().setValue("foo");
+                Ping ping = container.select(EVENT_LITERAL).get().fireAsync(new Ping()).toCompletableFuture().get(5, TimeUnit.SECONDS);
+                assertEquals("foo", ping.getValue());
+                // the tracker instance was created in the async thread
+                assertEquals(1, Tracker.DESTROYED.get());
+                // the original instance is not affected
+                assertEquals("foo", container.select(RequestData.class).get().getValue());
+            } finally {
+                requestContext.invalidate();
+                requestContext.deactivate();
+                requestContext.dissociate(storage);
+            }
+        }
+    }
+
+    @Test
+    public void testSessionContextPropagatedAndDestroyedAfterObserverFinished() throws Exception {
+        try (WeldContainer container = createWeld().property(ConfigurationKey.ASYNC_OBSERVERS_PROPAGATE_SESSION_CONTEXT.get(), true).initialize()) {
+            BoundSessionContext sessionContext = container.select(BoundSessionContext.class, BoundLiteral.INSTANCE).get();
+            Map<String, Object> storage = new HashMap<String, Object>();
+            sessionContext.associate(storage);
+            sessionContext.activate();
+            SessionData.DESTROYED.set(0);
+            container.select(SessionData.class).get().setValue("bar");
+            Visit visit = new Visit();
+            CompletableFuture<Visit> future = container.select(VISIT_EVENT_LITERAL).get().fireAsync(visit).toCompletableFuture();
+            try {
+                visit.awaitStarted();
+            } finally {
+                // the session ends while the observer is still running
+                sessionContext.invalidate();
+                sessionContext.deactivate();
+                sessionContext.dissociate(storage);
+            }
+            visit.proceed();
+            assertEquals("bar", future.get(5, TimeUnit.SECONDS).getValue());
+            // the shared instance was only destroyed once the observer finished
+            assertEquals(0, visit.getDestroyedBeforeProceeding());
+            assertEquals(1, SessionData.DESTROYED.get());
+        }
+    }
+
+    @Test
+    public void testRequestContextNotPropagatedByDefault() throws Exception {
+        try (WeldContainer container = createWeld().initialize()) {
+            BoundRequestContext requestContext = container.select(BoundRequestContext.class, BoundLiteral.INSTANCE).get();
+            Map<String, Object> storage = new HashMap<String, Object>();
+            requestContext.associate(storage);
+            requestContext.activate();
+            try {
+                container.select(EVENT_LITERAL).get().fireAsync(new Ping()).toCompletableFuture().get(5, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException expected) {
+                assertTrue(expected.getCause() instanceof ContextNotActiveException);
+            } finally {
+                requestContext.invalidate();
+                requestContext.deactivate();
+                requestContext.dissociate(storage);
+            }
+        }
+    }
+
+    private Weld createWeld() {
+        return new Weld().disableDiscovery().beanClasses(RequestData.class, Tracker.class, PingObserver.class, SessionData.class, VisitObserver.class);
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.events.propagation;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class Visit {
+
+    private static final long TIMEOUT = 5;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch proceed = new CountDownLatch(1);
+
+    private volatile String value;
+
+    private volatile int destroyedBeforeProceeding = -1;
+
+    public String getValue() {
+        return value;
+    }
+
+    public int getDestroyedBeforeProceeding() {
+        return destroyedBeforeProceeding;
+    }
+
+    void observed(SessionData data) throws InterruptedException {
+        started.countDown();
+        proceed.await(TIMEOUT, TimeUnit.SECONDS);
+        destroyedBeforeProceeding = SessionData.DESTROYED.get();
+        value = data.getValue();
+    }
+
+    void awaitStarted() throws InterruptedException {
+        started.await(TIMEOUT, TimeUnit.SECONDS);
+    }
+
+    void proceed() {
+        proceed.countDown();
+    }
+
+}
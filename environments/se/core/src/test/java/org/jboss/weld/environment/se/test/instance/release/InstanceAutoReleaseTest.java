@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.instance.release;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import javax.enterprise.inject.Instance;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InstanceAutoReleaseTest {
+
+    private static final int LIMIT = 3;
+
+    private static final int LOOKUPS = 10;
+
+    @Before
+    public void reset() {
+        Worker.DESTROYED.set(0);
+    }
+
+    @Test
+    public void testDependentObjectsRetainedByDefault() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Worker.class, Consumer.class).initialize()) {
+            Instance<Worker> workers = container.select(Consumer.class).get().getWorkers();
+            for (int i = 0; i < LOOKUPS; i++) {
+                assertNotNull(workers.get());
+            }
+            assertEquals(0, Worker.DESTROYED.get());
+        }
+        assertEquals(LOOKUPS, Worker.DESTROYED.get());
+    }
+
+    @Test
+    public void testOldestDependentObjectsReleased() {
+        try (WeldContainer container = startContainer()) {
+            Instance<Worker> workers = container.select(Consumer.class).get().getWorkers();
+            for (int i = 0; i < LOOKUPS; i++) {
+                // the selected instances share the creational context and therefore the limit
+                assertNotNull(workers.select().get());
+            }
+            assertEquals(LOOKUPS - LIMIT, Worker.DESTROYED.get());
+        }
+        assertEquals(LOOKUPS, Worker.DESTROYED.get());
+    }
+
+    @Test
+    public void testDestroyedDependentObjectNotTracked() {
+        try (WeldContainer container = startContainer()) {
+            Instance<Worker> workers = container.select(Consumer.class).get().getWorkers();
+            Worker worker = null;
+            for (int i = 0; i < LIMIT; i++) {
+                worker = workers.get();
+            }
+            workers.destroy(worker);
+            assertEquals(1, Worker.DESTROYED.get());
+            workers.get();
+            assertEquals(1, Worker.DESTROYED.get());
+            workers.get();
+            assertEquals(2, Worker.DESTROYED.get());
+        }
+        assertEquals(LIMIT + 2, Worker.DESTROYED.get());
+    }
+
+    private WeldContainer startContainer() {
+        return new Weld().disableDiscovery().beanClasses(Worker.class, Consumer.class).property(ConfigurationKey.INSTANCE_AUTO_RELEASE_DEPENDENT.get(), true)
+                .property(ConfigurationKey.INSTANCE_AUTO_RELEASE_DEPENDENT_LIMIT.get(), LIMIT).initialize();
+    }
+
+}
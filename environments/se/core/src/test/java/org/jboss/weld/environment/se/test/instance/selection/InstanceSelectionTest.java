@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.instance.selection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javax.enterprise.inject.Instance;
+import javax.enterprise.util.AnnotationLiteral;
+
+import org.jboss.weld.bean.builtin.InstanceResolutionCache;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Test;
+
+/**
+ * Repeated selections are served from the resolution cache, the results must not change. Selections with qualifier instances which are not safe to use as
+ * cache keys bypass the cache.
+ */
+public class InstanceSelectionTest {
+
+    private static final int LOOKUPS = 3;
+
+    @Test
+    public void testRepeatedSelection() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(SlowService.class, FastService.class, Client.class).initialize()) {
+            InstanceResolutionCache cache = getResolutionCache(container);
+            Instance<Service> services = container.select(Client.class).get().getServices();
+            long cached = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                assertTrue(services.isAmbiguous());
+                assertEquals("fast", services.select(Fast.Literal.INSTANCE).get().ping());
+                assertEquals("fast", services.select(FastService.class).get().ping());
+                assertEquals("slow", services.select(SlowService.class).get().ping());
+                assertEquals("slow", container.select(Service.class).get().ping());
+                assertEquals("fast", container.select(Service.class, Fast.Literal.INSTANCE).get().ping());
+                if (i == 0) {
+                    cached = cache.size();
+                    // at least the three selections on the injected Instance are cached
+                    assertTrue(cached >= 3);
+                } else {
+                    // the repeated selections hit the cache
+                    assertEquals(cached, cache.size());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSelectionWithAnonymousQualifier() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(SlowService.class, FastService.class, Client.class).initialize()) {
+            InstanceResolutionCache cache = getResolutionCache(container);
+            Instance<Service> services = container.select(Client.class).get().getServices();
+            assertTrue(services.isAmbiguous());
+            long cached = cache.size();
+            for (int i = 0; i < LOOKUPS; i++) {
+                assertEquals("fast", services.select(new AnnotationLiteral<Fast>() {
+                }).get().ping());
+            }
+            assertEquals(cached, cache.size());
+            assertEquals("fast", services.select(Fast.Literal.INSTANCE).get().ping());
+            assertEquals(cached + 1, cache.size());
+        }
+    }
+
+    private static InstanceResolutionCache getResolutionCache(WeldContainer container) {
+        return container.select(BeanManagerImpl.class).get().getServices().get(InstanceResolutionCache.class);
+    }
+
+}
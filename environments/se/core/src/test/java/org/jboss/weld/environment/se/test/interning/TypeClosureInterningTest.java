@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.interning;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.util.TypeLiteral;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.literal.AnyLiteral;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Test;
+
+/**
+ * Tests that beans with equal types share a single interned type closure.
+ */
+public class TypeClosureInterningTest {
+
+    @SuppressWarnings("serial")
+    @Test
+    public void testEqualTypeClosuresShared() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(ListProducer.class).initialize()) {
+            BeanManagerImpl manager = container.select(BeanManagerImpl.class).get();
+            List<Bean<?>> producers = new ArrayList<Bean<?>>();
+            for (Bean<?> bean : manager.getBeans(new TypeLiteral<List<String>>() {
+            }.getType(), AnyLiteral.INSTANCE)) {
+                // skip the built-in bean for the command line parameters
+                if (ListProducer.class.equals(bean.getBeanClass())) {
+                    producers.add(bean);
+                }
+            }
+            assertEquals(2, producers.size());
+            assertNotSame(producers.get(0), producers.get(1));
+            assertSame(producers.get(0).getTypes(), producers.get(1).getTypes());
+            assertSame(parameterizedType(producers.get(0).getTypes()), parameterizedType(producers.get(1).getTypes()));
+        }
+    }
+
+    private static Type parameterizedType(Set<Type> types) {
+        for (Type type : types) {
+            if (type instanceof ParameterizedType && List.class.equals(((ParameterizedType) type).getRawType())) {
+                return type;
+            }
+        }
+        throw new AssertionError("No List type found in " + types);
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.MetricsListener;
+import org.jboss.weld.metrics.WeldMetricsMXBean;
+import org.junit.Test;
+
+public class MetricsTest {
+
+    private static final String CONTAINER_ID = "metrics";
+
+    @Test
+    public void testMetricsCollected() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("org.jboss.weld:type=Metrics,container=" + ObjectName.quote(CONTAINER_ID));
+        try (WeldContainer container = new Weld(CONTAINER_ID).disableDiscovery().beanClasses(Counter.class)
+                .property(ConfigurationKey.METRICS.get(), true).initialize()) {
+            assertTrue(server.isRegistered(name));
+            WeldMetricsMXBean metrics = JMX.newMXBeanProxy(server, name, WeldMetricsMXBean.class);
+            metrics.reset();
+
+            Counter counter = container.select(Counter.class).get();
+            container.event().select(Ping.class).fire(new Ping());
+            container.event().select(Ping.class).fire(new Ping());
+            assertEquals(2, counter.getCount());
+
+            assertEquals(1, metrics.getInstancesCreated());
+            assertEquals(Long.valueOf(1), metrics.getInstancesCreatedPerBean().values().iterator().next());
+            assertEquals(2, metrics.getObserverNotifications());
+            assertTrue(metrics.getContextMisses() >= 1);
+
+            container.select(Counter.class).get();
+            assertTrue(metrics.getResolutionCacheHits() >= 1);
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        try (WeldContainer container = new Weld(CONTAINER_ID).disableDiscovery().beanClasses(Counter.class).initialize()) {
+            assertNull(container.select(BeanManagerImpl.class).get().getServices().get(MetricsListener.class));
+        }
+    }
+
+}
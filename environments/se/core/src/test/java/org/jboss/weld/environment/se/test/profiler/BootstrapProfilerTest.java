@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.profiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.jboss.weld.bootstrap.BootstrapProfiler;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Test;
+
+public class BootstrapProfilerTest {
+
+    @Test
+    public void testReportWritten() throws IOException {
+        File report = File.createTempFile("weld-bootstrap", ".json");
+        try {
+            try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Foo.class).addExtension(new ProfilingExtension())
+                    .property(ConfigurationKey.BOOTSTRAP_PROFILER_REPORT.get(), report.getAbsolutePath()).initialize()) {
+                assertEquals("pong", container.select(Foo.class).get().ping());
+            }
+            String json = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+            assertTrue(json.startsWith("{\"contextId\":"));
+            for (String phase : new String[] { BootstrapProfiler.PHASE_START_CONTAINER, BootstrapProfiler.PHASE_START_INITIALIZATION,
+                    BootstrapProfiler.PHASE_DEPLOY_BEANS, BootstrapProfiler.PHASE_VALIDATE_BEANS, BootstrapProfiler.PHASE_END_INITIALIZATION }) {
+                assertTrue(json, json.contains("\"name\":\"" + phase + "\""));
+            }
+            assertTrue(json, json.contains("\"name\":\"" + ProfilingExtension.class.getName() + "\""));
+            assertTrue(json, json.contains("\"name\":\"observeFoo(ProcessAnnotatedType)\""));
+            assertTrue(json, json.contains("\"name\":\"observeAfterBeanDiscovery(AfterBeanDiscovery)\""));
+            assertTrue(json, json.contains("\"beans\":"));
+            assertTrue(json, json.contains("\"proxies\":"));
+        } finally {
+            report.delete();
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Foo.class).initialize()) {
+            assertFalse(container.select(BeanManagerImpl.class).get().getServices().get(BootstrapProfiler.class).isEnabled());
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.resolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resolution.Resolvable;
+import org.jboss.weld.resolution.ResolvableBuilder;
+import org.jboss.weld.resolution.TypeSafeBeanResolver;
+import org.junit.Test;
+
+public class SelectiveResolverInvalidationTest {
+
+    @Test
+    public void testOnlyAffectedResolutionsInvalidated() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Alpha.class, Bravo.class).initialize()) {
+            BeanManagerImpl manager = container.select(BeanManagerImpl.class).get();
+            TypeSafeBeanResolver resolver = manager.getBeanResolver();
+            Resolvable alpha = new ResolvableBuilder(Alpha.class, manager).create();
+            Resolvable bravo = new ResolvableBuilder(Bravo.class, manager).create();
+            assertEquals(1, resolver.resolve(alpha, true).size());
+            assertEquals(1, resolver.resolve(bravo, true).size());
+            assertTrue(resolver.isCached(alpha));
+            assertTrue(resolver.isCached(bravo));
+
+            // Charlie is also an Alpha
+            manager.addBean(createBean(manager, Charlie.class));
+            assertFalse(resolver.isCached(alpha));
+            assertTrue(resolver.isCached(bravo));
+            assertEquals(2, resolver.resolve(alpha, true).size());
+            assertEquals(1, resolver.resolve(new ResolvableBuilder(Charlie.class, manager).create(), true).size());
+            assertEquals(1, resolver.resolve(bravo, true).size());
+        }
+    }
+
+    private static <T> Bean<T> createBean(BeanManagerImpl manager, Class<T> beanClass) {
+        AnnotatedType<T> annotatedType = manager.createAnnotatedType(beanClass);
+        return manager.createBean(manager.createBeanAttributes(annotatedType), beanClass, manager.getInjectionTargetFactory(annotatedType));
+    }
+
+}
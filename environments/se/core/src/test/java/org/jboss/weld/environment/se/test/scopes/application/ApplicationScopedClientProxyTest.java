@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.scopes.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.spi.AlterableContext;
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.bean.proxy.ProxyObject;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Test;
+
+public class ApplicationScopedClientProxyTest {
+
+    @Test
+    public void testProxyBindsToInstance() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Registry.class).initialize()) {
+            Registry registry = container.select(Registry.class).get();
+            assertTrue(registry instanceof ProxyObject);
+            String id = registry.getId();
+            assertEquals(1, registry.register());
+            assertEquals(2, registry.register());
+            assertEquals(id, registry.getId());
+            // The instance does not escape
+            assertSame(registry, registry.self());
+            assertEquals(id, container.select(Registry.class).get().getId());
+        }
+        // A new container, the proxy class may be reused
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Registry.class).initialize()) {
+            assertEquals(1, container.select(Registry.class).get().register());
+        }
+    }
+
+    @Test
+    public void testDestroyedInstanceIsNotUsed() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Registry.class).initialize()) {
+            BeanManagerImpl beanManager = container.select(BeanManagerImpl.class).get();
+            Registry registry = container.select(Registry.class).get();
+            String id = registry.getId();
+            assertEquals(1, registry.register());
+
+            int destroyed = Registry.DESTROYED.get();
+            Bean<?> bean = beanManager.resolve(beanManager.getBeans(Registry.class));
+            ((AlterableContext) beanManager.getContext(ApplicationScoped.class)).destroy(bean);
+            assertEquals(destroyed + 1, Registry.DESTROYED.get());
+
+            // The proxy obtains a new instance
+            assertFalse(id.equals(registry.getId()));
+            assertEquals(1, registry.register());
+            assertEquals(registry.getId(), container.select(Registry.class).get().getId());
+        }
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Registry.class).initialize()) {
+            Registry registry = container.select(Registry.class).get();
+            assertEquals(1, registry.register());
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(registry);
+            }
+            Registry deserialized;
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                deserialized = (Registry) in.readObject();
+            }
+            assertTrue(deserialized instanceof ProxyObject);
+            assertEquals(registry.getId(), deserialized.getId());
+            assertEquals(2, deserialized.register());
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.annotation.Annotation;
+import java.util.Set;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resources.ReflectionCache;
+import org.jboss.weld.resources.SharedObjectCache;
+import org.junit.Test;
+
+public class SharedClassMetadataTest {
+
+    @Test
+    public void testMetadataShared() {
+        try (WeldContainer container1 = createWeld("tenant1", true).initialize(); WeldContainer container2 = createWeld("tenant2", true).initialize()) {
+            assertEquals("tenant", container1.select(Tenant.class).get().getName());
+            assertEquals("tenant", container2.select(Tenant.class).get().getName());
+            BeanManagerImpl manager1 = container1.select(BeanManagerImpl.class).get();
+            BeanManagerImpl manager2 = container2.select(BeanManagerImpl.class).get();
+            assertSame(manager1.getServices().get(SharedObjectCache.class), manager2.getServices().get(SharedObjectCache.class));
+            assertSame(manager1.getServices().get(ReflectionCache.class).getAnnotations(Tenant.class),
+                    manager2.getServices().get(ReflectionCache.class).getAnnotations(Tenant.class));
+        }
+    }
+
+    @Test
+    public void testMetadataReusedBySequentialContainers() {
+        SharedObjectCache cache;
+        Set<Annotation> annotations;
+        try (WeldContainer container = createWeld("tenant1", true).initialize()) {
+            BeanManagerImpl manager = container.select(BeanManagerImpl.class).get();
+            cache = manager.getServices().get(SharedObjectCache.class);
+            annotations = manager.getServices().get(ReflectionCache.class).getAnnotations(Tenant.class);
+        }
+        try (WeldContainer container = createWeld("tenant2", true).initialize()) {
+            BeanManagerImpl manager = container.select(BeanManagerImpl.class).get();
+            assertSame(cache, manager.getServices().get(SharedObjectCache.class));
+            assertSame(annotations, manager.getServices().get(ReflectionCache.class).getAnnotations(Tenant.class));
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        try (WeldContainer container1 = createWeld("tenant1", false).initialize(); WeldContainer container2 = createWeld("tenant2", false).initialize()) {
+            assertNotSame(container1.select(BeanManagerImpl.class).get().getServices().get(SharedObjectCache.class),
+                    container2.select(BeanManagerImpl.class).get().getServices().get(SharedObjectCache.class));
+        }
+    }
+
+    private Weld createWeld(String containerId, boolean shared) {
+        Weld weld = new Weld(containerId).disableDiscovery().beanClasses(Tenant.class);
+        if (shared) {
+            weld.property(ConfigurationKey.SHARED_CLASS_METADATA.get(), true);
+        }
+        return weld;
+    }
+
+}
@@ -0,0 +1,301 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.inject.Singleton;
+
+import org.jboss.weld.Container;
+import org.jboss.weld.bootstrap.api.CDI11Bootstrap;
+import org.jboss.weld.bootstrap.api.TypeDiscoveryConfiguration;
+import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
+import org.jboss.weld.bootstrap.spi.Deployment;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
+import org.jboss.weld.environment.deployment.discovery.BeanArchiveHandler;
+import org.jboss.weld.environment.deployment.discovery.BeanArchiveScanner;
+import org.jboss.weld.environment.deployment.discovery.DiscoveryStrategy;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resources.spi.ClassFileServices;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.util.collections.ImmutableSet;
+import org.junit.After;
+import org.junit.Test;
+
+public class DiscoverySnapshotTest {
+
+    private static final FileTime EPOCH = FileTime.fromMillis(0);
+
+    private static final long CLASS_FILE_CHANGE = 60000L;
+
+    private static final String ANNOTATED_BEANS_XML = "<beans xmlns=\"http://xmlns.jcp.org/xml/ns/javaee\" bean-discovery-mode=\"annotated\" version=\"1.1\"/>";
+
+    private final List<Path> tempDirectories = new ArrayList<Path>();
+
+    @Test
+    public void testSnapshotRestored() throws IOException {
+        Path snapshot = newSnapshotPath();
+        CountingWeld weld = new CountingWeld();
+        try (WeldContainer container = weld.snapshot(snapshot).initialize()) {
+            assertEquals("alpha", container.select(Alpha.class).get().ping());
+        }
+        assertEquals(1, weld.discoveries);
+        assertTrue(Files.isRegularFile(snapshot));
+        // A restored snapshot is not stored again
+        Files.setLastModifiedTime(snapshot, EPOCH);
+        weld = new CountingWeld();
+        try (WeldContainer container = weld.fromSnapshot(snapshot).initialize()) {
+            assertEquals("alpha", container.select(Alpha.class).get().ping());
+        }
+        assertEquals(0, weld.discoveries);
+        assertEquals(EPOCH, Files.getLastModifiedTime(snapshot));
+    }
+
+    @Test
+    public void testMissingSnapshotStored() throws IOException {
+        Path snapshot = newSnapshotPath();
+        CountingWeld weld = new CountingWeld();
+        try (WeldContainer container = weld.fromSnapshot(snapshot).initialize()) {
+            assertEquals("alpha", container.select(Alpha.class).get().ping());
+        }
+        assertEquals(1, weld.discoveries);
+        assertTrue(Files.isRegularFile(snapshot));
+    }
+
+    @Test
+    public void testInvalidSnapshotReplaced() throws IOException {
+        Path snapshot = newSnapshotPath();
+        byte[] garbage = "not a snapshot".getBytes(StandardCharsets.UTF_8);
+        Files.write(snapshot, garbage);
+        try (WeldContainer container = new Weld().fromSnapshot(snapshot).initialize()) {
+            assertEquals("alpha", container.select(Alpha.class).get().ping());
+        }
+        assertFalse(Arrays.equals(garbage, Files.readAllBytes(snapshot)));
+    }
+
+    @Test
+    public void testRestoredContainerHasSameBeans() throws IOException {
+        Path snapshot = newSnapshotPath();
+        Set<String> discoveredBeans;
+        try (WeldContainer container = new Weld().snapshot(snapshot).initialize()) {
+            discoveredBeans = getBeans(container);
+        }
+        Files.setLastModifiedTime(snapshot, EPOCH);
+        CountingWeld weld = new CountingWeld();
+        try (WeldContainer container = weld.fromSnapshot(snapshot).initialize()) {
+            assertEquals(0, weld.discoveries);
+            assertEquals(discoveredBeans, getBeans(container));
+            // The class file services are registered even if the discovery is skipped
+            assertNotNull(container.select(BeanManagerImpl.class).get().getServices().get(ClassFileServices.class));
+        }
+        assertEquals(EPOCH, Files.getLastModifiedTime(snapshot));
+    }
+
+    @Test
+    public void testRediscoveredAfterConfigurationChange() throws IOException {
+        Path snapshot = newSnapshotPath();
+        try (WeldContainer container = new Weld().snapshot(snapshot).initialize()) {
+            assertEquals("alpha", container.select(Alpha.class).get().ping());
+        }
+        Files.setLastModifiedTime(snapshot, EPOCH);
+        CountingWeld weld = new CountingWeld();
+        try (WeldContainer container = weld.fromSnapshot(snapshot).property(ConfigurationKey.CONCURRENT_DEPLOYMENT.get(), false).initialize()) {
+            assertEquals("alpha", container.select(Alpha.class).get().ping());
+        }
+        assertEquals(1, weld.discoveries);
+        assertFalse(EPOCH.equals(Files.getLastModifiedTime(snapshot)));
+    }
+
+    @Test
+    public void testRediscoveredAfterBeanDefiningAnnotationChange() throws IOException {
+        Path snapshot = newSnapshotPath();
+        try (WeldContainer container = new Weld().snapshot(snapshot).initialize()) {
+            assertEquals("alpha", container.select(Alpha.class).get().ping());
+        }
+        Files.setLastModifiedTime(snapshot, EPOCH);
+        CountingWeld weld = new SingletonDefiningWeld();
+        try (WeldContainer container = weld.fromSnapshot(snapshot).initialize()) {
+            assertEquals("alpha", container.select(Alpha.class).get().ping());
+        }
+        assertEquals(1, weld.discoveries);
+        assertFalse(EPOCH.equals(Files.getLastModifiedTime(snapshot)));
+    }
+
+    @Test
+    public void testRediscoveredAfterClassFileChange() throws IOException {
+        Path archive = createTempDirectory();
+        Files.createDirectories(archive.resolve("META-INF"));
+        Files.write(archive.resolve("META-INF/beans.xml"), ANNOTATED_BEANS_XML.getBytes(StandardCharsets.UTF_8));
+        Path classFile = archive.resolve(Plain.class.getName().replace('.', '/') + ".class");
+        Files.createDirectories(classFile.getParent());
+        try (InputStream in = Plain.class.getResourceAsStream(Plain.class.getSimpleName() + ".class")) {
+            Files.copy(in, classFile);
+        }
+        Path snapshot = newSnapshotPath();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { archive.toUri().toURL() }, DiscoverySnapshotTest.class.getClassLoader())) {
+            CountingWeld weld = new CountingWeld();
+            try (WeldContainer container = weld.setClassLoader(classLoader).snapshot(snapshot).initialize()) {
+                assertEquals("alpha", container.select(Alpha.class).get().ping());
+            }
+            weld = new CountingWeld();
+            try (WeldContainer container = weld.setClassLoader(classLoader).fromSnapshot(snapshot).initialize()) {
+                assertEquals("alpha", container.select(Alpha.class).get().ping());
+            }
+            assertEquals(0, weld.discoveries);
+            // Plain is not a bean class of the annotated archive, but might become one, e.g. if a bean defining annotation is added
+            Files.setLastModifiedTime(classFile, FileTime.fromMillis(Files.getLastModifiedTime(classFile).toMillis() + CLASS_FILE_CHANGE));
+            weld = new CountingWeld();
+            try (WeldContainer container = weld.setClassLoader(classLoader).fromSnapshot(snapshot).initialize()) {
+                assertEquals("alpha", container.select(Alpha.class).get().ping());
+            }
+            assertEquals(1, weld.discoveries);
+        }
+    }
+
+    @After
+    public void deleteTempDirectories() throws IOException {
+        for (Path directory : tempDirectories) {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        tempDirectories.clear();
+    }
+
+    private Path newSnapshotPath() throws IOException {
+        return createTempDirectory().resolve("discovery.snapshot");
+    }
+
+    private Path createTempDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("weld-snapshot");
+        tempDirectories.add(directory);
+        return directory;
+    }
+
+    private static Set<String> getBeans(WeldContainer container) {
+        Set<String> beans = new TreeSet<String>();
+        for (Entry<BeanDeploymentArchive, BeanManagerImpl> entry : Container.instance(container.getId()).beanDeploymentArchives().entrySet()) {
+            for (Bean<?> bean : entry.getValue().getBeans()) {
+                Set<String> types = new TreeSet<String>();
+                for (Type type : bean.getTypes()) {
+                    types.add(type.getTypeName());
+                }
+                beans.add(entry.getKey().getId() + " " + bean.getBeanClass().getName() + " " + types);
+            }
+        }
+        return beans;
+    }
+
+    /**
+     * Counts the discoveries actually performed.
+     */
+    private static class CountingWeld extends Weld {
+
+        private int discoveries;
+
+        @Override
+        protected DiscoveryStrategy createDiscoveryStrategy(ResourceLoader resourceLoader, CDI11Bootstrap bootstrap,
+                Set<Class<? extends Annotation>> beanDefiningAnnotations) {
+            DiscoveryStrategy delegate = super.createDiscoveryStrategy(resourceLoader, bootstrap, beanDefiningAnnotations);
+            return new DiscoveryStrategy() {
+
+                @Override
+                public void setScanner(BeanArchiveScanner beanArchiveScanner) {
+                    delegate.setScanner(beanArchiveScanner);
+                }
+
+                @Override
+                public void registerHandler(BeanArchiveHandler handler) {
+                    delegate.registerHandler(handler);
+                }
+
+                @Override
+                public Set<WeldBeanDeploymentArchive> performDiscovery() {
+                    discoveries++;
+                    return delegate.performDiscovery();
+                }
+
+                @Override
+                public ClassFileServices getClassFileServices() {
+                    return delegate.getClassFileServices();
+                }
+            };
+        }
+
+    }
+
+    /**
+     * Adds {@link Singleton} to the bean defining annotations.
+     */
+    private static class SingletonDefiningWeld extends CountingWeld {
+
+        @Override
+        protected Deployment createDeployment(ResourceLoader resourceLoader, CDI11Bootstrap bootstrap) {
+            CDI11Bootstrap singletonDefiningBootstrap = (CDI11Bootstrap) Proxy.newProxyInstance(CDI11Bootstrap.class.getClassLoader(),
+                    new Class<?>[] { CDI11Bootstrap.class }, (proxy, method, args) -> {
+                        Object result = method.invoke(bootstrap, args);
+                        if (result instanceof TypeDiscoveryConfiguration) {
+                            Set<Class<? extends Annotation>> beanDefiningAnnotations = ImmutableSet.<Class<? extends Annotation>> builder()
+                                    .addAll(((TypeDiscoveryConfiguration) result).getKnownBeanDefiningAnnotations()).add(Singleton.class).build();
+                            return (TypeDiscoveryConfiguration) () -> beanDefiningAnnotations;
+                        }
+                        return result;
+                    });
+            return super.createDeployment(resourceLoader, singletonDefiningBootstrap);
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.bootstrap.InjectionPointDependencyGraph;
+import org.jboss.weld.bootstrap.Validator;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.exceptions.DeploymentException;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resolution.ResolvableBuilder;
+import org.junit.Test;
+
+public class IncrementalValidationTest {
+
+    @Test
+    public void testOnlyAffectedInjectionPointsRevalidated() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Foo.class, Bar.class)
+                .property(ConfigurationKey.INCREMENTAL_VALIDATION.get(), true).initialize()) {
+            BeanManagerImpl manager = container.select(BeanManagerImpl.class).get();
+            InjectionPointDependencyGraph graph = manager.getServices().get(InjectionPointDependencyGraph.class);
+            assertNotNull(graph);
+
+            Bean<?> fooBean = manager.resolve(manager.getBeans(Foo.class));
+            Bean<?> barBean = manager.resolve(manager.getBeans(Bar.class));
+            assertEquals(1, barBean.getInjectionPoints().size());
+            InjectionPoint fooInjectionPoint = barBean.getInjectionPoints().iterator().next();
+            assertEquals(Collections.singleton(fooBean), graph.getResolvedBeans(fooInjectionPoint));
+
+            // Unrelated bean - the injection point is not affected
+            Bean<Baz> bazBean = createBean(manager, Baz.class);
+            assertTrue(graph.getAffectedInjectionPoints(Collections.singleton(bazBean)).isEmpty());
+            manager.addBean(bazBean);
+            assertTrue(manager.getBeanResolver().isCached(new ResolvableBuilder(fooInjectionPoint, manager).create()));
+
+            // Foo bean with a different qualifier - the injection point is a candidate but still resolves to the same bean
+            Bean<SpecialFoo> specialFooBean = createBean(manager, SpecialFoo.class);
+            assertEquals(Collections.singleton(fooInjectionPoint), graph.getAffectedInjectionPoints(Collections.singleton(specialFooBean)));
+            manager.addBean(specialFooBean);
+            assertEquals(Collections.singleton(fooBean), graph.getResolvedBeans(fooInjectionPoint));
+            assertTrue(manager.getServices().get(Validator.class).validateAdditionalBeans(manager, Collections.singleton(specialFooBean)).isEmpty());
+
+            // Another Foo bean - the injection point is ambiguous now and adding the bean fails
+            Bean<Foo> anotherFooBean = createBean(manager, Foo.class);
+            assertEquals(Collections.singleton(fooInjectionPoint), graph.getAffectedInjectionPoints(Collections.singleton(anotherFooBean)));
+            try {
+                manager.addBean(anotherFooBean);
+                fail();
+            } catch (DeploymentException expected) {
+            }
+            // The rejected bean is rolled back
+            assertFalse(manager.getBeans().contains(anotherFooBean));
+            assertEquals(Collections.singleton(fooBean), manager.getBeans(Foo.class));
+            assertEquals(fooBean, manager.resolve(manager.getBeans(fooInjectionPoint)));
+            assertEquals(Collections.singleton(fooBean), graph.getResolvedBeans(fooInjectionPoint));
+            assertFalse(container.select(Foo.class).isAmbiguous());
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Foo.class, Bar.class).initialize()) {
+            assertNull(container.select(BeanManagerImpl.class).get().getServices().get(InjectionPointDependencyGraph.class));
+        }
+    }
+
+    private static <T> Bean<T> createBean(BeanManagerImpl manager, Class<T> beanClass) {
+        AnnotatedType<T> annotatedType = manager.createAnnotatedType(beanClass);
+        return manager.createBean(manager.createBeanAttributes(annotatedType), beanClass, manager.getInjectionTargetFactory(annotatedType));
+    }
+
+}
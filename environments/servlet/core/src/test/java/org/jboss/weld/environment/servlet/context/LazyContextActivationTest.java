@@ -0,0 +1,312 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.servlet.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.undertow.servlet.Servlets;
+import io.undertow.servlet.api.DeploymentInfo;
+import io.undertow.servlet.api.DeploymentManager;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+
+import org.jboss.weld.Container;
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.context.http.HttpConversationContext;
+import org.jboss.weld.context.http.HttpConversationContextImpl;
+import org.jboss.weld.context.http.HttpRequestContext;
+import org.jboss.weld.context.http.HttpRequestContextImpl;
+import org.jboss.weld.context.http.HttpSessionContext;
+import org.jboss.weld.context.http.HttpSessionContextImpl;
+import org.jboss.weld.environment.servlet.Listener;
+import org.jboss.weld.environment.servlet.WeldServletLifecycle;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.servlet.HttpContextLifecycle;
+import org.jboss.weld.servlet.spi.HttpContextActivationFilter;
+import org.jboss.weld.servlet.spi.helpers.AcceptingHttpContextActivationFilter;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests the lazy activation of the HTTP contexts performed by {@link HttpContextLifecycle} with mock servlet requests.
+ */
+public class LazyContextActivationTest {
+
+    private static DeploymentManager deploymentManager;
+
+    private static BeanManagerImpl beanManager;
+
+    private HttpContextLifecycle lifecycle;
+
+    private HttpRequestContextImpl requestContext;
+
+    private HttpSessionContextImpl sessionContext;
+
+    private HttpConversationContextImpl conversationContext;
+
+    @BeforeClass
+    public static void deploy() throws ServletException {
+        DeploymentInfo deploymentInfo = Servlets.deployment().setClassLoader(LazyContextActivationTest.class.getClassLoader()).setContextPath("/")
+                .setDeploymentName("lazy-context-activation.war").addInitParameter(Container.CONTEXT_ID_KEY, "lazy-context-activation")
+                .addListener(Servlets.listener(Listener.class));
+        deploymentManager = Servlets.defaultContainer().addDeployment(deploymentInfo);
+        deploymentManager.deploy();
+        deploymentManager.start();
+        Object manager = deploymentManager.getDeployment().getServletContext().getAttribute(WeldServletLifecycle.BEAN_MANAGER_ATTRIBUTE_NAME);
+        beanManager = BeanManagerProxy.unwrap((javax.enterprise.inject.spi.BeanManager) manager);
+    }
+
+    @AfterClass
+    public static void undeploy() throws ServletException {
+        deploymentManager.stop();
+        deploymentManager.undeploy();
+    }
+
+    @Before
+    public void init() {
+        lifecycle = new HttpContextLifecycle(beanManager, AcceptingHttpContextActivationFilter.INSTANCE, true, true, true, true, true);
+        lifecycle.setConversationActivationEnabled(true);
+        requestContext = (HttpRequestContextImpl) beanManager.instance().select(HttpRequestContext.class).get();
+        sessionContext = (HttpSessionContextImpl) beanManager.instance().select(HttpSessionContext.class).get();
+        conversationContext = (HttpConversationContextImpl) beanManager.instance().select(HttpConversationContext.class).get();
+    }
+
+    @After
+    public void verifyNoCallbackLeft() {
+        assertNoPendingActivation();
+        assertFalse(requestContext.isActive());
+        assertFalse(sessionContext.isActive());
+        assertFalse(conversationContext.isActive());
+    }
+
+    @Test
+    public void testFirstQueryActivatesContexts() {
+        MockRequest mock = new MockRequest();
+        HttpServletRequest request = mock.proxy();
+        lifecycle.requestInitialized(request, null);
+        try {
+            assertTrue(requestContext.getDeferredActivation().isPending());
+            assertTrue(sessionContext.getDeferredActivation().isPending());
+            assertTrue(conversationContext.getDeferredActivation().isPending());
+            assertNull(requestContext.getHttpServletRequest());
+
+            // the first query activates all the contexts at once
+            assertTrue(beanManager.getContext(RequestScoped.class).isActive());
+            assertNoPendingActivation();
+            assertTrue(sessionContext.isActive());
+            assertTrue(conversationContext.isActive());
+            assertEquals(request, requestContext.getHttpServletRequest());
+
+            RequestCounter counter = beanManager.instance().select(RequestCounter.class).get();
+            counter.increment();
+            assertEquals(1, counter.getValue());
+        } finally {
+            lifecycle.requestDestroyed(request);
+        }
+    }
+
+    @Test
+    public void testUntouchedRequestCancelsActivation() {
+        MockRequest mock = new MockRequest();
+        HttpServletRequest request = mock.proxy();
+        lifecycle.requestInitialized(request, null);
+        assertTrue(requestContext.getDeferredActivation().isPending());
+        lifecycle.requestDestroyed(request);
+        assertNoPendingActivation();
+        // the contexts were never associated with the request
+        assertNull(requestContext.getHttpServletRequest());
+        assertTrue(mock.getBeanStoreAttributes().isEmpty());
+    }
+
+    @Test
+    public void testAsyncRequest() {
+        MockRequest mock = new MockRequest();
+        mock.asyncStarted = true;
+        HttpServletRequest request = mock.proxy();
+
+        lifecycle.requestInitialized(request, null);
+        lifecycle.requestDestroyed(request);
+        assertNoPendingActivation();
+        assertNull(mock.attributes.get(HttpContextLifecycle.ASYNC_STARTED_ATTR_NAME));
+
+        mock = new MockRequest();
+        mock.asyncStarted = true;
+        request = mock.proxy();
+        lifecycle.requestInitialized(request, null);
+        beanManager.instance().select(RequestCounter.class).get().increment();
+        lifecycle.requestDestroyed(request);
+        assertNoPendingActivation();
+        assertEquals(Boolean.TRUE, mock.attributes.get(HttpContextLifecycle.ASYNC_STARTED_ATTR_NAME));
+        // the request context is not invalidated, the bean stays in the request until the async operation completes
+        assertFalse(mock.getBeanStoreAttributes().isEmpty());
+    }
+
+    @Test
+    public void testConversationActivationDisabled() {
+        lifecycle.setConversationActivationEnabled(false);
+        MockRequest mock = new MockRequest();
+        HttpServletRequest request = mock.proxy();
+        lifecycle.requestInitialized(request, null);
+        try {
+            assertTrue(requestContext.getDeferredActivation().isPending());
+            assertFalse(conversationContext.getDeferredActivation().isPending());
+            try {
+                beanManager.getContext(ConversationScoped.class);
+                fail();
+            } catch (ContextNotActiveException expected) {
+                // the conversation context is never activated
+            }
+            // querying the conversation context must not trigger the activation of other contexts
+            assertTrue(requestContext.getDeferredActivation().isPending());
+
+            beanManager.instance().select(RequestCounter.class).get().increment();
+            assertNoPendingActivation();
+            assertFalse(conversationContext.isActive());
+        } finally {
+            lifecycle.requestDestroyed(request);
+        }
+    }
+
+    @Test
+    public void testStaleCallbackIsCleared() {
+        MockRequest leaked = new MockRequest();
+        // the servlet container never invokes requestDestroyed() for this request
+        lifecycle.requestInitialized(leaked.proxy(), null);
+        assertTrue(requestContext.getDeferredActivation().isPending());
+
+        MockRequest mock = new MockRequest();
+        HttpServletRequest request = mock.proxy();
+        lifecycle.requestInitialized(request, null);
+        try {
+            beanManager.instance().select(RequestCounter.class).get().increment();
+            assertEquals(request, requestContext.getHttpServletRequest());
+            assertFalse(mock.getBeanStoreAttributes().isEmpty());
+            assertTrue(leaked.getBeanStoreAttributes().isEmpty());
+        } finally {
+            lifecycle.requestDestroyed(request);
+        }
+    }
+
+    @Test
+    public void testFilteredRequestDoesNotActivateStaleCallback() {
+        MockRequest leaked = new MockRequest();
+        lifecycle.requestInitialized(leaked.proxy(), null);
+
+        HttpContextActivationFilter rejectingFilter = new HttpContextActivationFilter() {
+            @Override
+            public boolean accepts(HttpServletRequest request) {
+                return false;
+            }
+
+            @Override
+            public void cleanup() {
+            }
+        };
+        HttpContextLifecycle rejecting = new HttpContextLifecycle(beanManager, rejectingFilter, true, true, true, true, true);
+        rejecting.setConversationActivationEnabled(true);
+        HttpServletRequest request = new MockRequest().proxy();
+        rejecting.requestInitialized(request, null);
+        try {
+            assertNoPendingActivation();
+            assertFalse(requestContext.isActive());
+            assertTrue(leaked.getBeanStoreAttributes().isEmpty());
+        } finally {
+            rejecting.requestDestroyed(request);
+        }
+    }
+
+    private void assertNoPendingActivation() {
+        assertFalse(requestContext.getDeferredActivation().isPending());
+        assertFalse(sessionContext.getDeferredActivation().isPending());
+        assertFalse(conversationContext.getDeferredActivation().isPending());
+    }
+
+    private static class MockRequest implements InvocationHandler {
+
+        private final Map<String, Object> attributes = new HashMap<String, Object>();
+
+        private boolean asyncStarted;
+
+        HttpServletRequest proxy() {
+            return (HttpServletRequest) Proxy.newProxyInstance(MockRequest.class.getClassLoader(), new Class<?>[] { HttpServletRequest.class }, this);
+        }
+
+        Map<String, Object> getBeanStoreAttributes() {
+            Map<String, Object> result = new HashMap<String, Object>();
+            for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+                if (entry.getKey().startsWith(HttpRequestContext.class.getName())) {
+                    result.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getAttribute":
+                    return attributes.get(args[0]);
+                case "setAttribute":
+                    attributes.put((String) args[0], args[1]);
+                    return null;
+                case "removeAttribute":
+                    attributes.remove(args[0]);
+                    return null;
+                case "getAttributeNames":
+                    return Collections.enumeration(new HashMap<String, Object>(attributes).keySet());
+                case "isAsyncStarted":
+                    return asyncStarted;
+                case "isAsyncSupported":
+                    return true;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "MockRequest" + attributes;
+                default:
+                    Class<?> returnType = method.getReturnType();
+                    if (boolean.class.equals(returnType)) {
+                        return false;
+                    } else if (int.class.equals(returnType) || long.class.equals(returnType)) {
+                        return 0;
+                    }
+                    return null;
+            }
+        }
+    }
+
+}
@@ -69,21 +69,32 @@ public class InvokableAnnotatedMethod<T> extends ForwardingAnnotatedMethod<T> {
      * @return A reference to the instance
      */
     public <X> X invokeOnInstance(Object instance, Object... parameters) throws IllegalArgumentException, SecurityException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+        return cast(getMethodForInstanceClass(instance.getClass()).invoke(instance, parameters));
+    }
+
+    /**
+     * Resolves the accessible method that {@link #invokeOnInstance(Object, Object...)} invokes for instances of the given class. The result is cached.
+     *
+     * @param instanceClass the runtime class of the instance
+     * @return the method matching this method on the given class
+     * @throws NoSuchMethodException if there is no such method
+     */
+    public Method getMethodForInstanceClass(Class<?> instanceClass) throws NoSuchMethodException {
         final Map<Class<?>, Method> methods = this.methods;
-        Method method = methods.get(instance.getClass());
+        Method method = methods.get(instanceClass);
         if (method == null) {
             // the same method may be written to the map twice, but that is ok
             // lookupMethod is very slow
             Method delegate = annotatedMethod.getJavaMember();
-            method = SecurityActions.lookupMethod(instance.getClass(), delegate.getName(), delegate.getParameterTypes());
+            method = SecurityActions.lookupMethod(instanceClass, delegate.getName(), delegate.getParameterTypes());
             SecurityActions.ensureAccessible(method);
             synchronized (this) {
                 final Map<Class<?>, Method> newMethods = new HashMap<Class<?>, Method>(methods);
-                newMethods.put(instance.getClass(), method);
+                newMethods.put(instanceClass, method);
                 this.methods = WeldCollections.immutableMapView(newMethods);
             }
         }
-        return cast(method.invoke(instance, parameters));
+        return method;
     }
 
     @Override
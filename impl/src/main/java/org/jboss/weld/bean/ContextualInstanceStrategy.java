@@ -80,6 +80,16 @@ public abstract class ContextualInstanceStrategy<T> {
 
     abstract void destroy(Bean<T> bean);
 
+    /**
+     * Returns the contextual instance cached by this strategy, if any. Neither the context is looked up nor a new instance is created. The returned value
+     * is flushed once the instance is destroyed.
+     *
+     * @return the cached contextual instance or {@code null}
+     */
+    public T getCachedInstance() {
+        return null;
+    }
+
     private static class DefaultContextualInstanceStrategy<T> extends ContextualInstanceStrategy<T> {
 
         static final ContextualInstanceStrategy<Object> INSTANCE = new DefaultContextualInstanceStrategy<Object>();
@@ -147,6 +157,11 @@ public abstract class ContextualInstanceStrategy<T> {
         void destroy(Bean<T> bean) {
             value = null;
         }
+
+        @Override
+        public T getCachedInstance() {
+            return value;
+        }
     }
 
     private static class CachingContextualInstanceStrategy<T> extends DefaultContextualInstanceStrategy<T> {
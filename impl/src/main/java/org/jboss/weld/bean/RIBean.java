@@ -16,6 +16,7 @@
  */
 package org.jboss.weld.bean;
 
+import java.lang.reflect.Type;
 import java.util.Set;
 
 import javax.enterprise.context.Dependent;
@@ -23,10 +24,12 @@ import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.BeanAttributes;
 import javax.enterprise.inject.spi.PassivationCapable;
 
+import org.jboss.weld.bean.attributes.ImmutableBeanAttributes;
 import org.jboss.weld.bootstrap.BeanDeployerEnvironment;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
 import org.jboss.weld.resolution.QualifierInstance;
+import org.jboss.weld.resources.SharedObjectCache;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 
 /**
@@ -62,15 +65,30 @@ public abstract class RIBean<T> extends CommonBean<T> implements PassivationCapa
     /**
      * Initializes the bean and its metadata. The method is synchronized and guarded by the RIBean object so that the
      * initialization only occurs once.
+     * <p>
+     * The bean types are replaced with the canonical type closure shared by all the bean managers of the container and the qualifier instances are
+     * computed eagerly so that equal qualifier sets are shared by all the beans of the deployment.
      *
      */
     public final synchronized void initialize(BeanDeployerEnvironment environment) {
         if (!initialized) {
             internalInitialize(environment);
+            internTypes();
+            getQualifierInstances();
             initialized = true;
         }
     }
 
+    private void internTypes() {
+        BeanAttributes<T> attributes = attributes();
+        Set<Type> sharedTypes = SharedObjectCache.instance(beanManager).getSharedTypeClosure(attributes.getTypes());
+        if (sharedTypes != attributes.getTypes()) {
+            // The contextual instance strategy does not depend on the bean types and is therefore not recreated
+            super.setAttributes(new ImmutableBeanAttributes<T>(attributes.getStereotypes(), attributes.isAlternative(), attributes.getName(),
+                    attributes.getQualifiers(), sharedTypes, attributes.getScope()));
+        }
+    }
+
     protected abstract void internalInitialize(BeanDeployerEnvironment environment);
 
     /**
@@ -17,6 +17,8 @@
 package org.jboss.weld.bean.builtin;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.Decorator;
@@ -25,6 +27,7 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import org.jboss.weld.bean.BeanIdentifiers;
 import org.jboss.weld.bean.DecorableBean;
 import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.bean.proxy.DecoratorChainPlan;
 import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.injection.EmptyInjectionPoint;
 import org.jboss.weld.manager.BeanManagerImpl;
@@ -40,9 +43,13 @@ public abstract class AbstractDecorableBuiltInBean<T> extends AbstractBuiltInBea
 
     private final CurrentInjectionPoint cip;
 
+    // the decorators applied may depend on the injection point, hence a plan per list of decorators
+    private final ConcurrentMap<List<Decorator<?>>, DecoratorChainPlan> decoratorChainPlans;
+
     protected AbstractDecorableBuiltInBean(BeanManagerImpl beanManager, Class<T> type) {
         super(new StringBeanIdentifier(BeanIdentifiers.forBuiltInBean(beanManager, type, null)), beanManager, type);
         this.cip = beanManager.getServices().get(CurrentInjectionPoint.class);
+        this.decoratorChainPlans = new ConcurrentHashMap<List<Decorator<?>>, DecoratorChainPlan>();
     }
 
     @Override
@@ -53,7 +60,19 @@ public abstract class AbstractDecorableBuiltInBean<T> extends AbstractBuiltInBea
         if (decorators.isEmpty()) {
             return instance;
         }
-        return Decorators.getOuterDelegate(this, instance, creationalContext, getProxyClass(), cip.peek(), getBeanManager(), decorators);
+        return Decorators.getOuterDelegate(this, instance, creationalContext, getProxyClass(), cip.peek(), getBeanManager(), getDecoratorChainPlan(decorators));
+    }
+
+    private DecoratorChainPlan getDecoratorChainPlan(List<Decorator<?>> decorators) {
+        DecoratorChainPlan plan = decoratorChainPlans.get(decorators);
+        if (plan == null) {
+            plan = new DecoratorChainPlan(decorators);
+            DecoratorChainPlan previous = decoratorChainPlans.putIfAbsent(plan.getDecorators(), plan);
+            if (previous != null) {
+                plan = previous;
+            }
+        }
+        return plan;
     }
 
     protected abstract T newInstance(InjectionPoint ip, CreationalContext<T> creationalContext);
@@ -26,6 +26,7 @@ import java.lang.reflect.Type;
 import java.util.Iterator;
 import java.util.Set;
 
+import javax.enterprise.context.Dependent;
 import javax.enterprise.context.spi.AlterableContext;
 import javax.enterprise.context.spi.Context;
 import javax.enterprise.context.spi.CreationalContext;
@@ -36,6 +37,9 @@ import javax.enterprise.util.TypeLiteral;
 
 import org.jboss.weld.bean.proxy.ProxyMethodHandler;
 import org.jboss.weld.bean.proxy.ProxyObject;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.context.CreationalContextImpl;
 import org.jboss.weld.context.WeldCreationalContext;
 import org.jboss.weld.exceptions.InvalidObjectException;
 import org.jboss.weld.injection.CurrentInjectionPoint;
@@ -43,9 +47,6 @@ import org.jboss.weld.injection.ThreadLocalStack.ThreadLocalStackReference;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.logging.BeanManagerLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
-import org.jboss.weld.resolution.Resolvable;
-import org.jboss.weld.resolution.ResolvableBuilder;
-import org.jboss.weld.resolution.TypeSafeBeanResolver;
 import org.jboss.weld.util.Preconditions;
 import org.jboss.weld.util.collections.WeldCollections;
 import org.jboss.weld.util.reflection.Formats;
@@ -62,35 +63,38 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements I
 
     private static final long serialVersionUID = -376721889693284887L;
 
+    private final transient InstanceResolution resolution;
     private final transient Set<Bean<?>> allBeans;
     private final transient Bean<?> bean;
 
     private final transient CurrentInjectionPoint currentInjectionPoint;
-    private final transient InjectionPoint ip;
+    private final transient InstanceResolutionCache resolutionCache;
+
+    // a positive value is the maximum number of dependent objects kept per creational context, see ConfigurationKey.INSTANCE_AUTO_RELEASE_DEPENDENT
+    private final transient int autoReleaseLimit;
 
     public static <I> Instance<I> of(InjectionPoint injectionPoint, CreationalContext<I> creationalContext,
             BeanManagerImpl beanManager) {
-        return new InstanceImpl<I>(injectionPoint, creationalContext, beanManager);
+        InstanceResolutionCache resolutionCache = beanManager.getServices().get(InstanceResolutionCache.class);
+        InstanceResolution resolution = resolutionCache != null ? resolutionCache.resolve(injectionPoint, beanManager)
+                : InstanceResolution.resolve(injectionPoint, beanManager, false);
+        WeldConfiguration configuration = beanManager.getServices().get(WeldConfiguration.class);
+        int autoReleaseLimit = 0;
+        if (configuration.getBooleanProperty(ConfigurationKey.INSTANCE_AUTO_RELEASE_DEPENDENT)) {
+            autoReleaseLimit = Math.max(1, configuration.getIntegerProperty(ConfigurationKey.INSTANCE_AUTO_RELEASE_DEPENDENT_LIMIT));
+        }
+        return new InstanceImpl<I>(resolution, creationalContext, beanManager, resolutionCache, autoReleaseLimit);
     }
 
-    private InstanceImpl(InjectionPoint injectionPoint, CreationalContext<? super T> creationalContext, BeanManagerImpl beanManager) {
-        super(injectionPoint, creationalContext, beanManager);
-
-        // Perform typesafe resolution, and possibly attempt to resolve the ambiguity
-        Resolvable resolvable = new ResolvableBuilder(getType(), getBeanManager()).addQualifiers(getQualifiers())
-                .setDeclaringBean(getInjectionPoint().getBean()).create();
-        TypeSafeBeanResolver beanResolver = getBeanManager().getBeanResolver();
-        this.allBeans = beanResolver.resolve(beanResolver.resolve(resolvable, Reflections.isCacheable(getQualifiers())));
-        // optimization for the most common path - non-null bean means we are not unsatisfied not ambiguous
-        if (allBeans.size() == 1) {
-            this.bean = allBeans.iterator().next();
-        } else {
-            this.bean = null;
-        }
+    private InstanceImpl(InstanceResolution resolution, CreationalContext<? super T> creationalContext, BeanManagerImpl beanManager,
+            InstanceResolutionCache resolutionCache, int autoReleaseLimit) {
+        super(resolution.getInjectionPoint(), creationalContext, beanManager);
+        this.resolution = resolution;
+        this.allBeans = resolution.getAllBeans();
+        this.bean = resolution.getBean();
         this.currentInjectionPoint = beanManager.getServices().get(CurrentInjectionPoint.class);
-        // Generate a correct injection point for the bean, we do this by taking the original injection point and adjusting the
-        // qualifiers and type
-        this.ip = new DynamicLookupInjectionPoint(getInjectionPoint(), getType(), getQualifiers());
+        this.resolutionCache = resolutionCache;
+        this.autoReleaseLimit = autoReleaseLimit;
     }
 
     public T get() {
@@ -138,9 +142,15 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements I
     }
 
     private <U extends T> Instance<U> selectInstance(Type subtype, Annotation[] newQualifiers) {
-        InjectionPoint modifiedInjectionPoint = new FacadeInjectionPoint(getBeanManager(), getInjectionPoint(), subtype, getQualifiers(),
-                newQualifiers);
-        return new InstanceImpl<U>(modifiedInjectionPoint, getCreationalContext(), getBeanManager());
+        InstanceResolution selected;
+        if (resolutionCache != null) {
+            selected = resolutionCache.select(resolution, subtype, newQualifiers, getBeanManager());
+        } else {
+            InjectionPoint modifiedInjectionPoint = new FacadeInjectionPoint(getBeanManager(), getInjectionPoint(), subtype, getQualifiers(),
+                    newQualifiers);
+            selected = InstanceResolution.resolve(modifiedInjectionPoint, getBeanManager(), false);
+        }
+        return new InstanceImpl<U>(selected, getCreationalContext(), getBeanManager(), resolutionCache, autoReleaseLimit);
     }
 
     @Override
@@ -173,9 +183,14 @@ public class InstanceImpl<T> extends AbstractFacade<T, Instance<T>> implements I
     }
 
     private T getBeanInstance(Bean<?> bean) {
-        final ThreadLocalStackReference<InjectionPoint> stack = currentInjectionPoint.push(ip);
+        final ThreadLocalStackReference<InjectionPoint> stack = currentInjectionPoint.push(resolution.getLookupInjectionPoint());
         try {
-            return Reflections.<T> cast(getBeanManager().getReference(bean, getType(), getCreationalContext(), false));
+            T instance = Reflections.<T> cast(getBeanManager().getReference(bean, getType(), getCreationalContext(), false));
+            if (autoReleaseLimit > 0 && Dependent.class.equals(bean.getScope()) && getCreationalContext() instanceof CreationalContextImpl<?>) {
+                CreationalContextImpl<? super T> ctx = cast(getCreationalContext());
+                ctx.trackReleasableDependentInstance(instance, autoReleaseLimit);
+            }
+            return instance;
         } finally {
             stack.pop();
         }
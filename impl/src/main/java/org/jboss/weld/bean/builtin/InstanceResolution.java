@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.builtin;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resolution.Resolvable;
+import org.jboss.weld.resolution.ResolvableBuilder;
+import org.jboss.weld.resolution.TypeSafeBeanResolver;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * The result of the typesafe resolution performed for an {@link InstanceImpl}. It does not depend on the creational context and may therefore be shared by
+ * all the {@link InstanceImpl} objects created for the same injection point.
+ *
+ * @see InstanceResolutionCache
+ */
+final class InstanceResolution {
+
+    private final InjectionPoint injectionPoint;
+    private final Set<Bean<?>> allBeans;
+    private final Bean<?> bean;
+    private final InjectionPoint lookupInjectionPoint;
+    private final boolean cached;
+
+    /**
+     * Performs typesafe resolution for the given injection point of type {@code Instance<X>} and possibly attempts to resolve the ambiguity.
+     *
+     * @param injectionPoint
+     * @param beanManager
+     * @param cached whether the resolution is going to be cached
+     * @return the resolution
+     */
+    static InstanceResolution resolve(InjectionPoint injectionPoint, BeanManagerImpl beanManager, boolean cached) {
+        return new InstanceResolution(injectionPoint, beanManager, cached);
+    }
+
+    private InstanceResolution(InjectionPoint injectionPoint, BeanManagerImpl beanManager, boolean cached) {
+        this.injectionPoint = injectionPoint;
+        this.cached = cached;
+        Type type = AbstractFacade.getFacadeType(injectionPoint);
+        Set<Annotation> qualifiers = injectionPoint.getQualifiers();
+        Resolvable resolvable = new ResolvableBuilder(type, beanManager).addQualifiers(qualifiers).setDeclaringBean(injectionPoint.getBean()).create();
+        TypeSafeBeanResolver beanResolver = beanManager.getBeanResolver();
+        this.allBeans = beanResolver.resolve(beanResolver.resolve(resolvable, Reflections.isCacheable(qualifiers)));
+        // optimization for the most common path - non-null bean means we are not unsatisfied not ambiguous
+        if (allBeans.size() == 1) {
+            this.bean = allBeans.iterator().next();
+        } else {
+            this.bean = null;
+        }
+        // Generate a correct injection point for the bean, we do this by taking the original injection point and adjusting the
+        // qualifiers and type
+        this.lookupInjectionPoint = new DynamicLookupInjectionPoint(injectionPoint, type, qualifiers);
+    }
+
+    InjectionPoint getInjectionPoint() {
+        return injectionPoint;
+    }
+
+    Set<Bean<?>> getAllBeans() {
+        return allBeans;
+    }
+
+    Bean<?> getBean() {
+        return bean;
+    }
+
+    InjectionPoint getLookupInjectionPoint() {
+        return lookupInjectionPoint;
+    }
+
+    boolean isCached() {
+        return cached;
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.builtin;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.Container;
+import org.jboss.weld.ContainerState;
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.MetricsListener;
+import org.jboss.weld.util.cache.ComputingCache;
+import org.jboss.weld.util.cache.ComputingCacheBuilder;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * Caches the typesafe resolution results of {@link InstanceImpl} keyed by the injection point, the selected subtype and the selected qualifiers so that
+ * neither the injection of {@code Instance<X>} nor repeated {@code select()} calls perform the resolution again.
+ *
+ * <p>
+ * The injection point is compared by identity. This works well because both the injection points of beans and the injection points of cached resolutions
+ * are reused. The cache is only used once the deployment is validated, i.e. when the set of beans cannot change anymore. Qualifier instances which are not
+ * safe to use as keys (see {@link org.jboss.weld.util.reflection.Reflections#isCacheable(Annotation[])}) bypass the cache.
+ * </p>
+ *
+ * @see ConfigurationKey#INSTANCE_RESOLUTION_CACHE_SIZE
+ */
+public class InstanceResolutionCache implements Service {
+
+    private static final Annotation[] NO_QUALIFIERS = new Annotation[0];
+
+    private final String contextId;
+
+    private final ComputingCache<Key, InstanceResolution> resolutions;
+
+    private final MetricsListener metrics;
+
+    private volatile Container container;
+
+    public InstanceResolutionCache(String contextId, WeldConfiguration configuration, MetricsListener metrics) {
+        this.contextId = contextId;
+        this.metrics = metrics;
+        long size = configuration.getLongProperty(ConfigurationKey.INSTANCE_RESOLUTION_CACHE_SIZE);
+        this.resolutions = size > 0 ? ComputingCacheBuilder.newBuilder().setMaxSize(size).build(Key::resolve) : null;
+    }
+
+    /**
+     *
+     * @param injectionPoint the injection point of type {@code Instance<X>}
+     * @param beanManager
+     * @return the resolution for the given injection point
+     */
+    InstanceResolution resolve(InjectionPoint injectionPoint, BeanManagerImpl beanManager) {
+        if (isEnabled()) {
+            return getValue(new Key(beanManager, injectionPoint, null, NO_QUALIFIERS));
+        }
+        return InstanceResolution.resolve(injectionPoint, beanManager, false);
+    }
+
+    /**
+     *
+     * @param parent the resolution of the {@link InstanceImpl} the selection is performed on
+     * @param subtype
+     * @param qualifiers
+     * @param beanManager
+     * @return the resolution for the given selection
+     */
+    InstanceResolution select(InstanceResolution parent, Type subtype, Annotation[] qualifiers, BeanManagerImpl beanManager) {
+        // the injection point of a resolution which is not cached is not reused, a selection on it would only pollute the cache
+        if (parent.isCached() && Reflections.isCacheable(qualifiers) && isEnabled()) {
+            return getValue(new Key(beanManager, parent.getInjectionPoint(), subtype, qualifiers));
+        }
+        return InstanceResolution.resolve(new FacadeInjectionPoint(beanManager, parent.getInjectionPoint(), subtype, parent.getInjectionPoint().getQualifiers(),
+                qualifiers), beanManager, false);
+    }
+
+    private InstanceResolution getValue(Key key) {
+        if (metrics != null) {
+            InstanceResolution resolution = resolutions.getValueIfPresent(key);
+            metrics.beanResolution(resolution != null);
+            if (resolution != null) {
+                return resolution;
+            }
+        }
+        return resolutions.getValue(key);
+    }
+
+    /**
+     *
+     * @return the number of cached resolutions
+     */
+    public long size() {
+        return resolutions != null ? resolutions.size() : 0;
+    }
+
+    private boolean isEnabled() {
+        if (resolutions == null) {
+            return false;
+        }
+        Container container = this.container;
+        if (container == null) {
+            if (!Container.available(contextId)) {
+                return false;
+            }
+            container = Container.instance(contextId);
+            this.container = container;
+        }
+        ContainerState state = container.getState();
+        return state == ContainerState.VALIDATED || state == ContainerState.INITIALIZED;
+    }
+
+    @Override
+    public void cleanup() {
+        if (resolutions != null) {
+            resolutions.clear();
+        }
+        container = null;
+    }
+
+    private static final class Key {
+
+        private final BeanManagerImpl beanManager;
+        private final InjectionPoint injectionPoint;
+        private final Type subtype;
+        private final Annotation[] qualifiers;
+        private final int hashCode;
+
+        private Key(BeanManagerImpl beanManager, InjectionPoint injectionPoint, Type subtype, Annotation[] qualifiers) {
+            this.beanManager = beanManager;
+            this.injectionPoint = injectionPoint;
+            this.subtype = subtype;
+            this.qualifiers = qualifiers;
+            this.hashCode = Objects.hash(System.identityHashCode(injectionPoint), System.identityHashCode(beanManager), subtype, Arrays.hashCode(qualifiers));
+        }
+
+        private InstanceResolution resolve() {
+            if (subtype == null) {
+                return InstanceResolution.resolve(injectionPoint, beanManager, true);
+            }
+            return InstanceResolution.resolve(new FacadeInjectionPoint(beanManager, injectionPoint, subtype, injectionPoint.getQualifiers(), qualifiers),
+                    beanManager, true);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return injectionPoint == that.injectionPoint && beanManager == that.beanManager && Objects.equals(subtype, that.subtype)
+                    && Arrays.equals(qualifiers, that.qualifiers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+}
@@ -27,6 +27,7 @@ import java.security.PrivilegedActionException;
 import java.util.List;
 import java.util.Set;
 
+import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.spi.Bean;
 
 import org.jboss.classfilewriter.AccessFlag;
@@ -35,6 +36,8 @@ import org.jboss.classfilewriter.ClassMethod;
 import org.jboss.classfilewriter.code.BranchEnd;
 import org.jboss.classfilewriter.code.CodeAttribute;
 import org.jboss.weld.Container;
+import org.jboss.weld.bean.ContextualInstanceStrategy;
+import org.jboss.weld.bean.RIBean;
 import org.jboss.weld.bean.proxy.util.SerializableClientProxy;
 import org.jboss.weld.security.GetDeclaredFieldAction;
 import org.jboss.weld.security.SetAccessibleAction;
@@ -68,13 +71,36 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
      */
     private static final String BEAN_ID_FIELD = "BEAN_ID_FIELD";
 
+    /**
+     * Client proxies of {@link ApplicationScoped} beans hold the {@link ContextualInstanceStrategy} of the bean in this field. Once the strategy caches the
+     * contextual instance, the proxy dispatches calls to the instance directly without looking up the context. The strategy flushes the cached instance when
+     * the instance is destroyed and the proxy then falls back to the method handler.
+     * <p/>
+     * The field is set once the proxy is instantiated, before the proxy is published. It is {@code null} if the proxy class is shared with a bean which does
+     * not qualify (see {@link #BEAN_ID_FIELD}).
+     */
+    private static final String CONTEXTUAL_INSTANCE_STRATEGY_FIELD = "CONTEXTUAL_INSTANCE_STRATEGY_FIELD";
+
+    private static final String GET_CACHED_INSTANCE_METHOD = "getCachedInstance";
+
     private final BeanIdentifier beanId;
 
     private volatile Field beanIdField;
 
+    // null if client proxies of the bean do not bind to the contextual instance
+    private final ContextualInstanceStrategy<?> contextualInstanceStrategy;
+
+    // null until looked up, the field may be missing if the proxy class was generated for a different bean
+    private volatile FieldReference contextualInstanceStrategyField;
+
     public ClientProxyFactory(String contextId, Class<?> proxiedBeanType, Set<? extends Type> typeClosure, Bean<?> bean) {
         super(contextId, proxiedBeanType, typeClosure, bean);
         beanId = Container.instance(contextId).services().get(ContextualStore.class).putIfAbsent(bean);
+        if (bean instanceof RIBean<?> && ApplicationScoped.class.equals(bean.getScope())) {
+            contextualInstanceStrategy = ((RIBean<?>) bean).getContextualInstanceStrategy();
+        } else {
+            contextualInstanceStrategy = null;
+        }
     }
 
     @Override
@@ -87,6 +113,9 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
                 beanIdField = f;
             }
             beanIdField.set(instance, beanId);
+            if (contextualInstanceStrategy != null) {
+                bindToContextualInstanceStrategy(instance);
+            }
             return instance;
         } catch (IllegalAccessException e) {
             throw new RuntimeException(e);
@@ -95,10 +124,32 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
         }
     }
 
+    private void bindToContextualInstanceStrategy(T instance) throws IllegalAccessException {
+        FieldReference reference = contextualInstanceStrategyField;
+        if (reference == null) {
+            Field field;
+            try {
+                field = AccessController.doPrivileged(new GetDeclaredFieldAction(instance.getClass(), CONTEXTUAL_INSTANCE_STRATEGY_FIELD));
+                AccessController.doPrivileged(SetAccessibleAction.of(field));
+            } catch (PrivilegedActionException e) {
+                // the proxy class was generated for a bean whose proxies do not bind to the contextual instance
+                field = null;
+            }
+            reference = new FieldReference(field);
+            contextualInstanceStrategyField = reference;
+        }
+        if (reference.field != null) {
+            reference.field.set(instance, contextualInstanceStrategy);
+        }
+    }
+
     @Override
     protected void addFields(final ClassFile proxyClassType, List<DeferredBytecode> initialValueBytecode) {
         super.addFields(proxyClassType, initialValueBytecode);
         proxyClassType.addField(AccessFlag.VOLATILE | AccessFlag.PRIVATE, BEAN_ID_FIELD, BeanIdentifier.class);
+        if (contextualInstanceStrategy != null) {
+            proxyClassType.addField(AccessFlag.PRIVATE, CONTEXTUAL_INSTANCE_STRATEGY_FIELD, ContextualInstanceStrategy.class);
+        }
     }
 
     @Override
@@ -202,10 +253,31 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
     }
 
     private void loadBeanInstance(ClassFile file, MethodInformation methodInfo, CodeAttribute b) {
+        BranchEnd bound = null;
+        if (contextualInstanceStrategy != null) {
+            // if the strategy caches the contextual instance, skip the method handler
+            b.aload(0);
+            b.getfield(file.getName(), CONTEXTUAL_INSTANCE_STRATEGY_FIELD, ContextualInstanceStrategy.class);
+            b.dup();
+            final BranchEnd strategyNull = b.ifnull();
+            b.invokevirtual(ContextualInstanceStrategy.class.getName(), GET_CACHED_INSTANCE_METHOD, EMPTY_PARENTHESES + LJAVA_LANG_OBJECT);
+            b.dup();
+            bound = b.ifnotnull();
+            // no instance cached, remove the null instance
+            b.pop();
+            final BranchEnd notBound = b.gotoInstruction();
+            b.branchEnd(strategyNull);
+            // remove the null strategy
+            b.pop();
+            b.branchEnd(notBound);
+        }
         b.aload(0);
         getMethodHandlerField(file, b);
         // lets invoke the method
         b.invokevirtual(ProxyMethodHandler.class.getName(), "getInstance", EMPTY_PARENTHESES + LJAVA_LANG_OBJECT);
+        if (bound != null) {
+            b.branchEnd(bound);
+        }
         b.checkcast(methodInfo.getDeclaringClass());
     }
 
@@ -245,4 +317,13 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
     protected String getProxyNameSuffix() {
         return CLIENT_PROXY_SUFFIX;
     }
+
+    private static final class FieldReference {
+
+        private final Field field;
+
+        private FieldReference(Field field) {
+            this.field = field;
+        }
+    }
 }
@@ -36,12 +36,15 @@ public class CombinedInterceptorAndDecoratorStackMethodHandler implements StackA
 
     private Object outerDecorator;
 
+    private transient DecoratorProxyMethodHandler outerDecoratorHandler;
+
     public void setInterceptorMethodHandler(InterceptorMethodHandler interceptorMethodHandler) {
         this.interceptorMethodHandler = interceptorMethodHandler;
     }
 
     public void setOuterDecorator(Object outerDecorator) {
         this.outerDecorator = outerDecorator;
+        this.outerDecoratorHandler = DecoratorProxyMethodHandler.of(outerDecorator);
     }
 
     @Override
@@ -84,6 +87,10 @@ public class CombinedInterceptorAndDecoratorStackMethodHandler implements StackA
                         return this.interceptorMethodHandler.invoke(stack, self, thisMethod, null, args);
                     }
                 } else {
+                    if (outerDecoratorHandler != null) {
+                        // dispatch straight to the first decorator that decorates the method
+                        return outerDecoratorHandler.invokeChain(thisMethod, args);
+                    }
                     if (outerDecorator != null) {
                         SecurityActions.ensureAccessible(thisMethod);
                         return Reflections.invokeAndUnwrap(outerDecorator, thisMethod, args);
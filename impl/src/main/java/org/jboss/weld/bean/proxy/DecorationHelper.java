@@ -19,7 +19,6 @@ package org.jboss.weld.bean.proxy;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Stack;
 
@@ -55,6 +54,8 @@ public class DecorationHelper<T> implements PrivilegedAction<T> {
 
     private T previousDelegate;
 
+    private DecoratorProxyMethodHandler previousHandler;
+
     private int counter;
 
     private final BeanManagerImpl beanManager;
@@ -62,14 +63,25 @@ public class DecorationHelper<T> implements PrivilegedAction<T> {
     private final Bean<?> bean;
     private final ProxyInstantiator instantiator;
 
+    private final DecoratorChainPlan plan;
+
     List<Decorator<?>> decorators;
 
     public DecorationHelper(TargetBeanInstance originalInstance, Bean<?> bean, Class<T> proxyClassForDecorator, BeanManagerImpl beanManager, ContextualStore contextualStore, List<Decorator<?>> decorators) {
+        this(originalInstance, bean, proxyClassForDecorator, beanManager, contextualStore, new DecoratorChainPlan(decorators));
+    }
+
+    /**
+     *
+     * @param plan the dispatch plan shared by all the decorated instances of the bean, it also determines the decorators applied
+     */
+    public DecorationHelper(TargetBeanInstance originalInstance, Bean<?> bean, Class<T> proxyClassForDecorator, BeanManagerImpl beanManager, ContextualStore contextualStore, DecoratorChainPlan plan) {
         this.originalInstance = Reflections.<T>cast(originalInstance.getInstance());
         this.targetBeanInstance = originalInstance;
         this.beanManager = beanManager;
         this.contextualStore = contextualStore;
-        this.decorators = new LinkedList<Decorator<?>>(decorators);
+        this.decorators = plan.getDecorators();
+        this.plan = plan;
         this.proxyClassForDecorator = proxyClassForDecorator;
         this.bean = bean;
         this.instantiator = beanManager.getServices().get(ProxyInstantiator.class);
@@ -95,22 +107,26 @@ public class DecorationHelper<T> implements PrivilegedAction<T> {
     public T getNextDelegate(InjectionPoint injectionPoint, CreationalContext<?> creationalContext) {
         if (counter == decorators.size()) {
             previousDelegate = originalInstance;
+            previousHandler = null;
             return originalInstance;
         } else {
-            T proxy = createProxy(injectionPoint, creationalContext);
+            final T proxy =  (System.getSecurityManager() == null) ? run() : AccessController.doPrivileged(this);
+            previousHandler = createProxy(proxy, injectionPoint, creationalContext);
             previousDelegate = proxy;
             return proxy;
         }
     }
 
-    private T createProxy(InjectionPoint injectionPoint, CreationalContext<?> creationalContext) {
-        final T proxy =  (System.getSecurityManager() == null) ? run() : AccessController.doPrivileged(this);
+    private DecoratorProxyMethodHandler createProxy(T proxy, InjectionPoint injectionPoint, CreationalContext<?> creationalContext) {
         TargetBeanInstance newTargetBeanInstance = new TargetBeanInstance(targetBeanInstance);
-        Decorator<Object> decorator = Reflections.cast(decorators.get(counter++));
+        int position = counter++;
+        Decorator<Object> decorator = Reflections.cast(decorators.get(position));
         DecoratorProxyMethodHandler methodHandler = createMethodHandler(injectionPoint, creationalContext, decorator);
+        // the delegate of the decorator has been created by now
+        methodHandler.link(plan, position, previousHandler, proxy, originalInstance);
         newTargetBeanInstance.setInterceptorsHandler(methodHandler);
         ProxyFactory.setBeanInstance(beanManager.getContextId(), proxy, newTargetBeanInstance, bean);
-        return proxy;
+        return methodHandler;
     }
 
     public DecoratorProxyMethodHandler createMethodHandler(InjectionPoint injectionPoint, CreationalContext<?> creationalContext, Decorator<Object> decorator) {
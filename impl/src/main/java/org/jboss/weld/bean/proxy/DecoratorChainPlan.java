@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bean.proxy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.inject.spi.Decorator;
+import javax.inject.Inject;
+
+import org.jboss.weld.annotated.runtime.InvokableAnnotatedMethod;
+import org.jboss.weld.bean.WeldDecorator;
+import org.jboss.weld.logging.BeanLogger;
+import org.jboss.weld.util.collections.ImmutableList;
+import org.jboss.weld.util.reflection.Invokers;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * A dispatch plan for a chain of decorators applied to a bean. The plan is shared by all the decorated instances of the bean and, for each business method,
+ * records which chain positions actually decorate the method. A {@link DecoratorProxyMethodHandler} uses the plan to jump straight to the next decorator
+ * that decorates the invoked method (or to the decorated instance if there is none) and to invoke it through a {@link MethodHandle}, instead of going
+ * through the delegate proxy of every decorator in the chain.
+ *
+ * @see DecorationHelper
+ */
+public class DecoratorChainPlan {
+
+    private final List<Decorator<?>> decorators;
+
+    private final ConcurrentMap<Method, MethodPlan> methodPlans;
+
+    public DecoratorChainPlan(List<Decorator<?>> decorators) {
+        this.decorators = ImmutableList.copyOf(decorators);
+        this.methodPlans = new ConcurrentHashMap<Method, MethodPlan>();
+    }
+
+    /**
+     *
+     * @return the decorators, the outermost one first
+     */
+    public List<Decorator<?>> getDecorators() {
+        return decorators;
+    }
+
+    /**
+     *
+     * @return the number of decorators in the chain
+     */
+    public int size() {
+        return decorators.size();
+    }
+
+    MethodPlan getMethodPlan(Method method) {
+        MethodPlan plan = methodPlans.get(method);
+        if (plan == null) {
+            // the plan may be computed more than once - which is fine
+            plan = new MethodPlan(decorators, method);
+            MethodPlan previous = methodPlans.putIfAbsent(method, plan);
+            if (previous != null) {
+                plan = previous;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * The plan for a single business method.
+     */
+    static final class MethodPlan {
+
+        private final Method method;
+
+        /*
+         * For each chain position, the position of the first decorator at or after it that decorates the method. The size of the chain stands for the
+         * decorated instance.
+         */
+        private final int[] next;
+
+        private final InvokableAnnotatedMethod<?>[] decoratorMethods;
+
+        private final DecoratorInvoker[] decoratorInvokers;
+
+        private final MethodHandle targetInvoker;
+
+        private MethodPlan(List<Decorator<?>> decorators, Method method) {
+            this.method = method;
+            int size = decorators.size();
+            this.next = new int[size + 1];
+            this.decoratorMethods = new InvokableAnnotatedMethod<?>[size];
+            this.decoratorInvokers = new DecoratorInvoker[size];
+            boolean initializer = method.isAnnotationPresent(Inject.class);
+            for (int i = 0; i < size; i++) {
+                Decorator<?> decorator = decorators.get(i);
+                if (!(decorator instanceof WeldDecorator<?>)) {
+                    throw BeanLogger.LOG.unexpectedUnwrappedCustomDecorator(decorator);
+                }
+                if (!initializer) {
+                    decoratorMethods[i] = ((WeldDecorator<?>) decorator).getDecoratorMethod(method);
+                }
+            }
+            next[size] = size;
+            for (int i = size - 1; i >= 0; i--) {
+                next[i] = decoratorMethods[i] != null ? i : next[i + 1];
+            }
+            SecurityActions.ensureAccessible(method);
+            this.targetInvoker = Invokers.forMethod(method);
+        }
+
+        /**
+         *
+         * @param position the chain position
+         * @return the position of the first decorator at or after the given position that decorates the method, or the size of the chain if there is none
+         */
+        int next(int position) {
+            return next[position];
+        }
+
+        Object invokeDecorator(int position, Object decoratorInstance, Object[] args) throws Throwable {
+            DecoratorInvoker invoker = decoratorInvokers[position];
+            if (invoker == null || invoker.receiverClass != decoratorInstance.getClass()) {
+                // racy but harmless, the invoker is immutable
+                invoker = new DecoratorInvoker(decoratorMethods[position], decoratorInstance.getClass());
+                decoratorInvokers[position] = invoker;
+            }
+            return invoker.invoke(decoratorInstance, args);
+        }
+
+        Object invokeTarget(Object target, Object[] args) throws Throwable {
+            if (targetInvoker != null) {
+                return targetInvoker.invokeExact(target, args);
+            }
+            return Reflections.invokeAndUnwrap(target, method, args);
+        }
+    }
+
+    /**
+     * Invokes a decorator method on decorator instances of a given class.
+     */
+    private static final class DecoratorInvoker {
+
+        private final Class<?> receiverClass;
+
+        private final Method method;
+
+        private final MethodHandle handle;
+
+        private DecoratorInvoker(InvokableAnnotatedMethod<?> decoratorMethod, Class<?> receiverClass) throws NoSuchMethodException {
+            this.receiverClass = receiverClass;
+            this.method = decoratorMethod.getMethodForInstanceClass(receiverClass);
+            this.handle = Invokers.forMethod(method);
+        }
+
+        private Object invoke(Object instance, Object[] args) throws Throwable {
+            if (handle != null) {
+                return handle.invokeExact(instance, args);
+            }
+            try {
+                return method.invoke(instance, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
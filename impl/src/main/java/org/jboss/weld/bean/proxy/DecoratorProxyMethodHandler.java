@@ -40,11 +40,86 @@ public class DecoratorProxyMethodHandler extends TargetInstanceProxyMethodHandle
 
     private final SerializableContextualInstance<Decorator<Object>, Object> decoratorInstance;
 
+    /*
+     * The chain links are not serialized, a deserialized handler dispatches through the delegate proxies.
+     */
+    private transient DecoratorChainPlan plan;
+
+    private transient int position;
+
+    private transient DecoratorProxyMethodHandler nextHandler;
+
+    private transient Object proxy;
+
+    private transient Object decoratedInstance;
+
     public DecoratorProxyMethodHandler(SerializableContextualInstance<Decorator<Object>, Object> decoratorInstance, Object delegateInstance) {
         super(delegateInstance, delegateInstance.getClass());
         this.decoratorInstance = decoratorInstance;
     }
 
+    /**
+     * Links this handler into a decorator chain.
+     *
+     * @param plan the dispatch plan of the chain
+     * @param position the position of the decorator of this handler in the chain
+     * @param nextHandler the handler of the delegate proxy of the next decorator or {@code null} if this is the innermost one
+     * @param proxy the delegate proxy this handler is attached to
+     * @param decoratedInstance the decorated instance
+     */
+    void link(DecoratorChainPlan plan, int position, DecoratorProxyMethodHandler nextHandler, Object proxy, Object decoratedInstance) {
+        this.plan = plan;
+        this.position = position;
+        this.nextHandler = nextHandler;
+        this.proxy = proxy;
+        this.decoratedInstance = decoratedInstance;
+    }
+
+    /**
+     *
+     * @param delegateProxy
+     * @return the linked handler of the given decorator delegate proxy or {@code null} if the proxy does not have one
+     */
+    static DecoratorProxyMethodHandler of(Object delegateProxy) {
+        if (delegateProxy instanceof ProxyObject) {
+            MethodHandler handler = ((ProxyObject) delegateProxy).getHandler();
+            if (handler instanceof ProxyMethodHandler) {
+                BeanInstance beanInstance = ((ProxyMethodHandler) handler).getBeanInstance();
+                if (beanInstance instanceof TargetBeanInstance) {
+                    MethodHandler interceptorsHandler = ((TargetBeanInstance) beanInstance).getInterceptorsHandler();
+                    if (interceptorsHandler instanceof DecoratorProxyMethodHandler && ((DecoratorProxyMethodHandler) interceptorsHandler).plan != null) {
+                        return (DecoratorProxyMethodHandler) interceptorsHandler;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Dispatches the invocation using the chain plan. The decorators between this handler and the next decorator that decorates the given method are
+     * skipped, as are their delegate proxies.
+     */
+    Object invokeChain(Method method, Object[] args) throws Throwable {
+        DecoratorChainPlan.MethodPlan methodPlan = plan.getMethodPlan(method);
+        int target = methodPlan.next(position);
+        DecoratorProxyMethodHandler handler = this;
+        for (int i = position; i < target && handler.nextHandler != null; i++) {
+            handler = handler.nextHandler;
+        }
+        Object result;
+        if (target < plan.size()) {
+            result = methodPlan.invokeDecorator(target, handler.decoratorInstance.getInstance(), args);
+        } else {
+            result = methodPlan.invokeTarget(decoratedInstance, args);
+        }
+        // the delegate proxies do not let the decorated instance escape, see ProxyMethodHandler
+        if (result != null && result == decoratedInstance && method.getReturnType().isAssignableFrom(handler.proxy.getClass())) {
+            return handler.proxy;
+        }
+        return result;
+    }
+
     /**
      * @param self    the proxy instance.
      * @param method  the overridden method declared in the super class or
@@ -61,6 +136,9 @@ public class DecoratorProxyMethodHandler extends TargetInstanceProxyMethodHandle
      */
     @Override
     protected Object doInvoke(Object self, Method method, Method proceed, Object[] args) throws Throwable {
+        if (plan != null) {
+            return invokeChain(method, args);
+        }
         Decorator<Object> decorator = decoratorInstance.getContextual().get();
         if (decorator instanceof WeldDecorator<?>) {
             WeldDecorator<?> weldDecorator = (WeldDecorator<?>) decorator;
@@ -51,6 +51,7 @@ import org.jboss.classfilewriter.code.CodeAttribute;
 import org.jboss.classfilewriter.util.Boxing;
 import org.jboss.classfilewriter.util.DescriptorUtils;
 import org.jboss.weld.Container;
+import org.jboss.weld.bootstrap.BootstrapProfiler;
 import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.exceptions.DefinitionException;
 import org.jboss.weld.exceptions.WeldException;
@@ -104,6 +105,9 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
 
     private final ProxyInstantiator proxyInstantiator;
 
+    // null if the bootstrap profiler is not registered
+    private final BootstrapProfiler profiler;
+
     protected static final BytecodeMethodResolver DEFAULT_METHOD_RESOLVER = new DefaultBytecodeMethodResolver();
 
     protected static final String LJAVA_LANG_REFLECT_METHOD = "Ljava/lang/reflect/Method;";
@@ -200,6 +204,7 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         additionalInterfaces.addAll(list);
 
         this.proxyInstantiator = Container.instance(contextId).services().get(ProxyInstantiator.class);
+        this.profiler = Container.instance(contextId).services().getOptional(BootstrapProfiler.class).orElse(null);
     }
 
     static String getProxyName(String contextId, Class<?> proxiedBeanType, Set<? extends Type> typeClosure, Bean<?> bean) {
@@ -477,6 +482,9 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         }
         Class<T> proxyClass = cast(ClassFileUtils.toClass(proxyClassType, classLoader, domain));
         BeanLogger.LOG.createdProxyClass(proxyClass, Arrays.toString(proxyClass.getInterfaces()));
+        if (profiler != null) {
+            profiler.increment(BootstrapProfiler.Counter.PROXIES);
+        }
         return proxyClass;
     }
 
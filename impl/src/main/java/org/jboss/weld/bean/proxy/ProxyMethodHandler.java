@@ -124,4 +124,8 @@ public class ProxyMethodHandler implements MethodHandler, Serializable {
     public Object getInstance() {
         return beanInstance.getInstance();
     }
+
+    BeanInstance getBeanInstance() {
+        return beanInstance;
+    }
 }
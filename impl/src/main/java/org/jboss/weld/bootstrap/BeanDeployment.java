@@ -18,6 +18,7 @@ package org.jboss.weld.bootstrap;
 
 import static java.util.Collections.emptyList;
 import static org.jboss.weld.config.ConfigurationKey.CONCURRENT_DEPLOYMENT;
+import static org.jboss.weld.config.ConfigurationKey.INCREMENTAL_VALIDATION;
 
 import java.util.Collection;
 import java.util.Set;
@@ -27,6 +28,8 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.weld.bean.builtin.BeanManagerBean;
 import org.jboss.weld.bean.builtin.BeanManagerImplBean;
@@ -79,6 +82,7 @@ public class BeanDeployment {
     private final BeanManagerImpl beanManager;
     private final BeanDeployer beanDeployer;
     private final Collection<ContextHolder<? extends Context>> contexts;
+    private final InjectionPointDependencyGraph injectionPointDependencyGraph;
 
     public BeanDeployment(BeanDeploymentArchive beanDeploymentArchive, BeanManagerImpl deploymentManager, ServiceRegistry deploymentServices, Collection<ContextHolder<? extends Context>> contexts) {
         this(beanDeploymentArchive, deploymentManager, deploymentServices, contexts, false);
@@ -105,6 +109,12 @@ public class BeanDeployment {
         services.add(AnnotationApiAbstraction.class, new AnnotationApiAbstraction(resourceLoader));
         this.beanManager = BeanManagerImpl.newManager(deploymentManager, beanDeploymentArchive.getId(), services);
         services.add(InjectionTargetService.class, new InjectionTargetService(beanManager));
+        if (services.get(WeldConfiguration.class).getBooleanProperty(INCREMENTAL_VALIDATION)) {
+            this.injectionPointDependencyGraph = new InjectionPointDependencyGraph();
+            services.add(InjectionPointDependencyGraph.class, injectionPointDependencyGraph);
+        } else {
+            this.injectionPointDependencyGraph = null;
+        }
 
         services.get(WeldModules.class).postBeanArchiveServiceRegistration(services, beanManager, beanDeploymentArchive);
         services.addIfAbsent(EjbSupport.class, EjbSupport.NOOP_IMPLEMENTATION);
@@ -135,6 +145,14 @@ public class BeanDeployment {
         return beanDeploymentArchive;
     }
 
+    /**
+     *
+     * @return the injection point dependency graph or <code>null</code> if incremental validation is not enabled
+     */
+    public InjectionPointDependencyGraph getInjectionPointDependencyGraph() {
+        return injectionPointDependencyGraph;
+    }
+
     private Predicate<String> createFilter() {
         if (getBeanDeploymentArchive().getBeansXml() == null || getBeanDeploymentArchive().getBeansXml().getScanning() == null) {
             return null;
@@ -253,6 +271,17 @@ public class BeanDeployment {
         beanDeployer.deploy();
     }
 
+    /**
+     * Validates the beans added to this bean deployment, or to any bean deployment accessible from this bean deployment, after the deployment was validated.
+     *
+     * @param beans the added beans
+     * @return the previously validated injection points which were validated again
+     * @see Validator#validateAdditionalBeans(BeanManagerImpl, Collection)
+     */
+    public Set<InjectionPoint> validateAdditionalBeans(Collection<? extends Bean<?>> beans) {
+        return beanManager.getServices().get(Validator.class).validateAdditionalBeans(beanManager, beans);
+    }
+
     public void afterBeanDiscovery(Environment environment) {
         beanDeployer.doAfterBeanDiscovery(beanManager.getBeans());
         beanDeployer.doAfterBeanDiscovery(beanManager.getDecorators());
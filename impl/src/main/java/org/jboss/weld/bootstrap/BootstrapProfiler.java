@@ -0,0 +1,423 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.logging.BootstrapLogger;
+
+/**
+ * Collects wall-clock and CPU time spent in the individual bootstrap phases, bean deployments and extension observer methods. The result is written to a
+ * JSON file once the container is initialized. The report is a tree of nodes where each node has a <code>name</code>, a <code>value</code> (wall time in
+ * microseconds) and <code>children</code>, i.e. it can be consumed by flame graph tools such as d3-flame-graph directly.
+ *
+ * <p>
+ * The profiler is disabled unless {@link ConfigurationKey#BOOTSTRAP_PROFILER_REPORT} is set. If disabled, {@link #start(String...)} returns a shared no-op
+ * measurement and no data is collected.
+ * </p>
+ *
+ * <p>
+ * Note that CPU time is measured for the current thread only, i.e. the work performed by the worker threads of {@link ConcurrentBeanDeployer} and
+ * {@link ConcurrentValidator} is not included in the CPU time of a phase.
+ * </p>
+ *
+ * @see ConfigurationKey#BOOTSTRAP_PROFILER_REPORT
+ */
+public class BootstrapProfiler implements Service {
+
+    public static final String PHASE_START_CONTAINER = "startContainer";
+    public static final String PHASE_START_INITIALIZATION = "startInitialization";
+    public static final String PHASE_DEPLOY_BEANS = "deployBeans";
+    public static final String PHASE_VALIDATE_BEANS = "validateBeans";
+    public static final String PHASE_END_INITIALIZATION = "endInitialization";
+
+    static final String EXTENSIONS = "extensions";
+    static final String REPORT_FILE_PREFIX = "weld-bootstrap-";
+    static final String REPORT_FILE_SUFFIX = ".json";
+
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    /**
+     * Things counted during bootstrap.
+     */
+    public enum Counter {
+
+        TYPES("types"), BEANS("beans"), DECORATORS("decorators"), INTERCEPTORS("interceptors"), OBSERVERS("observers"), PROXIES("proxies");
+
+        private final String name;
+
+        Counter(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * A running measurement. {@link #stop()} must be called exactly once, usually in a finally block.
+     */
+    public interface Measurement {
+
+        void stop();
+
+    }
+
+    private static final Measurement NOOP_MEASUREMENT = new Measurement() {
+        @Override
+        public void stop() {
+        }
+    };
+
+    private final File reportFile;
+
+    private final String contextId;
+
+    private final ThreadMXBean threadMXBean;
+
+    private final Node root;
+
+    private final Map<Counter, LongAdder> counters;
+
+    private volatile boolean enabled;
+
+    private volatile String currentPhase;
+
+    public BootstrapProfiler(String contextId, WeldConfiguration configuration) {
+        this.contextId = contextId;
+        this.reportFile = initReportFile(contextId, configuration.getStringProperty(ConfigurationKey.BOOTSTRAP_PROFILER_REPORT));
+        if (reportFile != null) {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            this.threadMXBean = bean.isCurrentThreadCpuTimeSupported() ? bean : null;
+            this.root = new Node("weld-bootstrap");
+            this.counters = new EnumMap<Counter, LongAdder>(Counter.class);
+            for (Counter counter : Counter.values()) {
+                counters.put(counter, new LongAdder());
+            }
+            this.enabled = true;
+        } else {
+            this.threadMXBean = null;
+            this.root = null;
+            this.counters = null;
+            this.enabled = false;
+        }
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the profiler collects data, <code>false</code> otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts measuring a bootstrap phase. Measurements started by {@link #startWithinPhase(String...)} are attributed to this phase until another phase is
+     * started.
+     *
+     * @param phase
+     * @return the measurement
+     */
+    public Measurement startPhase(String phase) {
+        if (!isEnabled()) {
+            return NOOP_MEASUREMENT;
+        }
+        this.currentPhase = phase;
+        return start(phase);
+    }
+
+    /**
+     * Starts measuring a section nested in the current phase.
+     *
+     * @param path the path relative to the current phase
+     * @return the measurement
+     */
+    public Measurement startWithinPhase(String... path) {
+        if (!isEnabled()) {
+            return NOOP_MEASUREMENT;
+        }
+        String[] fullPath = new String[path.length + 1];
+        fullPath[0] = currentPhase != null ? currentPhase : PHASE_START_CONTAINER;
+        System.arraycopy(path, 0, fullPath, 1, path.length);
+        return start(fullPath);
+    }
+
+    /**
+     * Starts measuring an extension observer method notification. The measurement is attributed to the current phase.
+     *
+     * @param extensionClass
+     * @param observer the string representation of the observer method
+     * @return the measurement
+     */
+    public Measurement startExtensionObserver(Class<?> extensionClass, String observer) {
+        if (!isEnabled()) {
+            return NOOP_MEASUREMENT;
+        }
+        return startWithinPhase(EXTENSIONS, extensionClass.getName(), observer);
+    }
+
+    /**
+     * Starts measuring a section identified by the given absolute path.
+     *
+     * @param path
+     * @return the measurement
+     */
+    public Measurement start(String... path) {
+        if (!isEnabled()) {
+            return NOOP_MEASUREMENT;
+        }
+        Node node = root;
+        for (String name : path) {
+            node = node.child(name);
+        }
+        return new NodeMeasurement(node);
+    }
+
+    /**
+     * Adds the given delta to the counter. This method does nothing if the profiler is disabled.
+     *
+     * @param counter the counter to update
+     * @param delta the value to add, e.g. the number of types processed in a batch
+     */
+    public void count(Counter counter, long delta) {
+        if (!isEnabled()) {
+            return;
+        }
+        counters.get(counter).add(delta);
+    }
+
+    /**
+     * Increments the counter by one. This method does nothing if the profiler is disabled.
+     *
+     * @param counter the counter to update
+     */
+    public void increment(Counter counter) {
+        count(counter, 1);
+    }
+
+    /**
+     * Writes the report to the configured file, releases the collected data and disables the profiler. This method does nothing if the profiler is
+     * disabled.
+     */
+    public void writeReport() {
+        if (!isEnabled() || root.children.isEmpty()) {
+            return;
+        }
+        StringBuilder json = new StringBuilder();
+        json.append("{\"contextId\":");
+        appendString(json, contextId);
+        json.append(",\"counters\":{");
+        for (Iterator<Entry<Counter, LongAdder>> iterator = counters.entrySet().iterator(); iterator.hasNext();) {
+            Entry<Counter, LongAdder> counter = iterator.next();
+            appendString(json, counter.getKey().getName());
+            json.append(':').append(counter.getValue().sum());
+            if (iterator.hasNext()) {
+                json.append(',');
+            }
+        }
+        json.append("},\"cpuTimeSupported\":").append(threadMXBean != null);
+        json.append(",\"root\":");
+        root.summarize();
+        root.appendTo(json);
+        json.append('}');
+        try {
+            Files.write(reportFile.toPath(), json.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            BootstrapLogger.LOG.bootstrapProfilerReportWritten(reportFile);
+        } catch (IOException e) {
+            BootstrapLogger.LOG.unableToWriteBootstrapProfilerReport(reportFile, e);
+        }
+        cleanup();
+    }
+
+    /**
+     * Note that this is not a {@link org.jboss.weld.bootstrap.api.BootstrapService} - the data must survive the services cleanup performed during
+     * {@link WeldStartup#endInitialization()} so that the report is complete.
+     */
+    @Override
+    public void cleanup() {
+        if (isEnabled()) {
+            enabled = false;
+            root.children.clear();
+            currentPhase = null;
+        }
+    }
+
+    private long currentThreadCpuTime() {
+        return threadMXBean != null ? threadMXBean.getCurrentThreadCpuTime() : 0L;
+    }
+
+    private static File initReportFile(String contextId, String path) {
+        if (path.isEmpty()) {
+            return null;
+        }
+        File file = new File(path);
+        if (file.isDirectory()) {
+            file = new File(file, REPORT_FILE_PREFIX + contextId + REPORT_FILE_SUFFIX);
+        } else if (file.getParentFile() != null && !file.getParentFile().isDirectory() && !file.getParentFile().mkdirs()) {
+            BootstrapLogger.LOG.unableToWriteBootstrapProfilerReport(file, null);
+            return null;
+        }
+        return file;
+    }
+
+    private static void appendString(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (Character.isISOControl(c)) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+
+    private class NodeMeasurement implements Measurement {
+
+        private final Node node;
+        private final long wallStart;
+        private final long cpuStart;
+
+        NodeMeasurement(Node node) {
+            this.node = node;
+            this.cpuStart = currentThreadCpuTime();
+            this.wallStart = System.nanoTime();
+        }
+
+        @Override
+        public void stop() {
+            long wall = System.nanoTime() - wallStart;
+            long cpu = currentThreadCpuTime() - cpuStart;
+            node.record(wall, cpu);
+        }
+    }
+
+    private static class Node {
+
+        private final String name;
+
+        private final Map<String, Node> children;
+
+        private final AtomicLong wallTime;
+
+        private final AtomicLong cpuTime;
+
+        private final AtomicLong invocations;
+
+        Node(String name) {
+            this.name = name;
+            // keep the insertion order stable for phases
+            this.children = Collections.synchronizedMap(new LinkedHashMap<String, Node>());
+            this.wallTime = new AtomicLong();
+            this.cpuTime = new AtomicLong();
+            this.invocations = new AtomicLong();
+        }
+
+        Node child(String childName) {
+            synchronized (children) {
+                Node child = children.get(childName);
+                if (child == null) {
+                    child = new Node(childName);
+                    children.put(childName, child);
+                }
+                return child;
+            }
+        }
+
+        void record(long wall, long cpu) {
+            wallTime.addAndGet(wall);
+            cpuTime.addAndGet(cpu);
+            invocations.incrementAndGet();
+        }
+
+        /**
+         * Nodes which were never measured directly (e.g. the root or the "extensions" node) aggregate the values of their children.
+         */
+        void summarize() {
+            synchronized (children) {
+                long wall = 0L;
+                long cpu = 0L;
+                for (Node child : children.values()) {
+                    child.summarize();
+                    wall += child.wallTime.get();
+                    cpu += child.cpuTime.get();
+                }
+                if (invocations.get() == 0L) {
+                    wallTime.set(wall);
+                    cpuTime.set(cpu);
+                }
+            }
+        }
+
+        void appendTo(StringBuilder json) {
+            json.append("{\"name\":");
+            appendString(json, name);
+            json.append(",\"value\":").append(wallTime.get() / NANOS_PER_MICRO);
+            json.append(",\"cpu\":").append(cpuTime.get() / NANOS_PER_MICRO);
+            json.append(",\"invocations\":").append(invocations.get());
+            json.append(",\"children\":[");
+            synchronized (children) {
+                for (Iterator<Entry<String, Node>> iterator = children.entrySet().iterator(); iterator.hasNext();) {
+                    iterator.next().getValue().appendTo(json);
+                    if (iterator.hasNext()) {
+                        json.append(',');
+                    }
+                }
+            }
+            json.append("]}");
+        }
+    }
+
+}
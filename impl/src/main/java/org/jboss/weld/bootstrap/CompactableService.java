@@ -0,0 +1,42 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.config.ConfigurationKey;
+
+/**
+ * A service which retains data that is only needed (or only needed rarely) once the container is initialized. If the compact runtime mode is enabled,
+ * {@link #compact()} is invoked after the bootstrap cleanup so that such data may be garbage-collected.
+ *
+ * <p>
+ * Unlike {@link org.jboss.weld.bootstrap.api.BootstrapService#cleanupAfterBoot()}, the released data may still be requested at runtime and must be recomputed
+ * on demand.
+ * </p>
+ *
+ * @see ConfigurationKey#COMPACT_RUNTIME
+ */
+public interface CompactableService extends Service {
+
+    /**
+     * Releases the data which is not needed at runtime.
+     *
+     * @return the number of released cache entries, regardless of their size
+     */
+    int compact();
+
+}
@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2008, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.util.Primitives;
+import org.jboss.weld.util.collections.ImmutableSet;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * Keeps track of the beans each validated injection point of a bean deployment resolved to. The graph is persisted inside the {@link BeanDeployment} so
+ * that once a bean is added after the deployment was validated, only the injection points which might be affected by the new bean need to be re-resolved.
+ * Out of these, only the injection points which resolve to different beans than before are validated again.
+ *
+ * <p>
+ * Injection points are indexed by the raw type of the required type. An injection point might only be affected by a bean if the raw type of one of the
+ * bean types is the raw type of the required type.
+ * </p>
+ *
+ * <p>
+ * This service is only registered if {@link org.jboss.weld.config.ConfigurationKey#INCREMENTAL_VALIDATION} is enabled.
+ * </p>
+ *
+ * @see Validator#validateAdditionalBeans(org.jboss.weld.manager.BeanManagerImpl, java.util.Collection)
+ */
+public class InjectionPointDependencyGraph implements Service {
+
+    private final ConcurrentMap<InjectionPoint, Set<Bean<?>>> resolvedBeans;
+    private final ConcurrentMap<Class<?>, Set<InjectionPoint>> injectionPointsByRawType;
+
+    public InjectionPointDependencyGraph() {
+        this.resolvedBeans = new ConcurrentHashMap<>();
+        this.injectionPointsByRawType = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records the beans the given injection point resolved to. Previously recorded dependencies of the injection point are replaced.
+     *
+     * @param injectionPoint
+     * @param beans the resolved beans
+     */
+    public void register(InjectionPoint injectionPoint, Set<?> beans) {
+        Set<Bean<?>> resolved = ImmutableSet.copyOf(Reflections.<Set<Bean<?>>> cast(beans));
+        if (resolvedBeans.put(injectionPoint, resolved) == null) {
+            getSet(injectionPointsByRawType, getRawType(injectionPoint.getType())).add(injectionPoint);
+        }
+    }
+
+    /**
+     * Forgets the given injection point, e.g. once the bean declaring it was rejected.
+     *
+     * @param injectionPoint
+     */
+    public void unregister(InjectionPoint injectionPoint) {
+        if (resolvedBeans.remove(injectionPoint) != null) {
+            Set<InjectionPoint> injectionPoints = injectionPointsByRawType.get(getRawType(injectionPoint.getType()));
+            if (injectionPoints != null) {
+                injectionPoints.remove(injectionPoint);
+            }
+        }
+    }
+
+    /**
+     *
+     * @param injectionPoint
+     * @return the beans the given injection point resolved to when it was validated last time, or <code>null</code> if the injection point is not known
+     */
+    public Set<Bean<?>> getResolvedBeans(InjectionPoint injectionPoint) {
+        return resolvedBeans.get(injectionPoint);
+    }
+
+    /**
+     *
+     * @param injectionPoint
+     * @param beans the beans the given injection point resolves to now
+     * @return <code>true</code> if the given injection point is not known or if it resolved to different beans when it was validated last time
+     */
+    public boolean isResolutionChanged(InjectionPoint injectionPoint, Set<?> beans) {
+        Set<Bean<?>> resolved = resolvedBeans.get(injectionPoint);
+        return resolved == null || !resolved.equals(beans);
+    }
+
+    /**
+     * Note that the result is a superset of the injection points whose resolution actually changes, qualifiers and type parameters are not considered.
+     *
+     * @param beans
+     * @return the known injection points which might be affected by the given beans
+     */
+    public Set<InjectionPoint> getAffectedInjectionPoints(Iterable<? extends Bean<?>> beans) {
+        Set<Class<?>> rawTypes = new HashSet<>();
+        for (Bean<?> bean : beans) {
+            for (Type type : bean.getTypes()) {
+                rawTypes.add(getRawType(type));
+            }
+        }
+        Set<InjectionPoint> affected = new HashSet<>();
+        for (Class<?> rawType : rawTypes) {
+            Set<InjectionPoint> injectionPoints = injectionPointsByRawType.get(rawType);
+            if (injectionPoints != null) {
+                affected.addAll(injectionPoints);
+            }
+        }
+        return affected;
+    }
+
+    /**
+     *
+     * @return the number of known injection points
+     */
+    public int size() {
+        return resolvedBeans.size();
+    }
+
+    private static Class<?> getRawType(Type type) {
+        Class<?> rawType = Reflections.getRawType(type);
+        if (rawType == null) {
+            // type variables and wildcards might be satisfied by any bean
+            return Object.class;
+        }
+        return Primitives.wrap(rawType);
+    }
+
+    private static <K> Set<InjectionPoint> getSet(ConcurrentMap<K, Set<InjectionPoint>> map, K key) {
+        return map.computeIfAbsent(key, (k) -> ConcurrentHashMap.newKeySet());
+    }
+
+    @Override
+    public void cleanup() {
+        resolvedBeans.clear();
+        injectionPointsByRawType.clear();
+    }
+
+}
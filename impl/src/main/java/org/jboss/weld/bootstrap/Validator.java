@@ -27,6 +27,8 @@ import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -360,6 +362,10 @@ public class Validator implements Service {
             return; // do not validate delegate injection points as these are special
         }
         Set<?> resolvedBeans = beanManager.getBeanResolver().resolve(beanManager.getBeans(ij));
+        InjectionPointDependencyGraph dependencyGraph = beanManager.getServices().get(InjectionPointDependencyGraph.class);
+        if (dependencyGraph != null) {
+            dependencyGraph.register(ij, resolvedBeans);
+        }
         if (!isInjectionPointSatisfied(ij, resolvedBeans, beanManager)) {
             throw ValidatorLogger.LOG.injectionPointHasUnsatisfiedDependencies(
                 ij,
@@ -496,6 +502,85 @@ public class Validator implements Service {
         validateBeanNames(manager);
     }
 
+    /**
+     * Validates the beans added to an already validated bean deployment. If the {@link InjectionPointDependencyGraph} is available, only the added beans that
+     * belong to the given manager and the previously validated injection points which resolve to different beans because of the added beans are validated.
+     * Otherwise, all the beans of the given manager are validated again.
+     *
+     * @param manager the bean manager of the validated bean deployment
+     * @param beans the beans added to the given manager or to any manager accessible from the given manager
+     * @return the previously validated injection points which were validated again, or an empty set if the dependency graph is not available
+     * @see BeanManagerImpl#addBeans(Collection)
+     */
+    public Set<InjectionPoint> validateAdditionalBeans(BeanManagerImpl manager, Collection<? extends Bean<?>> beans) {
+        InjectionPointDependencyGraph dependencyGraph = manager.getServices().get(InjectionPointDependencyGraph.class);
+        if (dependencyGraph == null) {
+            manager.getBeanResolver().clear();
+            validateBeans(manager.getBeans(), manager);
+            validateBeanNames(manager);
+            return Collections.emptySet();
+        }
+        // find the affected injection points first - the injection points of the added beans are validated together with the beans
+        Set<InjectionPoint> candidates = dependencyGraph.getAffectedInjectionPoints(beans);
+        Map<InjectionPoint, Set<Bean<?>>> previousResolutions = new HashMap<InjectionPoint, Set<Bean<?>>>();
+        for (InjectionPoint ij : candidates) {
+            previousResolutions.put(ij, dependencyGraph.getResolvedBeans(ij));
+        }
+        Set<Bean<?>> managerBeans = new HashSet<Bean<?>>(manager.getBeans());
+        List<Bean<?>> addedBeans = new ArrayList<Bean<?>>();
+        boolean named = false;
+        for (Bean<?> bean : beans) {
+            if (managerBeans.contains(bean)) {
+                addedBeans.add(bean);
+            }
+            named = named || bean.getName() != null;
+        }
+        try {
+            validateBeans(addedBeans, manager);
+
+            // the cached resolutions matching the added beans were already invalidated when the beans were added
+            Set<InjectionPoint> affectedInjectionPoints = new HashSet<InjectionPoint>();
+            for (InjectionPoint ij : candidates) {
+                if (dependencyGraph.isResolutionChanged(ij, manager.getBeanResolver().resolve(manager.getBeans(ij)))) {
+                    affectedInjectionPoints.add(ij);
+                }
+            }
+            final List<RuntimeException> problems = new ArrayList<RuntimeException>();
+            for (InjectionPoint ij : affectedInjectionPoints) {
+                try {
+                    validateInjectionPointForDeploymentProblems(ij, ij.getBean(), manager);
+                    if (ij.getBean() != null && !manager.isNormalScope(ij.getBean().getScope())) {
+                        validatePseudoScopedBean(ij.getBean(), manager);
+                    }
+                } catch (RuntimeException e) {
+                    problems.add(e);
+                }
+            }
+            if (!problems.isEmpty()) {
+                if (problems.size() == 1) {
+                    throw problems.get(0);
+                } else {
+                    throw new DeploymentException(problems);
+                }
+            }
+            if (named) {
+                validateBeanNames(manager);
+            }
+            return affectedInjectionPoints;
+        } catch (RuntimeException e) {
+            // the added beans are rejected - restore the dependencies recorded before
+            for (Entry<InjectionPoint, Set<Bean<?>>> entry : previousResolutions.entrySet()) {
+                dependencyGraph.register(entry.getKey(), entry.getValue());
+            }
+            for (Bean<?> bean : addedBeans) {
+                for (InjectionPoint ij : bean.getInjectionPoints()) {
+                    dependencyGraph.unregister(ij);
+                }
+            }
+            throw e;
+        }
+    }
+
     public void validateSpecialization(BeanManagerImpl manager) {
         SpecializationAndEnablementRegistry registry = manager.getServices().get(SpecializationAndEnablementRegistry.class);
         for (Entry<AbstractBean<?, ?>, Long> entry : registry.getBeansSpecializedInAnyDeploymentAsMap().entrySet()) {
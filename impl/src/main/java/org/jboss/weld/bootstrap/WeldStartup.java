@@ -19,8 +19,11 @@ package org.jboss.weld.bootstrap;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -47,6 +50,7 @@ import org.jboss.weld.bean.RIBean;
 import org.jboss.weld.bean.builtin.BeanManagerBean;
 import org.jboss.weld.bean.builtin.BeanManagerImplBean;
 import org.jboss.weld.bean.builtin.ContextBean;
+import org.jboss.weld.bean.builtin.InstanceResolutionCache;
 import org.jboss.weld.bean.proxy.ProtectionDomainCache;
 import org.jboss.weld.bean.proxy.ProxyInstantiator;
 import org.jboss.weld.bean.proxy.util.SimpleProxyServices;
@@ -56,6 +60,8 @@ import org.jboss.weld.bootstrap.api.ServiceRegistry;
 import org.jboss.weld.bootstrap.api.TypeDiscoveryConfiguration;
 import org.jboss.weld.bootstrap.api.helpers.ServiceRegistries;
 import org.jboss.weld.bootstrap.api.helpers.SimpleServiceRegistry;
+import org.jboss.weld.bootstrap.BootstrapProfiler.Counter;
+import org.jboss.weld.bootstrap.BootstrapProfiler.Measurement;
 import org.jboss.weld.bootstrap.enablement.GlobalEnablementBuilder;
 import org.jboss.weld.bootstrap.events.AfterBeanDiscoveryImpl;
 import org.jboss.weld.bootstrap.events.AfterDeploymentValidationImpl;
@@ -70,6 +76,7 @@ import org.jboss.weld.bootstrap.spi.Deployment;
 import org.jboss.weld.bootstrap.spi.Metadata;
 import org.jboss.weld.config.ConfigurationKey;
 import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.context.ActiveContextTable;
 import org.jboss.weld.context.ApplicationContext;
 import org.jboss.weld.context.DependentContext;
 import org.jboss.weld.context.RequestContext;
@@ -86,6 +93,7 @@ import org.jboss.weld.context.unbound.DependentContextImpl;
 import org.jboss.weld.context.unbound.RequestContextImpl;
 import org.jboss.weld.context.unbound.SingletonContextImpl;
 import org.jboss.weld.context.unbound.UnboundLiteral;
+import org.jboss.weld.event.BoundedAsyncEventDispatcher;
 import org.jboss.weld.event.ContextEvent;
 import org.jboss.weld.event.CurrentEventMetadata;
 import org.jboss.weld.event.DefaultObserverNotifierFactory;
@@ -102,6 +110,8 @@ import org.jboss.weld.manager.BeanManagerLookupService;
 import org.jboss.weld.manager.api.ExecutorServices;
 import org.jboss.weld.metadata.TypeStore;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.metrics.CountingMetricsListener;
+import org.jboss.weld.metrics.MetricsListener;
 import org.jboss.weld.module.ObserverNotifierFactory;
 import org.jboss.weld.module.WeldModules;
 import org.jboss.weld.resources.ClassTransformer;
@@ -109,6 +119,7 @@ import org.jboss.weld.resources.DefaultResourceLoader;
 import org.jboss.weld.resources.MemberTransformer;
 import org.jboss.weld.resources.ReflectionCache;
 import org.jboss.weld.resources.ReflectionCacheFactory;
+import org.jboss.weld.resources.SharedClassMetadata;
 import org.jboss.weld.resources.SharedObjectCache;
 import org.jboss.weld.resources.SingleThreadScheduledExecutorServiceFactory;
 import org.jboss.weld.resources.spi.ClassFileServices;
@@ -184,6 +195,10 @@ public class WeldStartup {
         WeldConfiguration configuration = new WeldConfiguration(registry, deployment);
         registry.add(WeldConfiguration.class, configuration);
 
+        if (configuration.getBooleanProperty(ConfigurationKey.SHARED_CLASS_METADATA)) {
+            installSharedClassMetadata(registry);
+        }
+
         if (!registry.contains(ScheduledExecutorServiceFactory.class)) {
             registry.add(ScheduledExecutorServiceFactory.class, new SingleThreadScheduledExecutorServiceFactory());
         }
@@ -193,6 +208,15 @@ public class WeldStartup {
 
         addImplementationServices(registry);
 
+        final Measurement measurement = registry.get(BootstrapProfiler.class).startPhase(BootstrapProfiler.PHASE_START_CONTAINER);
+        try {
+            return startContainer(registry, environment, deployment);
+        } finally {
+            measurement.stop();
+        }
+    }
+
+    private WeldRuntime startContainer(ServiceRegistry registry, Environment environment, Deployment deployment) {
         verifyServices(registry, environment.getRequiredDeploymentServices());
         if (!registry.contains(TransactionServices.class)) {
             BootstrapLogger.LOG.jtaUnavailable();
@@ -249,6 +273,25 @@ public class WeldStartup {
         initialServices.add(ClassTransformer.class, classTransformer);
     }
 
+    /**
+     * Replaces the initial services which are not container-specific with their shared counterparts, unless an integrator overrides them.
+     */
+    private void installSharedClassMetadata(ServiceRegistry registry) {
+        if (registry.get(SharedObjectCache.class) != initialServices.get(SharedObjectCache.class)
+                || registry.get(ReflectionCache.class) != initialServices.get(ReflectionCache.class)
+                || registry.get(ClassTransformer.class) != initialServices.get(ClassTransformer.class)) {
+            return;
+        }
+        SharedClassMetadata sharedClassMetadata = SharedClassMetadata.acquire();
+        TypeStore store = registry.get(TypeStore.class);
+        SharedObjectCache cache = sharedClassMetadata.getSharedObjectCache();
+        ReflectionCache reflectionCache = ReflectionCacheFactory.newInstance(store, sharedClassMetadata);
+        registry.add(SharedClassMetadata.class, sharedClassMetadata);
+        registry.add(SharedObjectCache.class, cache);
+        registry.add(ReflectionCache.class, reflectionCache);
+        registry.add(ClassTransformer.class, new ClassTransformer(store, cache, reflectionCache, contextId));
+    }
+
     private void addImplementationServices(ServiceRegistry services) {
         final WeldModules modules = new WeldModules();
         services.add(WeldModules.class, modules);
@@ -258,6 +301,7 @@ public class WeldStartup {
         if (services.get(ClassTransformer.class) == null) {
             throw new IllegalStateException(ClassTransformer.class.getSimpleName() + " not installed.");
         }
+        services.add(BootstrapProfiler.class, new BootstrapProfiler(contextId, configuration));
         services.add(MemberTransformer.class, new MemberTransformer(services.get(ClassTransformer.class)));
         services.add(MetaAnnotationStore.class, new MetaAnnotationStore(services.get(ClassTransformer.class)));
 
@@ -268,6 +312,7 @@ public class WeldStartup {
         }
 
         services.add(ContextualStore.class, new ContextualStoreImpl(contextId, beanIdentifierIndex));
+        services.add(ActiveContextTable.class, new ActiveContextTable());
         services.add(CurrentInjectionPoint.class, new CurrentInjectionPoint());
         services.add(CurrentEventMetadata.class, new CurrentEventMetadata());
         services.add(SpecializationAndEnablementRegistry.class, new SpecializationAndEnablementRegistry());
@@ -284,6 +329,17 @@ public class WeldStartup {
             }
         }
 
+        if (!services.contains(MetricsListener.class) && configuration.getBooleanProperty(ConfigurationKey.METRICS)) {
+            CountingMetricsListener metrics = new CountingMetricsListener();
+            metrics.registerMBean(contextId);
+            services.add(MetricsListener.class, metrics);
+        }
+        services.add(InstanceResolutionCache.class, new InstanceResolutionCache(contextId, configuration, services.get(MetricsListener.class)));
+        BoundedAsyncEventDispatcher asyncEventDispatcher = BoundedAsyncEventDispatcher.of(configuration, services.get(MetricsListener.class));
+        if (asyncEventDispatcher != null) {
+            services.add(BoundedAsyncEventDispatcher.class, asyncEventDispatcher);
+        }
+
         services.add(RequiredAnnotationDiscovery.class, new RequiredAnnotationDiscovery(services.get(ReflectionCache.class)));
 
         services.add(GlobalEnablementBuilder.class, new GlobalEnablementBuilder());
@@ -343,7 +399,15 @@ public class WeldStartup {
         if (deploymentManager == null) {
             throw BootstrapLogger.LOG.managerNotInitialized();
         }
+        final Measurement measurement = getProfiler().startPhase(BootstrapProfiler.PHASE_START_INITIALIZATION);
+        try {
+            doStartInitialization();
+        } finally {
+            measurement.stop();
+        }
+    }
 
+    private void doStartInitialization() {
         Set<BeanDeployment> physicalBeanDeploymentArchives = new HashSet<BeanDeployment>(getBeanDeployments());
 
         ExtensionBeanDeployer extensionBeanDeployer = new ExtensionBeanDeployer(deploymentManager, deployment, bdaMapping, contexts);
@@ -365,7 +429,12 @@ public class WeldStartup {
 
         // for each physical BDA transform its classes into AnnotatedType instances
         for (BeanDeployment beanDeployment : physicalBeanDeploymentArchives) {
-            beanDeployment.createClasses();
+            final Measurement measurement = startBeanDeploymentMeasurement(beanDeployment, "createClasses");
+            try {
+                beanDeployment.createClasses();
+            } finally {
+                measurement.stop();
+            }
         }
 
         // Re-Read the deployment structure, bdaMapping will be the physical
@@ -374,7 +443,13 @@ public class WeldStartup {
         deploymentVisitor.visit();
 
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
-            beanDeployment.createTypes();
+            final Measurement measurement = startBeanDeploymentMeasurement(beanDeployment, "createTypes");
+            try {
+                beanDeployment.createTypes();
+            } finally {
+                measurement.stop();
+            }
+            getProfiler().count(Counter.TYPES, beanDeployment.getBeanDeployer().getEnvironment().getAnnotatedTypes().size());
         }
 
         AfterTypeDiscoveryImpl.fire(deploymentManager, deployment, bdaMapping, contexts);
@@ -386,8 +461,22 @@ public class WeldStartup {
 
 
     public void deployBeans() {
+        final Measurement measurement = getProfiler().startPhase(BootstrapProfiler.PHASE_DEPLOY_BEANS);
+        try {
+            doDeployBeans();
+        } finally {
+            measurement.stop();
+        }
+    }
+
+    private void doDeployBeans() {
         for (BeanDeployment deployment : getBeanDeployments()) {
-            deployment.createBeans(environment);
+            final Measurement measurement = startBeanDeploymentMeasurement(deployment, "createBeans");
+            try {
+                deployment.createBeans(environment);
+            } finally {
+                measurement.stop();
+            }
         }
         // we must use separate loops, otherwise cyclic specialization would not work
         for (BeanDeployment deployment : getBeanDeployments()) {
@@ -405,18 +494,23 @@ public class WeldStartup {
 
         // TODO keep a list of new bdas, add them all in, and deploy beans for them, then merge into existing
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
-            beanDeployment.deployBeans(environment);
+            final Measurement measurement = startBeanDeploymentMeasurement(beanDeployment, "deployBeans");
+            try {
+                beanDeployment.deployBeans(environment);
+            } finally {
+                measurement.stop();
+            }
         }
 
         getContainer().setState(ContainerState.DISCOVERED);
 
         // Flush caches for BeanManager.getBeans() to be usable in ABD (WELD-1729)
-        flushCaches();
+        flushCaches(false);
 
         AfterBeanDiscoveryImpl.fire(deploymentManager, deployment, bdaMapping, contexts);
 
         // Extensions may have registered beans / observers. We need to flush caches.
-        flushCaches();
+        flushCaches(false);
 
         // Re-read the deployment structure, bdaMapping will be the physical
         // structure, extensions, classes, and any beans added using addBean
@@ -424,27 +518,52 @@ public class WeldStartup {
         deploymentVisitor.visit();
 
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
-            beanDeployment.getBeanManager().getServices().get(InjectionTargetService.class).initialize();
-            beanDeployment.afterBeanDiscovery(environment);
+            final Measurement measurement = startBeanDeploymentMeasurement(beanDeployment, "afterBeanDiscovery");
+            try {
+                beanDeployment.getBeanManager().getServices().get(InjectionTargetService.class).initialize();
+                beanDeployment.afterBeanDiscovery(environment);
+            } finally {
+                measurement.stop();
+            }
         }
         getContainer().putBeanDeployments(bdaMapping);
         getContainer().setState(ContainerState.DEPLOYED);
     }
 
     public void validateBeans() {
-        BootstrapLogger.LOG.validatingBeans();
-        for (BeanDeployment beanDeployment : getBeanDeployments()) {
-            BeanManagerImpl beanManager = beanDeployment.getBeanManager();
-            beanManager.getBeanResolver().clear();
-            deployment.getServices().get(Validator.class).validateDeployment(beanManager, beanDeployment);
-            beanManager.getServices().get(InjectionTargetService.class).validate();
+        final Measurement phaseMeasurement = getProfiler().startPhase(BootstrapProfiler.PHASE_VALIDATE_BEANS);
+        try {
+            BootstrapLogger.LOG.validatingBeans();
+            for (BeanDeployment beanDeployment : getBeanDeployments()) {
+                final Measurement measurement = startBeanDeploymentMeasurement(beanDeployment, "validate");
+                try {
+                    BeanManagerImpl beanManager = beanDeployment.getBeanManager();
+                    beanManager.getBeanResolver().clear();
+                    deployment.getServices().get(Validator.class).validateDeployment(beanManager, beanDeployment);
+                    beanManager.getServices().get(InjectionTargetService.class).validate();
+                } finally {
+                    measurement.stop();
+                }
+            }
+            getContainer().setState(ContainerState.VALIDATED);
+            AfterDeploymentValidationImpl.fire(deploymentManager);
+        } finally {
+            phaseMeasurement.stop();
         }
-        getContainer().setState(ContainerState.VALIDATED);
-        AfterDeploymentValidationImpl.fire(deploymentManager);
     }
 
     public void endInitialization() {
+        final BootstrapProfiler profiler = getProfiler();
+        final Measurement measurement = profiler.startPhase(BootstrapProfiler.PHASE_END_INITIALIZATION);
+        try {
+            doEndInitialization(profiler);
+        } finally {
+            measurement.stop();
+        }
+        profiler.writeReport();
+    }
 
+    private void doEndInitialization(BootstrapProfiler profiler) {
         final BeanIdentifierIndex index = deploymentManager.getServices().get(BeanIdentifierIndex.class);
         if (index != null) {
             // Build a special index of bean identifiers
@@ -455,7 +574,16 @@ public class WeldStartup {
         // Register the managers so external requests can handle them
         // clear the TypeSafeResolvers, so data that is only used at startup
         // is not kept around using up memory
-        flushCaches();
+        flushCaches(true);
+        if (profiler.isEnabled()) {
+            for (BeanDeployment beanDeployment : getBeanDeployments()) {
+                BeanManagerImpl beanManager = beanDeployment.getBeanManager();
+                profiler.count(Counter.BEANS, beanManager.getBeans().size());
+                profiler.count(Counter.DECORATORS, beanManager.getDecorators().size());
+                profiler.count(Counter.INTERCEPTORS, beanManager.getInterceptors().size());
+                profiler.count(Counter.OBSERVERS, beanManager.getObservers().size());
+            }
+        }
         deploymentManager.getServices().cleanupAfterBoot();
         deploymentManager.cleanupAfterBoot();
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
@@ -486,6 +614,9 @@ public class WeldStartup {
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
             beanDeployment.getBeanDeployer().cleanup();
         }
+        if (deploymentManager.getServices().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.COMPACT_RUNTIME)) {
+            compactRuntime();
+        }
         // feed BeanDeploymentModule registry
         final BeanDeploymentModules modules = deploymentManager.getServices().get(BeanDeploymentModules.class);
         modules.processBeanDeployments(getBeanDeployments());
@@ -502,8 +633,39 @@ public class WeldStartup {
         }
     }
 
-    private void flushCaches() {
-        deploymentManager.getBeanResolver().clear();
+    /**
+     * Let the services release the data which is not needed at runtime. Services shared by multiple bean deployments are only compacted once.
+     */
+    private void compactRuntime() {
+        Set<Service> compacted = Collections.newSetFromMap(new IdentityHashMap<Service, Boolean>());
+        long released = compactServices(deploymentManager.getServices(), compacted);
+        int beans = deploymentManager.getBeans().size();
+        for (BeanDeployment beanDeployment : getBeanDeployments()) {
+            released += compactServices(beanDeployment.getBeanManager().getServices(), compacted);
+            beans += beanDeployment.getBeanManager().getBeans().size();
+        }
+        BootstrapLogger.LOG.runtimeCompacted(released, beans);
+    }
+
+    private static long compactServices(ServiceRegistry services, Set<Service> compacted) {
+        long released = 0;
+        for (Entry<Class<? extends Service>, Service> entry : services.entrySet()) {
+            Service service = entry.getValue();
+            if (service instanceof CompactableService && compacted.add(service)) {
+                int count = ((CompactableService) service).compact();
+                BootstrapLogger.LOG.serviceCompacted(service.getClass().getName(), count);
+                released += count;
+            }
+        }
+        return released;
+    }
+
+    /**
+     *
+     * @param releaseBeanIndex if set to <code>false</code> the indexes of beans by type, which are maintained incrementally, are retained
+     */
+    private void flushCaches(boolean releaseBeanIndex) {
+        flushBeanResolver(deploymentManager, releaseBeanIndex);
         deploymentManager.getAccessibleLenientObserverNotifier().clear();
         deploymentManager.getGlobalStrictObserverNotifier().clear();
         deploymentManager.getGlobalLenientObserverNotifier().clear();
@@ -512,7 +674,7 @@ public class WeldStartup {
         deploymentManager.getNameBasedResolver().clear();
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
             BeanManagerImpl beanManager = beanDeployment.getBeanManager();
-            beanManager.getBeanResolver().clear();
+            flushBeanResolver(beanManager, releaseBeanIndex);
             beanManager.getAccessibleLenientObserverNotifier().clear();
             beanManager.getDecoratorResolver().clear();
             beanManager.getInterceptorResolver().clear();
@@ -520,6 +682,22 @@ public class WeldStartup {
         }
     }
 
+    private void flushBeanResolver(BeanManagerImpl beanManager, boolean releaseBeanIndex) {
+        if (releaseBeanIndex) {
+            beanManager.getBeanResolver().clear();
+        } else {
+            beanManager.getBeanResolver().clearResolved();
+        }
+    }
+
+    private BootstrapProfiler getProfiler() {
+        return deploymentManager.getServices().get(BootstrapProfiler.class);
+    }
+
+    private Measurement startBeanDeploymentMeasurement(BeanDeployment beanDeployment, String step) {
+        return getProfiler().startWithinPhase(beanDeployment.getBeanDeploymentArchive().getId(), step);
+    }
+
     private Collection<BeanDeployment> getBeanDeployments() {
         return bdaMapping.getBeanDeployments();
     }
@@ -544,7 +722,7 @@ public class WeldStartup {
         contexts.add(new ContextHolder<BoundConversationContext>(new BoundConversationContextImpl(contextId, beanIdentifierIndex), BoundConversationContext.class, BoundLiteral.INSTANCE));
         contexts.add(new ContextHolder<BoundRequestContext>(new BoundRequestContextImpl(contextId), BoundRequestContext.class, BoundLiteral.INSTANCE));
         contexts.add(new ContextHolder<RequestContext>(new RequestContextImpl(contextId), RequestContext.class, UnboundLiteral.INSTANCE));
-        contexts.add(new ContextHolder<DependentContext>(new DependentContextImpl(services.get(ContextualStore.class)), DependentContext.class, UnboundLiteral.INSTANCE));
+        contexts.add(new ContextHolder<DependentContext>(new DependentContextImpl(services.get(ContextualStore.class), services.get(MetricsListener.class)), DependentContext.class, UnboundLiteral.INSTANCE));
 
         services.get(WeldModules.class).postContextRegistration(contextId, services, contexts);
 
@@ -168,6 +168,107 @@ public enum ConfigurationKey {
     @Description("<strong>DEVELOPMENT MODE</strong> - if set to <code>true</code> an informative HTML snippet will be added to every response with Content-Type of value <code>text/html</code>.")
     PROBE_EMBED_INFO_SNIPPET("org.jboss.weld.probe.embedInfoSnippet", true),
 
+    /**
+     * If set to a non-empty string, the time spent in individual bootstrap phases, bean deployments and extension observer methods is measured and a report
+     * is written to the given file once the container is initialized. If the value represents an existing directory, the report is written to a file named
+     * after the container id.
+     *
+     * @see org.jboss.weld.bootstrap.BootstrapProfiler
+     */
+    @Description("If set to a non-empty string, the time spent in individual bootstrap phases, bean deployments and extension observer methods is measured. The value represents the file path (or an existing directory) where the JSON report should be stored.")
+    BOOTSTRAP_PROFILER_REPORT("org.jboss.weld.bootstrap.profilerReport", ""),
+
+    /**
+     * If set to <code>true</code>, the beans each injection point resolved to during validation are recorded so that only the affected injection points need
+     * to be re-validated once a bean is added to a validated bean deployment.
+     *
+     * @see org.jboss.weld.bootstrap.InjectionPointDependencyGraph
+     */
+    @Description("If set to <code>true</code>, the beans each injection point resolved to during validation are recorded so that only the affected injection points need to be re-validated once a bean is added to an already validated deployment. The dependency graph is retained for the lifetime of the container.")
+    INCREMENTAL_VALIDATION("org.jboss.weld.bootstrap.incrementalValidation", false),
+
+    /**
+     * If set to <code>true</code>, the data which is not needed once the container is initialized is released after bootstrap. Such data is recomputed on
+     * demand if requested at runtime.
+     *
+     * @see org.jboss.weld.bootstrap.CompactableService
+     */
+    @Description("If set to <code>true</code>, the services release the data which is not needed once the container is initialized, e.g. the stereotype and interceptor binding models. Such data is recomputed on demand if requested at runtime.")
+    COMPACT_RUNTIME("org.jboss.weld.bootstrap.compactRuntime", false),
+
+    /**
+     * If set to <code>true</code>, the container-independent class metadata are shared by all the containers running in the same JVM.
+     *
+     * @see org.jboss.weld.resources.SharedClassMetadata
+     */
+    @Description("If set to <code>true</code>, the container-independent class metadata (annotations of classes and members, shared sets and type closures) are shared by all the containers running in the same JVM which enable this option. The annotations are retained across container boots, so that containers booted one after another reuse them. They are attached to the classes themselves and never keep the class loader of an undeployed container reachable.")
+    SHARED_CLASS_METADATA("org.jboss.weld.bootstrap.sharedClassMetadata", false),
+
+    /**
+     * If set to <code>true</code>, the default {@link org.jboss.weld.metrics.MetricsListener} is installed unless an integrator provides one.
+     *
+     * @see org.jboss.weld.metrics.CountingMetricsListener
+     */
+    @Description("If set to <code>true</code>, the container counts the created and destroyed contextual instances, context lookups, resolution cache hits and misses and observer notifications. The metrics are exported as an MXBean named <code>org.jboss.weld:type=Metrics,container=&lt;container id&gt;</code>.")
+    METRICS("org.jboss.weld.metrics.enabled", false),
+
+    /**
+     * If set to <code>true</code>, the contextual instances of the {@link org.jboss.weld.context.bound.BoundRequestContext} active when an event is fired
+     * asynchronously are made available to the asynchronous observers.
+     */
+    @Description("If set to <code>true</code>, the contextual instances of the bound request context active when an event is fired asynchronously are made available to the asynchronous observers.")
+    ASYNC_OBSERVERS_PROPAGATE_REQUEST_CONTEXT("org.jboss.weld.event.asyncObservers.propagateRequestContext", false),
+
+    /**
+     * If set to <code>true</code>, the contextual instances of the {@link org.jboss.weld.context.bound.BoundSessionContext} active when an event is fired
+     * asynchronously are made available to the asynchronous observers.
+     */
+    @Description("If set to <code>true</code>, the contextual instances of the bound session context active when an event is fired asynchronously are made available to the asynchronous observers.")
+    ASYNC_OBSERVERS_PROPAGATE_SESSION_CONTEXT("org.jboss.weld.event.asyncObservers.propagateSessionContext", false),
+
+    /**
+     * The maximum number of asynchronous observer notifications submitted to an executor but not finished yet. A non-positive value means the number is not
+     * bounded.
+     *
+     * @see org.jboss.weld.event.BoundedAsyncEventDispatcher
+     */
+    @Description("The maximum number of asynchronous observer notifications submitted to an executor but not finished yet. A non-positive value means the number is not bounded.")
+    ASYNC_OBSERVERS_MAX_PENDING_NOTIFICATIONS("org.jboss.weld.event.asyncObservers.maxPendingNotifications", 0),
+
+    /**
+     * Determines what happens if the maximum number of pending asynchronous observer notifications is reached. Possible values are
+     * <code>CALLER_RUNS</code>, <code>FAIL_FAST</code> and <code>DROP</code>.
+     *
+     * @see org.jboss.weld.event.BoundedAsyncEventDispatcher.RejectionPolicy
+     */
+    @Description("Determines what happens if the maximum number of pending asynchronous observer notifications is reached. Possible values are: <code>CALLER_RUNS</code> (observers are notified in the thread firing the event), <code>FAIL_FAST</code> (<code>RejectedExecutionException</code> is thrown) and <code>DROP</code> (the notification is discarded and the returned stage completes exceptionally).")
+    ASYNC_OBSERVERS_REJECTION_POLICY("org.jboss.weld.event.asyncObservers.rejectionPolicy", "CALLER_RUNS"),
+
+    /**
+     * The maximum number of typesafe resolution results of {@link javax.enterprise.inject.Instance} objects kept by the container once the deployment is
+     * validated. A non-positive value disables the cache.
+     *
+     * @see org.jboss.weld.bean.builtin.InstanceResolutionCache
+     */
+    @Description("The maximum number of typesafe resolution results of <code>Instance</code> objects (keyed by the injection point, the selected subtype and the selected qualifiers) kept by the container once the deployment is validated. A non-positive value disables the cache.")
+    INSTANCE_RESOLUTION_CACHE_SIZE("org.jboss.weld.instance.resolutionCacheSize", 0x1000L),
+
+    /**
+     * If set to <code>true</code>, the container only keeps a bounded number of the dependent objects obtained through {@link javax.enterprise.inject.Instance}
+     * per creational context and destroys the oldest ones once the limit is exceeded.
+     *
+     * @see #INSTANCE_AUTO_RELEASE_DEPENDENT_LIMIT
+     */
+    @Description("If set to <code>true</code>, the container only keeps a bounded number of the dependent objects obtained through <code>Instance</code> per creational context and destroys the oldest ones once the limit is exceeded. This is not portable behaviour, a dependent object must not be used after it is released.")
+    INSTANCE_AUTO_RELEASE_DEPENDENT("org.jboss.weld.instance.autoReleaseDependent", false),
+
+    /**
+     * The maximum number of dependent objects obtained through {@link javax.enterprise.inject.Instance} kept per creational context if
+     * {@link #INSTANCE_AUTO_RELEASE_DEPENDENT} is enabled.
+     */
+    @Description("The maximum number of dependent objects obtained through <code>Instance</code> kept per creational context if the auto-release of dependent objects is enabled.")
+    INSTANCE_AUTO_RELEASE_DEPENDENT_LIMIT("org.jboss.weld.instance.autoReleaseDependentLimit", 64),
+
     ;
 
     /**
@@ -16,6 +16,13 @@
  */
 package org.jboss.weld.context;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.context.beanstore.BoundBeanStore;
 
 /**
@@ -27,9 +34,13 @@ public abstract class AbstractBoundContext<S> extends AbstractManagedContext imp
 
     private final ThreadLocal<BoundBeanStore> beanStore;
 
+    // Contextual instances shared with other threads through a BoundContextSnapshot
+    private final Map<ContextualInstance<?>, Lease> leases;
+
     public AbstractBoundContext(String contextId, boolean multithreaded) {
         super(contextId, multithreaded);
         this.beanStore = new ThreadLocal<BoundBeanStore>();
+        this.leases = new IdentityHashMap<ContextualInstance<?>, Lease>();
     }
 
     /**
@@ -72,6 +83,61 @@ public abstract class AbstractBoundContext<S> extends AbstractManagedContext imp
         super.deactivate();
     }
 
+    /**
+     * The given instances are not destroyed until they are {@link #release(Collection) released}, even if the context they belong to is destroyed in the
+     * meantime.
+     *
+     * @param instances
+     */
+    void retain(Collection<? extends ContextualInstance<?>> instances) {
+        synchronized (leases) {
+            for (ContextualInstance<?> instance : instances) {
+                Lease lease = leases.get(instance);
+                if (lease == null) {
+                    lease = new Lease();
+                    leases.put(instance, lease);
+                }
+                lease.count++;
+            }
+        }
+    }
+
+    /**
+     * Releases the given retained instances. An instance whose destruction was deferred is destroyed once it is released for the last time.
+     *
+     * @param instances
+     */
+    void release(Collection<? extends ContextualInstance<?>> instances) {
+        List<ContextualInstance<?>> destroyed = new ArrayList<ContextualInstance<?>>();
+        synchronized (leases) {
+            for (ContextualInstance<?> instance : instances) {
+                Lease lease = leases.get(instance);
+                if (lease != null && --lease.count == 0) {
+                    leases.remove(instance);
+                    if (lease.destroyed) {
+                        destroyed.add(instance);
+                    }
+                }
+            }
+        }
+        for (ContextualInstance<?> instance : destroyed) {
+            super.destroyContextualInstance(instance);
+        }
+    }
+
+    @Override
+    protected <T> void destroyContextualInstance(ContextualInstance<T> instance) {
+        synchronized (leases) {
+            Lease lease = leases.get(instance);
+            if (lease != null) {
+                // Destroyed when released for the last time
+                lease.destroyed = true;
+                return;
+            }
+        }
+        super.destroyContextualInstance(instance);
+    }
+
     public boolean dissociate(S storage) {
         if (getBeanStore() != null) {
             try {
@@ -84,4 +150,12 @@ public abstract class AbstractBoundContext<S> extends AbstractManagedContext imp
             return false;
         }
     }
+
+    private static class Lease {
+
+        private int count;
+
+        private boolean destroyed;
+
+    }
 }
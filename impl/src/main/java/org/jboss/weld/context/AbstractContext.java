@@ -29,6 +29,7 @@ import org.jboss.weld.context.beanstore.BeanStore;
 import org.jboss.weld.context.beanstore.LockedBean;
 import org.jboss.weld.context.cache.RequestScopedCache;
 import org.jboss.weld.logging.ContextLogger;
+import org.jboss.weld.metrics.MetricsListener;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.serialization.spi.ContextualStore;
 import org.jboss.weld.util.Beans;
@@ -49,6 +50,8 @@ public abstract class AbstractContext implements AlterableContext {
 
     private final ServiceRegistry serviceRegistry;
 
+    private final MetricsListener metrics;
+
     /**
      * Constructor
      *
@@ -56,6 +59,7 @@ public abstract class AbstractContext implements AlterableContext {
     public AbstractContext(String contextId, boolean multithreaded) {
         this.multithreaded = multithreaded;
         this.serviceRegistry = Container.instance(contextId).services();
+        this.metrics = serviceRegistry.get(MetricsListener.class);
     }
 
     /**
@@ -81,6 +85,9 @@ public abstract class AbstractContext implements AlterableContext {
         }
         BeanIdentifier id = getId(contextual);
         ContextualInstance<T> beanInstance = beanStore.get(id);
+        if (metrics != null) {
+            metrics.contextLookup(getScope(), beanInstance != null);
+        }
         if (beanInstance != null) {
             return beanInstance.getInstance();
         } else if (creationalContext != null) {
@@ -93,7 +100,7 @@ public abstract class AbstractContext implements AlterableContext {
                         return beanInstance.getInstance();
                     }
                 }
-                T instance = contextual.create(creationalContext);
+                T instance = create(contextual, creationalContext);
                 if (instance != null) {
                     beanInstance = new SerializableContextualInstanceImpl<Contextual<T>, T>(contextual, instance, creationalContext, serviceRegistry.get(ContextualStore.class));
                     beanStore.put(id, beanInstance);
@@ -143,8 +150,26 @@ public abstract class AbstractContext implements AlterableContext {
         return beanStore.get(id);
     }
 
-    private <T> void destroyContextualInstance(ContextualInstance<T> instance) {
+    private <T> T create(Contextual<T> contextual, CreationalContext<T> creationalContext) {
+        if (metrics == null) {
+            return contextual.create(creationalContext);
+        }
+        final long start = System.nanoTime();
+        T instance = contextual.create(creationalContext);
+        metrics.instanceCreated(contextual, System.nanoTime() - start);
+        return instance;
+    }
+
+    /**
+     * Destroys the given contextual instance. Subclasses may defer the destruction, e.g. while the instance is in use on a different thread.
+     *
+     * @param instance
+     */
+    protected <T> void destroyContextualInstance(ContextualInstance<T> instance) {
         instance.getContextual().destroy(instance.getInstance(), instance.getCreationalContext());
+        if (metrics != null) {
+            metrics.instanceDestroyed(instance.getContextual());
+        }
         ContextLogger.LOG.contextualInstanceRemoved(instance, this);
     }
 
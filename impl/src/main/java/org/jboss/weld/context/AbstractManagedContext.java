@@ -24,9 +24,13 @@ public abstract class AbstractManagedContext extends AbstractContext implements
 
     private final ThreadLocal<ManagedState> state;
 
+    // null if the activity of this context is not tracked
+    private final ActiveContextTable activeContextTable;
+
     public AbstractManagedContext(String contextId, boolean multithreaded) {
         super(contextId, multithreaded);
         this.state = new ThreadLocal<ManagedState>();
+        this.activeContextTable = ActiveContextTable.isTrackable(this) ? getServiceRegistry().get(ActiveContextTable.class) : null;
     }
 
     public boolean isActive() {
@@ -36,6 +40,13 @@ public abstract class AbstractManagedContext extends AbstractContext implements
 
     protected void setActive(boolean active) {
         getManagedState().setActive(active);
+        if (activeContextTable != null) {
+            if (active) {
+                activeContextTable.activated(this);
+            } else {
+                activeContextTable.deactivated(this);
+            }
+        }
     }
 
     public void invalidate() {
@@ -56,6 +67,13 @@ public abstract class AbstractManagedContext extends AbstractContext implements
             destroy();
         }
         state.remove();
+        if (activeContextTable != null) {
+            activeContextTable.deactivated(this);
+        }
+    }
+
+    ActiveContextTable getActiveContextTable() {
+        return activeContextTable;
     }
 
     private ManagedState getManagedState() {
@@ -0,0 +1,269 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.spi.Context;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.logging.BeanManagerLogger;
+
+/**
+ * Keeps track of the {@link AbstractManagedContext}s active on the current thread so that the active context for a scope may be found without asking
+ * every context registered for the scope whether it is active (which usually means a {@link ThreadLocal} read per context).
+ *
+ * <p>
+ * Each scope gets a dense id when the first context for the scope is registered. The managed contexts report each change of their state through
+ * {@link #activated(AbstractManagedContext)} and {@link #deactivated(AbstractManagedContext)} and the table maintains a per-thread array indexed by the
+ * scope id. Looking up the active context for a scope then means a single {@link ThreadLocal} read and an array read. The per-thread state is removed once
+ * there is no tracked context active on the thread.
+ * </p>
+ *
+ * <p>
+ * Only managed contexts whose {@link Context#isActive()} reflects exactly the state set by {@link AbstractManagedContext} are tracked. The other contexts
+ * registered for a scope (e.g. shared contexts, contexts with deferred activation or custom contexts) are still asked via {@link Context#isActive()}.
+ * </p>
+ */
+public class ActiveContextTable implements Service {
+
+    // marks a scope with more than one tracked context active
+    private static final Object DUPLICATE = new Object();
+
+    private final ConcurrentMap<Class<? extends Annotation>, ScopeEntry> scopes;
+
+    // the registered form of each tracked context (the registered form may be a wrapper), copy on write
+    private volatile Map<AbstractManagedContext, TrackedContext> trackedContexts;
+
+    // incremented whenever a context is registered, a per-thread table of a different generation is rebuilt
+    private volatile int generation;
+
+    private final ThreadLocal<ThreadTable> threadTables;
+
+    public ActiveContextTable() {
+        this.scopes = new ConcurrentHashMap<Class<? extends Annotation>, ScopeEntry>();
+        this.trackedContexts = new IdentityHashMap<AbstractManagedContext, TrackedContext>();
+        this.threadTables = new ThreadLocal<ThreadTable>();
+    }
+
+    /**
+     * Registers a context.
+     *
+     * @param context the context as implemented
+     * @param registeredContext the context as registered with the bean manager, i.e. the object returned by a lookup
+     */
+    public synchronized void register(Context context, Context registeredContext) {
+        Class<? extends Annotation> scope = context.getScope();
+        ScopeEntry entry = scopes.get(scope);
+        if (entry == null) {
+            entry = new ScopeEntry(scopes.size());
+            scopes.put(scope, entry);
+        }
+        if (context instanceof AbstractManagedContext && ((AbstractManagedContext) context).getActiveContextTable() == this) {
+            Map<AbstractManagedContext, TrackedContext> tracked = new IdentityHashMap<AbstractManagedContext, TrackedContext>(trackedContexts);
+            tracked.put((AbstractManagedContext) context, new TrackedContext(entry.id, registeredContext));
+            this.trackedContexts = tracked;
+            entry.hasTracked = true;
+        } else {
+            Context[] untracked = Arrays.copyOf(entry.untracked, entry.untracked.length + 1);
+            untracked[entry.untracked.length] = registeredContext;
+            entry.untracked = untracked;
+        }
+        generation++;
+    }
+
+    /**
+     *
+     * @param context
+     * @return {@code true} if the activity of the given context is fully determined by {@link AbstractManagedContext} and may be tracked
+     */
+    static boolean isTrackable(Context context) {
+        if (!(context instanceof AbstractManagedContext)) {
+            return false;
+        }
+        try {
+            return AbstractManagedContext.class.equals(context.getClass().getMethod("isActive").getDeclaringClass());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     *
+     * @param scope
+     * @return {@code true} if a context is registered for the given scope
+     */
+    public boolean isRegistered(Class<? extends Annotation> scope) {
+        return scopes.containsKey(scope);
+    }
+
+    /**
+     * Finds the active context for the given scope.
+     *
+     * @param scope
+     * @return the active context or {@code null} if there is none
+     * @throws IllegalStateException if more than one context is active for the given scope
+     */
+    public Context getActiveContext(Class<? extends Annotation> scope) {
+        ScopeEntry entry = scopes.get(scope);
+        if (entry == null) {
+            return null;
+        }
+        Context active = null;
+        if (entry.hasTracked) {
+            ThreadTable table = threadTables.get();
+            if (table != null) {
+                Object slot = table.get(entry.id, this);
+                if (slot == DUPLICATE) {
+                    throw BeanManagerLogger.LOG.duplicateActiveContexts(scope.getName());
+                }
+                active = (Context) slot;
+            }
+        }
+        for (Context context : entry.untracked) {
+            if (context.isActive()) {
+                if (active == null) {
+                    active = context;
+                } else {
+                    throw BeanManagerLogger.LOG.duplicateActiveContexts(scope.getName());
+                }
+            }
+        }
+        return active;
+    }
+
+    void activated(AbstractManagedContext context) {
+        ThreadTable table = threadTables.get();
+        if (table == null) {
+            table = new ThreadTable();
+            threadTables.set(table);
+        }
+        if (table.add(context)) {
+            table.rebuild(this);
+        }
+    }
+
+    void deactivated(AbstractManagedContext context) {
+        ThreadTable table = threadTables.get();
+        if (table != null && table.remove(context)) {
+            if (table.isEmpty()) {
+                threadTables.remove();
+            } else {
+                table.rebuild(this);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void cleanup() {
+        scopes.clear();
+        trackedContexts = new IdentityHashMap<AbstractManagedContext, TrackedContext>();
+        threadTables.remove();
+        generation++;
+    }
+
+    private static final class ScopeEntry {
+
+        private final int id;
+
+        private volatile boolean hasTracked;
+
+        private volatile Context[] untracked;
+
+        private ScopeEntry(int id) {
+            this.id = id;
+            this.untracked = new Context[0];
+        }
+    }
+
+    private static final class TrackedContext {
+
+        private final int scopeId;
+
+        private final Context registeredContext;
+
+        private TrackedContext(int scopeId, Context registeredContext) {
+            this.scopeId = scopeId;
+            this.registeredContext = registeredContext;
+        }
+    }
+
+    /**
+     * The state of a single thread. Not thread-safe.
+     */
+    private static final class ThreadTable {
+
+        // the tracked contexts active on the thread, there are only a few of them
+        private final List<AbstractManagedContext> active = new ArrayList<AbstractManagedContext>();
+
+        // the registered form of the active context (or the duplicate marker) indexed by scope id
+        private Object[] slots = new Object[0];
+
+        private int generation = -1;
+
+        private boolean add(AbstractManagedContext context) {
+            for (AbstractManagedContext activeContext : active) {
+                if (activeContext == context) {
+                    return false;
+                }
+            }
+            return active.add(context);
+        }
+
+        private boolean remove(AbstractManagedContext context) {
+            for (int i = 0; i < active.size(); i++) {
+                if (active.get(i) == context) {
+                    active.remove(i);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isEmpty() {
+            return active.isEmpty();
+        }
+
+        private Object get(int scopeId, ActiveContextTable owner) {
+            if (generation != owner.generation) {
+                rebuild(owner);
+            }
+            return scopeId < slots.length ? slots[scopeId] : null;
+        }
+
+        private void rebuild(ActiveContextTable owner) {
+            int generation = owner.generation;
+            Map<AbstractManagedContext, TrackedContext> trackedContexts = owner.trackedContexts;
+            Object[] slots = new Object[owner.scopes.size()];
+            for (AbstractManagedContext context : active) {
+                TrackedContext tracked = trackedContexts.get(context);
+                if (tracked != null && tracked.scopeId < slots.length) {
+                    slots[tracked.scopeId] = slots[tracked.scopeId] == null ? tracked.registeredContext : DUPLICATE;
+                }
+            }
+            this.slots = slots;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2008, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.BoundBeanStore;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+
+/**
+ * A snapshot of the contextual instances of a bound context active on the current thread. The snapshot may be used to activate the same context on a
+ * different thread, e.g. during asynchronous observer notification.
+ *
+ * <p>
+ * The contextual instances are shared with the original thread, the storage is not. Contextual instances created while the snapshot is active are destroyed
+ * when the snapshot is deactivated. The shared instances are retained until the snapshot is {@link #release() released}: if the original thread destroys
+ * the context in the meantime, the shared instances are only destroyed once no snapshot uses them anymore.
+ * </p>
+ *
+ * @see org.jboss.weld.event.ObserverNotifier
+ */
+public final class BoundContextSnapshot {
+
+    /**
+     * Takes a snapshot of the given context. The snapshot must be {@link #release() released} once it is no longer needed.
+     *
+     * @param context
+     * @return the snapshot or <code>null</code> if the context is not active on the current thread
+     */
+    public static BoundContextSnapshot of(AbstractBoundContext<Map<String, Object>> context) {
+        if (!context.isActive()) {
+            return null;
+        }
+        BoundBeanStore beanStore = context.getBeanStore();
+        if (beanStore == null) {
+            return null;
+        }
+        Map<BeanIdentifier, ContextualInstance<?>> instances = new HashMap<BeanIdentifier, ContextualInstance<?>>();
+        for (BeanIdentifier id : beanStore) {
+            ContextualInstance<?> instance = beanStore.get(id);
+            if (instance != null) {
+                instances.put(id, instance);
+            }
+        }
+        return new BoundContextSnapshot(context, instances);
+    }
+
+    private final AbstractBoundContext<Map<String, Object>> context;
+    private final Map<BeanIdentifier, ContextualInstance<?>> instances;
+    private final AtomicBoolean released;
+
+    private BoundContextSnapshot(AbstractBoundContext<Map<String, Object>> context, Map<BeanIdentifier, ContextualInstance<?>> instances) {
+        this.context = context;
+        this.instances = Collections.unmodifiableMap(instances);
+        this.released = new AtomicBoolean(false);
+        context.retain(instances.values());
+    }
+
+    /**
+     * Associates a new storage containing the snapshot instances with the context and activates the context on the current thread.
+     *
+     * @return the storage or <code>null</code> if the context is already associated with a storage on the current thread
+     */
+    public Map<String, Object> activate() {
+        Map<String, Object> storage = new HashMap<String, Object>();
+        if (!context.associate(storage)) {
+            return null;
+        }
+        BoundBeanStore beanStore = context.getBeanStore();
+        for (Entry<BeanIdentifier, ContextualInstance<?>> entry : instances.entrySet()) {
+            beanStore.put(entry.getKey(), entry.getValue());
+        }
+        context.activate();
+        return storage;
+    }
+
+    /**
+     * Destroys the contextual instances created while the snapshot was active, deactivates the context and dissociates the given storage.
+     *
+     * @param storage the storage returned from {@link #activate()}
+     */
+    public void deactivate(Map<String, Object> storage) {
+        try {
+            BoundBeanStore beanStore = context.getBeanStore();
+            List<ContextualInstance<?>> created = new ArrayList<ContextualInstance<?>>();
+            for (BeanIdentifier id : beanStore) {
+                if (!instances.containsKey(id)) {
+                    created.add(beanStore.get(id));
+                }
+            }
+            for (ContextualInstance<?> instance : created) {
+                context.destroy(instance.getContextual());
+            }
+            context.deactivate();
+        } finally {
+            context.dissociate(storage);
+        }
+    }
+
+    /**
+     * Releases the shared contextual instances. If the original thread already destroyed the context, the instances no longer used by any snapshot are
+     * destroyed. Subsequent invocations have no effect.
+     */
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            context.release(instances.values());
+        }
+    }
+
+}
@@ -18,8 +18,10 @@ package org.jboss.weld.context;
 
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -65,6 +67,9 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
 
     private transient List<AroundConstructCallback<T>> aroundConstructCallbacks;
 
+    // guarded by dependentInstances
+    private transient Deque<Object> releasableDependentInstances;
+
     public CreationalContextImpl(Contextual<T> contextual) {
         this(contextual, null, Collections.synchronizedList(new ArrayList<ContextualInstance<?>>()), null);
     }
@@ -122,6 +127,7 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
     // should not be public
     public void release(Contextual<T> contextual, T instance) {
         synchronized (dependentInstances) {
+            releasableDependentInstances = null;
             for (ContextualInstance<?> dependentInstance : dependentInstances) {
                 // do not destroy contextual again, since it's just being destroyed
                 if (contextual == null || !(dependentInstance.getContextual().equals(contextual))) {
@@ -212,6 +218,15 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
                 ContextualInstance<?> contextualInstance = iterator.next();
                 if (contextualInstance.getInstance() == instance) {
                     iterator.remove();
+                    if (releasableDependentInstances != null) {
+                        // identity matters here
+                        for (Iterator<Object> releasable = releasableDependentInstances.iterator(); releasable.hasNext();) {
+                            if (releasable.next() == instance) {
+                                releasable.remove();
+                                break;
+                            }
+                        }
+                    }
                     destroy(contextualInstance);
                     return true;
                 }
@@ -220,6 +235,35 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, WeldCreat
         return false;
     }
 
+    /**
+     * Tracks a dependent instance which has just been obtained through {@link javax.enterprise.inject.Instance} and may be released automatically. If more
+     * than the given number of instances is tracked, the oldest one is destroyed. Instances which are not retained by this context (because there is
+     * nothing to do when destroying them) are not tracked.
+     *
+     * @param instance the dependent instance
+     * @param limit the maximum number of tracked instances
+     * @see org.jboss.weld.config.ConfigurationKey#INSTANCE_AUTO_RELEASE_DEPENDENT
+     */
+    public void trackReleasableDependentInstance(T instance, int limit) {
+        Object eldest = null;
+        synchronized (dependentInstances) {
+            // the dependent instance was added last by the dependent context if retained at all
+            if (dependentInstances.isEmpty() || dependentInstances.get(dependentInstances.size() - 1).getInstance() != instance) {
+                return;
+            }
+            if (releasableDependentInstances == null) {
+                releasableDependentInstances = new ArrayDeque<Object>();
+            }
+            releasableDependentInstances.addLast(instance);
+            if (releasableDependentInstances.size() > limit) {
+                eldest = releasableDependentInstances.pollFirst();
+            }
+        }
+        if (eldest != null) {
+            destroyDependentInstance(Reflections.<T>cast(eldest));
+        }
+    }
+
     /**
      * @return the {@link Contextual} for which this {@link CreationalContext} is created.
      */
@@ -94,11 +94,11 @@ public class SerializableContextualFactory {
                 this.serializable = null;
                 BeanIdentifier beanIdentifier = getId(contextual, contextualStore);
                 // The index may be null or not built yet
-                Integer idx = null;
+                int idx = -1;
                 if (beanIdentifierIndex != null && beanIdentifierIndex.isBuilt()) {
-                    idx = beanIdentifierIndex.getIndex(beanIdentifier);
+                    idx = beanIdentifierIndex.indexOf(beanIdentifier);
                 }
-                if (idx != null) {
+                if (idx >= 0) {
                     this.identifierIndex = idx;
                     this.identifier = null;
                 } else {
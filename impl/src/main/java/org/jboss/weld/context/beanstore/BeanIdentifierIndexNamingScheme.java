@@ -59,11 +59,15 @@ public abstract class BeanIdentifierIndexNamingScheme extends AbstractNamingSche
         if (index == null) {
             return getPrefix() + getDelimiter() + id.asString();
         }
-        Integer idx = index.getIndex(id);
-        if (idx == null) {
+        int idx = index.indexOf(id);
+        if (idx < 0) {
             return getPrefix() + getDelimiter() + FALLBACK_FLAG + id.asString();
         }
         return getPrefix() + getDelimiter() + idx;
     }
 
+    protected BeanIdentifierIndex getIndex() {
+        return index;
+    }
+
 }
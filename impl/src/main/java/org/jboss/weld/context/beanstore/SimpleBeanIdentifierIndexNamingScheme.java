@@ -17,11 +17,19 @@
  */
 package org.jboss.weld.context.beanstore;
 
+import java.util.Map;
+
 import org.jboss.weld.logging.ContextLogger;
 import org.jboss.weld.serialization.BeanIdentifierIndex;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.util.collections.ImmutableMap;
 
 /**
  * A simple naming scheme (with a solid prefix) which makes use of {@link BeanIdentifierIndex} if possible.
+ * <p>
+ * Since the prefix never changes, the prefixed attribute names of all the indexed identifiers are computed once the index is built. Prefixing and
+ * deprefixing an indexed identifier then does not allocate a new string.
+ * </p>
  *
  * @author Martin Kouba
  */
@@ -29,6 +37,8 @@ public class SimpleBeanIdentifierIndexNamingScheme extends BeanIdentifierIndexNa
 
     private final String prefix;
 
+    private volatile PrefixedIdentifiers prefixedIdentifiers;
+
     /**
      * @param prefix
      * @param delimiter
@@ -46,4 +56,62 @@ public class SimpleBeanIdentifierIndexNamingScheme extends BeanIdentifierIndexNa
         return prefix;
     }
 
+    @Override
+    public String prefix(BeanIdentifier id) {
+        PrefixedIdentifiers identifiers = getPrefixedIdentifiers();
+        if (identifiers != null) {
+            int idx = getIndex().indexOf(id);
+            if (idx >= 0) {
+                return identifiers.prefixedIds[idx];
+            }
+        }
+        return super.prefix(id);
+    }
+
+    @Override
+    public BeanIdentifier deprefix(String id) {
+        PrefixedIdentifiers identifiers = getPrefixedIdentifiers();
+        if (identifiers != null) {
+            BeanIdentifier identifier = identifiers.identifiers.get(id);
+            if (identifier != null) {
+                return identifier;
+            }
+        }
+        return super.deprefix(id);
+    }
+
+    private PrefixedIdentifiers getPrefixedIdentifiers() {
+        PrefixedIdentifiers identifiers = this.prefixedIdentifiers;
+        if (identifiers == null) {
+            BeanIdentifierIndex index = getIndex();
+            if (index == null || !index.isBuilt()) {
+                return null;
+            }
+            // The index can only be built once - concurrent initialization is harmless
+            identifiers = new PrefixedIdentifiers(index);
+            this.prefixedIdentifiers = identifiers;
+        }
+        return identifiers;
+    }
+
+    /**
+     * Prefixed attribute names indexed by {@link BeanIdentifierIndex} position and the reverse mapping.
+     */
+    private final class PrefixedIdentifiers {
+
+        private final String[] prefixedIds;
+
+        private final Map<String, BeanIdentifier> identifiers;
+
+        private PrefixedIdentifiers(BeanIdentifierIndex index) {
+            this.prefixedIds = new String[index.size()];
+            ImmutableMap.Builder<String, BeanIdentifier> builder = ImmutableMap.builder();
+            for (int i = 0; i < prefixedIds.length; i++) {
+                prefixedIds[i] = SimpleBeanIdentifierIndexNamingScheme.super.prefix(index.getIdentifier(i)).intern();
+                builder.put(prefixedIds[i], index.getIdentifier(i));
+            }
+            this.identifiers = builder.build();
+        }
+    }
+
 }
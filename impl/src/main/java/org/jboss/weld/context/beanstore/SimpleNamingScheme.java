@@ -17,16 +17,27 @@
 package org.jboss.weld.context.beanstore;
 
 import org.jboss.weld.logging.ContextLogger;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.util.cache.ComputingCache;
+import org.jboss.weld.util.cache.ComputingCacheBuilder;
 
 /**
  * A utility which can prefix/de-prefix a String based identifier
+ * <p>
+ * The prefixed identifiers are cached so that the same attribute name instance is reused for a given bean identifier. The cache is cleared if it
+ * grows over {@value #MAX_CACHED_PREFIXED_IDS} entries, e.g. if there are many custom contextuals.
+ * </p>
  *
  * @author Nicklas Karlsson
  */
 public class SimpleNamingScheme extends AbstractNamingScheme {
 
+    private static final long MAX_CACHED_PREFIXED_IDS = 10000L;
+
     private final String prefix;
 
+    private final ComputingCache<BeanIdentifier, String> prefixedIds;
+
     /**
      * Create a new Prefixer.
      *
@@ -40,6 +51,12 @@ public class SimpleNamingScheme extends AbstractNamingScheme {
             throw ContextLogger.LOG.delimiterInPrefix(getDelimiter(), prefix);
         }
         this.prefix = prefix;
+        this.prefixedIds = ComputingCacheBuilder.newBuilder().setMaxSize(MAX_CACHED_PREFIXED_IDS).build(super::prefix);
+    }
+
+    @Override
+    public String prefix(BeanIdentifier id) {
+        return prefixedIds.getValue(id);
     }
 
     @Override
@@ -40,6 +40,7 @@ import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.exceptions.UnsupportedOperationException;
 import org.jboss.weld.injection.producer.AbstractMemberProducer;
 import org.jboss.weld.injection.producer.BasicInjectionTarget;
+import org.jboss.weld.metrics.MetricsListener;
 import org.jboss.weld.serialization.spi.ContextualStore;
 
 /**
@@ -51,8 +52,15 @@ public class DependentContextImpl implements DependentContext {
 
     private final ContextualStore contextualStore;
 
+    private final MetricsListener metrics;
+
     public DependentContextImpl(ContextualStore contextualStore) {
+        this(contextualStore, null);
+    }
+
+    public DependentContextImpl(ContextualStore contextualStore, MetricsListener metrics) {
         this.contextualStore = contextualStore;
+        this.metrics = metrics;
     }
 
     /**
@@ -66,7 +74,14 @@ public class DependentContextImpl implements DependentContext {
             throw new ContextNotActiveException();
         }
         if (creationalContext != null) {
-            T instance = contextual.create(creationalContext);
+            T instance;
+            if (metrics == null) {
+                instance = contextual.create(creationalContext);
+            } else {
+                final long start = System.nanoTime();
+                instance = contextual.create(creationalContext);
+                metrics.instanceCreated(contextual, System.nanoTime() - start);
+            }
             if (creationalContext instanceof WeldCreationalContext<?>) {
                 addDependentInstance(instance, contextual, (WeldCreationalContext<T>) creationalContext);
             }
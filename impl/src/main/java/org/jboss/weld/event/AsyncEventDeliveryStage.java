@@ -31,6 +31,10 @@ public class AsyncEventDeliveryStage<T> extends ForwardingCompletionStage<T> {
         this.delegate = CompletableFuture.supplyAsync(supplier, executor);
     }
 
+    AsyncEventDeliveryStage(CompletionStage<T> delegate) {
+        this.delegate = delegate;
+    }
+
     @Override
     protected CompletionStage<T> delegate() {
         return delegate;
@@ -0,0 +1,236 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.event;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.logging.EventLogger;
+import org.jboss.weld.metrics.MetricsListener;
+
+/**
+ * Bounds the number of pending asynchronous observer notifications, i.e. notifications submitted to an executor but not finished yet. If the limit is
+ * reached, the notification is handled according to the configured {@link RejectionPolicy}.
+ *
+ * <p>
+ * The dispatcher also collects simple metrics - the current number of pending notifications, the number of rejected notifications and the total time the
+ * notifications spent waiting for an executor thread. The metrics are also reported to the {@link MetricsListener}, if installed.
+ * </p>
+ *
+ * <p>
+ * This service is only registered if {@link ConfigurationKey#ASYNC_OBSERVERS_MAX_PENDING_NOTIFICATIONS} is set to a positive value.
+ * </p>
+ *
+ * @see ObserverNotifier#notifyAsync(ResolvedObservers, Object, javax.enterprise.inject.spi.EventMetadata, Executor)
+ */
+public class BoundedAsyncEventDispatcher implements Service {
+
+    /**
+     * Determines what happens if the maximum number of pending notifications is reached.
+     */
+    public enum RejectionPolicy {
+        /**
+         * The observers are notified synchronously in the thread firing the event
+         */
+        CALLER_RUNS,
+        /**
+         * {@link RejectedExecutionException} is thrown to the thread firing the event
+         */
+        FAIL_FAST,
+        /**
+         * The notification is discarded, the returned {@link CompletionStage} is completed exceptionally with {@link RejectedExecutionException}
+         */
+        DROP
+    }
+
+    /**
+     * Creates a dispatcher if {@link ConfigurationKey#ASYNC_OBSERVERS_MAX_PENDING_NOTIFICATIONS} is positive.
+     *
+     * @param configuration the configuration the limit and the rejection policy are read from
+     * @param metrics the metrics listener, may be <code>null</code>
+     * @return a new dispatcher or <code>null</code> if the number of pending notifications is not bounded
+     */
+    public static BoundedAsyncEventDispatcher of(WeldConfiguration configuration, MetricsListener metrics) {
+        int maxPendingNotifications = configuration.getIntegerProperty(ConfigurationKey.ASYNC_OBSERVERS_MAX_PENDING_NOTIFICATIONS);
+        if (maxPendingNotifications <= 0) {
+            return null;
+        }
+        String policy = configuration.getStringProperty(ConfigurationKey.ASYNC_OBSERVERS_REJECTION_POLICY);
+        try {
+            return new BoundedAsyncEventDispatcher(maxPendingNotifications, RejectionPolicy.valueOf(policy), metrics);
+        } catch (IllegalArgumentException e) {
+            throw EventLogger.LOG.invalidAsyncObserversRejectionPolicy(policy);
+        }
+    }
+
+    private final int maxPendingNotifications;
+    private final RejectionPolicy rejectionPolicy;
+    private final Semaphore permits;
+
+    private final LongAdder dispatched;
+    private final LongAdder rejected;
+    private final LongAdder queuedTime;
+
+    // may be null
+    private final MetricsListener metrics;
+
+    public BoundedAsyncEventDispatcher(int maxPendingNotifications, RejectionPolicy rejectionPolicy) {
+        this(maxPendingNotifications, rejectionPolicy, null);
+    }
+
+    public BoundedAsyncEventDispatcher(int maxPendingNotifications, RejectionPolicy rejectionPolicy, MetricsListener metrics) {
+        this.metrics = metrics;
+        this.maxPendingNotifications = maxPendingNotifications;
+        this.rejectionPolicy = rejectionPolicy;
+        this.permits = new Semaphore(maxPendingNotifications);
+        this.dispatched = new LongAdder();
+        this.rejected = new LongAdder();
+        this.queuedTime = new LongAdder();
+    }
+
+    /**
+     * Submits the given notification to the given executor if the maximum number of pending notifications is not reached. Otherwise the rejection policy is
+     * applied.
+     *
+     * @param event the event object
+     * @param notification the notification
+     * @param executor the executor
+     * @return the completion stage
+     */
+    <T> CompletionStage<T> dispatch(Object event, Supplier<T> notification, Executor executor) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            if (metrics != null) {
+                metrics.asyncNotificationRejected();
+            }
+            switch (rejectionPolicy) {
+                case CALLER_RUNS:
+                    try {
+                        return CompletableFuture.completedFuture(notification.get());
+                    } catch (Throwable e) {
+                        CompletableFuture<T> failed = new CompletableFuture<T>();
+                        failed.completeExceptionally(new CompletionException(e));
+                        return failed;
+                    }
+                case FAIL_FAST:
+                    throw EventLogger.LOG.asyncNotificationRejected(event, maxPendingNotifications);
+                default:
+                    EventLogger.LOG.asyncNotificationDropped(event, maxPendingNotifications);
+                    CompletableFuture<T> dropped = new CompletableFuture<T>();
+                    dropped.completeExceptionally(EventLogger.LOG.asyncNotificationRejected(event, maxPendingNotifications));
+                    return dropped;
+            }
+        }
+        final long submitted = System.nanoTime();
+        final CompletableFuture<T> future;
+        if (metrics != null) {
+            // report before submitting so that the notification cannot finish before it is reported as dispatched
+            metrics.asyncNotificationDispatched();
+        }
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                final long queued = System.nanoTime() - submitted;
+                queuedTime.add(queued);
+                try {
+                    return notification.get();
+                } finally {
+                    permits.release();
+                    if (metrics != null) {
+                        metrics.asyncNotificationFinished(queued);
+                    }
+                }
+            }, executor);
+        } catch (RuntimeException e) {
+            // the executor rejected the task
+            permits.release();
+            if (metrics != null) {
+                metrics.asyncNotificationFinished(0L);
+            }
+            throw e;
+        }
+        dispatched.increment();
+        return future;
+    }
+
+    /**
+     * Returns the limit of pending notifications the rejection policy is applied at.
+     *
+     * @return the maximum number of pending notifications
+     */
+    public int getMaxPendingNotifications() {
+        return maxPendingNotifications;
+    }
+
+    /**
+     * Returns the policy applied to notifications which exceed the limit.
+     *
+     * @return the rejection policy
+     */
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    /**
+     * Returns a snapshot of the notifications in flight, the value may change concurrently.
+     *
+     * @return the current number of notifications submitted to an executor but not finished yet
+     */
+    public int getPendingNotifications() {
+        return maxPendingNotifications - permits.availablePermits();
+    }
+
+    /**
+     * Returns the number of notifications dispatched since the dispatcher was created.
+     *
+     * @return the number of notifications submitted to an executor
+     */
+    public long getDispatchedNotifications() {
+        return dispatched.sum();
+    }
+
+    /**
+     * Returns the number of notifications rejected since the dispatcher was created.
+     *
+     * @return the number of notifications the rejection policy was applied to
+     */
+    public long getRejectedNotifications() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the accumulated queueing time, divide it by {@link #getDispatchedNotifications()} to get the average.
+     *
+     * @return the total time in nanoseconds the dispatched notifications spent waiting for an executor thread
+     */
+    public long getTotalQueuedTime() {
+        return queuedTime.sum();
+    }
+
+    @Override
+    public void cleanup() {
+    }
+
+}
@@ -29,6 +29,6 @@ public class DefaultObserverNotifierFactory implements ObserverNotifierFactory {
 
     @Override
     public ObserverNotifier create(String contextId, TypeSafeObserverResolver resolver, ServiceRegistry services, boolean strict) {
-        return new ObserverNotifier(resolver, services, strict);
+        return new ObserverNotifier(contextId, resolver, services, strict);
     }
 }
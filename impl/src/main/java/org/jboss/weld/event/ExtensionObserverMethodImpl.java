@@ -34,6 +34,8 @@ import org.jboss.weld.Container;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMethod;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedParameter;
 import org.jboss.weld.bean.RIBean;
+import org.jboss.weld.bootstrap.BootstrapProfiler;
+import org.jboss.weld.bootstrap.BootstrapProfiler.Measurement;
 import org.jboss.weld.bootstrap.events.NotificationListener;
 import org.jboss.weld.injection.MethodInjectionPoint;
 import org.jboss.weld.injection.InjectionPointFactory;
@@ -54,11 +56,13 @@ public class ExtensionObserverMethodImpl<T, X> extends ObserverMethodImpl<T, X>
     private final Container containerLifecycleEventDeliveryLock;
     private final Set<Class<? extends Annotation>> requiredTypeAnnotations;
     private volatile Set<Class<? extends Annotation>> requiredScopeTypeAnnotations;
+    private final BootstrapProfiler profiler;
 
     protected ExtensionObserverMethodImpl(EnhancedAnnotatedMethod<T, ? super X> observer, RIBean<X> declaringBean, BeanManagerImpl manager) {
         super(observer, declaringBean, manager);
         this.containerLifecycleEventDeliveryLock = Container.instance(manager);
         this.requiredTypeAnnotations = initRequiredTypeAnnotations(observer);
+        this.profiler = manager.getServices().get(BootstrapProfiler.class);
     }
 
     protected Set<Class<? extends Annotation>> initRequiredTypeAnnotations(EnhancedAnnotatedMethod<T, ? super X> observer) {
@@ -117,7 +121,17 @@ public class ExtensionObserverMethodImpl<T, X> extends ObserverMethodImpl<T, X>
     @Override
     protected void sendEvent(T event, Object receiver, CreationalContext<?> creationalContext) {
         synchronized (containerLifecycleEventDeliveryLock) {
-            super.sendEvent(event, receiver, creationalContext);
+            if (profiler != null && profiler.isEnabled()) {
+                final Measurement measurement = profiler.startExtensionObserver(getBeanClass(), getMethod().getAnnotated().getJavaMember().getName() + "("
+                        + Reflections.getRawType(getObservedType()).getSimpleName() + ")");
+                try {
+                    super.sendEvent(event, receiver, creationalContext);
+                } finally {
+                    measurement.stop();
+                }
+            } else {
+                super.sendEvent(event, receiver, creationalContext);
+            }
         }
     }
 
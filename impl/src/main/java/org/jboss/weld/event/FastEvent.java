@@ -20,10 +20,10 @@ import java.lang.annotation.Annotation;
 
 import javax.enterprise.event.Event;
 import javax.enterprise.inject.spi.EventMetadata;
-import javax.enterprise.inject.spi.ObserverMethod;
 
 import org.jboss.weld.injection.ThreadLocalStack.ThreadLocalStackReference;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metrics.MetricsListener;
 
 /**
  * An optimized internal facility for dispatching events.
@@ -73,24 +73,58 @@ public class FastEvent<T> {
      */
     public static <T> FastEvent<T> of(Class<T> type, BeanManagerImpl manager, ObserverNotifier notifier, Annotation... qualifiers) {
         ResolvedObservers<T> resolvedObserverMethods = notifier.<T> resolveObserverMethods(type, qualifiers);
+        if (resolvedObserverMethods.getImmediateObservers().isEmpty()) {
+            return new EmptyFastEvent<T>(resolvedObserverMethods);
+        }
+        MetricsListener metrics = manager.getServices().get(MetricsListener.class);
         if (resolvedObserverMethods.isMetadataRequired()) {
             EventMetadata metadata = new EventMetadataImpl(type, null, qualifiers);
             CurrentEventMetadata metadataService = manager.getServices().get(CurrentEventMetadata.class);
-            return new FastEventWithMetadataPropagation<T>(resolvedObserverMethods, metadata, metadataService);
+            return new FastEventWithMetadataPropagation<T>(resolvedObserverMethods, metrics, metadata, metadataService);
         } else {
-            return new FastEvent<T>(resolvedObserverMethods);
+            return new FastEvent<T>(resolvedObserverMethods, metrics);
         }
     }
 
     private final ResolvedObservers<T> resolvedObserverMethods;
 
-    private FastEvent(ResolvedObservers<T> resolvedObserverMethods) {
+    // null if no metrics are collected
+    private final MetricsListener metrics;
+
+    private FastEvent(ResolvedObservers<T> resolvedObserverMethods, MetricsListener metrics) {
         this.resolvedObserverMethods = resolvedObserverMethods;
+        this.metrics = metrics;
     }
 
     public void fire(T event) {
-        for (ObserverMethod<? super T> observer : resolvedObserverMethods.getImmediateObservers()) {
-            observer.notify(event);
+        resolvedObserverMethods.getImmediateDispatchPlan(metrics).notify(event);
+    }
+
+    /**
+     *
+     * @return <code>true</code> if there is no observer method to be notified when the event is fired, <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return false;
+    }
+
+    /**
+     * No observer method was resolved. Firing the event is a no-op.
+     */
+    private static class EmptyFastEvent<T> extends FastEvent<T> {
+
+        private EmptyFastEvent(ResolvedObservers<T> resolvedObserverMethods) {
+            super(resolvedObserverMethods, null);
+        }
+
+        @Override
+        public void fire(T event) {
+            // noop
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return true;
         }
     }
 
@@ -99,9 +133,9 @@ public class FastEvent<T> {
         private final EventMetadata metadata;
         private final CurrentEventMetadata metadataService;
 
-        private FastEventWithMetadataPropagation(ResolvedObservers<T> resolvedObserverMethods, EventMetadata metadata,
+        private FastEventWithMetadataPropagation(ResolvedObservers<T> resolvedObserverMethods, MetricsListener metrics, EventMetadata metadata,
                 CurrentEventMetadata metadataService) {
-            super(resolvedObserverMethods);
+            super(resolvedObserverMethods, metrics);
             this.metadata = metadata;
             this.metadataService = metadataService;
         }
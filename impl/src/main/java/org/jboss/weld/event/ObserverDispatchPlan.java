@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.event;
+
+import static org.jboss.weld.util.reflection.Reflections.cast;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.weld.metrics.MetricsListener;
+import org.jboss.weld.util.collections.ImmutableList;
+
+/**
+ * A sequence of notification steps compiled for a list of resolved observer methods. The notification order is preserved, however:
+ * <ul>
+ * <li>consecutive observer methods declared on the same bean share the receiver which is therefore only looked up once per notification (see
+ * {@link ObserverMethodImpl#isReceiverShareable()}),</li>
+ * <li>static observer methods are invoked directly without any receiver lookup.</li>
+ * </ul>
+ * If a {@link MetricsListener} is installed, the receivers are not shared so that the notification time of every observer method can be reported.
+ *
+ * @param <T> the event type
+ * @see ResolvedObservers
+ */
+final class ObserverDispatchPlan<T> {
+
+    private static final ObserverDispatchPlan<Object> EMPTY = new ObserverDispatchPlan<>(ImmutableList.of(), null);
+
+    /**
+     *
+     * @param observers the resolved observer methods
+     * @param metrics the metrics listener, may be <code>null</code>
+     * @return the dispatch plan for the given observer methods
+     */
+    static <T> ObserverDispatchPlan<T> of(List<ObserverMethod<? super T>> observers, MetricsListener metrics) {
+        if (observers.isEmpty()) {
+            return cast(EMPTY);
+        }
+        if (metrics != null) {
+            List<Consumer<T>> steps = new ArrayList<>(observers.size());
+            for (ObserverMethod<? super T> observer : observers) {
+                Consumer<T> step = createStep(observer);
+                steps.add((event) -> {
+                    final long start = System.nanoTime();
+                    try {
+                        step.accept(event);
+                    } finally {
+                        metrics.observerNotified(observer, System.nanoTime() - start);
+                    }
+                });
+            }
+            return new ObserverDispatchPlan<>(ImmutableList.copyOf(steps), metrics);
+        }
+        List<Consumer<T>> steps = new ArrayList<>(observers.size());
+        int i = 0;
+        while (i < observers.size()) {
+            ObserverMethod<? super T> observer = observers.get(i);
+            int groupEnd = i + 1;
+            if (observer instanceof ObserverMethodImpl && ((ObserverMethodImpl<?, ?>) observer).isReceiverShareable()) {
+                while (groupEnd < observers.size() && isSharingReceiver((ObserverMethodImpl<?, ?>) observer, observers.get(groupEnd))) {
+                    groupEnd++;
+                }
+            }
+            if (groupEnd - i > 1) {
+                ObserverMethodImpl<T, ?> first = cast(observer);
+                List<ObserverMethodImpl<T, ?>> group = cast(ImmutableList.copyOf(observers.subList(i, groupEnd)));
+                steps.add((event) -> first.sendEvent(event, group));
+            } else {
+                steps.add(createStep(observer));
+            }
+            i = groupEnd;
+        }
+        return new ObserverDispatchPlan<>(ImmutableList.copyOf(steps), null);
+    }
+
+    private static <T> Consumer<T> createStep(ObserverMethod<? super T> observer) {
+        if (observer.getClass() == ObserverMethodImpl.class && ((ObserverMethodImpl<?, ?>) observer).isStatic()) {
+            ObserverMethodImpl<T, ?> staticObserver = cast(observer);
+            return (event) -> staticObserver.sendEvent(event, null, null);
+        }
+        return observer::notify;
+    }
+
+    private static boolean isSharingReceiver(ObserverMethodImpl<?, ?> first, ObserverMethod<?> observer) {
+        return observer instanceof ObserverMethodImpl && ((ObserverMethodImpl<?, ?>) observer).isReceiverShareable()
+                && first.getDeclaringBean().equals(((ObserverMethodImpl<?, ?>) observer).getDeclaringBean());
+    }
+
+    private final List<Consumer<T>> steps;
+
+    private final MetricsListener metrics;
+
+    private ObserverDispatchPlan(List<Consumer<T>> steps, MetricsListener metrics) {
+        this.steps = steps;
+        this.metrics = metrics;
+    }
+
+    MetricsListener getMetrics() {
+        return metrics;
+    }
+
+    boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    /**
+     * Delivers the given event object to all the observer methods.
+     *
+     * @param event the event object
+     */
+    void notify(T event) {
+        for (int i = 0; i < steps.size(); i++) {
+            steps.get(i).accept(event);
+        }
+    }
+}
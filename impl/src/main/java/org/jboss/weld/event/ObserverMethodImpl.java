@@ -298,6 +298,33 @@ public class ObserverMethodImpl<T, X> implements ExperimentalObserverMethod<T> {
         }
     }
 
+    /**
+     * Notifies the given observer methods, all of which must be declared on the same bean as this observer method and share its receiver (see
+     * {@link #isReceiverShareable()}). The receiver is obtained only once.
+     *
+     * @param event The event to notify observers with
+     * @param observers The observer methods to notify, in order
+     */
+    void sendEvent(final T event, List<ObserverMethodImpl<T, ?>> observers) {
+        CreationalContext<X> creationalContext = null;
+        try {
+            Object receiver = getReceiverIfExists(null);
+            if (receiver == null) {
+                creationalContext = beanManager.createCreationalContext(declaringBean);
+                receiver = getReceiverIfExists(creationalContext);
+            }
+            if (receiver != null) {
+                for (ObserverMethodImpl<T, ?> observer : observers) {
+                    observer.sendEvent(event, receiver, creationalContext);
+                }
+            }
+        } finally {
+            if (creationalContext != null) {
+                creationalContext.release();
+            }
+        }
+    }
+
     /**
      * Note that {@link CreationalContext#release()} is not invoked within this method.
      *
@@ -380,4 +407,18 @@ public class ObserverMethodImpl<T, X> implements ExperimentalObserverMethod<T> {
     public boolean isEventMetadataRequired() {
         return eventMetadataRequired;
     }
+
+    boolean isStatic() {
+        return isStatic;
+    }
+
+    /**
+     * A receiver may be shared with other observer methods declared on the same bean within a single notification unless the bean is {@link Dependent} (a new
+     * instance is created for each notification), the observer is conditional or a subclass customizes the notification.
+     *
+     * @return <code>true</code> if the receiver obtained for this observer method may be reused for other observer methods of the declaring bean
+     */
+    boolean isReceiverShareable() {
+        return getClass() == ObserverMethodImpl.class && !isStatic && reception == Reception.ALWAYS && !declaringBean.isDependent();
+    }
 }
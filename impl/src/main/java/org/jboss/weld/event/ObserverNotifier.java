@@ -20,27 +20,41 @@ import static org.jboss.weld.util.reflection.Reflections.cast;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.enterprise.event.TransactionPhase;
 import javax.enterprise.inject.spi.EventMetadata;
 import javax.enterprise.inject.spi.ObserverMethod;
 
+import org.jboss.weld.Container;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.context.AbstractBoundContext;
+import org.jboss.weld.context.BoundContextSnapshot;
+import org.jboss.weld.context.bound.BoundLiteral;
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.jboss.weld.context.bound.BoundSessionContext;
 import org.jboss.weld.experimental.ExperimentalEvent;
 import org.jboss.weld.injection.ThreadLocalStack.ThreadLocalStackReference;
 import org.jboss.weld.logging.UtilLogger;
 import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.metrics.MetricsListener;
 import org.jboss.weld.resolution.QualifierInstance;
 import org.jboss.weld.resolution.Resolvable;
 import org.jboss.weld.resolution.ResolvableBuilder;
 import org.jboss.weld.resolution.TypeSafeObserverResolver;
 import org.jboss.weld.resources.SharedObjectCache;
+import org.jboss.weld.util.LazyValueHolder;
 import org.jboss.weld.util.Observers;
 import org.jboss.weld.util.Types;
 import org.jboss.weld.util.cache.ComputingCache;
@@ -67,8 +81,25 @@ public class ObserverNotifier {
     protected final CurrentEventMetadata currentEventMetadata;
     private final ComputingCache<Type, RuntimeException> eventTypeCheckCache;
     private final Executor asyncEventExecutor;
+    // bound contexts propagated to asynchronous observers, empty if the propagation is not enabled
+    private final LazyValueHolder<List<AbstractBoundContext<Map<String, Object>>>> propagatedContexts;
+    // null if the number of pending asynchronous notifications is not bounded
+    private final BoundedAsyncEventDispatcher asyncEventDispatcher;
+    // null if no metrics are collected
+    private final MetricsListener metrics;
 
+    /**
+     * Bound contexts are never propagated to asynchronous observers notified by a notifier created with this constructor.
+     *
+     * @param resolver
+     * @param services
+     * @param strict
+     */
     protected ObserverNotifier(TypeSafeObserverResolver resolver, ServiceRegistry services, boolean strict) {
+        this(null, resolver, services, strict);
+    }
+
+    protected ObserverNotifier(String contextId, TypeSafeObserverResolver resolver, ServiceRegistry services, boolean strict) {
         this.resolver = resolver;
         this.sharedObjectCache = services.get(SharedObjectCache.class);
         this.strict = strict;
@@ -80,6 +111,29 @@ public class ObserverNotifier {
         }
         // fall back to FJP.commonPool() if ExecutorServices are not installed
         this.asyncEventExecutor = services.getOptional(ExecutorServices.class).map((e) -> e.getTaskExecutor()).orElse(ForkJoinPool.commonPool());
+        this.asyncEventDispatcher = services.get(BoundedAsyncEventDispatcher.class);
+        this.metrics = services.get(MetricsListener.class);
+        WeldConfiguration configuration = services.get(WeldConfiguration.class);
+        final boolean propagateRequestContext = configuration.getBooleanProperty(ConfigurationKey.ASYNC_OBSERVERS_PROPAGATE_REQUEST_CONTEXT);
+        final boolean propagateSessionContext = configuration.getBooleanProperty(ConfigurationKey.ASYNC_OBSERVERS_PROPAGATE_SESSION_CONTEXT);
+        // the contexts are not available when the notifier is created
+        this.propagatedContexts = LazyValueHolder.forSupplier(() -> {
+            if (contextId == null || (!propagateRequestContext && !propagateSessionContext)) {
+                return Collections.emptyList();
+            }
+            List<AbstractBoundContext<Map<String, Object>>> contexts = new ArrayList<>(2);
+            if (propagateRequestContext) {
+                contexts.add(getBoundContext(contextId, BoundRequestContext.class));
+            }
+            if (propagateSessionContext) {
+                contexts.add(getBoundContext(contextId, BoundSessionContext.class));
+            }
+            return contexts;
+        });
+    }
+
+    private static AbstractBoundContext<Map<String, Object>> getBoundContext(String contextId, Class<?> contextType) {
+        return cast(Container.instance(contextId).deploymentManager().instance().select(contextType, BoundLiteral.INSTANCE).get());
     }
 
     /**
@@ -249,10 +303,22 @@ public class ObserverNotifier {
         if (!observers.isMetadataRequired()) {
             metadata = null;
         }
-        notifySyncObservers(observers.getImmediateObservers(), event, metadata);
+        notifySyncObservers(observers.getImmediateDispatchPlan(metrics), event, metadata);
         notifyTransactionObservers(observers.getTransactionObservers(), event, metadata);
     }
 
+    private <T> void notifySyncObservers(ObserverDispatchPlan<T> plan, T event, EventMetadata metadata) {
+        if (plan.isEmpty()) {
+            return;
+        }
+        final ThreadLocalStackReference<EventMetadata> stack = currentEventMetadata.pushIfNotNull(metadata);
+        try {
+            plan.notify(event);
+        } finally {
+            stack.pop();
+        }
+    }
+
 
     protected <T> void notifySyncObservers(List<ObserverMethod<? super T>> observers, T event, EventMetadata metadata) {
         if (observers.isEmpty()) {
@@ -260,8 +326,19 @@ public class ObserverNotifier {
         }
         final ThreadLocalStackReference<EventMetadata> stack = currentEventMetadata.pushIfNotNull(metadata);
         try {
-            for (ObserverMethod<? super T> observer : observers) {
-                observer.notify(event);
+            if (metrics == null) {
+                for (ObserverMethod<? super T> observer : observers) {
+                    observer.notify(event);
+                }
+            } else {
+                for (ObserverMethod<? super T> observer : observers) {
+                    final long start = System.nanoTime();
+                    try {
+                        observer.notify(event);
+                    } finally {
+                        metrics.observerNotified(observer, System.nanoTime() - start);
+                    }
+                }
             }
         } finally {
             stack.pop();
@@ -281,6 +358,8 @@ public class ObserverNotifier {
      *
      * If an executor is provided then observer methods are notified using this executor. Otherwise, Weld's task executor is used.
      *
+     * If enabled, the bound request and session contexts active on the current thread are propagated to the observer methods.
+     *
      * @param observers the given observer methods
      * @param event the given event object
      * @param metadata event metadata
@@ -298,9 +377,76 @@ public class ObserverNotifier {
         if (executor == null) {
             executor = asyncEventExecutor;
         }
-        return new AsyncEventDeliveryStage<>(() -> {
-            notifySyncObservers(observers, event, metadata);
-            return event;
-        }, executor);
+        final List<BoundContextSnapshot> snapshots = takeContextSnapshots();
+        if (snapshots.isEmpty()) {
+            return dispatchAsync(event, () -> {
+                notifySyncObservers(observers, event, metadata);
+                return event;
+            }, executor);
+        }
+        final CompletionStage<U> stage;
+        try {
+            stage = dispatchAsync(event, () -> {
+                List<Map<String, Object>> storages = new ArrayList<>(snapshots.size());
+                try {
+                    for (BoundContextSnapshot snapshot : snapshots) {
+                        storages.add(snapshot.activate());
+                    }
+                    notifySyncObservers(observers, event, metadata);
+                } finally {
+                    try {
+                        for (int i = storages.size() - 1; i >= 0; i--) {
+                            Map<String, Object> storage = storages.get(i);
+                            if (storage != null) {
+                                snapshots.get(i).deactivate(storage);
+                            }
+                        }
+                    } finally {
+                        releaseContextSnapshots(snapshots);
+                    }
+                }
+                return event;
+            }, executor);
+        } catch (RuntimeException e) {
+            // The notification was not scheduled
+            releaseContextSnapshots(snapshots);
+            throw e;
+        }
+        // The notification might have been discarded without running
+        stage.whenComplete((result, failure) -> releaseContextSnapshots(snapshots));
+        return stage;
+    }
+
+    private static void releaseContextSnapshots(List<BoundContextSnapshot> snapshots) {
+        for (BoundContextSnapshot snapshot : snapshots) {
+            snapshot.release();
+        }
+    }
+
+    private <U> CompletionStage<U> dispatchAsync(U event, Supplier<U> notification, Executor executor) {
+        if (asyncEventDispatcher == null) {
+            return new AsyncEventDeliveryStage<>(notification, executor);
+        }
+        return new AsyncEventDeliveryStage<>(asyncEventDispatcher.dispatch(event, notification, executor));
+    }
+
+    /**
+     * Takes the snapshots of the bound contexts which should be propagated to asynchronous observers and are active on the current thread.
+     *
+     * @return the list of snapshots
+     */
+    private List<BoundContextSnapshot> takeContextSnapshots() {
+        List<AbstractBoundContext<Map<String, Object>>> contexts = propagatedContexts.get();
+        if (contexts.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<BoundContextSnapshot> snapshots = new ArrayList<>(contexts.size());
+        for (AbstractBoundContext<Map<String, Object>> context : contexts) {
+            BoundContextSnapshot snapshot = BoundContextSnapshot.of(context);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+        return snapshots;
     }
 }
@@ -26,6 +26,7 @@ import javax.enterprise.event.TransactionPhase;
 import javax.enterprise.inject.spi.EventMetadata;
 import javax.enterprise.inject.spi.ObserverMethod;
 
+import org.jboss.weld.metrics.MetricsListener;
 import org.jboss.weld.util.Observers;
 import org.jboss.weld.util.collections.ImmutableList;
 
@@ -68,6 +69,8 @@ public class ResolvedObservers<T> {
     private final List<ObserverMethod<? super T>> immediateObservers;
     private final List<ObserverMethod<? super T>> transactionObservers;
     private final boolean metadataRequired;
+    // built lazily, most resolutions are never notified synchronously
+    private volatile ObserverDispatchPlan<T> immediateDispatchPlan;
 
     private ResolvedObservers(List<ObserverMethod<? super T>> immediateObservers, List<ObserverMethod<? super T>> transactionObservers, boolean metadataRequired) {
         this.immediateObservers = immediateObservers;
@@ -79,6 +82,25 @@ public class ResolvedObservers<T> {
         return immediateObservers;
     }
 
+    /**
+     * The dispatch plan is compiled for the resolved {@link TransactionPhase#IN_PROGRESS} observers when it is first needed. Resolved observers are cached by
+     * the resolver, therefore the plan is compiled once per cached resolution. Concurrent callers may compile the plan more than once, which is harmless.
+     *
+     * @param metrics the metrics listener of the container, may be <code>null</code>
+     * @return the dispatch plan
+     */
+    ObserverDispatchPlan<T> getImmediateDispatchPlan(MetricsListener metrics) {
+        ObserverDispatchPlan<T> plan = immediateDispatchPlan;
+        if (plan == null) {
+            plan = ObserverDispatchPlan.of(immediateObservers, metrics);
+            immediateDispatchPlan = plan;
+        } else if (plan.getMetrics() != metrics && !plan.isEmpty()) {
+            // not expected, all the notifiers of a container share the listener
+            plan = ObserverDispatchPlan.of(immediateObservers, metrics);
+        }
+        return plan;
+    }
+
     List<ObserverMethod<? super T>> getTransactionObservers() {
         return transactionObservers;
     }
@@ -20,6 +20,7 @@ import static org.jboss.weld.injection.Exceptions.rethrowException;
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
@@ -33,6 +34,7 @@ import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMethod;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedParameter;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.collections.Arrays2;
+import org.jboss.weld.util.reflection.Invokers;
 
 /**
  * {@link MethodInjectionPoint} that delegates to a static method.
@@ -44,10 +46,12 @@ import org.jboss.weld.util.collections.Arrays2;
  */
 class StaticMethodInjectionPoint<T, X> extends MethodInjectionPoint<T, X> {
 
-    // TODO transient reference mask instead of looking up annotations
     private final int specialInjectionPointIndex;
+    private final boolean[] transientReferenceParameters;
     private final AnnotatedMethod<X> annotatedMethod;
     final Method accessibleMethod;
+    // null if the method cannot be unreflected, reflection is used then
+    final MethodHandle invoker;
 
     StaticMethodInjectionPoint(EnhancedAnnotatedMethod<T, X> enhancedMethod, Bean<?> declaringBean, Class<?> declaringComponentClass,
             Class<? extends Annotation> specialParameterMarker, InjectionPointFactory factory, BeanManagerImpl manager) {
@@ -55,6 +59,17 @@ class StaticMethodInjectionPoint<T, X> extends MethodInjectionPoint<T, X> {
         this.accessibleMethod = SecurityActions.getAccessibleCopyOfMethod(enhancedMethod.getJavaMember());
         this.annotatedMethod = enhancedMethod.slim();
         this.specialInjectionPointIndex = initSpecialInjectionPointIndex(enhancedMethod, specialParameterMarker);
+        this.transientReferenceParameters = hasTransientReferenceParameter ? initTransientReferenceParameters(enhancedMethod) : null;
+        this.invoker = Invokers.forMethod(accessibleMethod);
+    }
+
+    private static boolean[] initTransientReferenceParameters(EnhancedAnnotatedMethod<?, ?> enhancedMethod) {
+        List<? extends EnhancedAnnotatedParameter<?, ?>> parameters = enhancedMethod.getEnhancedParameters();
+        boolean[] transientReferenceParameters = new boolean[parameters.size()];
+        for (EnhancedAnnotatedParameter<?, ?> parameter : parameters) {
+            transientReferenceParameters[parameter.getPosition()] = parameter.isAnnotationPresent(TransientReference.class);
+        }
+        return transientReferenceParameters;
     }
 
     private static <X> int initSpecialInjectionPointIndex(EnhancedAnnotatedMethod<?, X> enhancedMethod, Class<? extends Annotation> specialParameterMarker) {
@@ -84,6 +99,15 @@ class StaticMethodInjectionPoint<T, X> extends MethodInjectionPoint<T, X> {
     }
 
     public T invoke(Object receiver, Object[] parameters, Class<? extends RuntimeException> exceptionTypeToThrow) {
+        MethodHandle invoker = getInvoker(receiver);
+        if (invoker != null) {
+            try {
+                return cast((Object) invoker.invokeExact(receiver, parameters));
+            } catch (Throwable e) {
+                rethrowException(e, exceptionTypeToThrow);
+            }
+            return null;
+        }
         try {
             return cast(getMethod(receiver).invoke(receiver, parameters));
         } catch (IllegalArgumentException e) {
@@ -121,7 +145,7 @@ class StaticMethodInjectionPoint<T, X> extends MethodInjectionPoint<T, X> {
             ParameterInjectionPoint<?, ?> param = parameters.get(i);
             if (i == specialInjectionPointIndex) {
                 parameterValues[i] = specialVal;
-            } else if (hasTransientReferenceParameter && param.getAnnotated().isAnnotationPresent(TransientReference.class)) {
+            } else if (hasTransientReferenceParameter && transientReferenceParameters[i]) {
                 parameterValues[i] = param.getValueToInject(manager, transientReferenceContext);
             } else {
                 parameterValues[i] = param.getValueToInject(manager, ctx);
@@ -134,6 +158,14 @@ class StaticMethodInjectionPoint<T, X> extends MethodInjectionPoint<T, X> {
         return accessibleMethod;
     }
 
+    /**
+     * Returns the {@link MethodHandle} to be used for the given receiver or null if the method should be invoked reflectively using
+     * {@link #getMethod(Object)}.
+     */
+    protected MethodHandle getInvoker(Object receiver) {
+        return invoker;
+    }
+
     @Override
     public AnnotatedMethod<X> getAnnotated() {
         return annotatedMethod;
@@ -20,6 +20,7 @@ import static org.jboss.weld.util.reflection.Reflections.isPackagePrivate;
 import static org.jboss.weld.util.reflection.Reflections.isPrivate;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.Map;
@@ -41,12 +42,23 @@ import org.jboss.weld.util.collections.ImmutableMap;
  */
 class VirtualMethodInjectionPoint<T, X> extends StaticMethodInjectionPoint<T, X> {
 
+    private final Class<?> declaringClass;
     private volatile Map<Class<?>, Method> methods;
 
     VirtualMethodInjectionPoint(EnhancedAnnotatedMethod<T, X> enhancedMethod, Bean<?> declaringBean, Class<?> declaringComponentClass,
             Class<? extends Annotation> specialParameterMarker, InjectionPointFactory factory, BeanManagerImpl manager) {
         super(enhancedMethod, declaringBean, declaringComponentClass, specialParameterMarker, factory, manager);
-        this.methods = Collections.<Class<?>, Method>singletonMap(getAnnotated().getJavaMember().getDeclaringClass(), accessibleMethod);
+        this.declaringClass = getAnnotated().getJavaMember().getDeclaringClass();
+        this.methods = Collections.<Class<?>, Method>singletonMap(declaringClass, accessibleMethod);
+    }
+
+    @Override
+    protected MethodHandle getInvoker(Object receiver) {
+        // the handle dispatches virtually, the per-class method lookup is only needed for receivers which are not instances of the declaring class (e.g. EJB proxies)
+        if (invoker != null && declaringClass.isInstance(receiver)) {
+            return invoker;
+        }
+        return null;
     }
 
     @Override
@@ -25,6 +25,7 @@ import javax.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.weld.bean.proxy.CombinedInterceptorAndDecoratorStackMethodHandler;
 import org.jboss.weld.bean.proxy.DecorationHelper;
+import org.jboss.weld.bean.proxy.DecoratorChainPlan;
 import org.jboss.weld.bean.proxy.ProxyFactory;
 import org.jboss.weld.bean.proxy.ProxyObject;
 import org.jboss.weld.bean.proxy.TargetBeanInstance;
@@ -47,11 +48,13 @@ public abstract class AbstractDecoratorApplyingInstantiator<T> extends Forwardin
     private final Bean<T> bean;
     private final Class<T> proxyClass;
     private final List<Decorator<?>> decorators;
+    private final DecoratorChainPlan decoratorChainPlan;
 
     public AbstractDecoratorApplyingInstantiator(String contextId, Instantiator<T> delegate, Bean<T> bean, List<Decorator<?>> decorators, Class<? extends T> implementationClass) {
         super(delegate);
         this.bean = bean;
         this.decorators = decorators;
+        this.decoratorChainPlan = new DecoratorChainPlan(decorators);
         ProxyFactory<T> factory = new ProxyFactory<T>(contextId, implementationClass, bean.getTypes(), bean, true);
         // eagerly generate the proxy class
         this.proxyClass = factory.getProxyClass();
@@ -67,7 +70,7 @@ public abstract class AbstractDecoratorApplyingInstantiator<T> extends Forwardin
 
     protected T getOuterDelegate(T instance, CreationalContext<T> creationalContext, InjectionPoint originalInjectionPoint, BeanManagerImpl manager) {
         TargetBeanInstance beanInstance = new TargetBeanInstance(bean, instance);
-        DecorationHelper<T> decorationHelper = new DecorationHelper<T>(beanInstance, bean, proxyClass, manager, manager.getServices().get(ContextualStore.class), decorators);
+        DecorationHelper<T> decorationHelper = new DecorationHelper<T>(beanInstance, bean, proxyClass, manager, manager.getServices().get(ContextualStore.class), decoratorChainPlan);
         DecorationHelper.push(decorationHelper);
         try {
             final T outerDelegate = decorationHelper.getNextDelegate(originalInjectionPoint, creationalContext);
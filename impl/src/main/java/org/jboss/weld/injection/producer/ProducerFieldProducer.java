@@ -18,6 +18,7 @@ package org.jboss.weld.injection.producer;
 
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.security.AccessController;
 import java.util.Collections;
@@ -39,6 +40,7 @@ import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.logging.UtilLogger;
 import org.jboss.weld.security.GetAccessibleCopyOfMember;
 import org.jboss.weld.util.reflection.Formats;
+import org.jboss.weld.util.reflection.Invokers;
 import org.jboss.weld.util.reflection.Reflections;
 
 /**
@@ -50,10 +52,13 @@ import org.jboss.weld.util.reflection.Reflections;
 public abstract class ProducerFieldProducer<X, T> extends AbstractMemberProducer<X, T> {
 
     private final Field accessibleField;
+    // null if the field cannot be unreflected, reflection is used then
+    private final MethodHandle getter;
 
     public ProducerFieldProducer(EnhancedAnnotatedField<T, ? super X> enhancedField, DisposalMethod<?, ?> disposalMethod) {
         super(enhancedField, disposalMethod);
         this.accessibleField = AccessController.doPrivileged(new GetAccessibleCopyOfMember<Field>(enhancedField.getJavaMember()));
+        this.getter = Invokers.forFieldGetter(accessibleField);
         checkProducerField(enhancedField);
     }
 
@@ -84,6 +89,15 @@ public abstract class ProducerFieldProducer<X, T> extends AbstractMemberProducer
         if (receiver instanceof TargetInstanceProxy) {
             receiver = Reflections.<TargetInstanceProxy<T>> cast(receiver).getTargetInstance();
         }
+        if (getter != null) {
+            try {
+                return cast((Object) getter.invokeExact(receiver));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw UtilLogger.LOG.accessErrorOnField(accessibleField.getName(), accessibleField.getDeclaringClass(), e);
+            }
+        }
         try {
             return cast(accessibleField.get(receiver));
         } catch (IllegalAccessException e) {
@@ -28,9 +28,7 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import javax.enterprise.context.spi.CreationalContext;
@@ -43,7 +41,6 @@ import org.jboss.weld.interceptor.spi.model.InterceptionType;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.collections.ImmutableList;
 import org.jboss.weld.util.collections.ImmutableSet;
-import org.jboss.weld.util.collections.WeldCollections;
 
 /**
  * Holds interceptor metadata and interceptor instances throughout the lifecycle of the intercepted instance.
@@ -65,47 +62,61 @@ public class InterceptionContext implements Serializable {
     }
 
     private static InterceptionContext of(InterceptionModel interceptionModel, CreationalContext<?> ctx, BeanManagerImpl manager, Set<InterceptionType> interceptionTypes, SlimAnnotatedType<?> type) {
-        return new InterceptionContext(initInterceptorInstanceMap(interceptionModel, ctx, manager, interceptionTypes), manager, interceptionModel, type);
+        Set<InterceptorClassMetadata<?>> interceptors = interceptionModel.getAllInterceptors();
+        List<Class<?>> interceptorClasses = new ArrayList<Class<?>>(interceptors.size());
+        List<Object> interceptorInstances = new ArrayList<Object>(interceptors.size());
+        for (InterceptorClassMetadata<?> interceptor : interceptors) {
+            for (InterceptionType interceptionType : interceptionTypes) {
+                if (interceptor.isEligible(interceptionType)) {
+                    interceptorClasses.add(interceptor.getJavaClass());
+                    interceptorInstances.add(interceptor.getInterceptorFactory().create(cast(ctx), manager));
+                    break;
+                }
+            }
+        }
+        return new InterceptionContext(interceptorClasses.toArray(new Class<?>[interceptorClasses.size()]), interceptorInstances.toArray(), manager,
+                interceptionModel, type);
     }
 
-    private static final long serialVersionUID = 7500722360133273633L;
+    private static final long serialVersionUID = 7500722360133273634L;
 
     private final transient InterceptionModel interceptionModel;
 
-    private final Map<Class<?>, Object> interceptorInstances;
+    /*
+     * An intercepted instance usually has just a few interceptors. Therefore, the instances are kept in a flat array and looked up by the identity of the
+     * interceptor class, which is cheaper than hashing and allocates no map entries.
+     */
+    private final Class<?>[] interceptorClasses;
+    private final Object[] interceptorInstances;
     private final BeanManagerImpl manager;
     private final SlimAnnotatedType<?> annotatedType;
 
-    private InterceptionContext(Map<Class<?>, Object> interceptorInstances, BeanManagerImpl manager, InterceptionModel interceptionModel, SlimAnnotatedType<?> type) {
+    private InterceptionContext(Class<?>[] interceptorClasses, Object[] interceptorInstances, BeanManagerImpl manager, InterceptionModel interceptionModel,
+            SlimAnnotatedType<?> type) {
+        this.interceptorClasses = interceptorClasses;
         this.interceptorInstances = interceptorInstances;
         this.manager = manager;
         this.interceptionModel = interceptionModel;
         this.annotatedType = type;
     }
 
-    private static Map<Class<?>, Object> initInterceptorInstanceMap(InterceptionModel model, CreationalContext ctx, BeanManagerImpl manager, Set<InterceptionType> interceptionTypes) {
-        Map<Class<?>, Object> interceptorInstances = new HashMap<Class<?>, Object>();
-        for (InterceptorClassMetadata<?> interceptor : model.getAllInterceptors()) {
-            for (InterceptionType interceptionType : interceptionTypes) {
-                if (interceptor.isEligible(interceptionType)) {
-                    interceptorInstances.put(interceptor.getJavaClass(), interceptor.getInterceptorFactory().create(ctx, manager));
-                }
-            }
-        }
-        return WeldCollections.immutableMapView(interceptorInstances);
-    }
-
     public InterceptionModel getInterceptionModel() {
         return interceptionModel;
     }
 
     public <T> T getInterceptorInstance(InterceptorClassMetadata<T> interceptorMetadata) {
-        return cast(interceptorInstances.get(interceptorMetadata.getJavaClass()));
+        Class<?> interceptorClass = interceptorMetadata.getJavaClass();
+        for (int i = 0; i < interceptorClasses.length; i++) {
+            if (interceptorClasses[i] == interceptorClass) {
+                return cast(interceptorInstances[i]);
+            }
+        }
+        return null;
     }
 
     private Object readResolve() throws ObjectStreamException {
         InterceptionModel interceptionModel = manager.getInterceptorModelRegistry().get(annotatedType);
-        return new InterceptionContext(interceptorInstances, manager, interceptionModel, annotatedType);
+        return new InterceptionContext(interceptorClasses, interceptorInstances, manager, interceptionModel, annotatedType);
     }
 
     public List<InterceptorMethodInvocation> buildInterceptorMethodInvocations(Object instance, Method method, InterceptionType interceptionType) {
@@ -194,4 +194,28 @@ public interface BootstrapLogger extends WeldLogger {
     @LogMessage(level = Logger.Level.DEBUG)
     @Message(id = 145, value = "Bean identifier index built:\n{0}", format = Format.MESSAGE_FORMAT)
     void beanIdentifierIndexBuilt(Object info);
-}
\ No newline at end of file
+
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 146, value = "Bootstrap profiler report written to {0}", format = Format.MESSAGE_FORMAT)
+    void bootstrapProfilerReportWritten(Object file);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 147, value = "Unable to write the bootstrap profiler report to {0}", format = Format.MESSAGE_FORMAT)
+    void unableToWriteBootstrapProfilerReport(Object file, @Cause Throwable cause);
+
+    @LogMessage(level = Logger.Level.DEBUG)
+    @Message(id = 148, value = "Compact runtime: {0} released {1} cache entries", format = Format.MESSAGE_FORMAT)
+    void serviceCompacted(Object service, Object released);
+
+    @LogMessage(level = Logger.Level.INFO)
+    @Message(id = 149, value = "Compact runtime: {0} cache entries released for {1} beans (the number of entries, not their size)", format = Format.MESSAGE_FORMAT)
+    void runtimeCompacted(Object released, Object beans);
+
+    @LogMessage(level = Logger.Level.DEBUG)
+    @Message(id = 150, value = "Shared class metadata in use by {0} containers", format = Format.MESSAGE_FORMAT)
+    void sharedClassMetadataAcquired(Object references);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 151, value = "Unable to register the metrics MBean for container {0}", format = Format.MESSAGE_FORMAT)
+    void unableToRegisterMetricsMBean(Object contextId, @Cause Throwable cause);
+}
@@ -18,6 +18,8 @@ package org.jboss.weld.logging;
 
 import static org.jboss.weld.logging.WeldLogger.WELD_PROJECT_CODE;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import javax.enterprise.inject.spi.ObserverMethod;
 
 import org.jboss.logging.Logger;
@@ -27,6 +29,7 @@ import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.Message.Format;
 import org.jboss.logging.annotations.MessageLogger;
 import org.jboss.weld.exceptions.DefinitionException;
+import org.jboss.weld.exceptions.DeploymentException;
 import org.jboss.weld.exceptions.InvalidObjectException;
 
 /**
@@ -81,4 +84,14 @@ public interface EventLogger extends WeldLogger {
     @Message(id = 413, value = "{0} cannot be replaced by an observer method with a different bean class {1}", format = Format.MESSAGE_FORMAT)
     DefinitionException beanClassMismatch(ObserverMethod<?> originalObserverMethod, ObserverMethod<?> observerMethod);
 
+    @Message(id = 414, value = "Asynchronous notification of event {0} rejected - the maximum number of pending notifications ({1}) was reached", format = Format.MESSAGE_FORMAT)
+    RejectedExecutionException asyncNotificationRejected(Object event, Object maxPendingNotifications);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 415, value = "Asynchronous notification of event {0} dropped - the maximum number of pending notifications ({1}) was reached", format = Format.MESSAGE_FORMAT)
+    void asyncNotificationDropped(Object event, Object maxPendingNotifications);
+
+    @Message(id = 416, value = "Invalid rejection policy for asynchronous observer notifications: {0}", format = Format.MESSAGE_FORMAT)
+    DeploymentException invalidAsyncObserversRejectionPolicy(Object policy);
+
 }
@@ -67,4 +67,8 @@ public interface XmlLogger extends WeldLogger {
     @Message(id = 1210, value = "Warning when validating {0}@{1} against xsd. {2}", format = Format.MESSAGE_FORMAT)
     void xsdValidationWarning(Object param1, Object param2, Object param3);
 
+    @LogMessage(level = Level.WARN)
+    @Message(id = 1211, value = "Unable to compile the beans.xml schemas, beans.xml files will not be validated: {0}", format = Format.MESSAGE_FORMAT)
+    void unableToCompileSchemas(Object param1);
+
 }
\ No newline at end of file
@@ -72,6 +72,7 @@ import javax.enterprise.inject.spi.ProducerFactory;
 import javax.enterprise.util.TypeLiteral;
 
 import org.jboss.weld.Container;
+import org.jboss.weld.ContainerState;
 import org.jboss.weld.annotated.AnnotatedTypeValidator;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedField;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMember;
@@ -90,6 +91,7 @@ import org.jboss.weld.bean.builtin.ExtensionBean;
 import org.jboss.weld.bean.builtin.InstanceImpl;
 import org.jboss.weld.bean.proxy.ClientProxyProvider;
 import org.jboss.weld.bean.proxy.DecorationHelper;
+import org.jboss.weld.bootstrap.InjectionPointDependencyGraph;
 import org.jboss.weld.bootstrap.SpecializationAndEnablementRegistry;
 import org.jboss.weld.bootstrap.Validator;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
@@ -98,6 +100,7 @@ import org.jboss.weld.bootstrap.events.ContainerLifecycleEvents;
 import org.jboss.weld.bootstrap.spi.CDI11Deployment;
 import org.jboss.weld.config.ConfigurationKey;
 import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.context.ActiveContextTable;
 import org.jboss.weld.context.CreationalContextImpl;
 import org.jboss.weld.context.PassivatingContextWrapper;
 import org.jboss.weld.context.WeldCreationalContext;
@@ -287,6 +290,8 @@ public class BeanManagerImpl implements WeldManager, Serializable {
      */
     private final transient CurrentInjectionPoint currentInjectionPoint;
     private final transient boolean clientProxyOptimization;
+    // null if not available in the given service registry
+    private final transient ActiveContextTable activeContextTable;
 
     /**
      * Create a new, root, manager
@@ -390,6 +395,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         this.registry = getServices().get(SpecializationAndEnablementRegistry.class);
         this.currentInjectionPoint = getServices().get(CurrentInjectionPoint.class);
         this.clientProxyOptimization = getServices().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.INJECTABLE_REFERENCE_OPTIMIZATION);
+        this.activeContextTable = getServices().get(ActiveContextTable.class);
     }
 
     private <T> Iterable<T> createDynamicGlobalIterable(final Function<BeanManagerImpl, Iterable<T>> transform) {
@@ -417,11 +423,15 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     }
 
     public void addBean(Bean<?> bean) {
-        addBean(bean, enabledBeans, sharedBeans);
+        addBeans(Collections.singleton(bean));
     }
 
     /**
      * Optimization which modifies CopyOnWrite structures only once instead of once for every bean.
+     * <p>
+     * If the beans are added after the deployment was validated and incremental validation is enabled, the added beans and the affected injection points are
+     * validated (see {@link Validator#validateAdditionalBeans(BeanManagerImpl, Collection)}).
+     *
      * @param beans
      */
     public void addBeans(Collection<? extends Bean<?>> beans) {
@@ -433,10 +443,74 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         // optimize so that we do not modify CopyOnWriteLists for each Bean
         this.enabledBeans.addAll(beanList);
         this.sharedBeans.addAll(transitiveBeans);
+        // only invalidate the cached resolutions which might be affected by the new beans
+        beanResolver.beansAdded(beanList);
+        if (!transitiveBeans.isEmpty()) {
+            for (BeanManagerImpl manager : managers) {
+                if (manager != this && manager.getAccessibleManagers().contains(this)) {
+                    manager.getBeanResolver().beansAdded(transitiveBeans);
+                }
+            }
+        }
+        if (!beanList.isEmpty() && isValidated()) {
+            try {
+                validateAddedBeans(beanList, transitiveBeans);
+            } catch (RuntimeException e) {
+                removeBeans(beanList, transitiveBeans);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Rolls back {@link #addBeans(Collection)} once the added beans were rejected by the validation.
+     */
+    private void removeBeans(List<Bean<?>> beanList, List<Bean<?>> transitiveBeans) {
+        this.enabledBeans.removeAll(beanList);
+        this.sharedBeans.removeAll(transitiveBeans);
+        if (beanSet != null) {
+            beanSet.removeAll(beanList);
+        }
+        for (Bean<?> bean : beanList) {
+            if (bean instanceof SessionBean) {
+                enterpriseBeans.remove(((SessionBean<?>) bean).getEjbDescriptor());
+            }
+        }
+        // the resolutions cached during the validation might contain the rejected beans
+        beanResolver.clear();
+        nameBasedResolver.clear();
+        if (!transitiveBeans.isEmpty()) {
+            for (BeanManagerImpl manager : managers) {
+                if (manager != this && manager.getAccessibleManagers().contains(this)) {
+                    manager.getBeanResolver().clear();
+                    manager.getNameBasedResolver().clear();
+                }
+            }
+        }
+    }
+
+    private boolean isValidated() {
+        ContainerState state = Container.instance(contextId).getState();
+        return ContainerState.VALIDATED.equals(state) || ContainerState.INITIALIZED.equals(state);
+    }
+
+    private void validateAddedBeans(List<Bean<?>> beanList, List<Bean<?>> transitiveBeans) {
+        Validator validator = getServices().get(Validator.class);
+        if (getServices().contains(InjectionPointDependencyGraph.class)) {
+            validator.validateAdditionalBeans(this, beanList);
+        }
+        if (!transitiveBeans.isEmpty()) {
+            for (BeanManagerImpl manager : managers) {
+                if (manager != this && manager.getAccessibleManagers().contains(this) && manager.getServices().contains(InjectionPointDependencyGraph.class)) {
+                    validator.validateAdditionalBeans(manager, transitiveBeans);
+                }
+            }
+        }
     }
 
     private void addBean(Bean<?> bean, List<Bean<?>> beanList, List<Bean<?>> transitiveBeans) {
-        if (beanSet.add(bean)) {
+        // beanSet is released after bootstrap - beans added at runtime are rare, so checking the list is good enough
+        if (beanSet != null ? beanSet.add(bean) : !enabledBeans.contains(bean)) {
             if (bean.isAlternative() && !registry.isEnabledInAnyBeanDeployment(bean)) {
                 BootstrapLogger.LOG.foundDisabledAlternative(bean);
             } else if (registry.isSpecializedInAnyBeanDeployment(bean)) {
@@ -587,15 +661,19 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     public void addContext(Context context) {
         Class<? extends Annotation> scope = context.getScope();
+        Context registeredContext = context;
         if (isPassivatingScope(scope)) {
-            context = PassivatingContextWrapper.wrap(context, services.get(ContextualStore.class));
+            registeredContext = PassivatingContextWrapper.wrap(context, services.get(ContextualStore.class));
         }
         List<Context> contextList = contexts.get(scope);
         if (contextList == null) {
             contextList = new CopyOnWriteArrayList<Context>();
             contexts.put(scope, contextList);
         }
-        contextList.add(context);
+        contextList.add(registeredContext);
+        if (activeContextTable != null) {
+            activeContextTable.register(context, registeredContext);
+        }
     }
 
     /**
@@ -658,6 +736,9 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     }
 
     private Context internalGetContext(Class<? extends Annotation> scopeType) {
+        if (activeContextTable != null) {
+            return activeContextTable.getActiveContext(scopeType);
+        }
         Context activeContext = null;
         final List<Context> ctx = contexts.get(scopeType);
         if (ctx == null) {
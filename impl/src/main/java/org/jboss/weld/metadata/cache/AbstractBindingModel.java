@@ -17,7 +17,10 @@
 package org.jboss.weld.metadata.cache;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import javax.enterprise.inject.spi.AnnotatedMethod;
@@ -25,6 +28,7 @@ import javax.enterprise.util.Nonbinding;
 
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMethod;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotation;
+import org.jboss.weld.util.collections.ImmutableList;
 import org.jboss.weld.util.collections.ImmutableSet;
 
 /**
@@ -37,6 +41,9 @@ public abstract class AbstractBindingModel<T extends Annotation> extends Annotat
 
     // The non-binding types
     private Set<AnnotatedMethod<?>> nonBindingMembers;
+    // Flat representation of the annotation members so that the annotated members do not need to be retained (or recomputed) at runtime
+    private List<Method> members;
+    private List<Method> bindingMembers;
 
     public AbstractBindingModel(EnhancedAnnotation<T> enhancedAnnotatedAnnotation) {
         super(enhancedAnnotatedAnnotation);
@@ -59,6 +66,16 @@ public abstract class AbstractBindingModel<T extends Annotation> extends Annotat
             }
             this.nonBindingMembers = nonBindingMembers.build();
         }
+        List<Method> members = new ArrayList<Method>();
+        List<Method> bindingMembers = new ArrayList<Method>();
+        for (AnnotatedMethod<?> method : getAnnotatedAnnotation().getMethods()) {
+            members.add(method.getJavaMember());
+            if (!nonBindingMembers.contains(method)) {
+                bindingMembers.add(method.getJavaMember());
+            }
+        }
+        this.members = ImmutableList.copyOf(members);
+        this.bindingMembers = ImmutableList.copyOf(bindingMembers);
     }
 
     /**
@@ -69,4 +86,20 @@ public abstract class AbstractBindingModel<T extends Annotation> extends Annotat
     public Set<AnnotatedMethod<?>> getNonBindingMembers() {
         return nonBindingMembers;
     }
+
+    /**
+     *
+     * @return the members of the annotation type
+     */
+    public List<Method> getMembers() {
+        return members;
+    }
+
+    /**
+     *
+     * @return the members of the annotation type which are not annotated with {@link Nonbinding}
+     */
+    public List<Method> getBindingMembers() {
+        return bindingMembers;
+    }
 }
@@ -21,12 +21,12 @@ import java.lang.annotation.Annotation;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Target;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Set;
 
-import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.interceptor.InterceptorBinding;
 
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMethod;
@@ -135,23 +135,20 @@ public class InterceptorBindingModel<T extends Annotation> extends AbstractBindi
 
     public boolean isEqual(Annotation instance, Annotation other, boolean includeNonBindingTypes) {
         if (instance.annotationType().equals(getRawType()) && other.annotationType().equals(getRawType())) {
-            for (AnnotatedMethod<?> annotatedMethod : getAnnotatedAnnotation().getMethods()) {
-                if (includeNonBindingTypes || !getNonBindingMembers().contains(annotatedMethod)) {
-                    try {
-                        AccessController.doPrivileged(SetAccessibleAction.of(annotatedMethod.getJavaMember()));
-                        Object thisValue = annotatedMethod.getJavaMember().invoke(instance);
-                        Object thatValue = annotatedMethod.getJavaMember().invoke(other);
-                        if (!thisValue.equals(thatValue)) {
-                            return false;
-                        }
-                    } catch (IllegalArgumentException e) {
-                        throw new WeldException(e);
-                    } catch (IllegalAccessException e) {
-                        throw new WeldException(e);
-                    } catch (InvocationTargetException e) {
-                        throw new WeldException(e);
+            for (Method member : includeNonBindingTypes ? getMembers() : getBindingMembers()) {
+                try {
+                    AccessController.doPrivileged(SetAccessibleAction.of(member));
+                    Object thisValue = member.invoke(instance);
+                    Object thatValue = member.invoke(other);
+                    if (!thisValue.equals(thatValue)) {
+                        return false;
                     }
-
+                } catch (IllegalArgumentException e) {
+                    throw new WeldException(e);
+                } catch (IllegalAccessException e) {
+                    throw new WeldException(e);
+                } catch (InvocationTargetException e) {
+                    throw new WeldException(e);
                 }
             }
             return true;
@@ -25,7 +25,7 @@ import javax.enterprise.inject.spi.Bean;
 import javax.inject.Named;
 
 import org.jboss.weld.bean.RIBean;
-import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.bootstrap.CompactableService;
 import org.jboss.weld.resolution.QualifierInstance;
 import org.jboss.weld.resources.ClassTransformer;
 import org.jboss.weld.resources.SharedObjectCache;
@@ -38,7 +38,7 @@ import org.jboss.weld.util.collections.ImmutableSet;
  *
  * @author Pete Muir
  */
-public class MetaAnnotationStore implements Service {
+public class MetaAnnotationStore implements CompactableService {
 
     private abstract static class AbstractMetaAnnotationFunction<M extends AnnotationModel<Annotation>> implements
             Function<Class<Annotation>, M> {
@@ -280,6 +280,18 @@ public class MetaAnnotationStore implements Service {
     }
 
 
+    /**
+     * The stereotype models are only needed when building bean attributes and the interceptor binding models are only needed when building interception
+     * models. Both are recomputed if requested through the {@link javax.enterprise.inject.spi.BeanManager} at runtime.
+     */
+    @Override
+    public int compact() {
+        int released = (int) (stereotypes.size() + interceptorBindings.size());
+        stereotypes.clear();
+        interceptorBindings.clear();
+        return released;
+    }
+
     private static boolean isCacheAllowed(Annotation annotation) {
         if (annotation.annotationType().equals(Named.class)) {
             // Don't cache @Named with non-default value.
@@ -24,11 +24,11 @@ import static java.lang.annotation.ElementType.TYPE;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Target;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.util.Collections;
 import java.util.Set;
 
-import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.inject.Qualifier;
 
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMethod;
@@ -112,23 +112,20 @@ public class QualifierModel<T extends Annotation> extends AbstractBindingModel<T
      */
     public boolean isEqual(Annotation instance, Annotation other) {
         if (instance.annotationType().equals(getRawType()) && other.annotationType().equals(getRawType())) {
-            for (AnnotatedMethod<?> annotatedMethod : getAnnotatedAnnotation().getMethods()) {
-                if (!getNonBindingMembers().contains(annotatedMethod)) {
-                    try {
-                        AccessController.doPrivileged(SetAccessibleAction.of(annotatedMethod.getJavaMember()));
-                        Object thisValue = annotatedMethod.getJavaMember().invoke(instance);
-                        Object thatValue = annotatedMethod.getJavaMember().invoke(other);
-                        if (!thisValue.equals(thatValue)) {
-                            return false;
-                        }
-                    } catch (IllegalArgumentException e) {
-                        throw new WeldException(e);
-                    } catch (IllegalAccessException e) {
-                        throw new WeldException(e);
-                    } catch (InvocationTargetException e) {
-                        throw new WeldException(e);
+            for (Method member : getBindingMembers()) {
+                try {
+                    AccessController.doPrivileged(SetAccessibleAction.of(member));
+                    Object thisValue = member.invoke(instance);
+                    Object thatValue = member.invoke(other);
+                    if (!thisValue.equals(thatValue)) {
+                        return false;
                     }
-
+                } catch (IllegalArgumentException e) {
+                    throw new WeldException(e);
+                } catch (IllegalAccessException e) {
+                    throw new WeldException(e);
+                } catch (InvocationTargetException e) {
+                    throw new WeldException(e);
                 }
             }
             return true;
@@ -0,0 +1,258 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.jboss.weld.logging.BootstrapLogger;
+
+/**
+ * The default {@link MetricsListener}. All the counters are {@link LongAdder}s so that the threads reporting the metrics do not contend. The metrics are
+ * exported as an MXBean named <code>org.jboss.weld:type=Metrics,container=&lt;container id&gt;</code>.
+ */
+public class CountingMetricsListener implements MetricsListener, WeldMetricsMXBean {
+
+    private static final String JMX_DOMAIN = "org.jboss.weld";
+
+    private final ConcurrentMap<Contextual<?>, BeanCounters> beanCounters;
+
+    private final Function<Contextual<?>, BeanCounters> beanCountersFactory;
+
+    private final LongAdder instancesCreated = new LongAdder();
+    private final LongAdder instancesDestroyed = new LongAdder();
+    private final LongAdder contextHits = new LongAdder();
+    private final LongAdder contextMisses = new LongAdder();
+    private final LongAdder resolutionCacheHits = new LongAdder();
+    private final LongAdder resolutionCacheMisses = new LongAdder();
+    private final LongAdder observerNotifications = new LongAdder();
+    private final LongAdder observerNotificationTime = new LongAdder();
+    private final LongAdder asyncNotificationsDispatched = new LongAdder();
+    private final LongAdder asyncNotificationsFinished = new LongAdder();
+    private final LongAdder asyncNotificationsRejected = new LongAdder();
+    private final LongAdder asyncNotificationQueuedTime = new LongAdder();
+
+    private volatile ObjectName objectName;
+
+    public CountingMetricsListener() {
+        this.beanCounters = new ConcurrentHashMap<Contextual<?>, BeanCounters>();
+        this.beanCountersFactory = (c) -> new BeanCounters();
+    }
+
+    /**
+     * Registers the MXBean for the given container. A failure is logged, the metrics are collected anyway.
+     *
+     * @param contextId the container id
+     */
+    public void registerMBean(String contextId) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":type=Metrics,container=" + ObjectName.quote(contextId));
+            server.registerMBean(this, name);
+            this.objectName = name;
+        } catch (JMException e) {
+            BootstrapLogger.LOG.unableToRegisterMetricsMBean(contextId, e);
+        }
+    }
+
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public void instanceCreated(Contextual<?> contextual, long nanos) {
+        instancesCreated.increment();
+        BeanCounters counters = getBeanCounters(contextual);
+        counters.created.increment();
+        counters.creationTime.add(nanos);
+    }
+
+    @Override
+    public void instanceDestroyed(Contextual<?> contextual) {
+        instancesDestroyed.increment();
+    }
+
+    @Override
+    public void contextLookup(Class<? extends Annotation> scope, boolean hit) {
+        (hit ? contextHits : contextMisses).increment();
+    }
+
+    @Override
+    public void beanResolution(boolean hit) {
+        (hit ? resolutionCacheHits : resolutionCacheMisses).increment();
+    }
+
+    @Override
+    public void observerNotified(ObserverMethod<?> observerMethod, long nanos) {
+        observerNotifications.increment();
+        observerNotificationTime.add(nanos);
+    }
+
+    @Override
+    public void asyncNotificationDispatched() {
+        asyncNotificationsDispatched.increment();
+    }
+
+    @Override
+    public void asyncNotificationFinished(long queuedNanos) {
+        asyncNotificationsFinished.increment();
+        asyncNotificationQueuedTime.add(queuedNanos);
+    }
+
+    @Override
+    public void asyncNotificationRejected() {
+        asyncNotificationsRejected.increment();
+    }
+
+    private BeanCounters getBeanCounters(Contextual<?> contextual) {
+        // avoid the locking of computeIfAbsent() for the common case
+        BeanCounters counters = beanCounters.get(contextual);
+        return counters != null ? counters : beanCounters.computeIfAbsent(contextual, beanCountersFactory);
+    }
+
+    @Override
+    public long getInstancesCreated() {
+        return instancesCreated.sum();
+    }
+
+    @Override
+    public long getInstancesDestroyed() {
+        return instancesDestroyed.sum();
+    }
+
+    @Override
+    public long getContextHits() {
+        return contextHits.sum();
+    }
+
+    @Override
+    public long getContextMisses() {
+        return contextMisses.sum();
+    }
+
+    @Override
+    public long getResolutionCacheHits() {
+        return resolutionCacheHits.sum();
+    }
+
+    @Override
+    public long getResolutionCacheMisses() {
+        return resolutionCacheMisses.sum();
+    }
+
+    @Override
+    public long getObserverNotifications() {
+        return observerNotifications.sum();
+    }
+
+    @Override
+    public long getObserverNotificationTime() {
+        return observerNotificationTime.sum();
+    }
+
+    @Override
+    public long getAsyncNotificationsDispatched() {
+        return asyncNotificationsDispatched.sum();
+    }
+
+    @Override
+    public long getAsyncNotificationsPending() {
+        // the counters may be reset while notifications are pending
+        return Math.max(0, asyncNotificationsDispatched.sum() - asyncNotificationsFinished.sum());
+    }
+
+    @Override
+    public long getAsyncNotificationsRejected() {
+        return asyncNotificationsRejected.sum();
+    }
+
+    @Override
+    public long getAsyncNotificationQueuedTime() {
+        return asyncNotificationQueuedTime.sum();
+    }
+
+    @Override
+    public Map<String, Long> getInstancesCreatedPerBean() {
+        return perBean((c) -> c.created.sum());
+    }
+
+    @Override
+    public Map<String, Long> getCreationTimePerBean() {
+        return perBean((c) -> c.creationTime.sum());
+    }
+
+    private Map<String, Long> perBean(ToLongFunction<BeanCounters> value) {
+        Map<String, Long> result = new TreeMap<String, Long>();
+        for (Map.Entry<Contextual<?>, BeanCounters> entry : beanCounters.entrySet()) {
+            result.merge(entry.getKey().toString(), value.applyAsLong(entry.getValue()), Long::sum);
+        }
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        beanCounters.clear();
+        instancesCreated.reset();
+        instancesDestroyed.reset();
+        contextHits.reset();
+        contextMisses.reset();
+        resolutionCacheHits.reset();
+        resolutionCacheMisses.reset();
+        observerNotifications.reset();
+        observerNotificationTime.reset();
+        asyncNotificationsDispatched.reset();
+        asyncNotificationsFinished.reset();
+        asyncNotificationsRejected.reset();
+        asyncNotificationQueuedTime.reset();
+    }
+
+    @Override
+    public void cleanup() {
+        ObjectName name = objectName;
+        if (name != null) {
+            objectName = null;
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            } catch (JMException e) {
+                BootstrapLogger.LOG.catchingDebug(e);
+            }
+        }
+        beanCounters.clear();
+    }
+
+    private static class BeanCounters {
+
+        private final LongAdder created = new LongAdder();
+
+        private final LongAdder creationTime = new LongAdder();
+
+    }
+
+}
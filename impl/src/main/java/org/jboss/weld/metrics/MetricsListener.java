@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import java.lang.annotation.Annotation;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.weld.bootstrap.api.Service;
+
+/**
+ * Receives lightweight runtime metrics of a container. An integrator may install an implementation in the deployment {@link org.jboss.weld.bootstrap.api.ServiceRegistry}, the
+ * same way {@link org.jboss.weld.manager.api.ExecutorServices} are installed. Alternatively, {@link CountingMetricsListener} is installed if
+ * {@link org.jboss.weld.config.ConfigurationKey#METRICS} is enabled.
+ * <p>
+ * The components invoking the callbacks look up the listener once, when they are created. If no listener is installed, each callback site is reduced to a
+ * <code>null</code> check of a final field. The callbacks are invoked synchronously on hot paths and from multiple threads at the same time, an implementation
+ * must be thread-safe and should not block.
+ * </p>
+ *
+ * @see CountingMetricsListener
+ */
+public interface MetricsListener extends Service {
+
+    /**
+     * A contextual instance was created by a context.
+     *
+     * @param contextual the contextual
+     * @param nanos the time spent in {@link Contextual#create(javax.enterprise.context.spi.CreationalContext)}, in nanoseconds
+     */
+    default void instanceCreated(Contextual<?> contextual, long nanos) {
+    }
+
+    /**
+     * A contextual instance stored in a context was destroyed. The destruction of {@link javax.enterprise.context.Dependent} instances is not reported.
+     *
+     * @param contextual the contextual
+     */
+    default void instanceDestroyed(Contextual<?> contextual) {
+    }
+
+    /**
+     * A context was asked for an existing contextual instance.
+     *
+     * @param scope the scope of the context
+     * @param hit <code>true</code> if the instance already existed
+     */
+    default void contextLookup(Class<? extends Annotation> scope, boolean hit) {
+    }
+
+    /**
+     * A typesafe bean resolution was performed.
+     *
+     * @param hit <code>true</code> if the result was found in the resolution cache
+     */
+    default void beanResolution(boolean hit) {
+    }
+
+    /**
+     * An observer method was notified synchronously.
+     *
+     * @param observerMethod the observer method
+     * @param nanos the time spent in the notification, in nanoseconds
+     */
+    default void observerNotified(ObserverMethod<?> observerMethod, long nanos) {
+    }
+
+    /**
+     * An asynchronous observer notification was submitted to an executor by {@link org.jboss.weld.event.BoundedAsyncEventDispatcher}.
+     */
+    default void asyncNotificationDispatched() {
+    }
+
+    /**
+     * An asynchronous observer notification submitted by {@link org.jboss.weld.event.BoundedAsyncEventDispatcher} finished, either normally or
+     * exceptionally.
+     *
+     * @param queuedNanos the time the notification spent waiting for an executor thread, in nanoseconds
+     */
+    default void asyncNotificationFinished(long queuedNanos) {
+    }
+
+    /**
+     * The rejection policy of {@link org.jboss.weld.event.BoundedAsyncEventDispatcher} was applied to an asynchronous observer notification because the
+     * maximum number of pending notifications was reached.
+     */
+    default void asyncNotificationRejected() {
+    }
+
+    @Override
+    default void cleanup() {
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of the metrics collected by {@link CountingMetricsListener}. The times are in nanoseconds.
+ */
+public interface WeldMetricsMXBean {
+
+    long getInstancesCreated();
+
+    long getInstancesDestroyed();
+
+    long getContextHits();
+
+    long getContextMisses();
+
+    long getResolutionCacheHits();
+
+    long getResolutionCacheMisses();
+
+    long getObserverNotifications();
+
+    long getObserverNotificationTime();
+
+    /**
+     *
+     * @return the number of asynchronous observer notifications submitted to an executor by the bounded dispatcher
+     */
+    long getAsyncNotificationsDispatched();
+
+    /**
+     *
+     * @return the number of asynchronous observer notifications submitted to an executor but not finished yet
+     */
+    long getAsyncNotificationsPending();
+
+    /**
+     *
+     * @return the number of asynchronous observer notifications the rejection policy was applied to
+     */
+    long getAsyncNotificationsRejected();
+
+    /**
+     *
+     * @return the total time the finished asynchronous observer notifications spent waiting for an executor thread, in nanoseconds
+     */
+    long getAsyncNotificationQueuedTime();
+
+    /**
+     *
+     * @return the number of created instances per contextual
+     */
+    Map<String, Long> getInstancesCreatedPerBean();
+
+    /**
+     *
+     * @return the total creation time per contextual
+     */
+    Map<String, Long> getCreationTimePerBean();
+
+    /**
+     * Resets all the counters.
+     */
+    void reset();
+
+}
@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import javax.enterprise.event.Event;
@@ -41,13 +42,13 @@ import org.jboss.weld.bootstrap.SpecializationAndEnablementRegistry;
 import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.metrics.MetricsListener;
 import org.jboss.weld.util.Beans;
 import org.jboss.weld.util.LazyValueHolder;
 import org.jboss.weld.util.Primitives;
 import org.jboss.weld.util.cache.ComputingCache;
 import org.jboss.weld.util.cache.ComputingCacheBuilder;
 import org.jboss.weld.util.collections.ImmutableSet;
-import org.jboss.weld.util.collections.WeldCollections;
 import org.jboss.weld.util.reflection.Reflections;
 
 /**
@@ -61,7 +62,7 @@ public abstract class AbstractTypeSafeBeanResolver<T extends Bean<?>, C extends
     private final SpecializationAndEnablementRegistry registry;
     private final MetaAnnotationStore store;
 
-    private final LazyValueHolder<Map<Type, ArrayList<T>>> beansByType;
+    private final LazyValueHolder<Map<Type, List<T>>> beansByType;
 
     public class BeanDisambiguation implements Function<Set<Bean<?>>, Set<Bean<?>>> {
 
@@ -129,7 +130,7 @@ public abstract class AbstractTypeSafeBeanResolver<T extends Bean<?>, C extends
     }
 
     public AbstractTypeSafeBeanResolver(BeanManagerImpl beanManager, final Iterable<T> beans) {
-        super(beans, beanManager.getServices().get(WeldConfiguration.class));
+        super(beans, beanManager.getServices().get(WeldConfiguration.class), beanManager.getServices().get(MetricsListener.class));
         this.beanManager = beanManager;
         this.registry = beanManager.getServices().get(SpecializationAndEnablementRegistry.class);
         this.disambiguatedBeans = ComputingCacheBuilder.newBuilder().build(new BeanDisambiguation());
@@ -142,55 +143,62 @@ public abstract class AbstractTypeSafeBeanResolver<T extends Bean<?>, C extends
         // the resolver is created. Calling the resolvers clear method will also
         // clear this map.This task is not suitable for a computing hashmap, as
         // the whole map should be calculated in one hit, so only a single
-        // iteration over all beans is required
+        // iteration over all beans is required. Once computed, the map is
+        // maintained incrementally when new beans are added (see beansAdded())
 
-        this.beansByType = new LazyValueHolder<Map<Type, ArrayList<T>>>() {
+        this.beansByType = new LazyValueHolder<Map<Type, List<T>>>() {
 
             @Override
-            protected Map<Type, ArrayList<T>> computeValue() {
-                Map<Type, ArrayList<T>> map = new HashMap<Type, ArrayList<T>>();
+            protected Map<Type, List<T>> computeValue() {
+                Map<Type, List<T>> map = new HashMap<Type, List<T>>();
                 for (T bean : beans) {
-                    mapBean(map, bean);
-                }
-                trimArrayListsToSize(map);
-                return WeldCollections.immutableMapView(map);
-            }
-
-            private void mapBean(Map<Type, ArrayList<T>> map, T bean) {
-                for (Type type : bean.getTypes()) {
-                    mapTypeToBean(map, type, bean);
-
-                    if (type instanceof ParameterizedType) {
-                        // we need to add the raw type as well
-                        Type rawType = ((ParameterizedType) type).getRawType();
-                        mapTypeToBean(map, rawType, bean);
-                    } else if (type instanceof Class<?>) {
-                        // if the type is a primitive we also need to add the bean
-                        // is also resolvable from the boxed class
-                        Class<?> clazz = (Class<?>) type;
-                        if (clazz.isPrimitive()) {
-                            Class<?> wrapped = Primitives.wrap(clazz);
-                            mapTypeToBean(map, wrapped, bean);
-                        }
+                    for (Type type : getIndexTypes(bean)) {
+                        mapTypeToBean(map, type, bean);
                     }
                 }
+                trimArrayListsToSize(map);
+                return new ConcurrentHashMap<Type, List<T>>(map);
             }
 
-            private void mapTypeToBean(Map<Type, ArrayList<T>> map, Type type, T bean) {
+            private void mapTypeToBean(Map<Type, List<T>> map, Type type, T bean) {
                 if (!map.containsKey(type)) {
                     map.put(type, new ArrayList<T>());
                 }
                 map.get(type).add(bean);
             }
 
-            private void trimArrayListsToSize(Map<Type, ArrayList<T>> map) {
-                for (Entry<Type, ArrayList<T>> entry : map.entrySet()) {
-                    entry.getValue().trimToSize();
+            private void trimArrayListsToSize(Map<Type, List<T>> map) {
+                for (Entry<Type, List<T>> entry : map.entrySet()) {
+                    ((ArrayList<T>) entry.getValue()).trimToSize();
                 }
             }
         };
     }
 
+    /**
+     *
+     * @param bean
+     * @return the types the given bean is indexed by
+     */
+    private static Set<Type> getIndexTypes(Bean<?> bean) {
+        Set<Type> indexTypes = new HashSet<Type>();
+        for (Type type : bean.getTypes()) {
+            indexTypes.add(type);
+            if (type instanceof ParameterizedType) {
+                // we need to add the raw type as well
+                indexTypes.add(((ParameterizedType) type).getRawType());
+            } else if (type instanceof Class<?>) {
+                // if the type is a primitive we also need to add the bean
+                // is also resolvable from the boxed class
+                Class<?> clazz = (Class<?>) type;
+                if (clazz.isPrimitive()) {
+                    indexTypes.add(Primitives.wrap(clazz));
+                }
+            }
+        }
+        return indexTypes;
+    }
+
     @Override
     protected boolean matches(Resolvable resolvable, T bean) {
         AssignabilityRules rules = null;
@@ -209,25 +217,35 @@ public abstract class AbstractTypeSafeBeanResolver<T extends Bean<?>, C extends
             return super.getAllBeans(resolvable);
         }
         Set<T> beans = new HashSet<T>();
-        for (Type type : resolvable.getTypes()) {
+        for (Type type : getLookupTypes(resolvable)) {
             beans.addAll(getBeans(type));
+        }
+        return beans;
+    }
+
+    /**
+     *
+     * @param resolvable
+     * @return the types used to look up the candidate beans for the given resolvable
+     */
+    private static Set<Type> getLookupTypes(Resolvable resolvable) {
+        Set<Type> lookupTypes = new HashSet<Type>();
+        for (Type type : resolvable.getTypes()) {
+            lookupTypes.add(type);
             if (type instanceof ParameterizedType) {
                 // we also need to consider the raw type
-                Type rawType = ((ParameterizedType) type).getRawType();
-                beans.addAll(getBeans(rawType));
+                lookupTypes.add(((ParameterizedType) type).getRawType());
             } else if (type instanceof Class<?>) {
                 // primitives
                 Class<?> clazz = (Class<?>) type;
                 if (clazz.isPrimitive()) {
-                    clazz = Primitives.wrap(clazz);
-                    beans.addAll(getBeans(clazz));
+                    lookupTypes.add(Primitives.wrap(clazz));
                 }
             } else if (type instanceof GenericArrayType) {
-                Class<Object> rawArrayType = Reflections.getRawType(type);
-                beans.addAll(getBeans(rawArrayType));
+                lookupTypes.add(Reflections.getRawType(type));
             }
         }
-        return beans;
+        return lookupTypes;
     }
 
     private List<T> getBeans(Type type) {
@@ -268,6 +286,65 @@ public abstract class AbstractTypeSafeBeanResolver<T extends Bean<?>, C extends
         this.beansByType.clear();
     }
 
+    /**
+     * Reset all cached resolutions. Unlike {@link #clear()}, the index of beans by type is retained as it is maintained incrementally.
+     */
+    public void clearResolved() {
+        super.clear();
+        this.disambiguatedBeans.clear();
+    }
+
+    /**
+     * Updates the index of beans by type (if already computed) and resets the cached resolutions whose types intersect with the types of the given beans.
+     * The other cached resolutions are retained. The beans are expected to be already accessible through the iterable the resolver was created with.
+     *
+     * @param beans the beans added to the manager
+     */
+    public void beansAdded(Collection<? extends T> beans) {
+        if (beans.isEmpty()) {
+            return;
+        }
+        final Map<Type, List<T>> addedBeansByType = new HashMap<Type, List<T>>();
+        for (T bean : beans) {
+            for (Type type : getIndexTypes(bean)) {
+                addedBeansByType.computeIfAbsent(type, (key) -> new ArrayList<T>()).add(bean);
+            }
+        }
+        synchronized (beansByType) {
+            // the map is computed while holding the same lock
+            Map<Type, List<T>> map = beansByType.getIfPresent();
+            if (map != null) {
+                for (Entry<Type, List<T>> entry : addedBeansByType.entrySet()) {
+                    List<T> current = map.get(entry.getKey());
+                    ArrayList<T> updated;
+                    if (current == null) {
+                        updated = new ArrayList<T>(entry.getValue());
+                    } else {
+                        updated = new ArrayList<T>(current.size() + entry.getValue().size());
+                        updated.addAll(current);
+                        // the bean might have been already seen when computing the map
+                        Set<T> known = new HashSet<T>(current);
+                        for (T bean : entry.getValue()) {
+                            if (known.add(bean)) {
+                                updated.add(bean);
+                            }
+                        }
+                    }
+                    // readers always see a fully initialized list
+                    map.put(entry.getKey(), updated);
+                }
+            }
+        }
+        clear((resolvable) -> {
+            for (Type type : getLookupTypes(resolvable)) {
+                if (addedBeansByType.containsKey(type)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
     MetaAnnotationStore getStore() {
         return store;
     }
@@ -18,6 +18,7 @@ package org.jboss.weld.resolution;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.util.Collections;
 import java.util.Map;
@@ -26,7 +27,6 @@ import java.util.Set;
 
 import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Default;
-import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.Bean;
 import javax.inject.Named;
 
@@ -106,26 +106,24 @@ public class QualifierInstance {
         final Class<? extends Annotation> annotationClass = instance.annotationType();
         final QualifierModel<? extends Annotation> model = store.getBindingTypeModel(annotationClass);
 
-        if(model.getAnnotatedAnnotation().getMethods().size() == 0) {
+        if(model.getMembers().isEmpty()) {
             return Collections.emptyMap();
         }
 
         final ImmutableMap.Builder<String, Object> builder = ImmutableMap.builder();
 
-        for (final AnnotatedMethod<?> method : model.getAnnotatedAnnotation().getMethods()) {
-            if(!model.getNonBindingMembers().contains(method)) {
-                try {
-                    if (System.getSecurityManager() != null) {
-                        AccessController.doPrivileged(SetAccessibleAction.of(method.getJavaMember()));
-                    } else {
-                        method.getJavaMember().setAccessible(true);
-                    }
-                    builder.put(method.getJavaMember().getName(), method.getJavaMember().invoke(instance));
-                } catch (IllegalAccessException e) {
-                    throw new WeldException(e);
-                } catch (InvocationTargetException e) {
-                    throw new WeldException(e);
+        for (final Method method : model.getBindingMembers()) {
+            try {
+                if (System.getSecurityManager() != null) {
+                    AccessController.doPrivileged(SetAccessibleAction.of(method));
+                } else {
+                    method.setAccessible(true);
                 }
+                builder.put(method.getName(), method.invoke(instance));
+            } catch (IllegalAccessException e) {
+                throw new WeldException(e);
+            } catch (InvocationTargetException e) {
+                throw new WeldException(e);
             }
         }
         return builder.build();
@@ -23,9 +23,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.jboss.weld.config.ConfigurationKey;
 import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.metrics.MetricsListener;
 import org.jboss.weld.util.cache.ComputingCache;
 import org.jboss.weld.util.cache.ComputingCacheBuilder;
 import org.jboss.weld.util.collections.ImmutableList;
@@ -59,11 +61,22 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
     // The beans to search
     private final Iterable<? extends T> allBeans;
     private final ResolvableToBeanCollection<R, T, C, F> resolverFunction;
+    private final MetricsListener metrics;
 
     /**
      * Constructor
      */
     public TypeSafeResolver(Iterable<? extends T> allBeans, WeldConfiguration configuration) {
+        this(allBeans, configuration, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param metrics the listener notified about each cached resolution, may be null
+     */
+    protected TypeSafeResolver(Iterable<? extends T> allBeans, WeldConfiguration configuration, MetricsListener metrics) {
+        this.metrics = metrics;
         this.resolverFunction = new ResolvableToBeanCollection<R, T, C, F>(this);
         this.resolved = ComputingCacheBuilder.newBuilder().setMaxSize(configuration.getLongProperty(ConfigurationKey.RESOLUTION_CACHE_SIZE)).build(resolverFunction);
         this.allBeans = allBeans;
@@ -76,6 +89,15 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
         this.resolved.clear();
     }
 
+    /**
+     * Reset the cached resolutions whose resolvables match the given predicate
+     *
+     * @param predicate
+     */
+    protected void clear(Predicate<? super R> predicate) {
+        this.resolved.invalidateAll(predicate);
+    }
+
     /**
      * Get the possible beans for the given element
      *
@@ -85,6 +107,13 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
     public F resolve(R resolvable, boolean cache) {
         R wrappedResolvable = wrap(resolvable);
         if (cache) {
+            if (metrics != null) {
+                F result = resolved.getValueIfPresent(wrappedResolvable);
+                metrics.beanResolution(result != null);
+                if (result != null) {
+                    return result;
+                }
+            }
             return resolved.getValue(wrappedResolvable);
         } else {
             return resolverFunction.apply(wrappedResolvable);
@@ -52,31 +52,53 @@ public class DefaultReflectionCache extends AbstractBootstrapService implements
     private final ComputingCache<AnnotatedElement, Set<Annotation>> declaredAnnotations;
     private final ComputingCache<Class<?>, Set<Annotation>> backedAnnotatedTypeAnnotations;
     private final ComputingCache<Class<? extends Annotation>, AnnotationClass<?>> annotationClasses;
+    // The annotations do not depend on the container and may be shared, unlike the annotation classes which depend on the TypeStore
+    private final SharedClassMetadata sharedClassMetadata;
 
     public DefaultReflectionCache(TypeStore store) {
+        this(store, null);
+    }
+
+    public DefaultReflectionCache(TypeStore store, SharedClassMetadata sharedClassMetadata) {
         this.store = store;
         ComputingCacheBuilder cacheBuilder = ComputingCacheBuilder.newBuilder();
-        this.annotations = cacheBuilder.build(ANNOTATIONS_FUNCTION);
-        this.declaredAnnotations = cacheBuilder.build(DECLARED_ANNOTATIONS_FUNCTION);
+        this.sharedClassMetadata = sharedClassMetadata;
+        if (sharedClassMetadata != null) {
+            this.annotations = null;
+            this.declaredAnnotations = null;
+        } else {
+            this.annotations = cacheBuilder.build(ANNOTATIONS_FUNCTION);
+            this.declaredAnnotations = cacheBuilder.build(DECLARED_ANNOTATIONS_FUNCTION);
+        }
         this.backedAnnotatedTypeAnnotations = cacheBuilder.build(new BackedAnnotatedTypeAnnotationsFunction());
         this.annotationClasses =  cacheBuilder.build(new AnnotationClassFunction());
     }
 
     @Override
     public void cleanupAfterBoot() {
-        annotations.clear();
-        declaredAnnotations.clear();
+        if (sharedClassMetadata != null) {
+            sharedClassMetadata.cleanupAfterBoot();
+        } else {
+            annotations.clear();
+            declaredAnnotations.clear();
+        }
         backedAnnotatedTypeAnnotations.clear();
         annotationClasses.clear();
     }
 
     @Override
     public Set<Annotation> getAnnotations(AnnotatedElement element) {
+        if (sharedClassMetadata != null) {
+            return sharedClassMetadata.getAnnotations(element, ANNOTATIONS_FUNCTION);
+        }
         return annotations.getValue(element);
     }
 
     @Override
     public Set<Annotation> getDeclaredAnnotations(AnnotatedElement element) {
+        if (sharedClassMetadata != null) {
+            return sharedClassMetadata.getDeclaredAnnotations(element, DECLARED_ANNOTATIONS_FUNCTION);
+        }
         return declaredAnnotations.getValue(element);
     }
 
@@ -37,7 +37,11 @@ public class HotspotReflectionCache extends DefaultReflectionCache {
     private final Class<?> annotationTypeLock;
 
     public HotspotReflectionCache(TypeStore store) {
-        super(store);
+        this(store, null);
+    }
+
+    public HotspotReflectionCache(TypeStore store, SharedClassMetadata sharedClassMetadata) {
+        super(store, sharedClassMetadata);
         try {
             this.annotationTypeLock = Class.forName("sun.reflect.annotation.AnnotationType");
         } catch (ClassNotFoundException e) {
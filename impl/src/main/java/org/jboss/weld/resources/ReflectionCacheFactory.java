@@ -27,10 +27,20 @@ public class ReflectionCacheFactory {
     }
 
     public static ReflectionCache newInstance(TypeStore store) {
+        return newInstance(store, null);
+    }
+
+    /**
+     *
+     * @param store
+     * @param sharedClassMetadata the shared class metadata or <code>null</code> if the metadata should not be shared
+     * @return a new reflection cache
+     */
+    public static ReflectionCache newInstance(TypeStore store, SharedClassMetadata sharedClassMetadata) {
         if (Reflections.isClassLoadable(HOTSPOT_MARKER, WeldClassLoaderResourceLoader.INSTANCE)) {
-            return new HotspotReflectionCache(store);
+            return new HotspotReflectionCache(store, sharedClassMetadata);
         } else {
-            return new DefaultReflectionCache(store);
+            return new DefaultReflectionCache(store, sharedClassMetadata);
         }
     }
 }
@@ -0,0 +1,188 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resources;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.lang.reflect.Parameter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.logging.BootstrapLogger;
+
+/**
+ * Class metadata which does not depend on a particular container and may therefore be shared by all the containers running in the same JVM, e.g. the
+ * containers of a test suite or per-tenant containers. The shared metadata comprise the {@link SharedObjectCache} and the annotations of classes and members
+ * (see {@link DefaultReflectionCache}).
+ * <p>
+ * The metadata outlive the containers, so that a container booted after another one was shut down, e.g. the next test of a test suite, reuses the
+ * annotations read by its predecessors. Each container acquires a reference when started and releases it when shut down.
+ * <p>
+ * The annotations are attached to the declaring class (see {@link ClassValue}) rather than held in a static map, and the interned objects of the
+ * {@link SharedObjectCache} are weakly referenced. Therefore, the shared metadata never keep the class loader of an undeployed container reachable. The
+ * boot-time caches of the {@link SharedObjectCache}, which reference the types strongly, are cleared once no container is booting.
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#SHARED_CLASS_METADATA
+ */
+public final class SharedClassMetadata implements Service {
+
+    private static final Object LOCK = new Object();
+
+    private static final Tier TIER = new Tier();
+
+    /**
+     * Acquires a reference to the shared class metadata. The reference is released when the returned service is cleaned up.
+     *
+     * @return the service representing the acquired reference
+     */
+    public static SharedClassMetadata acquire() {
+        synchronized (LOCK) {
+            TIER.references++;
+            TIER.booting++;
+            BootstrapLogger.LOG.sharedClassMetadataAcquired(TIER.references);
+            return new SharedClassMetadata(TIER);
+        }
+    }
+
+    private final Tier tier;
+
+    private final AtomicBoolean booted;
+
+    private final AtomicBoolean released;
+
+    private SharedClassMetadata(Tier tier) {
+        this.tier = tier;
+        this.booted = new AtomicBoolean();
+        this.released = new AtomicBoolean();
+    }
+
+    public SharedObjectCache getSharedObjectCache() {
+        return tier.sharedObjectCache;
+    }
+
+    Set<Annotation> getAnnotations(AnnotatedElement element, Function<AnnotatedElement, Set<Annotation>> function) {
+        ClassAnnotations classAnnotations = getClassAnnotations(element);
+        return classAnnotations != null ? classAnnotations.annotations.computeIfAbsent(element, function) : function.apply(element);
+    }
+
+    Set<Annotation> getDeclaredAnnotations(AnnotatedElement element, Function<AnnotatedElement, Set<Annotation>> function) {
+        ClassAnnotations classAnnotations = getClassAnnotations(element);
+        return classAnnotations != null ? classAnnotations.declaredAnnotations.computeIfAbsent(element, function) : function.apply(element);
+    }
+
+    private ClassAnnotations getClassAnnotations(AnnotatedElement element) {
+        Class<?> declaringClass;
+        if (element instanceof Class<?>) {
+            declaringClass = (Class<?>) element;
+        } else if (element instanceof Member) {
+            declaringClass = ((Member) element).getDeclaringClass();
+        } else if (element instanceof Parameter) {
+            declaringClass = ((Parameter) element).getDeclaringExecutable().getDeclaringClass();
+        } else {
+            // Not cached
+            return null;
+        }
+        return tier.annotations.get(declaringClass);
+    }
+
+    /**
+     * Signals that the container holding this reference is booted. The boot-time caches of the {@link SharedObjectCache} are cleared once no container is
+     * booting. The annotations are retained.
+     */
+    public void cleanupAfterBoot() {
+        if (booted.compareAndSet(false, true)) {
+            synchronized (LOCK) {
+                if (--tier.booting == 0) {
+                    tier.clearAfterBoot();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        // The container might have failed to boot
+        cleanupAfterBoot();
+        if (released.compareAndSet(false, true)) {
+            synchronized (LOCK) {
+                tier.references--;
+            }
+        }
+    }
+
+    private static class Tier {
+
+        private final TierObjectCache sharedObjectCache = new TierObjectCache();
+
+        private final ClassValue<ClassAnnotations> annotations = new ClassAnnotationsValue();
+
+        // Guarded by LOCK
+        private int references;
+
+        // Guarded by LOCK
+        private int booting;
+
+        private void clearAfterBoot() {
+            sharedObjectCache.clearAfterBoot();
+        }
+    }
+
+    private static class ClassAnnotationsValue extends ClassValue<ClassAnnotations> {
+
+        @Override
+        protected ClassAnnotations computeValue(Class<?> type) {
+            return new ClassAnnotations();
+        }
+    }
+
+    /**
+     * The annotations of a class and its members.
+     */
+    private static class ClassAnnotations {
+
+        private final ConcurrentMap<AnnotatedElement, Set<Annotation>> annotations = new ConcurrentHashMap<>();
+
+        private final ConcurrentMap<AnnotatedElement, Set<Annotation>> declaredAnnotations = new ConcurrentHashMap<>();
+
+    }
+
+    /**
+     * The shared cache outlives the individual containers. The boot-time caches are cleared once no container is booting, the weakly referenced interned
+     * objects are retained.
+     */
+    private static class TierObjectCache extends SharedObjectCache {
+
+        @Override
+        public void cleanupAfterBoot() {
+            // No-op
+        }
+
+        @Override
+        public void cleanup() {
+            // No-op
+        }
+
+        private void clearAfterBoot() {
+            super.cleanupAfterBoot();
+        }
+    }
+}
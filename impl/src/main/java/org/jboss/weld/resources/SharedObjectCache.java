@@ -27,12 +27,19 @@ import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.LazyValueHolder;
 import org.jboss.weld.util.cache.ComputingCache;
 import org.jboss.weld.util.cache.ComputingCacheBuilder;
+import org.jboss.weld.util.cache.WeakInterner;
 import org.jboss.weld.util.collections.ImmutableMap;
 import org.jboss.weld.util.collections.ImmutableSet;
 
 /**
  * Allows classes to share Maps/Sets to conserve memory.
  *
+ * <p>
+ * Bean types and type closures are additionally canonicalized by a weak interner which is shared by all bean managers of a container and survives
+ * {@link #cleanupAfterBoot()}. Equal {@link Type} instances and type sets are thus represented by a single object and most equality checks performed during
+ * resolution end up as reference checks.
+ * </p>
+ *
  * @author Stuart Douglas <stuart@baileyroberts.com.au>
  * @author Jozef Hartinger
  */
@@ -65,6 +72,8 @@ public class SharedObjectCache implements BootstrapService {
         }
     });
 
+    private final WeakInterner<Object> internedObjects = new WeakInterner<Object>();
+
     public <T> Set<T> getSharedSet(Set<T> set) {
         return sharedSets.getCastValue(set);
     }
@@ -77,6 +86,39 @@ public class SharedObjectCache implements BootstrapService {
         return typeClosureHolders.getCastValue(type);
     }
 
+    /**
+     * Returns the canonical instance of the given type. Classes are canonical by definition and are returned as is.
+     *
+     * @param type
+     * @return the canonical instance equal to the given type
+     */
+    public Type getSharedType(Type type) {
+        if (type instanceof Class<?>) {
+            return type;
+        }
+        return intern(type);
+    }
+
+    /**
+     * Returns the canonical immutable copy of the given type closure. Each type of the closure is canonicalized as well.
+     *
+     * @param types
+     * @return the canonical set of types equal to the given set
+     * @see #getSharedType(Type)
+     */
+    public Set<Type> getSharedTypeClosure(Set<Type> types) {
+        ImmutableSet.Builder<Type> builder = ImmutableSet.builder();
+        for (Type type : types) {
+            builder.add(getSharedType(type));
+        }
+        return intern(builder.build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T intern(T object) {
+        return (T) internedObjects.intern(object);
+    }
+
     @Override
     public void cleanupAfterBoot() {
         sharedSets.clear();
@@ -87,5 +129,6 @@ public class SharedObjectCache implements BootstrapService {
     @Override
     public void cleanup() {
         cleanupAfterBoot();
+        internedObjects.clear();
     }
 }
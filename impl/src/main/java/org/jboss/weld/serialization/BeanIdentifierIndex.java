@@ -21,7 +21,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import javax.enterprise.inject.spi.Bean;
@@ -35,7 +34,7 @@ import org.jboss.weld.logging.BootstrapLogger;
 import org.jboss.weld.logging.SerializationLogger;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.util.Preconditions;
-import org.jboss.weld.util.collections.ImmutableMap;
+import org.jboss.weld.util.collections.ObjectIntMap;
 
 /**
  * An optional per deployment service.
@@ -49,7 +48,7 @@ public class BeanIdentifierIndex implements Service {
 
     private volatile BeanIdentifier[] index;
 
-    private volatile Map<BeanIdentifier, Integer> reverseIndex;
+    private volatile ObjectIntMap<BeanIdentifier> reverseIndex;
 
     private volatile Integer indexHash;
 
@@ -59,9 +58,19 @@ public class BeanIdentifierIndex implements Service {
      * @return the position for the given bean identifier or null if the index does not contain the given identifier
      */
     public Integer getIndex(BeanIdentifier identifier) {
+        int idx = indexOf(identifier);
+        return idx < 0 ? null : idx;
+    }
+
+    /**
+     *
+     * @param identifier
+     * @return the position for the given bean identifier or -1 if the index does not contain the given identifier
+     */
+    public int indexOf(BeanIdentifier identifier) {
         checkIsBuilt();
         Preconditions.checkArgumentNotNull(identifier, "identifier");
-        return reverseIndex.get(identifier);
+        return reverseIndex.get(identifier, -1);
     }
 
     /**
@@ -102,7 +111,7 @@ public class BeanIdentifierIndex implements Service {
 
         if (beans.isEmpty()) {
             index = new BeanIdentifier[0];
-            reverseIndex = Collections.emptyMap();
+            reverseIndex = new ObjectIntMap<BeanIdentifier>();
             indexHash = 0;
             return;
         }
@@ -126,11 +135,11 @@ public class BeanIdentifierIndex implements Service {
 
         index = tempIndex.toArray(new BeanIdentifier[tempIndex.size()]);
 
-        ImmutableMap.Builder<BeanIdentifier, Integer> builder = ImmutableMap.builder();
+        ObjectIntMap<BeanIdentifier> positions = new ObjectIntMap<BeanIdentifier>(index.length);
         for (int i = 0; i < index.length; i++) {
-            builder.put(index[i], i);
+            positions.put(index[i], i);
         }
-        reverseIndex = builder.build();
+        reverseIndex = positions;
 
         indexHash = Arrays.hashCode(index);
 
@@ -147,6 +156,14 @@ public class BeanIdentifierIndex implements Service {
         return index != null;
     }
 
+    /**
+     * @return the number of identifiers in the index
+     */
+    public int size() {
+        checkIsBuilt();
+        return index.length;
+    }
+
     /**
      * @return <code>true</code> if the index is empty, <code>false</code> otherwise
      */
@@ -17,6 +17,7 @@
 package org.jboss.weld.util.cache;
 
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * A simple abstraction for computing cache.
@@ -67,6 +68,13 @@ public interface ComputingCache<K, V> {
      */
     void invalidate(Object key);
 
+    /**
+     * Invalidate all the entries whose keys match the given predicate.
+     *
+     * @param predicate
+     */
+    void invalidateAll(Predicate<? super K> predicate);
+
     /**
      *
      * @return an immutable map of entries
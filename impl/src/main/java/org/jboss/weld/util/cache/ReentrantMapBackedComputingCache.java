@@ -23,6 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import org.jboss.weld.util.LazyValueHolder;
@@ -102,6 +103,11 @@ class ReentrantMapBackedComputingCache<K, V> implements ComputingCache<K, V>, It
         map.remove(key);
     }
 
+    @Override
+    public void invalidateAll(Predicate<? super K> predicate) {
+        map.keySet().removeIf(predicate);
+    }
+
     @Override
     public Iterable<V> getAllPresentValues() {
         return this;
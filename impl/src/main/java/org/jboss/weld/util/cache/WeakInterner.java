@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.util.cache;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A thread-safe interner which only holds weak references to the canonical instances. A canonical instance may therefore be garbage-collected once it is
+ * no longer used elsewhere.
+ *
+ * <p>
+ * Lookups do not block. Unlike a synchronized {@link java.util.WeakHashMap}, the interner does not become a point of contention if many threads intern
+ * objects at the same time, e.g. during a concurrent bootstrap.
+ * </p>
+ *
+ * @param <T> the type of the interned objects
+ */
+public final class WeakInterner<T> {
+
+    private final ConcurrentMap<Object, InternedReference<T>> map;
+
+    private final ReferenceQueue<T> queue;
+
+    public WeakInterner() {
+        this.map = new ConcurrentHashMap<Object, InternedReference<T>>();
+        this.queue = new ReferenceQueue<T>();
+    }
+
+    /**
+     *
+     * @param object
+     * @return the canonical instance equal to the given object, the given object itself if there is none yet
+     */
+    public T intern(T object) {
+        expungeStaleEntries();
+        InternedReference<T> reference = map.get(new LookupKey(object));
+        if (reference != null) {
+            T interned = reference.get();
+            if (interned != null) {
+                return interned;
+            }
+        }
+        InternedReference<T> newReference = new InternedReference<T>(object, queue);
+        for (;;) {
+            InternedReference<T> previous = map.putIfAbsent(newReference, newReference);
+            if (previous == null) {
+                return object;
+            }
+            T interned = previous.get();
+            if (interned != null) {
+                return interned;
+            }
+            // The previous canonical instance was garbage-collected but the entry was not expunged yet
+            map.remove(previous, previous);
+        }
+    }
+
+    /**
+     *
+     * @return the number of canonical instances, including the ones which were garbage-collected but not expunged yet
+     */
+    public int size() {
+        return map.size();
+    }
+
+    public void clear() {
+        map.clear();
+        while (queue.poll() != null) {
+            // Drain the queue
+        }
+    }
+
+    private void expungeStaleEntries() {
+        for (Reference<? extends T> reference; (reference = queue.poll()) != null;) {
+            map.remove(reference, reference);
+        }
+    }
+
+    /**
+     * A weak reference whose equality is given by the referent. A cleared reference is only equal to itself.
+     */
+    private static final class InternedReference<T> extends WeakReference<T> {
+
+        private final int hashCode;
+
+        InternedReference(T referent, ReferenceQueue<T> queue) {
+            super(referent, queue);
+            this.hashCode = referent.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof InternedReference<?>) {
+                Object referent = get();
+                return referent != null && referent.equals(((InternedReference<?>) obj).get());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Used for lookups so that no weak reference needs to be created for objects which are already interned.
+     */
+    private static final class LookupKey {
+
+        private final Object object;
+
+        LookupKey(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public int hashCode() {
+            return object.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof InternedReference<?>) {
+                return object.equals(((InternedReference<?>) obj).get());
+            }
+            return obj instanceof LookupKey && object.equals(((LookupKey) obj).object);
+        }
+    }
+}
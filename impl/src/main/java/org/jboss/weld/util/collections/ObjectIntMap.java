@@ -0,0 +1,198 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.util.collections;
+
+import java.util.Arrays;
+
+import org.jboss.weld.util.Preconditions;
+
+/**
+ * A map with object keys and primitive int values. This implementation uses open addressing with linear probing and a table size of a power of two so that the
+ * load factor is below 0.5. Unlike {@link java.util.HashMap} it neither boxes the values nor allocates an entry object per mapping. Null keys are not
+ * supported.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <K> the key type
+ */
+public final class ObjectIntMap<K> {
+
+    private static final int MIN_TABLE_SIZE = 8;
+    private static final int MAX_CAPACITY = 30;
+    private static final int MAX_TABLE_SIZE = 1 << MAX_CAPACITY;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+    private static final int SHIFT = 16;
+
+    private Object[] keys;
+    private int[] values;
+    private int size;
+
+    public ObjectIntMap() {
+        this(0);
+    }
+
+    /**
+     *
+     * @param expectedSize the number of mappings the map should hold without resizing
+     */
+    public ObjectIntMap(int expectedSize) {
+        Preconditions.checkArgument(expectedSize >= 0, expectedSize);
+        int tableSize = tableSize(expectedSize);
+        this.keys = new Object[tableSize];
+        this.values = new int[tableSize];
+    }
+
+    private static int tableSize(int expectedSize) {
+        int tableSize = MIN_TABLE_SIZE;
+        while (tableSize < MAX_TABLE_SIZE && tableSize >> 1 <= expectedSize) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * GOLDEN_RATIO;
+        return h ^ (h >>> SHIFT);
+    }
+
+    private int indexOf(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        int mask = keys.length - 1;
+        for (int i = mix(key.hashCode()) & mask;; i = (i + 1) & mask) {
+            Object candidate = keys[i];
+            if (candidate == null) {
+                return -1;
+            }
+            if (candidate == key || candidate.equals(key)) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     *
+     * @param key
+     * @param defaultValue
+     * @return the value mapped to the given key or the default value if there is no such mapping
+     */
+    public int get(Object key, int defaultValue) {
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     *
+     * @param key
+     * @param value
+     */
+    public void put(K key, int value) {
+        Preconditions.checkArgumentNotNull(key, "key");
+        int mask = keys.length - 1;
+        for (int i = mix(key.hashCode()) & mask;; i = (i + 1) & mask) {
+            Object candidate = keys[i];
+            if (candidate == null) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size > keys.length >> 1) {
+                    resize();
+                }
+                return;
+            }
+            if (candidate == key || candidate.equals(key)) {
+                values[i] = value;
+                return;
+            }
+        }
+    }
+
+    /**
+     *
+     * @param key
+     * @return true if a mapping was removed
+     */
+    public boolean remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return false;
+        }
+        // Shift back the following entries of the cluster so that no tombstone is needed
+        int mask = keys.length - 1;
+        int gap = index;
+        for (int i = (gap + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            int home = mix(keys[i].hashCode()) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = null;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    private void resize() {
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new Object[oldKeys.length << 1];
+        values = new int[oldValues.length << 1];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != null) {
+                int i = mix(oldKeys[j].hashCode()) & mask;
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                if (builder.length() > 1) {
+                    builder.append(", ");
+                }
+                builder.append(keys[i]).append('=').append(values[i]);
+            }
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -30,7 +30,9 @@ public class GenericArrayTypeImpl implements GenericArrayType {
 
     @Override
     public boolean equals(Object obj) {
-        if (obj instanceof GenericArrayType) {
+        if (this == obj) {
+            return true;
+        } else if (obj instanceof GenericArrayType) {
             GenericArrayType that = (GenericArrayType) obj;
             if (genericComponentType == null) {
                 return that.getGenericComponentType() == null;
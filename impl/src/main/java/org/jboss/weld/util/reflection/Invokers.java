@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.util.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates {@link MethodHandle}s bound to a single method or field with a uniform erased signature so that hot paths (observer notification, producer
+ * invocation, disposal) may call them via {@link MethodHandle#invokeExact(Object...)} instead of going through {@link Method#invoke(Object, Object...)}.
+ *
+ * <p>
+ * A method invoker has the type {@code (Object receiver, Object[] parameters)Object}, a field getter has the type {@code (Object receiver)Object}. The
+ * receiver is ignored for static members. A void method returns {@code null}.
+ * </p>
+ *
+ * <p>
+ * The members passed in are expected to be accessible already (see {@link java.lang.reflect.AccessibleObject#setAccessible(boolean)}). If a handle cannot be
+ * created, {@code null} is returned and the caller is expected to fall back to reflection.
+ * </p>
+ */
+public final class Invokers {
+
+    private static final MethodType METHOD_INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final MethodType FIELD_GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private Invokers() {
+    }
+
+    /**
+     *
+     * @param accessibleMethod
+     * @return a method handle of type {@code (Object, Object[])Object} or {@code null} if the method cannot be unreflected
+     */
+    public static MethodHandle forMethod(Method accessibleMethod) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(accessibleMethod).asFixedArity();
+            if (Modifier.isStatic(accessibleMethod.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asSpreader(Object[].class, accessibleMethod.getParameterTypes().length).asType(METHOD_INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     *
+     * @param accessibleField
+     * @return a method handle of type {@code (Object)Object} or {@code null} if the field cannot be unreflected
+     */
+    public static MethodHandle forFieldGetter(Field accessibleField) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflectGetter(accessibleField);
+            if (Modifier.isStatic(accessibleField.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(FIELD_GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -18,16 +18,31 @@ package org.jboss.weld.xml;
 
 import static org.jboss.weld.bootstrap.spi.BeansXml.EMPTY_BEANS_XML;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
+import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
 
 import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
 import org.jboss.weld.bootstrap.spi.BeanDiscoveryMode;
@@ -35,26 +50,40 @@ import org.jboss.weld.bootstrap.spi.BeansXml;
 import org.jboss.weld.bootstrap.spi.Filter;
 import org.jboss.weld.bootstrap.spi.Metadata;
 import org.jboss.weld.config.SystemPropertiesConfiguration;
-import org.jboss.weld.exceptions.IllegalStateException;
 import org.jboss.weld.logging.XmlLogger;
 import org.jboss.weld.metadata.BeansXmlImpl;
 import org.jboss.weld.metadata.ScanningImpl;
+import org.jboss.weld.util.LazyValueHolder;
+import org.jboss.weld.util.collections.ImmutableSet;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
-import org.xml.sax.SAXNotRecognizedException;
-import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.helpers.AttributesImpl;
 
 /**
  * Simple parser for beans.xml
  * <p/>
- * This class is NOT threadsafe, and should only be called in a single thread
+ * This class is threadsafe. SAX parsers are pooled and reused, the beans.xml schemas are only compiled once and shared. Trivially-formed files (an empty
+ * <code>beans</code> element only) are processed without SAX.
  *
  * @author Pete Muir
  * @author Ales Justin
  */
 public class BeansXmlParser {
 
-    private static final InputSource[] EMPTY_INPUT_SOURCE_ARRAY = new InputSource[0];
+    private static final String XSI_URI = "http://www.w3.org/2001/XMLSchema-instance";
+    private static final String XMLNS_ATTRIBUTE_NAME = "xmlns";
+    private static final String XMLNS_XSI_ATTRIBUTE_NAME = "xmlns:xsi";
+    private static final String SCHEMA_LOCATION = "schemaLocation";
+    private static final String SCHEMA_LOCATION_ATTRIBUTE_NAME = "xsi:" + SCHEMA_LOCATION;
+    private static final String VERSION_ATTRIBUTE_NAME = "version";
+    private static final String BEAN_DISCOVERY_MODE_ATTRIBUTE_NAME = "bean-discovery-mode";
+    private static final String ROOT_ELEMENT_NAME = "beans";
+    private static final String CDATA = "CDATA";
+    // the default value of the version attribute in beans_1_1.xsd
+    private static final String DEFAULT_VERSION = "1.1";
+    private static final Pattern VERSION_PATTERN = Pattern.compile("\\.?[0-9]+(\\.[0-9]+)*");
+    private static final Set<String> BEAN_DISCOVERY_MODES = ImmutableSet.of("all", "annotated", "none");
+    private static final int BUFFER_SIZE = 1024;
 
     private Function<URL, BeansXml> URL_TO_BEANS_XML_FUNCTION = BeansXmlParser.this::parse;
 
@@ -67,58 +96,162 @@ public class BeansXmlParser {
 
     private static Function<BeansXml, BeansXml> BEANS_XML_IDENTITY_FUNCTION = beansXml -> beansXml;
 
+    private final boolean validationEnabled;
+
+    // created when the first file is parsed by SAX
+    private final LazyValueHolder<SAXParserFactory> factory;
+
+    // idle parsers ready to be reused
+    private final Queue<SAXParser> parsers;
+
+    public BeansXmlParser() {
+        this.validationEnabled = !SystemPropertiesConfiguration.INSTANCE.isXmlValidationDisabled();
+        this.factory = LazyValueHolder.forSupplier(this::createFactory);
+        this.parsers = new ConcurrentLinkedQueue<SAXParser>();
+    }
+
     public BeansXml parse(final URL beansXml) {
-        SAXParserFactory factory = SAXParserFactory.newInstance();
-        factory.setValidating(!SystemPropertiesConfiguration.INSTANCE.isXmlValidationDisabled());
-        factory.setNamespaceAware(true);
         if (beansXml == null) {
             throw XmlLogger.LOG.loadError("unknown", null);
         }
-        SAXParser parser;
+        byte[] content;
         try {
-            parser = factory.newSAXParser();
-        } catch (SAXException e) {
-            throw XmlLogger.LOG.configurationError(e);
-        } catch (ParserConfigurationException e) {
-            throw XmlLogger.LOG.configurationError(e);
+            content = read(beansXml);
+        } catch (IOException e) {
+            throw XmlLogger.LOG.loadError(beansXml, e);
+        }
+        if (content.length == 0) {
+            // The file is just acting as a marker file
+            return EMPTY_BEANS_XML;
         }
-        InputStream beansXmlInputStream = null;
         try {
-            beansXmlInputStream = beansXml.openStream();
-            InputSource source = new InputSource(beansXmlInputStream);
-            if (source.getByteStream().available() == 0) {
-                // The file is just acting as a marker file
-                return EMPTY_BEANS_XML;
+            BeansXml trivial = parseTrivial(beansXml, content);
+            if (trivial != null) {
+                return trivial;
             }
             BeansXmlHandler handler = getHandler(beansXml);
-
+            SAXParser parser = acquireParser();
             try {
-                parser.setProperty("http://java.sun.com/xml/jaxp/properties/schemaLanguage", "http://www.w3.org/2001/XMLSchema");
-                parser.setProperty("http://java.sun.com/xml/jaxp/properties/schemaSource", loadXsds());
-            } catch (IllegalArgumentException e) {
-                // No op, we just don't validate the XML
-            } catch (SAXNotRecognizedException e) {
-                // No op, we just don't validate the XML
-            } catch (SAXNotSupportedException e) {
-                // No op, we just don't validate the XML
+                parser.parse(new InputSource(new ByteArrayInputStream(content)), handler);
+            } finally {
+                releaseParser(parser);
             }
-
-            parser.parse(source, handler);
-
             return handler.createBeansXml();
         } catch (IOException e) {
             throw XmlLogger.LOG.loadError(beansXml, e);
         } catch (SAXException e) {
             throw XmlLogger.LOG.parsingError(beansXml, e);
-        } finally {
-            if (beansXmlInputStream != null) {
-                try {
-                    beansXmlInputStream.close();
-                } catch (IOException e) {
-                    throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Processes a trivially-formed file without SAX. The result is the same as if the file was parsed, including the effects of schema validation (default
+     * attribute values). Files for which validation would report an error are left to the SAX parser.
+     *
+     * @return the parsed beans.xml or <code>null</code> if the file needs to be parsed by SAX
+     */
+    private BeansXml parseTrivial(URL beansXml, byte[] content) throws SAXException {
+        Map<String, String> attributes = TrivialBeansXmlReader.readRootAttributes(content);
+        if (attributes == null) {
+            return null;
+        }
+        String namespace = "";
+        AttributesImpl saxAttributes = new AttributesImpl();
+        for (Entry<String, String> attribute : attributes.entrySet()) {
+            String name = attribute.getKey();
+            if (XMLNS_ATTRIBUTE_NAME.equals(name)) {
+                namespace = attribute.getValue();
+            } else if (XMLNS_XSI_ATTRIBUTE_NAME.equals(name)) {
+                if (!XSI_URI.equals(attribute.getValue())) {
+                    return null;
                 }
+            } else if (SCHEMA_LOCATION_ATTRIBUTE_NAME.equals(name) && attributes.containsKey(XMLNS_XSI_ATTRIBUTE_NAME)) {
+                saxAttributes.addAttribute(XSI_URI, SCHEMA_LOCATION, name, CDATA, attribute.getValue());
+            } else if (VERSION_ATTRIBUTE_NAME.equals(name) || BEAN_DISCOVERY_MODE_ATTRIBUTE_NAME.equals(name)) {
+                saxAttributes.addAttribute("", name, name, CDATA, attribute.getValue());
+            } else {
+                return null;
             }
         }
+        String discoveryMode = attributes.get(BEAN_DISCOVERY_MODE_ATTRIBUTE_NAME);
+        String version = attributes.get(VERSION_ATTRIBUTE_NAME);
+        if (BeansXmlHandler.JAVAEE_LEGACY_URI.equals(namespace) && isValidatedAgainst(XmlSchema.CDI10)) {
+            // CDI 1.0 schema does not declare any attribute
+            if (discoveryMode != null || version != null) {
+                return null;
+            }
+        } else if (BeansXmlHandler.JAVAEE_URI.equals(namespace) && isValidatedAgainst(XmlSchema.CDI11)) {
+            if (discoveryMode == null || !BEAN_DISCOVERY_MODES.contains(discoveryMode)) {
+                return null;
+            }
+            if (version == null) {
+                saxAttributes.addAttribute("", VERSION_ATTRIBUTE_NAME, VERSION_ATTRIBUTE_NAME, CDATA, DEFAULT_VERSION);
+            } else if (!VERSION_PATTERN.matcher(version).matches()) {
+                return null;
+            }
+        } else if (!namespace.isEmpty() && !BeansXmlHandler.JAVAEE_URIS.contains(namespace)) {
+            return null;
+        } else if (discoveryMode != null && !BEAN_DISCOVERY_MODES.contains(discoveryMode.toLowerCase(Locale.ENGLISH))) {
+            return null;
+        }
+        BeansXmlHandler handler = getHandler(beansXml);
+        handler.startDocument();
+        handler.startElement(namespace, ROOT_ELEMENT_NAME, ROOT_ELEMENT_NAME, saxAttributes);
+        handler.endElement(namespace, ROOT_ELEMENT_NAME, ROOT_ELEMENT_NAME);
+        handler.endDocument();
+        return handler.createBeansXml();
+    }
+
+    private boolean isValidatedAgainst(XmlSchema schema) {
+        return validationEnabled && SchemaHolder.SCHEMAS.contains(schema);
+    }
+
+    private SAXParserFactory createFactory() {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        if (validationEnabled && SchemaHolder.SCHEMA != null) {
+            try {
+                factory.setSchema(SchemaHolder.SCHEMA);
+            } catch (UnsupportedOperationException e) {
+                // No op, we just don't validate the XML
+            }
+        }
+        return factory;
+    }
+
+    private SAXParser acquireParser() {
+        SAXParser parser = parsers.poll();
+        if (parser != null) {
+            return parser;
+        }
+        SAXParserFactory factory = this.factory.get();
+        try {
+            // SAXParserFactory is not guaranteed to be threadsafe
+            synchronized (factory) {
+                return factory.newSAXParser();
+            }
+        } catch (SAXException e) {
+            throw XmlLogger.LOG.configurationError(e);
+        } catch (ParserConfigurationException e) {
+            throw XmlLogger.LOG.configurationError(e);
+        }
+    }
+
+    private void releaseParser(SAXParser parser) {
+        parser.reset();
+        parsers.offer(parser);
+    }
+
+    private static byte[] read(URL beansXml) throws IOException {
+        try (InputStream in = beansXml.openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
     }
 
     public BeansXml parse(Iterable<URL> urls) {
@@ -176,27 +309,41 @@ public class BeansXmlParser {
         return false;
     }
 
-    private static InputSource[] loadXsds() {
+    /**
+     * The beans.xml schemas are compiled once and shared by all parsers. Initialized lazily on first use.
+     */
+    private static final class SchemaHolder {
+
+        // the schemas found on the classpath, empty if the compilation failed
+        private static final Set<XmlSchema> SCHEMAS;
 
-        List<InputSource> xsds = new ArrayList<InputSource>();
+        // null if the schemas cannot be compiled, the files are not validated then
+        private static final Schema SCHEMA;
 
-        for (XmlSchema schema : XmlSchema.values()) {
-            InputSource source = loadXsd(schema.getFileName(), schema.getClassLoader());
-            if (source != null) {
-                xsds.add(source);
+        static {
+            Set<XmlSchema> schemas = EnumSet.noneOf(XmlSchema.class);
+            List<Source> sources = new ArrayList<Source>();
+            for (XmlSchema schema : XmlSchema.values()) {
+                URL url = schema.getClassLoader().getResource(schema.getFileName());
+                if (url != null) {
+                    schemas.add(schema);
+                    sources.add(new StreamSource(url.toExternalForm()));
+                }
+            }
+            Schema compiled = null;
+            if (!sources.isEmpty()) {
+                try {
+                    compiled = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(sources.toArray(new Source[sources.size()]));
+                } catch (SAXException | IllegalArgumentException e) {
+                    XmlLogger.LOG.unableToCompileSchemas(e);
+                    schemas.clear();
+                }
             }
+            SCHEMA = compiled;
+            SCHEMAS = schemas;
         }
 
-        return xsds.toArray(EMPTY_INPUT_SOURCE_ARRAY);
-    }
-
-
-    private static InputSource loadXsd(String name, ClassLoader classLoader) {
-        InputStream in = classLoader.getResourceAsStream(name);
-        if (in == null) {
-            return null;
-        } else {
-            return new InputSource(in);
+        private SchemaHolder() {
         }
     }
 
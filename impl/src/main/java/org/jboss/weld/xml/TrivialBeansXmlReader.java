@@ -0,0 +1,192 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.xml;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Recognizes trivially-formed beans.xml files, i.e. files that consist of nothing but an optional XML declaration, comments and a single empty
+ * <code>beans</code> element, such as:
+ *
+ * <pre>
+ * &lt;beans xmlns="http://xmlns.jcp.org/xml/ns/javaee" bean-discovery-mode="all" /&gt;
+ * </pre>
+ *
+ * Such files are very common in libraries and can be processed without setting up a SAX parser. Anything beyond this simple form, including entity
+ * references, DOCTYPE declarations, processing instructions and encodings other than UTF-8, is not recognized and the file is left to the SAX parser.
+ */
+final class TrivialBeansXmlReader {
+
+    private static final String XML_DECLARATION_START = "<?xml";
+    private static final String XML_DECLARATION_END = "?>";
+    private static final String COMMENT_START = "<!--";
+    private static final String COMMENT_END = "-->";
+    private static final String ROOT_START = "<beans";
+    private static final String ROOT_END = "</beans";
+    private static final String ENCODING = "encoding";
+    private static final char BOM = '\uFEFF';
+
+    private final String content;
+    private int position;
+
+    private TrivialBeansXmlReader(String content) {
+        this.content = content;
+    }
+
+    /**
+     *
+     * @param content the content of a beans.xml file
+     * @return the attributes of the root element in the order of declaration, keyed by qualified name, or <code>null</code> if the file is not trivially-formed
+     */
+    static Map<String, String> readRootAttributes(byte[] content) {
+        return new TrivialBeansXmlReader(new String(content, StandardCharsets.UTF_8)).readRootAttributes();
+    }
+
+    private Map<String, String> readRootAttributes() {
+        if (position < content.length() && content.charAt(position) == BOM) {
+            position++;
+        }
+        if (content.startsWith(XML_DECLARATION_START, position) && content.length() > position + XML_DECLARATION_START.length()
+                && isWhitespace(content.charAt(position + XML_DECLARATION_START.length())) && !skipXmlDeclaration()) {
+            return null;
+        }
+        if (!skipMisc() || !content.startsWith(ROOT_START, position)) {
+            return null;
+        }
+        position += ROOT_START.length();
+        Map<String, String> attributes = new LinkedHashMap<String, String>();
+        while (true) {
+            boolean whitespace = skipWhitespace();
+            if (content.startsWith("/>", position)) {
+                position += 2;
+                break;
+            }
+            if (content.startsWith(">", position)) {
+                position++;
+                // only whitespace and comments may appear before the end tag
+                if (!skipMisc() || !content.startsWith(ROOT_END, position)) {
+                    return null;
+                }
+                position += ROOT_END.length();
+                skipWhitespace();
+                if (!content.startsWith(">", position)) {
+                    return null;
+                }
+                position++;
+                break;
+            }
+            if (!whitespace || !readAttribute(attributes)) {
+                return null;
+            }
+        }
+        if (!skipMisc() || position != content.length()) {
+            return null;
+        }
+        return attributes;
+    }
+
+    private boolean skipXmlDeclaration() {
+        int end = content.indexOf(XML_DECLARATION_END, position);
+        if (end < 0) {
+            return false;
+        }
+        String declaration = content.substring(position, end);
+        position = end + XML_DECLARATION_END.length();
+        int encoding = declaration.indexOf(ENCODING);
+        if (encoding < 0) {
+            return true;
+        }
+        String value = declaration.substring(encoding + ENCODING.length()).replace('\'', '"');
+        int start = value.indexOf('"');
+        int stop = value.indexOf('"', start + 1);
+        return start >= 0 && stop > start && value.substring(0, start).trim().equals("=")
+                && StandardCharsets.UTF_8.name().equalsIgnoreCase(value.substring(start + 1, stop));
+    }
+
+    private boolean readAttribute(Map<String, String> attributes) {
+        int nameStart = position;
+        while (position < content.length() && isNameChar(content.charAt(position))) {
+            position++;
+        }
+        String name = content.substring(nameStart, position);
+        skipWhitespace();
+        if (name.isEmpty() || !content.startsWith("=", position)) {
+            return false;
+        }
+        position++;
+        skipWhitespace();
+        if (position >= content.length()) {
+            return false;
+        }
+        char quote = content.charAt(position);
+        if (quote != '"' && quote != '\'') {
+            return false;
+        }
+        int valueEnd = content.indexOf(quote, position + 1);
+        if (valueEnd < 0) {
+            return false;
+        }
+        String value = content.substring(position + 1, valueEnd);
+        position = valueEnd + 1;
+        // entity references and attribute value normalization are left to the SAX parser
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '&' || c == '<' || c == '\t' || c == '\n' || c == '\r') {
+                return false;
+            }
+        }
+        return attributes.put(name, value) == null;
+    }
+
+    /**
+     * Skips whitespace and comments.
+     *
+     * @return <code>false</code> if an unterminated comment is found
+     */
+    private boolean skipMisc() {
+        while (true) {
+            skipWhitespace();
+            if (!content.startsWith(COMMENT_START, position)) {
+                return true;
+            }
+            int end = content.indexOf(COMMENT_END, position + COMMENT_START.length());
+            // "--" must not occur within a comment
+            if (end < 0 || content.indexOf("--", position + COMMENT_START.length()) != end) {
+                return false;
+            }
+            position = end + COMMENT_END.length();
+        }
+    }
+
+    private boolean skipWhitespace() {
+        int start = position;
+        while (position < content.length() && isWhitespace(content.charAt(position))) {
+            position++;
+        }
+        return position > start;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == ':' || c == '-' || c == '_' || c == '.';
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.AnnotatedElement;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.jboss.weld.metadata.TypeStore;
+import org.jboss.weld.resources.DefaultReflectionCache;
+import org.jboss.weld.resources.SharedClassMetadata;
+import org.junit.Test;
+
+public class SharedClassMetadataTest {
+
+    private static final int GC_RUNS = 10;
+
+    @Test
+    public void testAnnotationsSharedByConcurrentContainers() {
+        SharedClassMetadata metadata1 = SharedClassMetadata.acquire();
+        SharedClassMetadata metadata2 = SharedClassMetadata.acquire();
+        try {
+            CountingReflectionCache cache1 = new CountingReflectionCache(metadata1);
+            CountingReflectionCache cache2 = new CountingReflectionCache(metadata2);
+            Object annotations = cache1.getAnnotations(IsolatedAnnotated.class);
+            cache1.cleanupAfterBoot();
+            assertSame(annotations, cache2.getAnnotations(IsolatedAnnotated.class));
+            cache2.cleanupAfterBoot();
+            assertSame(annotations, cache1.getAnnotations(IsolatedAnnotated.class));
+            assertEquals(1, cache1.computed + cache2.computed);
+        } finally {
+            metadata1.cleanup();
+            metadata2.cleanup();
+        }
+    }
+
+    @Test
+    public void testAnnotationsReusedBySequentialContainers() throws NoSuchMethodException {
+        Object annotations;
+        Object methodAnnotations;
+        SharedClassMetadata metadata = SharedClassMetadata.acquire();
+        try {
+            CountingReflectionCache cache = new CountingReflectionCache(metadata);
+            annotations = cache.getAnnotations(SharedAnnotated.class);
+            methodAnnotations = cache.getDeclaredAnnotations(SharedAnnotated.class.getMethod("ping"));
+            cache.cleanupAfterBoot();
+        } finally {
+            // The only container is shut down
+            metadata.cleanup();
+        }
+        metadata = SharedClassMetadata.acquire();
+        try {
+            CountingReflectionCache cache = new CountingReflectionCache(metadata);
+            assertSame(annotations, cache.getAnnotations(SharedAnnotated.class));
+            assertSame(methodAnnotations, cache.getDeclaredAnnotations(SharedAnnotated.class.getMethod("ping")));
+            // Cache hits - nothing is recomputed
+            assertEquals(0, cache.computed);
+        } finally {
+            metadata.cleanup();
+        }
+    }
+
+    @Test
+    public void testClassLoaderNotRetained() throws Exception {
+        SharedClassMetadata metadata = SharedClassMetadata.acquire();
+        try {
+            // The annotations are retained by the shared metadata but attached to the isolated classes
+            WeakReference<ClassLoader> classLoader = readAnnotationsFromIsolatedClassLoader(metadata);
+            for (int i = 0; i < GC_RUNS && classLoader.get() != null; i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            assertNull(classLoader.get());
+        } finally {
+            metadata.cleanup();
+        }
+    }
+
+    private static WeakReference<ClassLoader> readAnnotationsFromIsolatedClassLoader(SharedClassMetadata metadata) throws IOException, ReflectiveOperationException {
+        URL location = IsolatedAnnotated.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { location }, null)) {
+            Class<?> isolated = classLoader.loadClass(IsolatedAnnotated.class.getName());
+            assertNotSame(IsolatedAnnotated.class, isolated);
+            DefaultReflectionCache cache = new DefaultReflectionCache(new TypeStore(), metadata);
+            assertEquals(1, cache.getAnnotations(isolated).size());
+            assertEquals(1, cache.getDeclaredAnnotations(isolated.getMethod("ping")).size());
+            return new WeakReference<ClassLoader>(classLoader);
+        }
+    }
+
+    @Deprecated
+    public static class SharedAnnotated {
+
+        @Deprecated
+        public void ping() {
+        }
+
+    }
+
+    private static class CountingReflectionCache extends DefaultReflectionCache {
+
+        private int computed;
+
+        CountingReflectionCache(SharedClassMetadata metadata) {
+            super(new TypeStore(), metadata);
+        }
+
+        @Override
+        protected Annotation[] internalGetAnnotations(AnnotatedElement element) {
+            computed++;
+            return super.internalGetAnnotations(element);
+        }
+
+        @Override
+        protected Annotation[] internalGetDeclaredAnnotations(AnnotatedElement element) {
+            computed++;
+            return super.internalGetDeclaredAnnotations(element);
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.weld.resources.SharedObjectCache;
+import org.jboss.weld.util.collections.ImmutableSet;
+import org.jboss.weld.util.reflection.ParameterizedTypeImpl;
+import org.junit.Test;
+
+public class SharedObjectCacheTest {
+
+    @Test
+    public void testSharedType() {
+        SharedObjectCache cache = new SharedObjectCache();
+        Type type1 = new ParameterizedTypeImpl(List.class, String.class);
+        Type type2 = new ParameterizedTypeImpl(List.class, String.class);
+        assertNotSame(type1, type2);
+        assertSame(type1, cache.getSharedType(type1));
+        assertSame(type1, cache.getSharedType(type2));
+        assertSame(String.class, cache.getSharedType(String.class));
+    }
+
+    @Test
+    public void testSharedTypeClosure() {
+        SharedObjectCache cache = new SharedObjectCache();
+        Type type = new ParameterizedTypeImpl(List.class, String.class);
+        Set<Type> closure1 = cache.getSharedTypeClosure(ImmutableSet.<Type> of(Object.class, type));
+        Set<Type> closure2 = cache.getSharedTypeClosure(new HashSet<Type>(ImmutableSet.<Type> of(new ParameterizedTypeImpl(List.class, String.class), Object.class)));
+        assertSame(closure1, closure2);
+        for (Type element : closure2) {
+            if (!(element instanceof Class<?>)) {
+                assertSame(type, element);
+            }
+        }
+        // the interned types survive the cleanup of the boot-time caches
+        cache.cleanupAfterBoot();
+        assertSame(closure1, cache.getSharedTypeClosure(ImmutableSet.<Type> of(type, Object.class)));
+        cache.cleanup();
+        Set<Type> closure3 = cache.getSharedTypeClosure(ImmutableSet.<Type> of(type, Object.class));
+        assertNotSame(closure1, closure3);
+        assertEquals(closure1, closure3);
+    }
+}
@@ -19,6 +19,7 @@ package org.jboss.weld.tests.unit.serialization;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -33,6 +34,8 @@ import javax.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.weld.bean.CommonBean;
 import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.context.beanstore.NamingScheme;
+import org.jboss.weld.context.beanstore.SimpleBeanIdentifierIndexNamingScheme;
 import org.jboss.weld.exceptions.IllegalStateException;
 import org.jboss.weld.serialization.BeanIdentifierIndex;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
@@ -116,6 +119,25 @@ public class BeanIdentifierIndexTest {
         assertEquals("BeanIdentifierIndex [hash=-1733773048, indexed=3]:\n   0: 0.foo\n   1: 1.foo\n   2: 2.foo\n", index.getDebugInfo());
     }
 
+    @Test
+    public void testNamingSchemePrefixedIdsReused() {
+        BeanIdentifierIndex index = new BeanIdentifierIndex();
+        Set<Bean<?>> beans = new HashSet<Bean<?>>();
+        for (int i = 0; i < 3; i++) {
+            beans.add(DummyBean.of(i + ".foo"));
+        }
+        index.build(beans);
+        NamingScheme namingScheme = new SimpleBeanIdentifierIndexNamingScheme("WELD_S", index);
+        BeanIdentifier identifier = index.getIdentifier(1);
+        String prefixed = namingScheme.prefix(identifier);
+        assertEquals("WELD_S#1", prefixed);
+        assertSame(prefixed, namingScheme.prefix(new StringBeanIdentifier("1.foo")));
+        assertSame(identifier, namingScheme.deprefix("WELD_S#1"));
+        // Not indexed
+        assertEquals("WELD_S#F_bar", namingScheme.prefix(new StringBeanIdentifier("bar")));
+        assertEquals(new StringBeanIdentifier("bar"), namingScheme.deprefix("WELD_S#F_bar"));
+    }
+
     private static class DummyBean<T> extends CommonBean<T> {
 
         static <T> DummyBean<T> of(String id) {
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.util.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.weld.util.cache.WeakInterner;
+import org.junit.Test;
+
+public class WeakInternerTest {
+
+    private static final int THREADS = 8;
+
+    private static final int GC_RUNS = 10;
+
+    @Test
+    public void testIntern() {
+        WeakInterner<String> interner = new WeakInterner<String>();
+        String foo = new String("foo");
+        String fooCopy = new String("foo");
+        assertNotSame(foo, fooCopy);
+        assertSame(foo, interner.intern(foo));
+        assertSame(foo, interner.intern(fooCopy));
+        assertSame(foo, interner.intern(foo));
+        assertEquals(1, interner.size());
+        interner.clear();
+        assertSame(fooCopy, interner.intern(fooCopy));
+    }
+
+    @Test
+    public void testConcurrentIntern() throws Exception {
+        final WeakInterner<String> interner = new WeakInterner<String>();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        start.await();
+                        return interner.intern(new String("bar"));
+                    }
+                }));
+            }
+            start.countDown();
+            String canonical = results.get(0).get();
+            for (Future<String> result : results) {
+                assertSame(canonical, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCanonicalInstanceNotRetained() throws InterruptedException {
+        WeakInterner<String> interner = new WeakInterner<String>();
+        WeakReference<String> reference = new WeakReference<String>(interner.intern(new String("baz")));
+        for (int i = 0; i < GC_RUNS && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+        String baz = new String("baz");
+        assertSame(baz, interner.intern(baz));
+        assertEquals(1, interner.size());
+    }
+
+}
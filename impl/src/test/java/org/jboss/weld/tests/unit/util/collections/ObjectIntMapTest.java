@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.util.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.jboss.weld.util.collections.ObjectIntMap;
+import org.junit.Test;
+
+public class ObjectIntMapTest {
+
+    @Test
+    public void testBasicOperations() {
+        ObjectIntMap<String> map = new ObjectIntMap<String>();
+        assertTrue(map.isEmpty());
+        map.put("foo", 1);
+        map.put("bar", 2);
+        map.put("foo", 3);
+        assertEquals(2, map.size());
+        assertEquals(3, map.get("foo", -1));
+        assertEquals(2, map.get(new String("bar"), -1));
+        assertEquals(-1, map.get("baz", -1));
+        assertEquals(-1, map.get(null, -1));
+        assertTrue(map.remove("bar"));
+        assertFalse(map.remove("bar"));
+        assertFalse(map.containsKey("bar"));
+        assertEquals(1, map.size());
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(42);
+        ObjectIntMap<Integer> map = new ObjectIntMap<Integer>();
+        Map<Integer, Integer> reference = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 20000; i++) {
+            Integer key = random.nextInt(512);
+            if (random.nextBoolean()) {
+                reference.put(key, i);
+                map.put(key, i);
+            } else {
+                assertEquals(reference.remove(key) != null, map.remove(key));
+            }
+            assertEquals(reference.size(), map.size());
+        }
+        for (int key = 0; key < 512; key++) {
+            Integer expected = reference.get(key);
+            assertEquals(expected == null ? -1 : expected.intValue(), map.get(key, -1));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.util.reflection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.AccessibleObject;
+
+import org.jboss.weld.util.reflection.Invokers;
+import org.junit.Test;
+
+public class InvokersTest {
+
+    @Test
+    public void testInstanceMethod() throws Throwable {
+        MethodHandle invoker = Invokers.forMethod(accessible(Target.class.getDeclaredMethod("add", int.class, Integer.class)));
+        assertNotNull(invoker);
+        assertEquals(Integer.valueOf(5), (Object) invoker.invokeExact((Object) new Target(), new Object[] { 2, 3 }));
+    }
+
+    @Test
+    public void testOverridingMethodIsDispatchedVirtually() throws Throwable {
+        MethodHandle invoker = Invokers.forMethod(accessible(Target.class.getDeclaredMethod("name")));
+        assertEquals("sub", (Object) invoker.invokeExact((Object) new SubTarget(), new Object[0]));
+    }
+
+    @Test
+    public void testStaticVoidMethod() throws Throwable {
+        MethodHandle invoker = Invokers.forMethod(accessible(Target.class.getDeclaredMethod("reset", String.class)));
+        assertNull((Object) invoker.invokeExact((Object) null, new Object[] { "foo" }));
+        assertEquals("foo", Target.value);
+    }
+
+    @Test
+    public void testVarargsMethod() throws Throwable {
+        MethodHandle invoker = Invokers.forMethod(accessible(Target.class.getDeclaredMethod("count", String[].class)));
+        assertEquals(2, (Object) invoker.invokeExact((Object) new Target(), new Object[] { new String[] { "a", "b" } }));
+    }
+
+    @Test
+    public void testExceptionIsNotWrapped() throws Throwable {
+        MethodHandle invoker = Invokers.forMethod(accessible(Target.class.getDeclaredMethod("fail")));
+        try {
+            Object result = invoker.invokeExact((Object) new Target(), new Object[0]);
+            fail("Expected exception, got " + result);
+        } catch (Exception expected) {
+            assertEquals("Target.fail()", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testFieldGetters() throws Throwable {
+        MethodHandle getter = Invokers.forFieldGetter(accessible(Target.class.getDeclaredField("number")));
+        assertEquals(Long.valueOf(10), (Object) getter.invokeExact((Object) new Target()));
+        Target.value = "bar";
+        getter = Invokers.forFieldGetter(accessible(Target.class.getDeclaredField("value")));
+        assertEquals("bar", (Object) getter.invokeExact((Object) null));
+    }
+
+    private static <T extends AccessibleObject> T accessible(T member) {
+        member.setAccessible(true);
+        return member;
+    }
+
+    static class Target {
+
+        static String value;
+
+        private long number = 10;
+
+        private Integer add(int a, Integer b) {
+            return a + b;
+        }
+
+        String name() {
+            return "target";
+        }
+
+        static void reset(String newValue) {
+            value = newValue;
+        }
+
+        int count(String... values) {
+            return values.length;
+        }
+
+        void fail() throws Exception {
+            throw new Exception("Target.fail()");
+        }
+
+    }
+
+    static class SubTarget extends Target {
+
+        @Override
+        String name() {
+            return "sub";
+        }
+
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.weld.bootstrap.spi.BeanDiscoveryMode;
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.xml.BeansXmlHandler;
+import org.jboss.weld.xml.BeansXmlParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BeansXmlParserTest {
+
+    private static final String XSI = "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" ";
+
+    private final BeansXmlParser parser = new BeansXmlParser();
+
+    private final List<File> files = new ArrayList<File>();
+
+    @Before
+    public void reset() {
+        files.clear();
+    }
+
+    @After
+    public void cleanup() {
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        assertSame(BeansXml.EMPTY_BEANS_XML, parser.parse(write("")));
+    }
+
+    @Test
+    public void testTrivialFileEquivalentToParsedFile() throws IOException {
+        // the second variant is not trivially-formed and therefore parsed by SAX
+        assertEquivalent("<beans xmlns=\"" + BeansXmlHandler.JAVAEE_URI + "\" " + XSI + "bean-discovery-mode=\"annotated\"",
+                BeanDiscoveryMode.ANNOTATED, "1.1");
+        assertEquivalent("<beans xmlns=\"" + BeansXmlHandler.JAVAEE_URI + "\" version=\"1.2\" bean-discovery-mode=\"all\"", BeanDiscoveryMode.ALL, "1.2");
+        assertEquivalent("<beans xmlns=\"" + BeansXmlHandler.JAVAEE_LEGACY_URI + "\"", BeanDiscoveryMode.ALL, null);
+        assertEquivalent("<beans bean-discovery-mode=\"none\"", BeanDiscoveryMode.NONE, null);
+        assertEquivalent("<beans", BeanDiscoveryMode.ALL, null);
+    }
+
+    @Test
+    public void testTrivialFileWithDeclarationAndComments() throws IOException {
+        BeansXml beansXml = parser.parse(write("\uFEFF<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!-- library -->\n<beans xmlns=\"" + BeansXmlHandler.JAVAEE_URI
+                + "\"\n       bean-discovery-mode='all'>\n  <!-- nothing -->\n</beans>\n"));
+        assertEquals(BeanDiscoveryMode.ALL, beansXml.getBeanDiscoveryMode());
+        assertEquals("1.1", beansXml.getVersion());
+    }
+
+    @Test
+    public void testConcurrentParsing() throws Exception {
+        final List<URL> urls = new ArrayList<URL>();
+        for (int i = 0; i < 20; i++) {
+            urls.add(write("<beans xmlns=\"" + BeansXmlHandler.JAVAEE_URI + "\" bean-discovery-mode=\"all\"><alternatives><class>com.acme.Alternative" + i
+                    + "</class></alternatives></beans>"));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<BeansXml>> results = new ArrayList<Future<BeansXml>>();
+            for (final URL url : urls) {
+                results.add(executor.submit(new Callable<BeansXml>() {
+                    @Override
+                    public BeansXml call() throws Exception {
+                        return parser.parse(url);
+                    }
+                }));
+            }
+            for (int i = 0; i < urls.size(); i++) {
+                BeansXml beansXml = results.get(i).get();
+                assertEquals(1, beansXml.getEnabledAlternativeClasses().size());
+                assertEquals("com.acme.Alternative" + i, beansXml.getEnabledAlternativeClasses().get(0).getValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertEquivalent(String rootStart, BeanDiscoveryMode mode, String version) throws IOException {
+        BeansXml trivial = parser.parse(write(rootStart + "/>"));
+        BeansXml parsed = parser.parse(write(rootStart + "><scan></scan></beans>"));
+        for (BeansXml beansXml : new BeansXml[] { trivial, parsed }) {
+            assertEquals(rootStart, mode, beansXml.getBeanDiscoveryMode());
+            assertEquals(rootStart, version, beansXml.getVersion());
+            assertTrue(beansXml.getEnabledAlternativeClasses().isEmpty());
+            assertTrue(beansXml.getScanning().getExcludes().isEmpty());
+        }
+    }
+
+    private URL write(String content) throws IOException {
+        File file = File.createTempFile("beans", ".xml");
+        files.add(file);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.toURI().toURL();
+    }
+
+}
@@ -40,4 +40,11 @@ public class InvocationContextBeanStore extends AttributeBeanStore {
     public LockStore getLockStore() {
         return null;
     }
+
+    @Override
+    protected boolean isLocalBeanStoreSyncNeeded() {
+        // A new bean store is associated with each invocation - there is nothing to synchronize unless an instance was created while detached
+        // This way the context data of the invocation is not touched at all unless a request-scoped instance is actually created
+        return iterator().hasNext();
+    }
 }
@@ -43,6 +43,8 @@ import org.jboss.weld.util.LazyValueHolder;
 public abstract class AbstractEJBRequestScopeActivationInterceptor implements Serializable {
     private static final long serialVersionUID = 7327757031821596782L;
 
+    private transient volatile EjbRequestContext ejbRequestContext;
+
     private final LazyValueHolder<FastEvent<Object>> requestInitializedEvent = new LazyValueHolder.Serializable<FastEvent<Object>>() {
         private static final long serialVersionUID = 1L;
         @Override
@@ -59,11 +61,11 @@ public abstract class AbstractEJBRequestScopeActivationInterceptor implements Se
     };
 
     public Object aroundInvoke(InvocationContext invocation) throws Exception {
-
-        if (isRequestContextActive()) {
+        EjbRequestContext requestContext = getEjbRequestContext();
+        // Checking the EJB request context first avoids iterating over all the registered contexts for nested invocations
+        if (requestContext.isActive() || isRequestContextActive()) {
             return invocation.proceed();
         } else {
-            EjbRequestContext requestContext = getEjbRequestContext();
             try {
                 requestContext.associate(invocation);
                 requestContext.activate();
@@ -87,8 +89,18 @@ public abstract class AbstractEJBRequestScopeActivationInterceptor implements Se
         return getBeanManager().isContextActive(RequestScoped.class);
     }
 
+    /**
+     * The context is only resolved once and then cached.
+     *
+     * @return the EJB request context
+     */
     protected EjbRequestContext getEjbRequestContext() {
-        return getBeanManager().instance().select(EjbRequestContext.class).get();
+        EjbRequestContext context = ejbRequestContext;
+        if (context == null) {
+            context = getBeanManager().instance().select(EjbRequestContext.class).get();
+            ejbRequestContext = context;
+        }
+        return context;
     }
 
     protected abstract BeanManagerImpl getBeanManager();
@@ -23,7 +23,6 @@ import javax.interceptor.InvocationContext;
 
 import org.jboss.weld.Container;
 import org.jboss.weld.bootstrap.api.helpers.RegistrySingletonProvider;
-import org.jboss.weld.context.ejb.EjbRequestContext;
 import org.jboss.weld.manager.BeanManagerImpl;
 
 /**
@@ -41,13 +40,11 @@ public class SessionBeanInterceptor  extends AbstractEJBRequestScopeActivationIn
     private static final long serialVersionUID = 2658712435730329384L;
 
     private volatile BeanManagerImpl beanManager;
-    private transient volatile EjbRequestContext ejbRequestContext;
 
     @Override
     public Object aroundInvoke(InvocationContext invocation) throws Exception {
         if (beanManager == null) {
             this.beanManager = obtainBeanManager(invocation);
-            this.ejbRequestContext = super.getEjbRequestContext();
         }
         return super.aroundInvoke(invocation);
     }
@@ -61,11 +58,6 @@ public class SessionBeanInterceptor  extends AbstractEJBRequestScopeActivationIn
         return Container.instance(contextId).deploymentManager();
     }
 
-    @Override
-    protected EjbRequestContext getEjbRequestContext() {
-        return ejbRequestContext;
-    }
-
     @Override
     protected BeanManagerImpl getBeanManager() {
         return beanManager;
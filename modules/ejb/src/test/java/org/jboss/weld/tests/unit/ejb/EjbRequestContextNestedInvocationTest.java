@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.ejb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.enterprise.context.RequestScoped;
+
+import org.jboss.weld.context.ejb.EjbRequestContext;
+import org.jboss.weld.ejb.SessionBeanInterceptor;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Test;
+
+/**
+ * Tests the EJB request context activated by {@link SessionBeanInterceptor} for nested EJB invocations.
+ */
+public class EjbRequestContextNestedInvocationTest {
+
+    private static final String CONTEXT_ID = "ejb-nested-invocation";
+
+    @Test
+    public void testInstanceCreatedInNestedInvocationVisibleInOuterInvocation() throws Exception {
+        RequestTracker.DESTROYED.set(0);
+        try (TestDeployment deployment = new TestDeployment(CONTEXT_ID, RequestTracker.class)) {
+            final BeanManagerImpl beanManager = deployment.getBeanManager();
+            final RequestTracker tracker = (RequestTracker) beanManager.getReference(beanManager.resolve(beanManager.getBeans(RequestTracker.class)),
+                    RequestTracker.class, beanManager.createCreationalContext(null));
+            // each session bean has its own interceptor instance
+            final SessionBeanInterceptor nestedInterceptor = new SessionBeanInterceptor();
+            final MockInvocationContext outer = new MockInvocationContext(CONTEXT_ID);
+            final MockInvocationContext nested = new MockInvocationContext(CONTEXT_ID);
+            assertFalse(beanManager.isContextActive(RequestScoped.class));
+
+            Object result = outer.invoke(new SessionBeanInterceptor(), new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    assertTrue(beanManager.isContextActive(RequestScoped.class));
+                    // the context data is not written to until an instance is created
+                    assertEquals(0, countBeanStoreEntries(outer.getContextData()));
+
+                    assertEquals("nested", nested.invoke(nestedInterceptor, new Callable<Object>() {
+                        @Override
+                        public Object call() throws Exception {
+                            tracker.setValue("nested");
+                            return tracker.getValue();
+                        }
+                    }));
+
+                    // the instance created within the nested invocation belongs to the request of the outer invocation
+                    assertTrue(beanManager.isContextActive(RequestScoped.class));
+                    assertEquals(0, RequestTracker.DESTROYED.get());
+                    assertEquals(1, countBeanStoreEntries(outer.getContextData()));
+                    return tracker.getValue();
+                }
+            });
+            assertEquals("nested", result);
+
+            // the nested invocation did not associate a bean store of its own
+            assertEquals(0, countBeanStoreEntries(nested.getContextData()));
+            assertFalse(beanManager.isContextActive(RequestScoped.class));
+            assertEquals(1, RequestTracker.DESTROYED.get());
+        }
+    }
+
+    private static int countBeanStoreEntries(Map<String, Object> contextData) {
+        int count = 0;
+        for (String key : contextData.keySet()) {
+            if (key.startsWith(EjbRequestContext.class.getName())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.ejb;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.interceptor.InvocationContext;
+
+import org.jboss.weld.Container;
+import org.jboss.weld.ejb.SessionBeanInterceptor;
+
+/**
+ * Simulates an EJB business method invocation passed through the Weld request scope activation interceptor.
+ */
+class MockInvocationContext implements InvocationContext {
+
+    private final Map<String, Object> contextData;
+
+    private Callable<Object> target;
+
+    MockInvocationContext(String contextId) {
+        this.contextData = new HashMap<String, Object>();
+        this.contextData.put(Container.CONTEXT_ID_KEY, contextId);
+    }
+
+    Object invoke(SessionBeanInterceptor interceptor, Callable<Object> target) throws Exception {
+        this.target = target;
+        return interceptor.aroundInvoke(this);
+    }
+
+    @Override
+    public Object getTarget() {
+        return target;
+    }
+
+    @Override
+    public Object getTimer() {
+        return null;
+    }
+
+    @Override
+    public Method getMethod() {
+        return null;
+    }
+
+    @Override
+    public Constructor<?> getConstructor() {
+        return null;
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[0];
+    }
+
+    @Override
+    public void setParameters(Object[] params) {
+    }
+
+    @Override
+    public Map<String, Object> getContextData() {
+        return contextData;
+    }
+
+    @Override
+    public Object proceed() throws Exception {
+        return target.call();
+    }
+
+}
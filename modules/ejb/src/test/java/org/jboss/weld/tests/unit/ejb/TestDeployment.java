@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.ejb;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.enterprise.inject.spi.Extension;
+
+import org.jboss.weld.bootstrap.WeldBootstrap;
+import org.jboss.weld.bootstrap.api.Environments;
+import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.bootstrap.api.helpers.SimpleServiceRegistry;
+import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.bootstrap.spi.CDI11Deployment;
+import org.jboss.weld.bootstrap.spi.Metadata;
+import org.jboss.weld.ejb.spi.EjbDescriptor;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resources.ClassLoaderResourceLoader;
+import org.jboss.weld.resources.spi.ResourceLoader;
+
+/**
+ * A deployment with a single bean archive which consists of the given bean classes. The EJB module is loaded from the classpath.
+ */
+class TestDeployment implements CDI11Deployment, AutoCloseable {
+
+    private final Archive archive;
+
+    private final ServiceRegistry services;
+
+    private final WeldBootstrap bootstrap;
+
+    TestDeployment(String contextId, Class<?>... beanClasses) {
+        ResourceLoader resourceLoader = new ClassLoaderResourceLoader(TestDeployment.class.getClassLoader());
+        this.archive = new Archive(contextId, beanClasses, resourceLoader);
+        this.services = new SimpleServiceRegistry();
+        this.services.add(ResourceLoader.class, resourceLoader);
+        this.bootstrap = new WeldBootstrap();
+        bootstrap.startContainer(contextId, Environments.SE, this);
+        bootstrap.startInitialization();
+        bootstrap.deployBeans();
+        bootstrap.validateBeans();
+        bootstrap.endInitialization();
+    }
+
+    BeanManagerImpl getBeanManager() {
+        return bootstrap.getManager(archive);
+    }
+
+    @Override
+    public void close() {
+        bootstrap.shutdown();
+    }
+
+    @Override
+    public Collection<BeanDeploymentArchive> getBeanDeploymentArchives() {
+        return Collections.<BeanDeploymentArchive> singleton(archive);
+    }
+
+    @Override
+    public BeanDeploymentArchive loadBeanDeploymentArchive(Class<?> beanClass) {
+        return archive;
+    }
+
+    @Override
+    public BeanDeploymentArchive getBeanDeploymentArchive(Class<?> beanClass) {
+        return archive;
+    }
+
+    @Override
+    public ServiceRegistry getServices() {
+        return services;
+    }
+
+    @Override
+    public Iterable<Metadata<Extension>> getExtensions() {
+        return Collections.emptySet();
+    }
+
+    private static class Archive implements BeanDeploymentArchive {
+
+        private final String id;
+
+        private final List<String> beanClasses;
+
+        private final ServiceRegistry services;
+
+        Archive(String id, Class<?>[] beanClasses, ResourceLoader resourceLoader) {
+            this.id = id;
+            this.beanClasses = new ArrayList<String>();
+            for (Class<?> beanClass : beanClasses) {
+                this.beanClasses.add(beanClass.getName());
+            }
+            this.services = new SimpleServiceRegistry();
+            this.services.add(ResourceLoader.class, resourceLoader);
+        }
+
+        @Override
+        public Collection<BeanDeploymentArchive> getBeanDeploymentArchives() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Collection<String> getBeanClasses() {
+            return beanClasses;
+        }
+
+        @Override
+        public BeansXml getBeansXml() {
+            return BeansXml.EMPTY_BEANS_XML;
+        }
+
+        @Override
+        public Collection<EjbDescriptor<?>> getEjbs() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public ServiceRegistry getServices() {
+            return services;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+    }
+}
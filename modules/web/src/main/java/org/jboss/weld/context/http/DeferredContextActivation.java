@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2008, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.http;
+
+/**
+ * Holds a per-thread callback which activates a context that was left inactive on purpose. The callback is executed the first time the activity of the
+ * context is queried, i.e. when a bean store access is about to happen.
+ *
+ * <p>
+ * The callback is always removed before it is executed so that an {@link #activate()} invocation performed from within the callback does not recurse.
+ * </p>
+ *
+ * @see org.jboss.weld.servlet.HttpContextLifecycle
+ */
+public final class DeferredContextActivation {
+
+    private final ThreadLocal<Runnable> callback;
+
+    public DeferredContextActivation() {
+        this.callback = new ThreadLocal<Runnable>();
+    }
+
+    /**
+     * Registers the activation callback for the current thread.
+     *
+     * @param activation the callback
+     */
+    public void defer(Runnable activation) {
+        callback.set(activation);
+    }
+
+    /**
+     * @return <code>true</code> if there is an activation callback registered for the current thread, <code>false</code> otherwise
+     */
+    public boolean isPending() {
+        return callback.get() != null;
+    }
+
+    /**
+     * Executes and removes the activation callback registered for the current thread, if any.
+     *
+     * @return <code>true</code> if a callback was executed, <code>false</code> otherwise
+     */
+    public boolean activate() {
+        Runnable activation = callback.get();
+        if (activation == null) {
+            return false;
+        }
+        callback.remove();
+        activation.run();
+        return true;
+    }
+
+    /**
+     * Removes the activation callback registered for the current thread without executing it.
+     */
+    public void cancel() {
+        callback.remove();
+    }
+}
@@ -16,8 +16,24 @@ public class HttpConversationContextImpl extends AbstractConversationContext<Htt
     // There is no need to store FQCN in a session key
     private static final String NAMING_SCHEME_PREFIX = "WELD_C";
 
+    private final DeferredContextActivation deferredActivation;
+
     public HttpConversationContextImpl(String contextId, BeanIdentifierIndex beanIdentifierIndex) {
         super(contextId, beanIdentifierIndex);
+        this.deferredActivation = new DeferredContextActivation();
+    }
+
+    /**
+     * @return the deferred activation hook of this context
+     * @see DeferredContextActivation
+     */
+    public DeferredContextActivation getDeferredActivation() {
+        return deferredActivation;
+    }
+
+    @Override
+    public boolean isActive() {
+        return super.isActive() || (deferredActivation.activate() && super.isActive());
     }
 
     @Override
@@ -39,12 +39,15 @@ public class HttpRequestContextImpl extends AbstractBoundContext<HttpServletRequ
 
     private final NamingScheme namingScheme;
 
+    private final DeferredContextActivation deferredActivation;
+
     /**
      * Constructor
      */
     public HttpRequestContextImpl(String contextId) {
         super(contextId, false);
         this.namingScheme = new SimpleNamingScheme(HttpRequestContext.class.getName());
+        this.deferredActivation = new DeferredContextActivation();
     }
 
     public boolean associate(HttpServletRequest request) {
@@ -74,6 +77,25 @@ public class HttpRequestContextImpl extends AbstractBoundContext<HttpServletRequ
         }
     }
 
+    /**
+     * @return the deferred activation hook of this context
+     * @see DeferredContextActivation
+     */
+    public DeferredContextActivation getDeferredActivation() {
+        return deferredActivation;
+    }
+
+    @Override
+    public boolean isActive() {
+        return super.isActive() || (deferredActivation.activate() && super.isActive());
+    }
+
+    @Override
+    public void cleanup() {
+        super.cleanup();
+        deferredActivation.cancel();
+    }
+
     public Class<? extends Annotation> getScope() {
         return RequestScoped.class;
     }
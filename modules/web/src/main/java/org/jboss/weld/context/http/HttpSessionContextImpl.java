@@ -25,11 +25,13 @@ public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequ
 
     private final NamingScheme namingScheme;
     private final String contextId;
+    private final DeferredContextActivation deferredActivation;
 
     public HttpSessionContextImpl(String contextId, BeanIdentifierIndex index) {
         super(contextId, true);
         this.namingScheme = new SimpleBeanIdentifierIndexNamingScheme(NAMING_SCHEME_PREFIX, index);
         this.contextId = contextId;
+        this.deferredActivation = new DeferredContextActivation();
     }
 
     public boolean associate(HttpServletRequest request) {
@@ -65,6 +67,25 @@ public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequ
         }
     }
 
+    /**
+     * @return the deferred activation hook of this context
+     * @see DeferredContextActivation
+     */
+    public DeferredContextActivation getDeferredActivation() {
+        return deferredActivation;
+    }
+
+    @Override
+    public boolean isActive() {
+        return super.isActive() || (deferredActivation.activate() && super.isActive());
+    }
+
+    @Override
+    public void cleanup() {
+        super.cleanup();
+        deferredActivation.cancel();
+    }
+
     public Class<? extends Annotation> getScope() {
         return SessionScoped.class;
     }
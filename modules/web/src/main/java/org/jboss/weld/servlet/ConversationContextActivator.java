@@ -68,7 +68,7 @@ public class ConversationContextActivator {
         this.lazy = lazy;
     }
 
-    private HttpConversationContext httpConversationContext() {
+    HttpConversationContext httpConversationContext() {
         if (httpConversationContextCache == null) {
             this.httpConversationContextCache = beanManager.instance().select(HttpConversationContext.class).get();
         }
@@ -32,9 +32,13 @@ import org.jboss.weld.bootstrap.api.Service;
 import org.jboss.weld.context.BoundContext;
 import org.jboss.weld.context.ManagedContext;
 import org.jboss.weld.context.cache.RequestScopedCache;
+import org.jboss.weld.context.http.DeferredContextActivation;
+import org.jboss.weld.context.http.HttpConversationContext;
+import org.jboss.weld.context.http.HttpConversationContextImpl;
 import org.jboss.weld.context.http.HttpRequestContext;
 import org.jboss.weld.context.http.HttpRequestContextImpl;
 import org.jboss.weld.context.http.HttpSessionContext;
+import org.jboss.weld.context.http.HttpSessionContextImpl;
 import org.jboss.weld.context.http.HttpSessionDestructionContext;
 import org.jboss.weld.event.EventMetadataImpl;
 import org.jboss.weld.event.FastEvent;
@@ -92,12 +96,25 @@ public class HttpContextLifecycle implements Service {
     private static final ThreadLocal<Counter> nestedInvocationGuard = new ThreadLocal<HttpContextLifecycle.Counter>();
     private final boolean nestedInvocationGuardEnabled;
 
+    private final boolean lazyContextActivation;
+
     private static class Counter {
         private int value = 1;
     }
 
     public HttpContextLifecycle(BeanManagerImpl beanManager, HttpContextActivationFilter contextActivationFilter, boolean ignoreForwards,
             boolean ignoreIncludes, boolean lazyConversationContext, boolean nestedInvocationGuardEnabled) {
+        this(beanManager, contextActivationFilter, ignoreForwards, ignoreIncludes, lazyConversationContext, nestedInvocationGuardEnabled, false);
+    }
+
+    /**
+     *
+     * @param lazyContextActivation if set to <code>true</code> the request, session and conversation contexts are not activated until a bean store is
+     *        accessed for the first time during the request processing; ignored if there is an observer for {@link InitializedLiteral#REQUEST} or
+     *        {@link DestroyedLiteral#REQUEST}
+     */
+    public HttpContextLifecycle(BeanManagerImpl beanManager, HttpContextActivationFilter contextActivationFilter, boolean ignoreForwards,
+            boolean ignoreIncludes, boolean lazyConversationContext, boolean nestedInvocationGuardEnabled, boolean lazyContextActivation) {
         this.beanManager = beanManager;
         this.conversationContextActivator = new ConversationContextActivator(beanManager, lazyConversationContext);
         this.conversationActivationEnabled = null;
@@ -113,6 +130,8 @@ public class HttpContextLifecycle implements Service {
         this.nestedInvocationGuardEnabled = nestedInvocationGuardEnabled;
         this.container = Container.instance(beanManager);
         this.module = beanManager.getServices().get(BeanDeploymentModules.class).getModule(beanManager);
+        // Observers of the request lifecycle events expect the request context to be active for every request
+        this.lazyContextActivation = lazyContextActivation && requestInitializedEvent.isEmpty() && requestDestroyedEvent.isEmpty();
     }
 
     private HttpSessionDestructionContext getSessionDestructionContext() {
@@ -166,6 +185,10 @@ public class HttpContextLifecycle implements Service {
     }
 
     public void sessionDestroyed(HttpSession session) {
+        if (lazyContextActivation) {
+            // The session may be invalidated during a request which has not accessed any bean store yet
+            activateDeferredContexts();
+        }
         // Mark the session context and conversation contexts to destroy
         // instances when appropriate
         deactivateSessionDestructionContext(session);
@@ -214,6 +237,10 @@ public class HttpContextLifecycle implements Service {
                 // this is the initial (outer) invocation
                 nestedInvocationGuard.set(new Counter());
                 request.setAttribute(GUARD_PARAMETER_NAME, GUARD_PARAMETER_VALUE);
+                if (lazyContextActivation) {
+                    // A callback may be left behind by a previous request whose destroyed callback was not invoked on this thread
+                    cancelDeferredContextActivation();
+                }
             }
         }
         if (ignoreForwards && isForwardedRequest(request)) {
@@ -230,6 +257,10 @@ public class HttpContextLifecycle implements Service {
 
         SessionHolder.requestInitialized(request);
 
+        if (lazyContextActivation && deferContextActivation(request)) {
+            return;
+        }
+
         getRequestContext().associate(request);
         getSessionContext().associate(request);
         if (conversationActivationEnabled) {
@@ -289,6 +320,22 @@ public class HttpContextLifecycle implements Service {
 
         ServletLogger.LOG.requestDestroyed(request);
 
+        try {
+            if (lazyContextActivation && cancelDeferredContextActivation()) {
+                // No bean store was accessed during this request - there is nothing to deactivate or destroy
+                SessionHolder.clear();
+                return;
+            }
+            destroyRequestContexts(request);
+        } finally {
+            if (lazyContextActivation) {
+                // Never leave the callback on a pooled thread, e.g. if a bean store was accessed while this request was being destroyed
+                cancelDeferredContextActivation();
+            }
+        }
+    }
+
+    private void destroyRequestContexts(HttpServletRequest request) {
         try {
             conversationContextActivator.deactivateConversationContext(request);
             /*
@@ -323,6 +370,78 @@ public class HttpContextLifecycle implements Service {
         }
     }
 
+    /**
+     * Registers a deferred activation of the request, session and conversation contexts. The contexts are activated once any of them is queried for its
+     * activity, i.e. right before its bean store is accessed.
+     *
+     * @return <code>true</code> if the activation was deferred, <code>false</code> if the contexts do not support deferred activation
+     */
+    private boolean deferContextActivation(final HttpServletRequest request) {
+        DeferredContextActivation requestContextActivation = getDeferredActivation(getRequestContext());
+        DeferredContextActivation sessionContextActivation = getDeferredActivation(getSessionContext());
+        DeferredContextActivation conversationContextActivation = conversationActivationEnabled ? getDeferredActivation(conversationContextActivator
+                .httpConversationContext()) : null;
+        if (requestContextActivation == null || sessionContextActivation == null || (conversationActivationEnabled && conversationContextActivation == null)) {
+            return false;
+        }
+        Runnable activation = () -> {
+            cancelDeferredContextActivation();
+            getRequestContext().associate(request);
+            getSessionContext().associate(request);
+            if (conversationActivationEnabled) {
+                conversationContextActivator.associateConversationContext(request);
+            }
+            getRequestContext().activate();
+            getSessionContext().activate();
+            if (conversationActivationEnabled) {
+                conversationContextActivator.activateConversationContext(request);
+            }
+        };
+        requestContextActivation.defer(activation);
+        sessionContextActivation.defer(activation);
+        if (conversationContextActivation != null) {
+            conversationContextActivation.defer(activation);
+        }
+        return true;
+    }
+
+    private void activateDeferredContexts() {
+        DeferredContextActivation activation = getDeferredActivation(getRequestContext());
+        if (activation != null) {
+            activation.activate();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the context activation was still pending, <code>false</code> otherwise
+     */
+    private boolean cancelDeferredContextActivation() {
+        boolean pending = cancel(getDeferredActivation(getRequestContext()));
+        pending |= cancel(getDeferredActivation(getSessionContext()));
+        pending |= cancel(getDeferredActivation(conversationContextActivator.httpConversationContext()));
+        return pending;
+    }
+
+    private static boolean cancel(DeferredContextActivation activation) {
+        if (activation != null && activation.isPending()) {
+            activation.cancel();
+            return true;
+        }
+        return false;
+    }
+
+    private static DeferredContextActivation getDeferredActivation(HttpRequestContext context) {
+        return context instanceof HttpRequestContextImpl ? ((HttpRequestContextImpl) context).getDeferredActivation() : null;
+    }
+
+    private static DeferredContextActivation getDeferredActivation(HttpSessionContext context) {
+        return context instanceof HttpSessionContextImpl ? ((HttpSessionContextImpl) context).getDeferredActivation() : null;
+    }
+
+    private static DeferredContextActivation getDeferredActivation(HttpConversationContext context) {
+        return context instanceof HttpConversationContextImpl ? ((HttpConversationContextImpl) context).getDeferredActivation() : null;
+    }
+
     public boolean isConversationActivationSet() {
         return conversationActivationEnabled != null;
     }
@@ -66,6 +66,8 @@ public class WeldInitialListener extends AbstractServletListener {
 
     private static final String CONTEXT_IGNORE_GUARD_PARAMETER = "org.jboss.weld.context.ignore.guard";
 
+    private static final String CONTEXT_LAZY_ACTIVATION_PARAMETER = "org.jboss.weld.context.lazyActivation";
+
     @Inject
     private BeanManagerImpl beanManager;
     private HttpContextLifecycle lifecycle;
@@ -98,7 +100,9 @@ public class WeldInitialListener extends AbstractServletListener {
         final boolean ignoreIncludes = getBooleanInitParameter(ctx, InitParameters.CONTEXT_IGNORE_INCLUDE, false);
         final boolean nestedInvocationGuard = getBooleanInitParameter(ctx, CONTEXT_IGNORE_GUARD_PARAMETER, true);
         final boolean lazyConversationContext = getBooleanInitParameter(ctx, CONVERSATION_CONTEXT_LAZY_PARAM, true);
-        this.lifecycle = new HttpContextLifecycle(beanManager, filter, ignoreForwards, ignoreIncludes, lazyConversationContext, nestedInvocationGuard);
+        final boolean lazyContextActivation = getBooleanInitParameter(ctx, CONTEXT_LAZY_ACTIVATION_PARAMETER, false);
+        this.lifecycle = new HttpContextLifecycle(beanManager, filter, ignoreForwards, ignoreIncludes, lazyConversationContext, nestedInvocationGuard,
+                lazyContextActivation);
         if (Boolean.valueOf(ctx.getInitParameter(CONVERSATION_FILTER_REGISTERED))) {
             this.lifecycle.setConversationActivationEnabled(false);
         }
@@ -27,9 +27,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.Decorator;
@@ -79,7 +78,8 @@ class Probe {
 
     // Monitoring data
 
-    private final ConcurrentMap<Integer, Invocation> invocations;
+    // Entry points are stored in the slot given by their generated id so that the oldest ones are replaced once the limit is exceeded
+    private final AtomicReferenceArray<Invocation> invocations;
 
     private final List<EventInfo> events;
 
@@ -98,7 +98,7 @@ class Probe {
      */
     Probe() {
         initTs = new AtomicLong(0);
-        invocations = new ConcurrentHashMap<Integer, Invocation>();
+        invocations = new AtomicReferenceArray<Invocation>(DEFAULT_INVOCATIONS_LIMIT);
         events = Collections.synchronizedList(new ArrayList<EventInfo>());
         beanToId = new HashMap<Bean<?>, String>();
         idToBean = new HashMap<String, Bean<?>>();
@@ -300,20 +300,24 @@ class Probe {
         if (!invocation.isEntryPoint()) {
             throw new IllegalStateException("Invocation is not an entry point!");
         }
-        // Remove some old data if the limit is exceeded
-        if (invocations.size() > DEFAULT_INVOCATIONS_LIMIT) {
-            synchronized (this) {
-                if (invocations.size() > DEFAULT_INVOCATIONS_LIMIT) {
-                    Set<Integer> keySet = invocations.keySet();
-                    List<Integer> sorted = new ArrayList<Integer>(keySet);
-                    Collections.sort(sorted, Collections.reverseOrder());
-                    if (keySet.removeAll(sorted.subList(DEFAULT_INVOCATIONS_LIMIT / 2, sorted.size()))) {
-                        ProbeLogger.LOG.monitoringLimitExceeded(Invocation.class.getSimpleName(), DEFAULT_INVOCATIONS_LIMIT);
-                    }
-                }
+        int idx = invocation.getEntryPointIdx();
+        int slot = slot(idx);
+        Invocation previous;
+        do {
+            previous = invocations.get(slot);
+            if (previous != null && previous.getEntryPointIdx() > idx) {
+                // A newer invocation was already stored
+                return;
             }
+        } while (!invocations.compareAndSet(slot, previous, invocation));
+        if (previous != null && slot == 0) {
+            // Some old data were replaced - log once per cycle
+            ProbeLogger.LOG.monitoringLimitExceeded(Invocation.class.getSimpleName(), DEFAULT_INVOCATIONS_LIMIT);
         }
-        invocations.put(invocation.getEntryPointIdx(), invocation);
+    }
+
+    private static int slot(int idx) {
+        return Math.floorMod(idx, DEFAULT_INVOCATIONS_LIMIT);
     }
 
     /**
@@ -321,7 +325,13 @@ class Probe {
      * @return the sorted entry points (invocation trees)
      */
     List<Invocation> getInvocations() {
-        List<Invocation> sorted = new ArrayList<Invocation>(invocations.values());
+        List<Invocation> sorted = new ArrayList<Invocation>();
+        for (int i = 0; i < invocations.length(); i++) {
+            Invocation invocation = invocations.get(i);
+            if (invocation != null) {
+                sorted.add(invocation);
+            }
+        }
         Collections.sort(sorted, Invocation.Comparators.ENTRY_POINT_IDX);
         return sorted;
     }
@@ -332,19 +342,26 @@ class Probe {
      * @return the invocation tree with the given generated id
      */
     Invocation getInvocation(String id) {
+        int idx;
         try {
-            return invocations.get(Integer.valueOf(id));
+            idx = Integer.parseInt(id);
         } catch (NumberFormatException e) {
             return null;
         }
+        Invocation invocation = invocations.get(slot(idx));
+        return invocation != null && invocation.getEntryPointIdx() == idx ? invocation : null;
     }
 
     /**
    *
    */
     int clearInvocations() {
-        int size = invocations.size();
-        invocations.clear();
+        int size = 0;
+        for (int i = 0; i < invocations.length(); i++) {
+            if (invocations.getAndSet(i, null) != null) {
+                size++;
+            }
+        }
         return size;
     }
 
@@ -436,4 +453,4 @@ class Probe {
         observerToId.put(observerMethod, id);
     }
 
-}
\ No newline at end of file
+}
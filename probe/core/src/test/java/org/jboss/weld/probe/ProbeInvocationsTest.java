@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.probe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class ProbeInvocationsTest {
+
+    private static final int LIMIT = 5000;
+
+    @Test
+    public void testInvocationLookup() {
+        Probe probe = new Probe();
+        Invocation invocation = newInvocation(1);
+        probe.addInvocation(invocation);
+        assertSame(invocation, probe.getInvocation("1"));
+        assertNull(probe.getInvocation(String.valueOf(1 + LIMIT)));
+        assertNull(probe.getInvocation("foo"));
+        assertEquals(1, probe.clearInvocations());
+        assertNull(probe.getInvocation("1"));
+    }
+
+    @Test
+    public void testOldestInvocationsReplaced() {
+        Probe probe = new Probe();
+        for (int i = 1; i <= LIMIT + 10; i++) {
+            probe.addInvocation(newInvocation(i));
+        }
+        List<Invocation> invocations = probe.getInvocations();
+        assertEquals(LIMIT, invocations.size());
+        // Sorted by id, the newest first
+        assertEquals(Integer.valueOf(LIMIT + 10), invocations.get(0).getEntryPointIdx());
+        assertEquals(Integer.valueOf(11), invocations.get(LIMIT - 1).getEntryPointIdx());
+        assertNull(probe.getInvocation("10"));
+        // An older invocation added late does not replace a newer one
+        probe.addInvocation(newInvocation(LIMIT + 10 - LIMIT));
+        assertEquals(Integer.valueOf(LIMIT + 10), probe.getInvocation(String.valueOf(LIMIT + 10)).getEntryPointIdx());
+        assertNull(probe.getInvocation("10"));
+        assertEquals(LIMIT, probe.clearInvocations());
+    }
+
+    private static Invocation newInvocation(int idx) {
+        return Invocation.Builder.newBuilder(idx).setMethodName("foo").build();
+    }
+
+}
@@ -0,0 +1,316 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.bootstrap.scalability;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.Extension;
+
+import org.jboss.shrinkwrap.api.ArchivePath;
+import org.jboss.shrinkwrap.api.Node;
+import org.jboss.shrinkwrap.api.classloader.ShrinkWrapClassLoader;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.weld.bootstrap.WeldRuntime;
+import org.jboss.weld.bootstrap.WeldStartup;
+import org.jboss.weld.bootstrap.api.Environments;
+import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.bootstrap.api.helpers.SimpleServiceRegistry;
+import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.bootstrap.spi.CDI11Deployment;
+import org.jboss.weld.bootstrap.spi.Metadata;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.configuration.spi.ExternalConfiguration;
+import org.jboss.weld.configuration.spi.helpers.ExternalConfigurationBuilder;
+import org.jboss.weld.ejb.spi.EjbDescriptor;
+import org.jboss.weld.literal.AnyLiteral;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resources.ClassLoaderResourceLoader;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.tests.category.Performance;
+import org.jboss.weld.tests.util.SyntheticDeploymentGenerator;
+import org.jboss.weld.xml.BeansXmlParser;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Boots synthetic deployments of growing size through {@link WeldStartup} and reports the time spent in each bootstrap phase and the heap retained by
+ * the running container, both in the default mode and with {@link ConfigurationKey#COMPACT_RUNTIME} enabled. The sizes are given by the
+ * <code>weld.test.scalability.sizes</code> system property, e.g. <code>-Dweld.test.scalability.sizes=1000,10000,20000</code>. The report is written to
+ * <code>target/bootstrap-scalability.txt</code>.
+ */
+@Category(Performance.class)
+public class BootstrapScalabilityTest {
+
+    private static final String SIZES_PROPERTY = "weld.test.scalability.sizes";
+
+    private static final String REPORT_FILE = "bootstrap-scalability.txt";
+
+    private static final String DEFAULT_SIZES = "1000,2000,5000,10000";
+
+    private static final int WARMUP_SIZE = 100;
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private static final int HIERARCHY_DEPTH = 3;
+
+    private static final int GENERIC_DEPTH = 2;
+
+    private static final int QUALIFIERS = 10;
+
+    /**
+     * Every n-th bean declares a producer method, an observer method and has a distinct type argument.
+     */
+    private static final int FEATURE_RATIO = 10;
+
+    /**
+     * Every n-th bean is intercepted and decorated.
+     */
+    private static final int INTERCEPTION_RATIO = 100;
+
+    private static final int GC_RUNS = 3;
+
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+
+    private static final String[] PHASES = { "startContainer", "startInitialization", "deployBeans", "validateBeans", "endInitialization" };
+
+    @Test
+    public void testBootstrapScalability() throws IOException, ClassNotFoundException {
+        // The first boot also initializes Weld itself
+        boot(WARMUP_SIZE);
+        List<Result> results = new ArrayList<Result>();
+        for (String size : System.getProperty(SIZES_PROPERTY, DEFAULT_SIZES).split(",")) {
+            results.add(boot(Integer.parseInt(size.trim())));
+        }
+        File report = new File("target", REPORT_FILE);
+        report.getParentFile().mkdirs();
+        Files.write(report.toPath(), report(results).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Result boot(int beans) throws IOException, ClassNotFoundException {
+        SyntheticDeploymentGenerator generator = new SyntheticDeploymentGenerator().beans(beans).hierarchyDepth(HIERARCHY_DEPTH).genericDepth(GENERIC_DEPTH)
+                .typeArguments(Math.max(1, beans / FEATURE_RATIO)).qualifiers(QUALIFIERS).producers(beans / FEATURE_RATIO)
+                .observers(beans / FEATURE_RATIO).interceptors(beans / INTERCEPTION_RATIO).decorators(beans / INTERCEPTION_RATIO);
+        JavaArchive archive = generator.generate("synthetic-" + beans + ".jar");
+        Result result = new Result(beans);
+        try (ShrinkWrapClassLoader classLoader = new ShrinkWrapClassLoader(BootstrapScalabilityTest.class.getClassLoader(), archive)) {
+            long heapRunning = bootAndShutdown(result, generator, new SyntheticDeployment(archive, classLoader, false), classLoader);
+            // Measured against the heap after shutdown, so that garbage left over from generating the deployment does not skew the result
+            result.retainedHeap = heapRunning - usedHeap();
+            // Only the retained heap is reported for the compact runtime
+            heapRunning = bootAndShutdown(new Result(beans), generator, new SyntheticDeployment(archive, classLoader, true), classLoader);
+            result.retainedHeapCompact = heapRunning - usedHeap();
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @return the heap used while the container is running
+     */
+    private long bootAndShutdown(Result result, SyntheticDeploymentGenerator generator, SyntheticDeployment deployment, ClassLoader classLoader)
+            throws ClassNotFoundException {
+        WeldStartup startup = new WeldStartup();
+        long start = System.nanoTime();
+        WeldRuntime runtime = startup.startContainer(deployment.archive.getId(), Environments.SE, deployment);
+        try {
+            start = result.phaseFinished(0, start);
+            startup.startInitialization();
+            start = result.phaseFinished(1, start);
+            startup.deployBeans();
+            start = result.phaseFinished(2, start);
+            startup.validateBeans();
+            start = result.phaseFinished(3, start);
+            startup.endInitialization();
+            result.phaseFinished(4, start);
+            long heapRunning = usedHeap();
+
+            BeanManagerImpl manager = runtime.getManager(deployment.archive);
+            assertEquals(1, manager.getBeans(classLoader.loadClass(generator.getBeanClassName(0)), AnyLiteral.INSTANCE).size());
+            assertEquals(1, manager.getBeans(classLoader.loadClass(generator.getBeanClassName(result.beans - 1)), AnyLiteral.INSTANCE).size());
+            return heapRunning;
+        } finally {
+            runtime.shutdown();
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < GC_RUNS; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static String report(List<Result> results) {
+        StringBuilder report = new StringBuilder(String.format("%n%8s", "beans"));
+        for (String phase : PHASES) {
+            report.append(String.format(" %20s", phase));
+        }
+        report.append(String.format(" %12s %16s %24s%n", "total [ms]", "retained [MB]", "retained compact [MB]"));
+        Result previous = null;
+        for (Result result : results) {
+            report.append(String.format("%8d", result.beans));
+            for (long phase : result.phases) {
+                report.append(String.format(" %20d", TimeUnit.NANOSECONDS.toMillis(phase)));
+            }
+            report.append(String.format(" %12d %16.1f %24.1f", TimeUnit.NANOSECONDS.toMillis(result.total()), (double) result.retainedHeap / BYTES_PER_MEGABYTE,
+                    (double) result.retainedHeapCompact / BYTES_PER_MEGABYTE));
+            if (previous != null) {
+                report.append(String.format("   size x%.1f, time x%.1f, heap x%.1f", (double) result.beans / previous.beans,
+                        (double) result.total() / previous.total(), (double) result.retainedHeap / previous.retainedHeap));
+            }
+            report.append(String.format("%n"));
+            previous = result;
+        }
+        return report.toString();
+    }
+
+    private static class Result {
+
+        private final int beans;
+
+        private final long[] phases = new long[PHASES.length];
+
+        private long retainedHeap;
+
+        private long retainedHeapCompact;
+
+        Result(int beans) {
+            this.beans = beans;
+        }
+
+        long phaseFinished(int phase, long start) {
+            long now = System.nanoTime();
+            phases[phase] = now - start;
+            return now;
+        }
+
+        long total() {
+            long total = 0;
+            for (long phase : phases) {
+                total += phase;
+            }
+            return total;
+        }
+    }
+
+    private static class SyntheticDeployment implements CDI11Deployment {
+
+        private final SyntheticBeanDeploymentArchive archive;
+
+        private final ServiceRegistry services = new SimpleServiceRegistry();
+
+        SyntheticDeployment(JavaArchive archive, ClassLoader classLoader, boolean compactRuntime) {
+            ResourceLoader resourceLoader = new ClassLoaderResourceLoader(classLoader);
+            this.archive = new SyntheticBeanDeploymentArchive(archive, classLoader, resourceLoader);
+            this.services.add(ResourceLoader.class, resourceLoader);
+            this.services.add(ExternalConfiguration.class,
+                    new ExternalConfigurationBuilder().add(ConfigurationKey.COMPACT_RUNTIME.get(), compactRuntime).build());
+        }
+
+        @Override
+        public Collection<BeanDeploymentArchive> getBeanDeploymentArchives() {
+            return Collections.<BeanDeploymentArchive> singleton(archive);
+        }
+
+        @Override
+        public BeanDeploymentArchive loadBeanDeploymentArchive(Class<?> beanClass) {
+            return archive;
+        }
+
+        @Override
+        public BeanDeploymentArchive getBeanDeploymentArchive(Class<?> beanClass) {
+            return archive;
+        }
+
+        @Override
+        public ServiceRegistry getServices() {
+            return services;
+        }
+
+        @Override
+        public Iterable<Metadata<Extension>> getExtensions() {
+            return Collections.emptySet();
+        }
+    }
+
+    private static class SyntheticBeanDeploymentArchive implements BeanDeploymentArchive {
+
+        private final String id;
+
+        private final List<String> beanClasses;
+
+        private final BeansXml beansXml;
+
+        private final ServiceRegistry services = new SimpleServiceRegistry();
+
+        SyntheticBeanDeploymentArchive(JavaArchive archive, ClassLoader classLoader, ResourceLoader resourceLoader) {
+            this.id = archive.getName();
+            this.beanClasses = new ArrayList<String>();
+            for (Map.Entry<ArchivePath, Node> entry : archive.getContent().entrySet()) {
+                String path = entry.getKey().get();
+                if (path.endsWith(CLASS_SUFFIX)) {
+                    beanClasses.add(path.substring(1, path.length() - CLASS_SUFFIX.length()).replace('/', '.'));
+                }
+            }
+            this.beansXml = new BeansXmlParser().parse(classLoader.getResource("META-INF/beans.xml"));
+            this.services.add(ResourceLoader.class, resourceLoader);
+        }
+
+        @Override
+        public Collection<BeanDeploymentArchive> getBeanDeploymentArchives() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Collection<String> getBeanClasses() {
+            return beanClasses;
+        }
+
+        @Override
+        public BeansXml getBeansXml() {
+            return beansXml;
+        }
+
+        @Override
+        public Collection<EjbDescriptor<?>> getEjbs() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public ServiceRegistry getServices() {
+            return services;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles Java sources held in memory into class file bytes. The classpath consists of the code sources of the given API classes.
+ */
+class InMemoryJavaCompiler {
+
+    private final List<File> classpath;
+
+    InMemoryJavaCompiler(Class<?>... apiClasses) {
+        Set<File> files = new LinkedHashSet<File>();
+        for (Class<?> apiClass : apiClasses) {
+            CodeSource codeSource = apiClass.getProtectionDomain().getCodeSource();
+            if (codeSource != null) {
+                files.add(toFile(codeSource.getLocation()));
+            }
+        }
+        this.classpath = new ArrayList<File>(files);
+    }
+
+    /**
+     *
+     * @param sources the source code mapped by fully qualified class name
+     * @return the class file bytes mapped by fully qualified class name, including nested classes
+     */
+    Map<String, byte[]> compile(Map<String, String> sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No system Java compiler available, a JDK is required to generate synthetic deployments");
+        }
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+        ClassFileManager fileManager = new ClassFileManager(standardFileManager);
+        try {
+            standardFileManager.setLocation(StandardLocation.CLASS_PATH, classpath);
+            List<JavaFileObject> compilationUnits = new ArrayList<JavaFileObject>(sources.size());
+            for (Map.Entry<String, String> entry : sources.entrySet()) {
+                compilationUnits.add(new SourceFile(entry.getKey(), entry.getValue()));
+            }
+            Collection<String> options = Arrays.asList("-proc:none", "-g:none", "-nowarn");
+            if (!compiler.getTask(null, fileManager, diagnostics, options, null, compilationUnits).call()) {
+                StringBuilder message = new StringBuilder("Unable to compile synthetic sources:");
+                for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                    if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                        message.append('\n').append(diagnostic);
+                    }
+                }
+                throw new IllegalStateException(message.toString());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            try {
+                fileManager.close();
+            } catch (IOException ignored) {
+                // nothing to release
+            }
+        }
+        return fileManager.getClasses();
+    }
+
+    private static File toFile(URL url) {
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static URI memoryUri(String className, Kind kind) {
+        return URI.create("mem:///" + className.replace('.', '/') + kind.extension);
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+
+        private final String source;
+
+        SourceFile(String className, String source) {
+            super(memoryUri(className, Kind.SOURCE), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private static class ClassFile extends SimpleJavaFileObject {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        ClassFile(String className) {
+            super(memoryUri(className, Kind.CLASS), Kind.CLASS);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return bytes;
+        }
+    }
+
+    private static class ClassFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+
+        private final Map<String, ClassFile> classes = new LinkedHashMap<String, ClassFile>();
+
+        ClassFileManager(JavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, Kind kind, FileObject sibling) {
+            ClassFile classFile = new ClassFile(className);
+            classes.put(className, classFile);
+            return classFile;
+        }
+
+        Map<String, byte[]> getClasses() {
+            Map<String, byte[]> result = new LinkedHashMap<String, byte[]>();
+            for (Map.Entry<String, ClassFile> entry : classes.entrySet()) {
+                result.put(entry.getKey(), entry.getValue().bytes.toByteArray());
+            }
+            return result;
+        }
+    }
+}
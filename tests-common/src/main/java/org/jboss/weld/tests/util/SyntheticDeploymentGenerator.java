@@ -0,0 +1,382 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.decorator.Decorator;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.interceptor.Interceptor;
+
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+
+/**
+ * Generates a bean archive of configurable size and complexity in memory. The sources are generated, compiled with the system Java compiler and packaged
+ * together with a <code>beans.xml</code> (bean discovery mode <code>all</code>) in a {@link JavaArchive}. A JDK is therefore required.
+ * <p>
+ * The archive contains the following types, all in {@link #packageName(String)}:
+ * </p>
+ * <ul>
+ * <li><code>Bean0</code> .. <code>Bean(n-1)</code> - the beans. Even beans are {@link ApplicationScoped}, odd beans are dependent. Each bean except the first
+ * one injects its predecessor.</li>
+ * <li><code>Level0</code> .. <code>Level(d-1)</code> - a chain of generic abstract superclasses every bean extends, see {@link #hierarchyDepth(int)}</li>
+ * <li><code>Service&lt;T&gt;</code> - a generic interface every bean implements. The type argument nests <code>Box&lt;T&gt;</code> to the given
+ * {@link #genericDepth(int)} around one of <code>Item0</code> .. <code>Item(t-1)</code>, see {@link #typeArguments(int)}</li>
+ * <li><code>Q0</code> .. <code>Q(q-1)</code> - qualifiers, the bean <code>i</code> has the qualifier <code>i % q</code></li>
+ * <li>a producer method of a <code>@Named</code> {@link String} on each of the first {@link #producers(int)} beans</li>
+ * <li>an observer method of <code>SyntheticEvent</code> on each of the first {@link #observers(int)} beans</li>
+ * <li><code>BindingInterceptor0</code> .. - enabled interceptors, each bound to one of the first {@link #interceptors(int)} beans</li>
+ * <li><code>DecoratedDecorator0</code> .. - enabled decorators, each decorating one of the first {@link #decorators(int)} beans</li>
+ * </ul>
+ */
+public class SyntheticDeploymentGenerator {
+
+    public static final String DEFAULT_PACKAGE_NAME = "org.jboss.weld.tests.synthetic";
+
+    public static final String BEAN = "Bean";
+
+    public static final String EVENT = "SyntheticEvent";
+
+    private static final String ITEM = "Item";
+
+    private static final String LEVEL = "Level";
+
+    private static final String EXTENDS_LEVEL = " extends " + LEVEL;
+
+    private static final String TYPE_VARIABLE = "<T>";
+
+    private static final String QUALIFIER_NAME = "Q";
+
+    private static final String QUALIFIER = "@" + QUALIFIER_NAME;
+
+    private static final String BINDING = "Binding";
+
+    private static final String BINDING_ANNOTATION = "@" + BINDING;
+
+    private static final String INTERCEPTOR = "BindingInterceptor";
+
+    private static final String DECORATED = "Decorated";
+
+    private static final String DECORATOR = "DecoratedDecorator";
+
+    private static final String PUBLIC_CLASS = "public class ";
+
+    private static final String OPEN_BODY = " {\n";
+
+    private static final String EMPTY_BODY = " {\n}\n";
+
+    private static final String NEW_LINE = "\n";
+
+    private static final String CLOSE_TYPE = "}\n";
+
+    private static final String INDENT = "    ";
+
+    private static final String IMPLEMENTS = " implements ";
+
+    private static final String RUNTIME_RETENTION = "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n";
+
+    private static final String COMPUTE = "public int compute(int value) {\n";
+
+    private static final int DEFAULT_BEANS = 100;
+
+    private static final int DEFAULT_TYPE_ARGUMENTS = 10;
+
+    private String packageName = DEFAULT_PACKAGE_NAME;
+
+    private int beans = DEFAULT_BEANS;
+
+    private int hierarchyDepth;
+
+    private int genericDepth;
+
+    private int typeArguments = DEFAULT_TYPE_ARGUMENTS;
+
+    private int qualifiers;
+
+    private int producers;
+
+    private int observers;
+
+    private int interceptors;
+
+    private int decorators;
+
+    public SyntheticDeploymentGenerator packageName(String packageName) {
+        this.packageName = packageName;
+        return this;
+    }
+
+    /**
+     *
+     * @param beans the number of generated beans, producer methods are not counted
+     * @return self
+     */
+    public SyntheticDeploymentGenerator beans(int beans) {
+        this.beans = beans;
+        return this;
+    }
+
+    /**
+     *
+     * @param hierarchyDepth the number of superclasses between each bean class and {@link Object}
+     * @return self
+     */
+    public SyntheticDeploymentGenerator hierarchyDepth(int hierarchyDepth) {
+        this.hierarchyDepth = hierarchyDepth;
+        return this;
+    }
+
+    /**
+     *
+     * @param genericDepth the nesting depth of the type argument of <code>Service&lt;T&gt;</code>
+     * @return self
+     */
+    public SyntheticDeploymentGenerator genericDepth(int genericDepth) {
+        this.genericDepth = genericDepth;
+        return this;
+    }
+
+    /**
+     *
+     * @param typeArguments the number of distinct innermost type arguments of <code>Service&lt;T&gt;</code>
+     * @return self
+     */
+    public SyntheticDeploymentGenerator typeArguments(int typeArguments) {
+        this.typeArguments = typeArguments;
+        return this;
+    }
+
+    /**
+     *
+     * @param qualifiers the number of distinct qualifiers, 0 means all the beans have the default qualifier
+     * @return self
+     */
+    public SyntheticDeploymentGenerator qualifiers(int qualifiers) {
+        this.qualifiers = qualifiers;
+        return this;
+    }
+
+    public SyntheticDeploymentGenerator producers(int producers) {
+        this.producers = producers;
+        return this;
+    }
+
+    public SyntheticDeploymentGenerator observers(int observers) {
+        this.observers = observers;
+        return this;
+    }
+
+    public SyntheticDeploymentGenerator interceptors(int interceptors) {
+        this.interceptors = interceptors;
+        return this;
+    }
+
+    public SyntheticDeploymentGenerator decorators(int decorators) {
+        this.decorators = decorators;
+        return this;
+    }
+
+    /**
+     *
+     * @param archiveName
+     * @return a new bean archive
+     * @throws IllegalArgumentException if the configuration is not valid
+     * @throws IllegalStateException if the sources cannot be compiled
+     */
+    public JavaArchive generate(String archiveName) {
+        validate();
+        Map<String, byte[]> classes = new InMemoryJavaCompiler(Inject.class, ApplicationScoped.class, Interceptor.class, Decorator.class)
+                .compile(generateSources());
+        JavaArchive archive = ShrinkWrap.create(JavaArchive.class, archiveName);
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            archive.add(new ByteArrayAsset(entry.getValue()), entry.getKey().replace('.', '/') + ".class");
+        }
+        archive.addAsManifestResource(new StringAsset(generateBeansXml()), "beans.xml");
+        return archive;
+    }
+
+    /**
+     *
+     * @return the fully qualified name of the bean class with the given index
+     */
+    public String getBeanClassName(int index) {
+        return qualify(BEAN + index);
+    }
+
+    private void validate() {
+        if (beans < 1 || hierarchyDepth < 0 || genericDepth < 0 || typeArguments < 1 || qualifiers < 0) {
+            throw new IllegalArgumentException(toString());
+        }
+        checkRange(producers);
+        checkRange(observers);
+        checkRange(interceptors);
+        checkRange(decorators);
+    }
+
+    private void checkRange(int value) {
+        if (value < 0 || value > beans) {
+            throw new IllegalArgumentException(toString());
+        }
+    }
+
+    Map<String, String> generateSources() {
+        Map<String, String> sources = new LinkedHashMap<String, String>();
+        sources.put(qualify("Service"), header().append("public interface Service<T> {\n}\n").toString());
+        sources.put(qualify("Box"), header().append("public interface Box<T> {\n}\n").toString());
+        for (int i = 0; i < typeArguments; i++) {
+            sources.put(qualify(ITEM + i), header().append("public interface Item").append(i).append(EMPTY_BODY).toString());
+        }
+        for (int i = 0; i < hierarchyDepth; i++) {
+            StringBuilder source = header().append("public abstract class Level").append(i).append(TYPE_VARIABLE);
+            if (i == 0) {
+                source.append(" implements Service<T>");
+            } else {
+                source.append(EXTENDS_LEVEL).append(i - 1).append(TYPE_VARIABLE);
+            }
+            sources.put(qualify(LEVEL + i), source.append(EMPTY_BODY).toString());
+        }
+        for (int i = 0; i < qualifiers; i++) {
+            sources.put(qualify(QUALIFIER_NAME + i), header().append("@javax.inject.Qualifier\n").append(RUNTIME_RETENTION)
+                    .append("public @interface Q").append(i).append(EMPTY_BODY).toString());
+        }
+        if (observers > 0) {
+            sources.put(qualify(EVENT), header().append(PUBLIC_CLASS).append(EVENT).append(EMPTY_BODY).toString());
+        }
+        for (int i = 0; i < interceptors; i++) {
+            sources.put(qualify(BINDING + i), header().append("@javax.interceptor.InterceptorBinding\n").append(RUNTIME_RETENTION)
+                    .append("public @interface Binding").append(i).append(EMPTY_BODY).toString());
+            sources.put(qualify(INTERCEPTOR + i), header().append("@javax.interceptor.Interceptor\n@Binding").append(i).append(NEW_LINE)
+                    .append("public class BindingInterceptor").append(i).append(OPEN_BODY)
+                    .append(INDENT).append("@javax.interceptor.AroundInvoke\n")
+                    .append(INDENT).append("public Object intercept(javax.interceptor.InvocationContext ctx) throws Exception {\n")
+                    .append(INDENT).append(INDENT).append("return ctx.proceed();\n")
+                    .append(INDENT).append(CLOSE_TYPE).append(CLOSE_TYPE).toString());
+        }
+        for (int i = 0; i < decorators; i++) {
+            sources.put(qualify(DECORATED + i), header().append("public interface Decorated").append(i).append(OPEN_BODY)
+                    .append(INDENT).append("int compute(int value);\n").append(CLOSE_TYPE).toString());
+            sources.put(qualify(DECORATOR + i), header().append("@javax.decorator.Decorator\n")
+                    .append("public class DecoratedDecorator").append(i).append(IMPLEMENTS).append(DECORATED).append(i).append(OPEN_BODY)
+                    .append(INDENT).append("@javax.inject.Inject @javax.decorator.Delegate @javax.enterprise.inject.Any Decorated").append(i)
+                    .append(" delegate;\n")
+                    .append(INDENT).append(COMPUTE)
+                    .append(INDENT).append(INDENT).append("return delegate.compute(value);\n")
+                    .append(INDENT).append(CLOSE_TYPE).append(CLOSE_TYPE).toString());
+        }
+        for (int i = 0; i < beans; i++) {
+            sources.put(qualify(BEAN + i), generateBean(i));
+        }
+        return sources;
+    }
+
+    private String generateBean(int index) {
+        StringBuilder source = header();
+        source.append(index % 2 == 0 ? "@javax.enterprise.context.ApplicationScoped\n" : "@javax.enterprise.context.Dependent\n");
+        if (qualifiers > 0) {
+            source.append(QUALIFIER).append(index % qualifiers).append(NEW_LINE);
+        }
+        if (index < interceptors) {
+            source.append(BINDING_ANNOTATION).append(index).append(NEW_LINE);
+        }
+        source.append(PUBLIC_CLASS).append(BEAN).append(index);
+        String typeArgument = typeArgument(index);
+        if (hierarchyDepth > 0) {
+            source.append(EXTENDS_LEVEL).append(hierarchyDepth - 1).append('<').append(typeArgument).append('>');
+            if (index < decorators) {
+                source.append(IMPLEMENTS).append(DECORATED).append(index);
+            }
+        } else {
+            source.append(IMPLEMENTS).append("Service<").append(typeArgument).append('>');
+            if (index < decorators) {
+                source.append(", Decorated").append(index);
+            }
+        }
+        source.append(OPEN_BODY);
+        if (index > 0) {
+            source.append(INDENT).append("@javax.inject.Inject ");
+            if (qualifiers > 0) {
+                source.append(QUALIFIER).append((index - 1) % qualifiers).append(' ');
+            }
+            source.append(BEAN).append(index - 1).append(" previous;\n");
+        }
+        if (index < producers) {
+            source.append(INDENT).append("@javax.enterprise.inject.Produces @javax.inject.Named(\"product").append(index).append("\")\n")
+                    .append(INDENT).append("public String produce() {\n")
+                    .append(INDENT).append(INDENT).append("return \"product").append(index).append("\";\n")
+                    .append(INDENT).append(CLOSE_TYPE);
+        }
+        if (index < observers) {
+            source.append(INDENT).append("public void observe(@javax.enterprise.event.Observes ").append(EVENT).append(" event) {\n")
+                    .append(INDENT).append(CLOSE_TYPE);
+        }
+        if (index < interceptors || index < decorators) {
+            source.append(INDENT).append(COMPUTE)
+                    .append(INDENT).append(INDENT).append("return value;\n")
+                    .append(INDENT).append(CLOSE_TYPE);
+        }
+        return source.append(CLOSE_TYPE).toString();
+    }
+
+    private String typeArgument(int index) {
+        StringBuilder typeArgument = new StringBuilder();
+        for (int i = 0; i < genericDepth; i++) {
+            typeArgument.append("Box<");
+        }
+        typeArgument.append(ITEM).append(index % typeArguments);
+        for (int i = 0; i < genericDepth; i++) {
+            typeArgument.append('>');
+        }
+        return typeArgument.toString();
+    }
+
+    private String generateBeansXml() {
+        StringBuilder beansXml = new StringBuilder("<beans xmlns=\"http://xmlns.jcp.org/xml/ns/javaee\" version=\"1.1\" bean-discovery-mode=\"all\">\n");
+        appendClasses(beansXml, "interceptors", INTERCEPTOR, interceptors);
+        appendClasses(beansXml, "decorators", DECORATOR, decorators);
+        return beansXml.append("</beans>\n").toString();
+    }
+
+    private void appendClasses(StringBuilder beansXml, String element, String simpleNamePrefix, int count) {
+        if (count > 0) {
+            beansXml.append('<').append(element).append('>').append(NEW_LINE);
+            for (int i = 0; i < count; i++) {
+                beansXml.append("<class>").append(qualify(simpleNamePrefix + i)).append("</class>\n");
+            }
+            beansXml.append("</").append(element).append('>').append(NEW_LINE);
+        }
+    }
+
+    private StringBuilder header() {
+        return new StringBuilder("package ").append(packageName).append(";\n\n");
+    }
+
+    private String qualify(String simpleName) {
+        return packageName + "." + simpleName;
+    }
+
+    @Override
+    public String toString() {
+        return "SyntheticDeploymentGenerator [packageName=" + packageName + ", beans=" + beans + ", hierarchyDepth=" + hierarchyDepth + ", genericDepth="
+                + genericDepth + ", typeArguments=" + typeArguments + ", qualifiers=" + qualifiers + ", producers=" + producers + ", observers=" + observers
+                + ", interceptors=" + interceptors + ", decorators=" + decorators + "]";
+    }
+}